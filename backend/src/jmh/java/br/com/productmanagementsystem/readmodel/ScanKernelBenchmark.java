@@ -0,0 +1,95 @@
+package br.com.productmanagementsystem.readmodel;
+
+import org.openjdk.jmh.annotations.AuxCounters;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.Arrays;
+import java.util.SplittableRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Rows per second of the price/quantity range kernels used by the read model.
+ * The {@code rows} aux counter is the throughput to compare across kernels.
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(value = 1, jvmArgsAppend = {"--add-modules", "jdk.incubator.vector", "-Xmx6g"})
+@State(Scope.Benchmark)
+public class ScanKernelBenchmark {
+
+    @Param({"1000000", "10000000", "50000000"})
+    public int rows;
+
+    @Param({"scalar", "vector"})
+    public String kernel;
+
+    private ScanKernel scanKernel;
+    private long[] priceCents;
+    private int[] quantities;
+    private long[] selection;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        scanKernel = "vector".equals(kernel) ? new VectorScanKernel() : new ScalarScanKernel();
+        priceCents = new long[rows];
+        quantities = new int[rows];
+        selection = new long[ProductColumns.bitmapWords(rows)];
+
+        SplittableRandom random = new SplittableRandom(42);
+        for (int i = 0; i < rows; i++) {
+            priceCents[i] = random.nextLong(1, 100_000_00);
+            quantities[i] = random.nextInt(0, 1_000);
+        }
+    }
+
+    @State(Scope.Thread)
+    @AuxCounters(AuxCounters.Type.OPERATIONS)
+    public static class RowCounter {
+        public long rows;
+    }
+
+    @Benchmark
+    public long[] priceBetween(RowCounter counter) {
+        scanKernel.retainBetween(priceCents, rows, 10_000_00, 35_000_00, selection);
+        counter.rows += rows;
+        return selection;
+    }
+
+    @Benchmark
+    public long[] quantityBetween(RowCounter counter) {
+        scanKernel.retainBetween(quantities, rows, 100, 350, selection);
+        counter.rows += rows;
+        return selection;
+    }
+
+    @Benchmark
+    public long[] priceBetweenAndInStock(RowCounter counter) {
+        scanKernel.retainBetween(priceCents, rows, 10_000_00, 35_000_00, selection);
+        scanKernel.retainBetween(quantities, rows, 1, Integer.MAX_VALUE, selection);
+        counter.rows += rows;
+        return selection;
+    }
+
+    /**
+     * Every kernel call narrows the selection, so each invocation starts from all rows selected.
+     * A call scans at least a million rows, long enough for per-invocation setup to stay out of
+     * the timings.
+     */
+    @Setup(Level.Invocation)
+    public void resetSelection() {
+        Arrays.fill(selection, -1L);
+    }
+}
@@ -0,0 +1,153 @@
+package br.com.productmanagementsystem.repository;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.math.BigDecimal;
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Adjustments per second when 64 threads hammer the stock of a single product, comparing the
+ * conditional UPDATE behind {@link ProductRepository#adjustQuantity(String, int)} with the
+ * read-modify-write it replaces (SELECT ... FOR UPDATE, checks in Java, then UPDATE).
+ * Runs over plain JDBC against an in-memory H2 database, so it measures statements and row
+ * locking rather than the JPA layer.
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@Threads(64)
+@State(Scope.Benchmark)
+public class StockAdjustmentBenchmark {
+
+    private static final String URL = "jdbc:h2:mem:stock-benchmark;DB_CLOSE_DELAY=-1;LOCK_TIMEOUT=30000";
+    private static final String PUBLIC_ID = "550e8400-e29b-41d4-a716-446655440000";
+
+    private static final String CONDITIONAL_UPDATE = """
+            UPDATE products SET quantity = quantity + ?
+            WHERE public_id = ?
+              AND quantity + ? BETWEEN 0 AND 999999
+              AND (price >= 10.00 OR quantity + ? <= 100)
+              AND (price <= 10000.00 OR quantity + ? <= 10)
+            """;
+    private static final String SELECT_FOR_UPDATE = "SELECT price, quantity FROM products WHERE public_id = ? FOR UPDATE";
+    private static final String UPDATE_QUANTITY = "UPDATE products SET quantity = ? WHERE public_id = ?";
+
+    // Keeps the in-memory database alive for the whole trial
+    private Connection connection;
+
+    @Setup(Level.Trial)
+    public void setUp() throws SQLException {
+        connection = DriverManager.getConnection(URL, "sa", "");
+        try (Statement statement = connection.createStatement()) {
+            statement.execute("DROP TABLE IF EXISTS products");
+            statement.execute("""
+                    CREATE TABLE products (
+                        id BIGINT AUTO_INCREMENT PRIMARY KEY,
+                        public_id VARCHAR(36) NOT NULL UNIQUE,
+                        name VARCHAR(100) NOT NULL,
+                        price NUMERIC(10, 2) NOT NULL,
+                        description VARCHAR(500),
+                        quantity INT NOT NULL
+                    )
+                    """);
+            statement.execute("INSERT INTO products (public_id, name, price, quantity) "
+                    + "VALUES ('" + PUBLIC_ID + "', 'Hot SKU', 1299.99, 500000)");
+        }
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() throws SQLException {
+        connection.close();
+    }
+
+    /**
+     * One connection per benchmark thread, alternating +1 and -1 so the stock stays in range
+     */
+    @State(Scope.Thread)
+    public static class Session {
+        private Connection connection;
+        private PreparedStatement conditionalUpdate;
+        private PreparedStatement selectForUpdate;
+        private PreparedStatement updateQuantity;
+        private int delta = 1;
+
+        @Setup(Level.Trial)
+        public void open(StockAdjustmentBenchmark database) throws SQLException {
+            connection = DriverManager.getConnection(URL, "sa", "");
+            connection.setAutoCommit(false);
+            conditionalUpdate = connection.prepareStatement(CONDITIONAL_UPDATE);
+            selectForUpdate = connection.prepareStatement(SELECT_FOR_UPDATE);
+            updateQuantity = connection.prepareStatement(UPDATE_QUANTITY);
+        }
+
+        @TearDown(Level.Trial)
+        public void close() throws SQLException {
+            connection.close();
+        }
+
+        private int nextDelta() {
+            delta = -delta;
+            return delta;
+        }
+    }
+
+    @Benchmark
+    public int conditionalUpdate(Session session) throws SQLException {
+        int delta = session.nextDelta();
+        PreparedStatement update = session.conditionalUpdate;
+        update.setInt(1, delta);
+        update.setString(2, PUBLIC_ID);
+        update.setInt(3, delta);
+        update.setInt(4, delta);
+        update.setInt(5, delta);
+
+        int updated = update.executeUpdate();
+        session.connection.commit();
+        return updated;
+    }
+
+    @Benchmark
+    public int readModifyWrite(Session session) throws SQLException {
+        int delta = session.nextDelta();
+        BigDecimal price;
+        int quantity;
+        session.selectForUpdate.setString(1, PUBLIC_ID);
+        try (ResultSet row = session.selectForUpdate.executeQuery()) {
+            row.next();
+            price = row.getBigDecimal(1);
+            quantity = row.getInt(2) + delta;
+        }
+
+        boolean valid = quantity >= 0 && quantity <= 999999
+                && (price.compareTo(new BigDecimal("10.00")) >= 0 || quantity <= 100)
+                && (price.compareTo(new BigDecimal("10000.00")) <= 0 || quantity <= 10);
+        int updated = 0;
+        if (valid) {
+            session.updateQuantity.setInt(1, quantity);
+            session.updateQuantity.setString(2, PUBLIC_ID);
+            updated = session.updateQuantity.executeUpdate();
+        }
+        session.connection.commit();
+        return updated;
+    }
+}
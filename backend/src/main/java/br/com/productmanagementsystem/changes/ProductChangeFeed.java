@@ -0,0 +1,387 @@
+package br.com.productmanagementsystem.changes;
+
+import br.com.productmanagementsystem.entity.ProductOutboxEvent;
+import br.com.productmanagementsystem.exception.ChangesUnavailableException;
+import br.com.productmanagementsystem.repository.ProductOutboxRepository;
+import br.com.productmanagementsystem.shard.ProductShards;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.Limit;
+import org.springframework.jmx.export.annotation.ManagedAttribute;
+import org.springframework.jmx.export.annotation.ManagedResource;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.io.IOException;
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Supplier;
+
+/**
+ * Server-Sent Events feed of the product changes written to the outbox.
+ * <p>
+ * A single reader tails the outbox table in id order and fans every change out to the
+ * subscribers, so the database sees one query per poll however many clients are connected.
+ * Each subscriber has a bounded buffer drained on a virtual thread; the reader only offers to the
+ * buffers and never waits on a slow client. A subscriber whose buffer fills up gets what it
+ * already has and is then disconnected, to resume from the outbox with the Last-Event-ID of its
+ * reconnect like any client that lost its connection. Resuming from a change that was already
+ * pruned sends a {@code reset} event instead, telling the client to reload.
+ * <p>
+ * Outbox ids are assigned when a transaction writes its row, not when it commits, so a smaller id
+ * can become visible after a larger one. The reader stops at such a gap until the missing row
+ * commits or {@code app.changes.gap-timeout} passes, which tells rolled back transactions apart
+ * from slow ones. The skipped ids are watched for the outbox retention: a change that commits
+ * there after all was too slow, not rolled back, and is published again under a new id.
+ * <p>
+ * In the sharded mode every shard has its own outbox and ids, so there is no feed to follow: only
+ * the pruning runs, on every shard.
+ */
+@Slf4j
+@Component
+@ManagedResource(description = "Server-Sent Events feed of product changes")
+public class ProductChangeFeed {
+
+    static final String CHANGE_EVENT = "change";
+    static final String RESET_EVENT = "reset";
+
+    private static final Change HEARTBEAT = new Change(0, null);
+
+    private final ProductOutboxRepository outboxRepository;
+    private final ProductOutboxWriter outboxWriter;
+    private final ProductShards productShards;
+    private final Supplier<SseEmitter> emitterFactory;
+    private final Executor deliveryExecutor;
+    private final Clock clock;
+    private final int batchSize;
+    private final int bufferCapacity;
+    private final Duration gapTimeout;
+    private final Duration retention;
+
+    private final Set<Subscriber> subscribers = ConcurrentHashMap.newKeySet();
+    private final LongAdder overflows = new LongAdder();
+    // Only touched by the poll, which never runs twice at the same time
+    private final List<SkippedRange> skippedRanges = new ArrayList<>();
+
+    // Orders subscriptions against the fan-out: a subscriber gets live every change after the position it registered at
+    private final Object lock = new Object();
+    // Id of the last change offered to the subscribers; -1 until read from the outbox
+    private long position = -1;
+    private Instant gapSince;
+
+    @Autowired
+    public ProductChangeFeed(ProductOutboxRepository outboxRepository,
+                             ProductOutboxWriter outboxWriter,
+                             ProductShards productShards,
+                             @Value("${app.changes.stream-timeout:PT30M}") Duration streamTimeout,
+                             @Value("${app.changes.poll-batch-size:500}") int batchSize,
+                             @Value("${app.changes.subscriber-buffer:256}") int bufferCapacity,
+                             @Value("${app.changes.gap-timeout:PT5S}") Duration gapTimeout,
+                             @Value("${app.changes.retention:PT24H}") Duration retention) {
+        this(outboxRepository, outboxWriter, productShards, () -> new SseEmitter(streamTimeout.toMillis()),
+                Executors.newVirtualThreadPerTaskExecutor(), Clock.systemUTC(),
+                batchSize, bufferCapacity, gapTimeout, retention);
+    }
+
+    ProductChangeFeed(ProductOutboxRepository outboxRepository,
+                      ProductOutboxWriter outboxWriter,
+                      ProductShards productShards,
+                      Supplier<SseEmitter> emitterFactory,
+                      Executor deliveryExecutor,
+                      Clock clock,
+                      int batchSize,
+                      int bufferCapacity,
+                      Duration gapTimeout,
+                      Duration retention) {
+        this.outboxRepository = outboxRepository;
+        this.outboxWriter = outboxWriter;
+        this.productShards = productShards;
+        this.emitterFactory = emitterFactory;
+        this.deliveryExecutor = deliveryExecutor;
+        this.clock = clock;
+        this.batchSize = batchSize;
+        this.bufferCapacity = bufferCapacity;
+        this.gapTimeout = gapTimeout;
+        this.retention = retention;
+    }
+
+    /**
+     * Opens a stream of the changes after {@code lastEventId}, or of the changes from now on when null
+     *
+     * @throws ChangesUnavailableException in the sharded mode
+     */
+    public SseEmitter subscribe(Long lastEventId) {
+        if (productShards.isSharded()) {
+            throw new ChangesUnavailableException();
+        }
+
+        SseEmitter emitter = emitterFactory.get();
+        Subscriber subscriber;
+        synchronized (lock) {
+            subscriber = new Subscriber(emitter, lastEventId, currentPosition());
+            subscribers.add(subscriber);
+        }
+        emitter.onCompletion(subscriber::close);
+        emitter.onTimeout(subscriber::close);
+        emitter.onError(ex -> subscriber.close());
+        subscriber.schedule();
+        return emitter;
+    }
+
+    /**
+     * Id up to which every change is committed and was offered to the subscribers. Changes with a
+     * larger id may still be followed by smaller ones, so this is the upper bound of the delta sync.
+     */
+    public long committedPosition() {
+        synchronized (lock) {
+            return currentPosition();
+        }
+    }
+
+    /**
+     * Offers the committed changes after the current position to every subscriber
+     */
+    @Scheduled(fixedDelayString = "${app.changes.poll-interval:PT0.2S}")
+    public void poll() {
+        if (productShards.isSharded()) {
+            return;
+        }
+
+        republishLateChanges();
+        long after = committedPosition();
+        List<ProductOutboxEvent> events = outboxRepository.findByIdGreaterThanOrderByIdAsc(after, Limit.of(batchSize));
+        synchronized (lock) {
+            for (ProductOutboxEvent event : events) {
+                if (event.getId() != position + 1 && !gapTimedOut(event.getId())) {
+                    break;
+                }
+                gapSince = null;
+                Change change = new Change(event.getId(), event.getPayload());
+                subscribers.forEach(subscriber -> subscriber.offer(change));
+                position = event.getId();
+            }
+        }
+    }
+
+    /**
+     * Keeps idle connections open through proxies and finds the clients that went away
+     */
+    @Scheduled(fixedRateString = "${app.changes.heartbeat-interval:PT15S}")
+    public void heartbeat() {
+        subscribers.forEach(Subscriber::heartbeat);
+    }
+
+    @Scheduled(fixedDelayString = "${app.changes.prune-interval:PT1M}")
+    public void prune() {
+        Instant cutoff = clock.instant().minus(retention);
+        int pruned;
+        if (productShards.isSharded()) {
+            // Nothing is published, the changes are only kept for the retention
+            pruned = productShards.onEveryShard(() -> outboxRepository.deletePublishedBefore(cutoff, Long.MAX_VALUE))
+                    .stream().mapToInt(Integer::intValue).sum();
+        } else {
+            pruned = outboxRepository.deletePublishedBefore(cutoff, committedPosition());
+        }
+        if (pruned > 0) {
+            log.debug("Pruned {} published product changes from the outbox", pruned);
+        }
+    }
+
+    @PreDestroy
+    public void stop() {
+        if (deliveryExecutor instanceof ExecutorService executorService) {
+            executorService.shutdownNow();
+        }
+        subscribers.forEach(subscriber -> subscriber.emitter.complete());
+    }
+
+    @ManagedAttribute(description = "Connected subscribers")
+    public int getSubscribers() {
+        return subscribers.size();
+    }
+
+    @ManagedAttribute(description = "Id of the last change offered to the subscribers")
+    public long getPosition() {
+        synchronized (lock) {
+            return position;
+        }
+    }
+
+    @ManagedAttribute(description = "Subscribers disconnected because their buffer was full")
+    public long getOverflows() {
+        return overflows.sum();
+    }
+
+    // Must hold the lock
+    private long currentPosition() {
+        if (position < 0) {
+            // Changes written before startup are only replayed on request, never broadcast
+            position = outboxRepository.findMaxId().orElse(0L);
+        }
+        return position;
+    }
+
+    // Must hold the lock
+    private boolean gapTimedOut(long nextId) {
+        Instant now = clock.instant();
+        if (gapSince == null) {
+            gapSince = now;
+        }
+        if (now.isBefore(gapSince.plus(gapTimeout))) {
+            return false;
+        }
+
+        log.debug("Skipping product changes {} to {}, not committed yet", position + 1, nextId - 1);
+        skippedRanges.add(new SkippedRange(position + 1, nextId - 1, now));
+        return true;
+    }
+
+    // Changes committed in a skipped range get a new id after the position, stamped on the product or its tombstone
+    private void republishLateChanges() {
+        Instant cutoff = clock.instant().minus(retention);
+        skippedRanges.removeIf(range -> range.skippedAt().isBefore(cutoff));
+        for (SkippedRange range : skippedRanges) {
+            List<ProductOutboxEvent> lateEvents = outboxRepository.findByIdGreaterThanAndIdLessThanEqualOrderByIdAsc(
+                    range.firstId() - 1, range.lastId(), Limit.of(batchSize));
+            for (ProductOutboxEvent late : lateEvents) {
+                log.debug("Product change {} committed after it was skipped", late.getId());
+                outboxWriter.republish(late);
+            }
+        }
+    }
+
+    private record SkippedRange(long firstId, long lastId, Instant skippedAt) {
+    }
+
+    private record Change(long id, String payload) {
+    }
+
+    private final class Subscriber {
+
+        private final SseEmitter emitter;
+        private final BlockingQueue<Change> buffer = new LinkedBlockingQueue<>(bufferCapacity);
+        private final AtomicBoolean scheduled = new AtomicBoolean();
+        // Live changes start after this id; the ones up to it are replayed from the outbox
+        private final long registeredAt;
+        // Only touched by the drain, which never runs twice at the same time
+        private Long resumeAfter;
+        private volatile boolean overflowed;
+        private volatile boolean closed;
+
+        private Subscriber(SseEmitter emitter, Long resumeAfter, long registeredAt) {
+            this.emitter = emitter;
+            this.resumeAfter = resumeAfter;
+            this.registeredAt = registeredAt;
+        }
+
+        private void offer(Change change) {
+            if (closed || overflowed) {
+                return;
+            }
+            if (!buffer.offer(change)) {
+                overflowed = true;
+                overflows.increment();
+            }
+            schedule();
+        }
+
+        private void heartbeat() {
+            // Not worth an overflow: a subscriber with a backlog is not idle
+            if (buffer.isEmpty() && buffer.offer(HEARTBEAT)) {
+                schedule();
+            }
+        }
+
+        private void schedule() {
+            if (!closed && scheduled.compareAndSet(false, true)) {
+                deliveryExecutor.execute(this::drain);
+            }
+        }
+
+        private void drain() {
+            try {
+                if (resumeAfter != null) {
+                    replay(resumeAfter);
+                    resumeAfter = null;
+                }
+
+                Change change;
+                while (!closed && (change = buffer.poll()) != null) {
+                    send(change);
+                }
+                if (overflowed && !closed) {
+                    // Reconnects with the id of the last change sent and catches up from the outbox
+                    close();
+                    emitter.complete();
+                }
+            } catch (IOException | IllegalStateException ex) {
+                // The client went away, which the container also reports through the emitter callbacks
+                close();
+            } catch (RuntimeException ex) {
+                log.warn("Closing a product change stream after a delivery failure", ex);
+                close();
+                emitter.completeWithError(ex);
+            } finally {
+                scheduled.set(false);
+            }
+
+            if (!buffer.isEmpty() || overflowed) {
+                schedule();
+            }
+        }
+
+        private void replay(long after) throws IOException {
+            if (after == registeredAt) {
+                return;
+            }
+
+            long oldest = outboxRepository.findMinId().orElse(registeredAt + 1);
+            if (after > registeredAt || after + 1 < oldest) {
+                // Resuming from a pruned change or from another outbox, e.g. a recreated database
+                emitter.send(SseEmitter.event().id(Long.toString(registeredAt)).name(RESET_EVENT).data("{}"));
+                return;
+            }
+
+            while (after < registeredAt && !closed) {
+                List<ProductOutboxEvent> events = outboxRepository.findByIdGreaterThanAndIdLessThanEqualOrderByIdAsc(
+                        after, registeredAt, Limit.of(batchSize));
+                if (events.isEmpty()) {
+                    return;
+                }
+                for (ProductOutboxEvent event : events) {
+                    send(new Change(event.getId(), event.getPayload()));
+                }
+                after = events.getLast().getId();
+            }
+        }
+
+        private void send(Change change) throws IOException {
+            if (change == HEARTBEAT) {
+                emitter.send(SseEmitter.event().comment("heartbeat"));
+            } else {
+                emitter.send(SseEmitter.event().id(Long.toString(change.id())).name(CHANGE_EVENT).data(change.payload()));
+            }
+        }
+
+        private void close() {
+            closed = true;
+            buffer.clear();
+            subscribers.remove(this);
+        }
+    }
+}
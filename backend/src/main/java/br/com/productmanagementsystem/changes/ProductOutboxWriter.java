@@ -0,0 +1,103 @@
+package br.com.productmanagementsystem.changes;
+
+import br.com.productmanagementsystem.dto.ProductChangeEventDTO;
+import br.com.productmanagementsystem.dto.ProductResponseDTO;
+import br.com.productmanagementsystem.entity.Product;
+import br.com.productmanagementsystem.entity.ProductOutboxEvent;
+import br.com.productmanagementsystem.entity.ProductTombstone;
+import br.com.productmanagementsystem.event.ProductChangedEvent;
+import br.com.productmanagementsystem.event.ProductSnapshot;
+import br.com.productmanagementsystem.repository.ProductOutboxRepository;
+import br.com.productmanagementsystem.repository.ProductRepository;
+import br.com.productmanagementsystem.repository.ProductTombstoneRepository;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import lombok.RequiredArgsConstructor;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.Instant;
+import java.util.Optional;
+
+/**
+ * Writes every {@link ProductChangedEvent} to the outbox table.
+ * <p>
+ * Unlike the listeners of derived state, this one runs synchronously while the event is
+ * published, inside the transaction of the write: the outbox row commits or rolls back with the
+ * product row, so the change feed can never announce a write that did not happen or miss one that
+ * did. The outbox id is also the change sequence of the delta sync, stamped on the product or, for
+ * deletions, on its tombstone.
+ */
+@Component
+@RequiredArgsConstructor
+public class ProductOutboxWriter {
+
+    private final ProductOutboxRepository outboxRepository;
+    private final ProductRepository productRepository;
+    private final ProductTombstoneRepository tombstoneRepository;
+    private final ObjectMapper objectMapper;
+
+    @EventListener
+    @Transactional(propagation = Propagation.MANDATORY)
+    public void write(ProductChangedEvent event) {
+        ProductSnapshot product = event.current();
+        Instant occurredAt = Instant.now();
+        ProductChangeEventDTO change = new ProductChangeEventDTO(
+                event.type(),
+                product.publicId(),
+                new ProductResponseDTO(product.publicId(), product.name(), product.price(),
+                        product.description(), product.quantity()),
+                occurredAt
+        );
+
+        ProductOutboxEvent outboxEvent = outboxRepository.save(
+                new ProductOutboxEvent(null, event.type(), product.publicId(), toJson(change), occurredAt));
+
+        if (event.type() == ProductChangedEvent.ChangeType.DELETED) {
+            tombstoneRepository.save(new ProductTombstone(product.publicId(), outboxEvent.getId(), occurredAt));
+        } else {
+            productRepository.updateChangeSeq(product.id(), outboxEvent.getId());
+        }
+    }
+
+    /**
+     * Moves a change that committed after the change feed skipped its id to a new outbox id, and
+     * stamps that id on the product or its tombstone, so the feed and the delta syncs past the old
+     * id still deliver it. A change a later one of the same product already superseded is dropped.
+     *
+     * @return whether the change was published again
+     */
+    @Transactional
+    public boolean republish(ProductOutboxEvent late) {
+        outboxRepository.delete(late);
+        String publicId = late.getProductPublicId();
+        Optional<ProductTombstone> tombstone = Optional.empty();
+        Optional<Product> product = Optional.empty();
+        if (late.getType() == ProductChangedEvent.ChangeType.DELETED) {
+            tombstone = tombstoneRepository.findById(publicId)
+                    .filter(deleted -> late.getId().equals(deleted.getChangeSeq()));
+        } else {
+            product = productRepository.findByPublicId(publicId)
+                    .filter(changed -> late.getId().equals(changed.getChangeSeq()));
+        }
+        if (tombstone.isEmpty() && product.isEmpty()) {
+            return false;
+        }
+
+        ProductOutboxEvent outboxEvent = outboxRepository.save(new ProductOutboxEvent(
+                null, late.getType(), publicId, late.getPayload(), late.getOccurredAt()));
+        tombstone.ifPresent(deleted -> deleted.setChangeSeq(outboxEvent.getId()));
+        product.ifPresent(changed -> productRepository.updateChangeSeq(changed.getId(), outboxEvent.getId()));
+        return true;
+    }
+
+    private String toJson(ProductChangeEventDTO change) {
+        try {
+            return objectMapper.writeValueAsString(change);
+        } catch (JsonProcessingException ex) {
+            throw new IllegalStateException("Product change could not be serialized", ex);
+        }
+    }
+}
@@ -0,0 +1,149 @@
+package br.com.productmanagementsystem.config;
+
+import br.com.productmanagementsystem.dto.ProductResponseDTO;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
+import org.springframework.cache.annotation.EnableCaching;
+import org.springframework.cache.support.SimpleCacheManager;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.Ordered;
+import org.springframework.lang.NonNull;
+import org.springframework.lang.Nullable;
+import org.springframework.transaction.annotation.EnableTransactionManagement;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.Callable;
+
+/**
+ * Configuration for the product lookup cache.
+ * <p>
+ * The transaction interceptor wraps the cache interceptor, so the cache writes of a service method
+ * happen inside its transaction and {@link TransactionAwareCache} can defer them to its commit.
+ */
+@Configuration
+@EnableTransactionManagement(order = CacheConfig.TRANSACTION_ORDER)
+@EnableCaching(order = CacheConfig.CACHE_ORDER)
+public class CacheConfig {
+
+    public static final String PRODUCTS_CACHE = "products";
+
+    static final int TRANSACTION_ORDER = Ordered.LOWEST_PRECEDENCE - 1;
+    static final int CACHE_ORDER = Ordered.LOWEST_PRECEDENCE;
+
+    @Bean
+    public CacheManager cacheManager(@Value("${app.cache.products.max-entries:10000}") int maxEntries,
+                                     @Value("${app.cache.products.ttl:PT10M}") Duration ttl) {
+        SimpleCacheManager cacheManager = new SimpleCacheManager() {
+            @Override
+            @NonNull
+            protected Cache decorateCache(@NonNull Cache cache) {
+                return new TransactionAwareCache(cache);
+            }
+        };
+        cacheManager.setCaches(List.of(new ExpiringLruCache(PRODUCTS_CACHE, maxEntries, ttl, Clock.systemUTC(),
+                CacheConfig::isNewerProduct)));
+        return cacheManager;
+    }
+
+    /**
+     * Whether the cached product is at a later version than the one about to be put
+     */
+    static boolean isNewerProduct(Object cached, Object candidate) {
+        return cached instanceof ProductResponseDTO cachedProduct
+                && candidate instanceof ProductResponseDTO candidateProduct
+                && cachedProduct.version() != null
+                && candidateProduct.version() != null
+                && cachedProduct.version() > candidateProduct.version();
+    }
+
+    /**
+     * Defers puts and evictions until the surrounding transaction commits,
+     * so rolled back writes never reach the cache. Puts from read-only
+     * transactions only fill an empty entry: a write may have committed since
+     * the row was read.
+     */
+    static class TransactionAwareCache implements Cache {
+
+        private final Cache target;
+
+        TransactionAwareCache(Cache target) {
+            this.target = target;
+        }
+
+        @Override
+        @NonNull
+        public String getName() {
+            return target.getName();
+        }
+
+        @Override
+        @NonNull
+        public Object getNativeCache() {
+            return target.getNativeCache();
+        }
+
+        @Override
+        @Nullable
+        public ValueWrapper get(@NonNull Object key) {
+            return target.get(key);
+        }
+
+        @Override
+        @Nullable
+        public <T> T get(@NonNull Object key, @Nullable Class<T> type) {
+            return target.get(key, type);
+        }
+
+        @Override
+        @Nullable
+        public <T> T get(@NonNull Object key, @NonNull Callable<T> valueLoader) {
+            return target.get(key, valueLoader);
+        }
+
+        @Override
+        public void put(@NonNull Object key, @Nullable Object value) {
+            if (TransactionSynchronizationManager.isCurrentTransactionReadOnly()) {
+                afterCommit(() -> target.putIfAbsent(key, value));
+            } else {
+                afterCommit(() -> target.put(key, value));
+            }
+        }
+
+        @Override
+        @Nullable
+        public ValueWrapper putIfAbsent(@NonNull Object key, @Nullable Object value) {
+            afterCommit(() -> target.putIfAbsent(key, value));
+            return null;
+        }
+
+        @Override
+        public void evict(@NonNull Object key) {
+            afterCommit(() -> target.evict(key));
+        }
+
+        @Override
+        public void clear() {
+            afterCommit(target::clear);
+        }
+
+        private void afterCommit(Runnable action) {
+            if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+                action.run();
+                return;
+            }
+
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    action.run();
+                }
+            });
+        }
+    }
+}
@@ -0,0 +1,70 @@
+package br.com.productmanagementsystem.config;
+
+import br.com.productmanagementsystem.interceptor.ConcurrencyLimitInterceptor;
+import br.com.productmanagementsystem.limit.AdaptiveConcurrencyLimiter;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.lang.NonNull;
+import org.springframework.web.servlet.config.annotation.InterceptorRegistry;
+import org.springframework.web.servlet.config.annotation.WebMvcConfigurer;
+
+/**
+ * Configuration for the adaptive concurrency limits in front of the product API
+ */
+@Configuration
+public class ConcurrencyLimitConfig implements WebMvcConfigurer {
+
+    @Value("${app.concurrency-limit.retry-after-seconds:1}")
+    private long retryAfterSeconds;
+
+    @Value("${app.concurrency-limit.backoff-ratio:0.9}")
+    private double backoffRatio;
+
+    @Value("${app.concurrency-limit.reads.initial:50}")
+    private int readInitialLimit;
+
+    @Value("${app.concurrency-limit.reads.min:5}")
+    private int readMinLimit;
+
+    @Value("${app.concurrency-limit.reads.max:200}")
+    private int readMaxLimit;
+
+    @Value("${app.concurrency-limit.reads.latency-target-ms:250}")
+    private long readLatencyTargetMillis;
+
+    @Value("${app.concurrency-limit.writes.initial:20}")
+    private int writeInitialLimit;
+
+    @Value("${app.concurrency-limit.writes.min:2}")
+    private int writeMinLimit;
+
+    @Value("${app.concurrency-limit.writes.max:100}")
+    private int writeMaxLimit;
+
+    @Value("${app.concurrency-limit.writes.latency-target-ms:500}")
+    private long writeLatencyTargetMillis;
+
+    @Bean
+    public AdaptiveConcurrencyLimiter readConcurrencyLimiter() {
+        return new AdaptiveConcurrencyLimiter("reads", readInitialLimit, readMinLimit, readMaxLimit,
+                readLatencyTargetMillis, backoffRatio);
+    }
+
+    @Bean
+    public AdaptiveConcurrencyLimiter writeConcurrencyLimiter() {
+        return new AdaptiveConcurrencyLimiter("writes", writeInitialLimit, writeMinLimit, writeMaxLimit,
+                writeLatencyTargetMillis, backoffRatio);
+    }
+
+    @Override
+    public void addInterceptors(@NonNull InterceptorRegistry registry) {
+        registry.addInterceptor(new ConcurrencyLimitInterceptor(
+                        readConcurrencyLimiter(),
+                        writeConcurrencyLimiter(),
+                        retryAfterSeconds))
+                .addPathPatterns("/api/v1/products", "/api/v1/products/**")
+                // EventSource gives up for good on a 503; stream connects are bounded by the export rate limit instead
+                .excludePathPatterns("/api/v1/products/changes/stream");
+    }
+}
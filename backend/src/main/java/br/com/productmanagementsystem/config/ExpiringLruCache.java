@@ -0,0 +1,146 @@
+package br.com.productmanagementsystem.config;
+
+import org.springframework.cache.support.AbstractValueAdaptingCache;
+import org.springframework.cache.support.SimpleValueWrapper;
+import org.springframework.lang.NonNull;
+import org.springframework.lang.Nullable;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.Callable;
+import java.util.function.BiPredicate;
+
+/**
+ * Cache holding at most {@code maxEntries} values, each for at most {@code ttl}, dropping the
+ * least recently used first.
+ * <p>
+ * Evicting a key leaves a marker for the rest of the ttl, so a {@link #putIfAbsent} of a value
+ * read before the eviction cannot bring it back; only a {@link #put} replaces the marker. A put
+ * is also skipped when {@code newer} says the cached value is more recent than the new one,
+ * which keeps writes committing out of order from going back in time.
+ */
+class ExpiringLruCache extends AbstractValueAdaptingCache {
+
+    private static final Object EVICTED = new Object();
+
+    private final String name;
+    private final Map<Object, Entry> entries;
+    private final Duration ttl;
+    private final Clock clock;
+    private final BiPredicate<Object, Object> newer;
+
+    ExpiringLruCache(String name, int maxEntries, Duration ttl, Clock clock, BiPredicate<Object, Object> newer) {
+        super(false);
+        if (maxEntries <= 0) {
+            throw new IllegalArgumentException("maxEntries must be positive");
+        }
+        this.name = name;
+        this.ttl = ttl;
+        this.clock = clock;
+        this.newer = newer;
+        this.entries = new LinkedHashMap<>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<Object, Entry> eldest) {
+                return size() > maxEntries;
+            }
+        };
+    }
+
+    @Override
+    @NonNull
+    public String getName() {
+        return name;
+    }
+
+    @Override
+    @NonNull
+    public Object getNativeCache() {
+        return entries;
+    }
+
+    @Override
+    @Nullable
+    protected synchronized Object lookup(@NonNull Object key) {
+        Entry entry = live(key);
+        return entry == null || entry.value == EVICTED ? null : entry.value;
+    }
+
+    @Override
+    @Nullable
+    public <T> T get(@NonNull Object key, @NonNull Callable<T> valueLoader) {
+        ValueWrapper cached = get(key);
+        if (cached != null) {
+            @SuppressWarnings("unchecked")
+            T value = (T) cached.get();
+            return value;
+        }
+
+        T value;
+        try {
+            value = valueLoader.call();
+        } catch (Exception ex) {
+            throw new ValueRetrievalException(key, valueLoader, ex);
+        }
+        putIfAbsent(key, value);
+        return value;
+    }
+
+    @Override
+    public synchronized void put(@NonNull Object key, @Nullable Object value) {
+        Entry existing = live(key);
+        if (existing != null && existing.value != EVICTED && newer.test(existing.value, value)) {
+            return;
+        }
+        store(key, value);
+    }
+
+    @Override
+    @Nullable
+    public synchronized ValueWrapper putIfAbsent(@NonNull Object key, @Nullable Object value) {
+        Entry existing = live(key);
+        if (existing != null) {
+            return new SimpleValueWrapper(existing.value == EVICTED ? null : existing.value);
+        }
+        store(key, value);
+        return null;
+    }
+
+    @Override
+    public synchronized void evict(@NonNull Object key) {
+        entries.put(key, new Entry(EVICTED, expiresAt()));
+    }
+
+    @Override
+    public synchronized void clear() {
+        entries.clear();
+    }
+
+    synchronized int size() {
+        return entries.size();
+    }
+
+    // Must hold the lock
+    private Entry live(Object key) {
+        Entry entry = entries.get(key);
+        if (entry != null && clock.millis() >= entry.expiresAt) {
+            entries.remove(key);
+            return null;
+        }
+        return entry;
+    }
+
+    // Must hold the lock
+    private void store(Object key, @Nullable Object value) {
+        // Null values are not cached, they count as an eviction
+        entries.put(key, new Entry(value != null ? value : EVICTED, expiresAt()));
+    }
+
+    private long expiresAt() {
+        return clock.millis() + ttl.toMillis();
+    }
+
+    private record Entry(Object value, long expiresAt) {
+    }
+}
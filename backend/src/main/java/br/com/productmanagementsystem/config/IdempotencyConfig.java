@@ -0,0 +1,38 @@
+package br.com.productmanagementsystem.config;
+
+import br.com.productmanagementsystem.filter.IdempotencyFilter;
+import br.com.productmanagementsystem.idempotency.IdempotencyStore;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.web.servlet.FilterRegistrationBean;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.web.servlet.HandlerExceptionResolver;
+
+import java.time.Clock;
+import java.time.Duration;
+
+/**
+ * Configuration for Idempotency-Key handling on create and bulk operations
+ */
+@Configuration
+public class IdempotencyConfig {
+
+    @Bean
+    public IdempotencyStore idempotencyStore(@Value("${app.idempotency.max-entries:10000}") int maxEntries,
+                                             @Value("${app.idempotency.ttl:PT24H}") Duration ttl) {
+        return new IdempotencyStore(maxEntries, ttl, Clock.systemUTC());
+    }
+
+    @Bean
+    public FilterRegistrationBean<IdempotencyFilter> idempotencyFilter(
+            IdempotencyStore idempotencyStore,
+            @Qualifier("handlerExceptionResolver") HandlerExceptionResolver handlerExceptionResolver,
+            @Value("${app.idempotency.wait-timeout:PT10S}") Duration waitTimeout) {
+        FilterRegistrationBean<IdempotencyFilter> registrationBean = new FilterRegistrationBean<>();
+        registrationBean.setFilter(new IdempotencyFilter(idempotencyStore, handlerExceptionResolver, waitTimeout));
+        registrationBean.addUrlPatterns("/api/*");
+        registrationBean.setOrder(4); // After security headers and rate limiting, so replays carry headers and count
+        return registrationBean;
+    }
+}
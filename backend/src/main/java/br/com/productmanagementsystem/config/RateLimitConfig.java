@@ -0,0 +1,60 @@
+package br.com.productmanagementsystem.config;
+
+import br.com.productmanagementsystem.filter.RateLimitFilter;
+import br.com.productmanagementsystem.limit.TokenBucketRateLimiter;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.web.servlet.FilterRegistrationBean;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.web.servlet.HandlerExceptionResolver;
+
+import java.util.List;
+
+/**
+ * Configuration for per-client rate limiting, with separate limits for reads, writes and exports
+ */
+@Configuration
+@ConditionalOnProperty(prefix = "app.rate-limit", name = "enabled", havingValue = "true", matchIfMissing = true)
+public class RateLimitConfig {
+
+    @Value("${app.rate-limit.max-clients:200000}")
+    private int maxClients;
+
+    @Bean
+    public TokenBucketRateLimiter readRateLimiter(
+            @Value("${app.rate-limit.reads.permits-per-second:50}") double permitsPerSecond,
+            @Value("${app.rate-limit.reads.burst:100}") int burst) {
+        return new TokenBucketRateLimiter("reads", permitsPerSecond, burst, maxClients);
+    }
+
+    @Bean
+    public TokenBucketRateLimiter writeRateLimiter(
+            @Value("${app.rate-limit.writes.permits-per-second:10}") double permitsPerSecond,
+            @Value("${app.rate-limit.writes.burst:20}") int burst) {
+        return new TokenBucketRateLimiter("writes", permitsPerSecond, burst, maxClients);
+    }
+
+    @Bean
+    public TokenBucketRateLimiter exportRateLimiter(
+            @Value("${app.rate-limit.exports.permits-per-second:1}") double permitsPerSecond,
+            @Value("${app.rate-limit.exports.burst:5}") int burst) {
+        return new TokenBucketRateLimiter("exports", permitsPerSecond, burst, maxClients);
+    }
+
+    @Bean
+    public FilterRegistrationBean<RateLimitFilter> rateLimitFilter(
+            @Qualifier("readRateLimiter") TokenBucketRateLimiter readRateLimiter,
+            @Qualifier("writeRateLimiter") TokenBucketRateLimiter writeRateLimiter,
+            @Qualifier("exportRateLimiter") TokenBucketRateLimiter exportRateLimiter,
+            @Value("${app.rate-limit.exports.patterns:/api/v1/products/changes/**}") List<String> exportPatterns,
+            @Qualifier("handlerExceptionResolver") HandlerExceptionResolver handlerExceptionResolver) {
+        FilterRegistrationBean<RateLimitFilter> registrationBean = new FilterRegistrationBean<>();
+        registrationBean.setFilter(new RateLimitFilter(
+                readRateLimiter, writeRateLimiter, exportRateLimiter, exportPatterns, handlerExceptionResolver));
+        registrationBean.addUrlPatterns("/api/*");
+        registrationBean.setOrder(3); // After security headers, before any request processing
+        return registrationBean;
+    }
+}
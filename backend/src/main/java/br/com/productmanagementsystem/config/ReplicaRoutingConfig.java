@@ -0,0 +1,68 @@
+package br.com.productmanagementsystem.config;
+
+import br.com.productmanagementsystem.filter.ReadYourWritesFilter;
+import br.com.productmanagementsystem.replica.ReadWriteRoutingDataSource;
+import br.com.productmanagementsystem.replica.ReplicaLagMonitor;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.autoconfigure.jdbc.DataSourceProperties;
+import org.springframework.boot.jdbc.DataSourceBuilder;
+import org.springframework.boot.web.servlet.FilterRegistrationBean;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.jdbc.datasource.LazyConnectionDataSourceProxy;
+
+import javax.sql.DataSource;
+import java.time.Clock;
+import java.time.Duration;
+
+/**
+ * Configuration for routing read-only transactions to a read replica. The primary is configured by
+ * {@code spring.datasource}, the replica by {@code app.datasource.replica}.
+ */
+@Configuration
+@ConditionalOnProperty(prefix = "app.datasource.replica", name = "enabled", havingValue = "true")
+// With sharding too, ShardingConfig refuses to start instead of both defining the DataSource
+@ConditionalOnProperty(prefix = "app.sharding", name = "enabled", havingValue = "false", matchIfMissing = true)
+public class ReplicaRoutingConfig {
+
+    @Value("${app.datasource.replica.max-lag:PT5S}")
+    private Duration maxLag;
+
+    @Bean(defaultCandidate = false)
+    public DataSource primaryDataSource(DataSourceProperties properties) {
+        return properties.initializeDataSourceBuilder().build();
+    }
+
+    @Bean(defaultCandidate = false)
+    public DataSource replicaDataSource(@Value("${app.datasource.replica.url}") String url,
+                                        @Value("${app.datasource.replica.username:}") String username,
+                                        @Value("${app.datasource.replica.password:}") String password) {
+        return DataSourceBuilder.create().url(url).username(username).password(password).build();
+    }
+
+    @Bean
+    public ReplicaLagMonitor replicaLagMonitor(@Qualifier("primaryDataSource") DataSource primary,
+                                               @Qualifier("replicaDataSource") DataSource replica) {
+        return new ReplicaLagMonitor(primary, replica, Clock.systemUTC(), maxLag);
+    }
+
+    @Bean
+    public DataSource dataSource(@Qualifier("primaryDataSource") DataSource primary,
+                                 @Qualifier("replicaDataSource") DataSource replica,
+                                 ReplicaLagMonitor replicaLagMonitor) {
+        ReadWriteRoutingDataSource routingDataSource = new ReadWriteRoutingDataSource(primary, replica, replicaLagMonitor);
+        routingDataSource.afterPropertiesSet();
+        return new LazyConnectionDataSourceProxy(routingDataSource);
+    }
+
+    @Bean
+    public FilterRegistrationBean<ReadYourWritesFilter> readYourWritesFilter() {
+        FilterRegistrationBean<ReadYourWritesFilter> registrationBean = new FilterRegistrationBean<>();
+        registrationBean.setFilter(new ReadYourWritesFilter(Clock.systemUTC(), maxLag));
+        registrationBean.addUrlPatterns("/api/*");
+        registrationBean.setOrder(5); // After idempotency, so only writes that reach the controller set the cookie
+        return registrationBean;
+    }
+}
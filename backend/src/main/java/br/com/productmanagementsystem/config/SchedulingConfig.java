@@ -0,0 +1,12 @@
+package br.com.productmanagementsystem.config;
+
+import org.springframework.context.annotation.Configuration;
+import org.springframework.scheduling.annotation.EnableScheduling;
+
+/**
+ * Enables background jobs such as the inventory statistics reconciliation
+ */
+@Configuration
+@EnableScheduling
+public class SchedulingConfig {
+}
@@ -0,0 +1,67 @@
+package br.com.productmanagementsystem.config;
+
+import br.com.productmanagementsystem.shard.ProductShards;
+import br.com.productmanagementsystem.shard.ShardRoutingDataSource;
+import br.com.productmanagementsystem.shard.ShardSchemaInitializer;
+import jakarta.persistence.EntityManagerFactory;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.autoconfigure.jdbc.DataSourceProperties;
+import org.springframework.boot.jdbc.DataSourceBuilder;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.jdbc.datasource.LazyConnectionDataSourceProxy;
+
+import javax.sql.DataSource;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Configuration for sharding the products over several databases. The home shard is configured
+ * by {@code spring.datasource}, the others by {@code app.sharding}.
+ */
+@Configuration
+@ConditionalOnProperty(prefix = "app.sharding", name = "enabled", havingValue = "true")
+public class ShardingConfig {
+
+    @Bean(defaultCandidate = false)
+    public DataSource homeShardDataSource(DataSourceProperties properties) {
+        return properties.initializeDataSourceBuilder().build();
+    }
+
+    @Bean(defaultCandidate = false)
+    public ShardRoutingDataSource shardRoutingDataSource(@Qualifier("homeShardDataSource") DataSource homeShard,
+                                                         @Value("${app.sharding.urls}") List<String> urls,
+                                                         @Value("${app.sharding.username:}") String username,
+                                                         @Value("${app.sharding.password:}") String password) {
+        List<DataSource> shards = new ArrayList<>();
+        shards.add(homeShard);
+        urls.stream()
+                .filter(url -> !url.isBlank())
+                .map(url -> DataSourceBuilder.create().url(url).username(username).password(password).build())
+                .forEach(shards::add);
+        return new ShardRoutingDataSource(shards);
+    }
+
+    @Bean
+    public DataSource dataSource(@Qualifier("shardRoutingDataSource") ShardRoutingDataSource shardRoutingDataSource) {
+        return new LazyConnectionDataSourceProxy(shardRoutingDataSource);
+    }
+
+    @Bean
+    public ShardSchemaInitializer shardSchemaInitializer(EntityManagerFactory entityManagerFactory,
+                                                         DataSource dataSource,
+                                                         ProductShards productShards,
+                                                         @Value("${spring.jpa.hibernate.ddl-auto:none}") String ddlAuto,
+                                                         @Value("${app.hot-stock.enabled:false}") boolean hotStock,
+                                                         @Value("${app.datasource.replica.enabled:false}") boolean replica) {
+        if (hotStock) {
+            throw new IllegalStateException("Hot stock mode keeps a single stock journal and cannot be used with sharding");
+        }
+        if (replica) {
+            throw new IllegalStateException("Read replica routing follows a single primary and cannot be used with sharding");
+        }
+        return new ShardSchemaInitializer(entityManagerFactory, dataSource, productShards, ddlAuto.startsWith("create"));
+    }
+}
@@ -0,0 +1,137 @@
+package br.com.productmanagementsystem.controller;
+
+import br.com.productmanagementsystem.changes.ProductChangeFeed;
+import br.com.productmanagementsystem.dto.ProductChangeEventDTO;
+import br.com.productmanagementsystem.dto.ProductChangesResponseDTO;
+import br.com.productmanagementsystem.service.ProductService;
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.Parameter;
+import io.swagger.v3.oas.annotations.media.Content;
+import io.swagger.v3.oas.annotations.media.Schema;
+import io.swagger.v3.oas.annotations.responses.ApiResponse;
+import io.swagger.v3.oas.annotations.responses.ApiResponses;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import jakarta.validation.constraints.Max;
+import jakarta.validation.constraints.Min;
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.validation.annotation.Validated;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestHeader;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+@RestController
+@RequestMapping("/api/v1/products/changes")
+@RequiredArgsConstructor
+@Validated
+@Tag(name = "Product changes", description = "Delta sync and push notifications of product changes")
+public class ProductChangesController {
+
+    private static final String LAST_EVENT_ID = "Last-Event-ID";
+
+    private final ProductService productService;
+    private final ProductChangeFeed productChangeFeed;
+
+    @GetMapping
+    @Operation(
+            summary = "Get product changes since a sync token",
+            description = "Returns the products created or updated since the token in their current state, the products deleted " +
+                    "since the token, and the token for the next request. Without a token only a new token is returned: take it " +
+                    "before fetching the whole catalog, then keep in sync with it. Changes are read from an index by change " +
+                    "sequence, so the cost follows the number of changes instead of the catalog size."
+    )
+    @ApiResponses(value = {
+            @ApiResponse(
+                    responseCode = "200",
+                    description = "Changes retrieved successfully",
+                    content = @Content(
+                            mediaType = "application/json",
+                            schema = @Schema(implementation = ProductChangesResponseDTO.class)
+                    )
+            ),
+            @ApiResponse(
+                    responseCode = "400",
+                    description = "Malformed token or invalid limit",
+                    content = @Content
+            ),
+            @ApiResponse(
+                    responseCode = "410",
+                    description = "Token not valid for this catalog, fetch the whole catalog again",
+                    content = @Content
+            ),
+            @ApiResponse(
+                    responseCode = "501",
+                    description = "Not available with sharding",
+                    content = @Content
+            )
+    })
+    public ResponseEntity<ProductChangesResponseDTO> findChanges(
+            @Parameter(
+                    description = "Token returned by the previous request; omit it to get a first token",
+                    example = "1042"
+            )
+            @RequestParam(required = false)
+            @Min(value = 0, message = "{validation.changes.since.min}")
+            Long since,
+            @Parameter(
+                    description = "Maximum number of changed and deleted products; hasMore tells whether more are waiting",
+                    example = "500"
+            )
+            @RequestParam(defaultValue = "500")
+            @Min(value = 1, message = "{validation.changes.limit.range}")
+            @Max(value = 1000, message = "{validation.changes.limit.range}")
+            int limit) {
+        ProductChangesResponseDTO changes = productService.findChanges(since, limit);
+        return ResponseEntity.ok(changes);
+    }
+
+    @GetMapping(value = "/stream", produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+    @Operation(
+            summary = "Stream product changes",
+            description = "Server-Sent Events stream with a `change` event for every committed create, update, stock change " +
+                    "and delete, in commit order. The event id resumes the stream after a reconnect; when the changes after it " +
+                    "are no longer kept, a `reset` event asks the client to reload. Comments are sent as heartbeats."
+    )
+    @ApiResponses(value = {
+            @ApiResponse(
+                    responseCode = "200",
+                    description = "Stream opened",
+                    content = @Content(
+                            mediaType = MediaType.TEXT_EVENT_STREAM_VALUE,
+                            schema = @Schema(implementation = ProductChangeEventDTO.class)
+                    )
+            ),
+            @ApiResponse(
+                    responseCode = "400",
+                    description = "Invalid last event ID",
+                    content = @Content
+            ),
+            @ApiResponse(
+                    responseCode = "429",
+                    description = "Too many stream connections from this client",
+                    content = @Content
+            ),
+            @ApiResponse(
+                    responseCode = "501",
+                    description = "Not available with sharding",
+                    content = @Content
+            )
+    })
+    public SseEmitter stream(
+            @Parameter(
+                    description = "Id of the last change received; sent by browsers when they reconnect",
+                    example = "42"
+            )
+            @RequestHeader(value = LAST_EVENT_ID, required = false) Long lastEventIdHeader,
+            @Parameter(
+                    description = "Id of the last change received, for clients that cannot set headers on the first connection",
+                    example = "42"
+            )
+            @RequestParam(required = false) Long lastEventId) {
+        return productChangeFeed.subscribe(lastEventIdHeader != null ? lastEventIdHeader : lastEventId);
+    }
+}
@@ -1,28 +1,55 @@
 package br.com.productmanagementsystem.controller;
 
+import br.com.productmanagementsystem.dto.ProductFacetsResponseDTO;
+import br.com.productmanagementsystem.dto.ProductHistoryEventDTO;
+import br.com.productmanagementsystem.dto.ProductLookupRequestDTO;
+import br.com.productmanagementsystem.dto.ProductLookupResponseDTO;
 import br.com.productmanagementsystem.dto.ProductQueryDTO;
 import br.com.productmanagementsystem.dto.ProductRequestDTO;
 import br.com.productmanagementsystem.dto.ProductResponseDTO;
+import br.com.productmanagementsystem.dto.ProductStatsResponseDTO;
+import br.com.productmanagementsystem.dto.ProductSuggestionDTO;
+import br.com.productmanagementsystem.dto.StockAdjustmentRequestDTO;
+import br.com.productmanagementsystem.dto.StockAvailabilityResponseDTO;
+import br.com.productmanagementsystem.dto.StockReservationRequestDTO;
+import br.com.productmanagementsystem.dto.StockReservationResponseDTO;
+import br.com.productmanagementsystem.service.ConcurrentWriteRetry;
 import br.com.productmanagementsystem.service.ProductService;
+import br.com.productmanagementsystem.specification.ProductField;
+import br.com.productmanagementsystem.specification.ProductProjection;
+import br.com.productmanagementsystem.specification.ProductSpecification;
+import com.fasterxml.jackson.databind.JsonNode;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.Parameter;
+import io.swagger.v3.oas.annotations.media.ArraySchema;
 import io.swagger.v3.oas.annotations.media.Content;
 import io.swagger.v3.oas.annotations.media.Schema;
 import io.swagger.v3.oas.annotations.responses.ApiResponse;
 import io.swagger.v3.oas.annotations.responses.ApiResponses;
 import io.swagger.v3.oas.annotations.tags.Tag;
 import jakarta.validation.Valid;
+import jakarta.validation.constraints.Max;
+import jakarta.validation.constraints.Min;
+import jakarta.validation.constraints.NotBlank;
 import jakarta.validation.constraints.Pattern;
+import jakarta.validation.constraints.Size;
 import lombok.RequiredArgsConstructor;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.domain.Sort;
 import org.springframework.data.web.PageableDefault;
+import org.springframework.http.ETag;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.validation.annotation.Validated;
 import org.springframework.web.bind.annotation.*;
 
+import java.time.Instant;
+import java.util.List;
+import java.util.Map;
+
 @RestController
 @RequestMapping("/api/v1/products")
 @RequiredArgsConstructor
@@ -30,14 +57,18 @@ import org.springframework.web.bind.annotation.*;
 @Tag(name = "Products", description = "CRUD operations for product management")
 public class ProductController {
 
+    private static final String MERGE_PATCH_JSON_VALUE = "application/merge-patch+json";
     private static final String UUID_PATTERN = "^[0-9a-f]{8}-[0-9a-f]{4}-[0-9a-f]{4}-[0-9a-f]{4}-[0-9a-f]{12}$";
+    private static final long UNMATCHABLE_VERSION = -1L;
 
     private final ProductService productService;
+    private final ConcurrentWriteRetry concurrentWriteRetry;
 
     @GetMapping
     @Operation(
             summary = "List all products",
-            description = "Returns a paginated list of products with advanced filtering options including name, price range, quantity range, and stock status."
+            description = "Returns a paginated list of products with advanced filtering options including name, price range, quantity range, and stock status. " +
+                    "Use the fields parameter to select only the required columns."
     )
     @ApiResponses(value = {
             @ApiResponse(
@@ -50,26 +81,168 @@ public class ProductController {
             ),
             @ApiResponse(
                     responseCode = "400",
-                    description = "Invalid pagination or filter parameters",
+                    description = "Invalid pagination, sort or filter parameters",
                     content = @Content
             )
     })
-    public ResponseEntity<Page<ProductResponseDTO>> findAll(
+    public ResponseEntity<Page<?>> findAll(
             @Parameter(
                     description = "Pagination and sorting configuration",
                     example = "size=10&sort=name,asc"
             )
             @PageableDefault(size = 10, sort = "id", direction = Sort.Direction.ASC) Pageable pageable,
-            @Valid @ModelAttribute ProductQueryDTO queryParams) {
+            @Valid @ModelAttribute ProductQueryDTO queryParams,
+            @Parameter(
+                    description = "Comma-separated list of fields to return",
+                    example = "publicId,name,price"
+            )
+            @RequestParam(required = false)
+            @Pattern(regexp = ProductField.FIELDS_PATTERN, message = "{validation.fields.pattern}")
+            String fields) {
 
-        Page<ProductResponseDTO> products = productService.findAll(queryParams, pageable);
+        ProductSpecification.validateSort(pageable.getSort());
+        if (fields == null) {
+            Page<ProductResponseDTO> products = productService.findAll(queryParams, pageable);
+            return ResponseEntity.ok(products);
+        }
+
+        Page<Map<String, Object>> products = productService.findAll(queryParams, ProductField.parse(fields), pageable);
+        return ResponseEntity.ok(products);
+    }
+
+    @GetMapping("/facets")
+    @Operation(
+            summary = "Get product facets",
+            description = "Returns price buckets, stock status counts and quantity bands for the products matching the same filters as the product list, computed in a single pass."
+    )
+    @ApiResponses(value = {
+            @ApiResponse(
+                    responseCode = "200",
+                    description = "Facets computed successfully",
+                    content = @Content(
+                            mediaType = "application/json",
+                            schema = @Schema(implementation = ProductFacetsResponseDTO.class)
+                    )
+            ),
+            @ApiResponse(
+                    responseCode = "400",
+                    description = "Invalid filter parameters",
+                    content = @Content
+            )
+    })
+    public ResponseEntity<ProductFacetsResponseDTO> findFacets(@Valid @ModelAttribute ProductQueryDTO queryParams) {
+        ProductFacetsResponseDTO facets = productService.findFacets(queryParams);
+        return ResponseEntity.ok(facets);
+    }
+
+    @GetMapping("/stats")
+    @Operation(
+            summary = "Get inventory statistics",
+            description = "Returns the total stock value, out of stock count and low stock count across the whole catalog. " +
+                    "Served from aggregates maintained as products change, without scanning the table."
+    )
+    @ApiResponses(value = {
+            @ApiResponse(
+                    responseCode = "200",
+                    description = "Statistics retrieved successfully",
+                    content = @Content(
+                            mediaType = "application/json",
+                            schema = @Schema(implementation = ProductStatsResponseDTO.class)
+                    )
+            )
+    })
+    public ResponseEntity<ProductStatsResponseDTO> findStats() {
+        ProductStatsResponseDTO stats = productService.findStats();
+        return ResponseEntity.ok(stats);
+    }
+
+    @GetMapping("/suggest")
+    @Operation(
+            summary = "Suggest products by name prefix",
+            description = "Returns the products with a name word starting with the prefix (case insensitive), ranked by quantity in stock. Served from an in-memory prefix index."
+    )
+    @ApiResponses(value = {
+            @ApiResponse(
+                    responseCode = "200",
+                    description = "Suggestions retrieved successfully",
+                    content = @Content(
+                            mediaType = "application/json",
+                            array = @ArraySchema(schema = @Schema(implementation = ProductSuggestionDTO.class))
+                    )
+            ),
+            @ApiResponse(
+                    responseCode = "400",
+                    description = "Invalid prefix or limit",
+                    content = @Content
+            )
+    })
+    public ResponseEntity<List<ProductSuggestionDTO>> suggest(
+            @Parameter(
+                    description = "Beginning of any word of the product name",
+                    example = "gal",
+                    required = true
+            )
+            @RequestParam
+            @NotBlank(message = "{validation.suggest.prefix.required}")
+            @Size(max = 50, message = "{validation.suggest.prefix.size}")
+            String prefix,
+            @Parameter(
+                    description = "Maximum number of suggestions",
+                    example = "5"
+            )
+            @RequestParam(defaultValue = "10")
+            @Min(value = 1, message = "{validation.suggest.limit.range}")
+            @Max(value = 10, message = "{validation.suggest.limit.range}")
+            int limit) {
+        List<ProductSuggestionDTO> suggestions = productService.suggest(prefix, limit);
+        return ResponseEntity.ok(suggestions);
+    }
+
+    @GetMapping("/search")
+    @Operation(
+            summary = "Full-text search",
+            description = "Searches product names and descriptions and returns the matching products ordered by relevance. " +
+                    "Name matches weigh more than description matches; case and accents are ignored."
+    )
+    @ApiResponses(value = {
+            @ApiResponse(
+                    responseCode = "200",
+                    description = "Search results retrieved successfully",
+                    content = @Content(
+                            mediaType = "application/json",
+                            schema = @Schema(implementation = Page.class)
+                    )
+            ),
+            @ApiResponse(
+                    responseCode = "400",
+                    description = "Invalid query or pagination parameters",
+                    content = @Content
+            )
+    })
+    public ResponseEntity<Page<ProductResponseDTO>> search(
+            @Parameter(
+                    description = "Words to search for in the product name and description",
+                    example = "galaxy smartphone",
+                    required = true
+            )
+            @RequestParam
+            @NotBlank(message = "{validation.search.query.required}")
+            @Size(max = 100, message = "{validation.search.query.size}")
+            String q,
+            @Parameter(
+                    description = "Pagination configuration; results are always ordered by relevance",
+                    example = "page=0&size=10"
+            )
+            @PageableDefault(size = 10) Pageable pageable) {
+        Page<ProductResponseDTO> products = productService.search(q, pageable);
         return ResponseEntity.ok(products);
     }
 
     @GetMapping("/{publicId}")
     @Operation(
             summary = "Find product by ID",
-            description = "Returns a specific product based on its public ID."
+            description = "Returns a specific product based on its public ID. Use the fields parameter to select only the required columns. " +
+                    "With asOf, returns the product as it was at that time, rebuilt from its history and sent without an ETag."
     )
     @ApiResponses(value = {
             @ApiResponse(
@@ -82,11 +255,11 @@ public class ProductController {
             ),
             @ApiResponse(
                     responseCode = "404",
-                    description = "Product not found",
+                    description = "Product not found, or not existing at the asOf time",
                     content = @Content
             )
     })
-    public ResponseEntity<ProductResponseDTO> findByPublicId(
+    public ResponseEntity<?> findByPublicId(
             @Parameter(
                     description = "Product public ID",
                     example = "550e8400-e29b-41d4-a716-446655440000",
@@ -94,11 +267,111 @@ public class ProductController {
             )
             @PathVariable 
             @Pattern(regexp = UUID_PATTERN, message = "{validation.publicid.pattern}") 
-            String publicId) {
-        ProductResponseDTO product = productService.findByPublicId(publicId);
+            String publicId,
+            @Parameter(
+                    description = "Comma-separated list of fields to return",
+                    example = "publicId,name,price"
+            )
+            @RequestParam(required = false)
+            @Pattern(regexp = ProductField.FIELDS_PATTERN, message = "{validation.fields.pattern}")
+            String fields,
+            @Parameter(
+                    description = "Point in time to read the product at, as an ISO-8601 instant",
+                    example = "2025-01-01T12:00:00Z"
+            )
+            @RequestParam(required = false)
+            Instant asOf) {
+
+        if (asOf != null) {
+            ProductResponseDTO product = productService.findByPublicIdAsOf(publicId, asOf);
+            return fields == null
+                    ? ResponseEntity.ok(product)
+                    : ResponseEntity.ok(ProductProjection.of(ProductField.parse(fields)).toMap(product));
+        }
+
+        if (fields == null) {
+            ProductResponseDTO product = productService.findByPublicId(publicId);
+            return withETag(ResponseEntity.ok(), product);
+        }
+
+        Map<String, Object> product = productService.findByPublicId(publicId, ProductField.parse(fields));
         return ResponseEntity.ok(product);
     }
 
+    @GetMapping("/{publicId}/history")
+    @Operation(
+            summary = "Get product history",
+            description = "Returns the recorded writes of a product, latest first, with the properties each write set. " +
+                    "The history of deleted products is kept for audits."
+    )
+    @ApiResponses(value = {
+            @ApiResponse(
+                    responseCode = "200",
+                    description = "History retrieved successfully",
+                    content = @Content(
+                            mediaType = "application/json",
+                            schema = @Schema(implementation = Page.class)
+                    )
+            ),
+            @ApiResponse(
+                    responseCode = "400",
+                    description = "Invalid public ID or pagination parameters",
+                    content = @Content
+            ),
+            @ApiResponse(
+                    responseCode = "404",
+                    description = "No history for the product",
+                    content = @Content
+            )
+    })
+    public ResponseEntity<Page<ProductHistoryEventDTO>> findHistory(
+            @Parameter(
+                    description = "Product public ID",
+                    example = "550e8400-e29b-41d4-a716-446655440000",
+                    required = true
+            )
+            @PathVariable
+            @Pattern(regexp = UUID_PATTERN, message = "{validation.publicid.pattern}")
+            String publicId,
+            @Parameter(
+                    description = "Pagination configuration; writes are always ordered latest first",
+                    example = "page=0&size=20"
+            )
+            @PageableDefault(size = 20) Pageable pageable) {
+        Page<ProductHistoryEventDTO> history = productService.findHistory(publicId, pageable);
+        return ResponseEntity.ok(history);
+    }
+
+    @PostMapping("/lookup")
+    @Operation(
+            summary = "Find products by public IDs",
+            description = "Resolves up to 200 products in a single request. Products are returned in request order and unknown public IDs are reported individually."
+    )
+    @ApiResponses(value = {
+            @ApiResponse(
+                    responseCode = "200",
+                    description = "Lookup processed successfully",
+                    content = @Content(
+                            mediaType = "application/json",
+                            schema = @Schema(implementation = ProductLookupResponseDTO.class)
+                    )
+            ),
+            @ApiResponse(
+                    responseCode = "400",
+                    description = "Invalid public ID list",
+                    content = @Content
+            )
+    })
+    public ResponseEntity<ProductLookupResponseDTO> lookup(
+            @Parameter(
+                    description = "Public IDs of the products to be resolved",
+                    required = true
+            )
+            @Valid @RequestBody ProductLookupRequestDTO lookupRequestDTO) {
+        ProductLookupResponseDTO result = productService.findAllByPublicIds(lookupRequestDTO.publicIds());
+        return ResponseEntity.ok(result);
+    }
+
     @PostMapping
     @Operation(
             summary = "Create new product",
@@ -131,7 +404,7 @@ public class ProductController {
             )
             @Valid @RequestBody ProductRequestDTO productRequestDTO) {
         ProductResponseDTO savedProduct = productService.save(productRequestDTO);
-        return ResponseEntity.status(HttpStatus.CREATED).body(savedProduct);
+        return withETag(ResponseEntity.status(HttpStatus.CREATED), savedProduct);
     }
 
     @PutMapping("/{publicId}")
@@ -160,7 +433,12 @@ public class ProductController {
             ),
             @ApiResponse(
                     responseCode = "409",
-                    description = "Product with the same name already exists",
+                    description = "Product with the same name already exists, or was changed by a concurrent request",
+                    content = @Content
+            ),
+            @ApiResponse(
+                    responseCode = "412",
+                    description = "Product was changed since the version in If-Match",
                     content = @Content
             )
     })
@@ -177,9 +455,292 @@ public class ProductController {
                     description = "New product data",
                     required = true
             )
-            @Valid @RequestBody ProductRequestDTO productRequestDTO) {
-        ProductResponseDTO updatedProduct = productService.update(publicId, productRequestDTO);
-        return ResponseEntity.ok(updatedProduct);
+            @Valid @RequestBody ProductRequestDTO productRequestDTO,
+            @Parameter(
+                    description = "ETag of the product version the change is based on; the change is rejected with 412 when the product is at another version",
+                    example = "\"3\""
+            )
+            @RequestHeader(value = HttpHeaders.IF_MATCH, required = false) String ifMatch) {
+        Long expectedVersion = expectedVersion(ifMatch);
+        // Not retried: replacing every field again would silently discard the concurrent write
+        ProductResponseDTO updatedProduct = productService.update(publicId, productRequestDTO, expectedVersion);
+        return withETag(ResponseEntity.ok(), updatedProduct);
+    }
+
+    @PatchMapping(value = "/{publicId}", consumes = {MERGE_PATCH_JSON_VALUE, MediaType.APPLICATION_JSON_VALUE})
+    @Operation(
+            summary = "Partially update product",
+            description = "Applies a JSON Merge Patch (RFC 7396) to an existing product. Only the changed columns are written."
+    )
+    @ApiResponses(value = {
+            @ApiResponse(
+                    responseCode = "200",
+                    description = "Product updated successfully",
+                    content = @Content(
+                            mediaType = "application/json",
+                            schema = @Schema(implementation = ProductResponseDTO.class)
+                    )
+            ),
+            @ApiResponse(
+                    responseCode = "400",
+                    description = "Invalid patch document or merged product violates validation rules",
+                    content = @Content
+            ),
+            @ApiResponse(
+                    responseCode = "404",
+                    description = "Product not found",
+                    content = @Content
+            ),
+            @ApiResponse(
+                    responseCode = "409",
+                    description = "Product was changed by a concurrent request",
+                    content = @Content
+            ),
+            @ApiResponse(
+                    responseCode = "412",
+                    description = "Product was changed since the version in If-Match",
+                    content = @Content
+            )
+    })
+    public ResponseEntity<ProductResponseDTO> patch(
+            @Parameter(
+                    description = "Public ID of the product to be updated",
+                    example = "550e8400-e29b-41d4-a716-446655440000",
+                    required = true
+            )
+            @PathVariable
+            @Pattern(regexp = UUID_PATTERN, message = "{validation.publicid.pattern}")
+            String publicId,
+            @Parameter(
+                    description = "Merge patch document with the attributes to change",
+                    required = true,
+                    example = "{\"quantity\": 25}"
+            )
+            @RequestBody JsonNode mergePatch,
+            @Parameter(
+                    description = "ETag of the product version the change is based on; the change is rejected with 412 when the product is at another version",
+                    example = "\"3\""
+            )
+            @RequestHeader(value = HttpHeaders.IF_MATCH, required = false) String ifMatch) {
+        Long expectedVersion = expectedVersion(ifMatch);
+        ProductResponseDTO patchedProduct = expectedVersion != null
+                ? productService.patch(publicId, mergePatch, expectedVersion)
+                : concurrentWriteRetry.execute(() -> productService.patch(publicId, mergePatch, null),
+                        conflict -> productService.patchAfterConflict(publicId, mergePatch, conflict));
+        return withETag(ResponseEntity.ok(), patchedProduct);
+    }
+
+    @PostMapping("/{publicId}/stock")
+    @Operation(
+            summary = "Adjust product stock",
+            description = "Adds a signed delta to the product quantity atomically, without reading it first. " +
+                    "Concurrent adjustments of the same product are never lost."
+    )
+    @ApiResponses(value = {
+            @ApiResponse(
+                    responseCode = "200",
+                    description = "Stock adjusted successfully",
+                    content = @Content(
+                            mediaType = "application/json",
+                            schema = @Schema(implementation = ProductResponseDTO.class)
+                    )
+            ),
+            @ApiResponse(
+                    responseCode = "400",
+                    description = "Invalid delta provided",
+                    content = @Content
+            ),
+            @ApiResponse(
+                    responseCode = "404",
+                    description = "Product not found",
+                    content = @Content
+            ),
+            @ApiResponse(
+                    responseCode = "409",
+                    description = "Resulting quantity would be out of range or violate the business rules",
+                    content = @Content
+            )
+    })
+    public ResponseEntity<ProductResponseDTO> adjustStock(
+            @Parameter(
+                    description = "Public ID of the product whose stock is adjusted",
+                    example = "550e8400-e29b-41d4-a716-446655440000",
+                    required = true
+            )
+            @PathVariable
+            @Pattern(regexp = UUID_PATTERN, message = "{validation.publicid.pattern}")
+            String publicId,
+            @Parameter(
+                    description = "Signed stock change",
+                    required = true
+            )
+            @Valid @RequestBody StockAdjustmentRequestDTO stockAdjustmentRequestDTO) {
+        ProductResponseDTO adjustedProduct = productService.adjustStock(publicId, stockAdjustmentRequestDTO.delta());
+        return withETag(ResponseEntity.ok(), adjustedProduct);
+    }
+
+    @GetMapping("/{publicId}/availability")
+    @Operation(
+            summary = "Get product availability",
+            description = "Returns the stock of a product split into units held by pending reservations and units still available."
+    )
+    @ApiResponses(value = {
+            @ApiResponse(
+                    responseCode = "200",
+                    description = "Availability found",
+                    content = @Content(
+                            mediaType = "application/json",
+                            schema = @Schema(implementation = StockAvailabilityResponseDTO.class)
+                    )
+            ),
+            @ApiResponse(
+                    responseCode = "404",
+                    description = "Product not found",
+                    content = @Content
+            )
+    })
+    public ResponseEntity<StockAvailabilityResponseDTO> findAvailability(
+            @Parameter(
+                    description = "Public ID of the product",
+                    example = "550e8400-e29b-41d4-a716-446655440000",
+                    required = true
+            )
+            @PathVariable
+            @Pattern(regexp = UUID_PATTERN, message = "{validation.publicid.pattern}")
+            String publicId) {
+        return ResponseEntity.ok(productService.findAvailability(publicId));
+    }
+
+    @PostMapping("/{publicId}/reservations")
+    @Operation(
+            summary = "Reserve stock",
+            description = "Holds units of a product for a checkout without decrementing its stock. " +
+                    "The units return to the available stock when the reservation is released or expires."
+    )
+    @ApiResponses(value = {
+            @ApiResponse(
+                    responseCode = "201",
+                    description = "Stock reserved",
+                    content = @Content(
+                            mediaType = "application/json",
+                            schema = @Schema(implementation = StockReservationResponseDTO.class)
+                    )
+            ),
+            @ApiResponse(
+                    responseCode = "400",
+                    description = "Invalid reservation request",
+                    content = @Content
+            ),
+            @ApiResponse(
+                    responseCode = "404",
+                    description = "Product not found",
+                    content = @Content
+            ),
+            @ApiResponse(
+                    responseCode = "409",
+                    description = "Not enough available stock",
+                    content = @Content
+            )
+    })
+    public ResponseEntity<StockReservationResponseDTO> reserve(
+            @Parameter(
+                    description = "Public ID of the product to reserve",
+                    example = "550e8400-e29b-41d4-a716-446655440000",
+                    required = true
+            )
+            @PathVariable
+            @Pattern(regexp = UUID_PATTERN, message = "{validation.publicid.pattern}")
+            String publicId,
+            @Parameter(
+                    description = "Units to reserve and optional TTL",
+                    required = true
+            )
+            @Valid @RequestBody StockReservationRequestDTO stockReservationRequestDTO) {
+        StockReservationResponseDTO reservation = productService.reserve(publicId, stockReservationRequestDTO);
+        return ResponseEntity.status(HttpStatus.CREATED).body(reservation);
+    }
+
+    @PostMapping("/{publicId}/reservations/{reservationId}/confirm")
+    @Operation(
+            summary = "Confirm reservation",
+            description = "Turns the reserved units into a permanent decrement of the product stock."
+    )
+    @ApiResponses(value = {
+            @ApiResponse(
+                    responseCode = "200",
+                    description = "Reservation confirmed",
+                    content = @Content(
+                            mediaType = "application/json",
+                            schema = @Schema(implementation = ProductResponseDTO.class)
+                    )
+            ),
+            @ApiResponse(
+                    responseCode = "404",
+                    description = "Product or reservation not found, or the reservation expired",
+                    content = @Content
+            ),
+            @ApiResponse(
+                    responseCode = "409",
+                    description = "The stock no longer covers the reservation",
+                    content = @Content
+            )
+    })
+    public ResponseEntity<ProductResponseDTO> confirmReservation(
+            @Parameter(
+                    description = "Public ID of the reserved product",
+                    example = "550e8400-e29b-41d4-a716-446655440000",
+                    required = true
+            )
+            @PathVariable
+            @Pattern(regexp = UUID_PATTERN, message = "{validation.publicid.pattern}")
+            String publicId,
+            @Parameter(
+                    description = "ID of the reservation to confirm",
+                    example = "9b2f4c1e-8a7d-4e3b-9c6a-1d2e3f4a5b6c",
+                    required = true
+            )
+            @PathVariable
+            @Pattern(regexp = UUID_PATTERN, message = "{validation.reservation.id.pattern}")
+            String reservationId) {
+        return withETag(ResponseEntity.ok(), productService.confirmReservation(publicId, reservationId));
+    }
+
+    @DeleteMapping("/{publicId}/reservations/{reservationId}")
+    @Operation(
+            summary = "Release reservation",
+            description = "Gives the reserved units back to the available stock."
+    )
+    @ApiResponses(value = {
+            @ApiResponse(
+                    responseCode = "204",
+                    description = "Reservation released",
+                    content = @Content
+            ),
+            @ApiResponse(
+                    responseCode = "404",
+                    description = "Product or reservation not found, or the reservation expired",
+                    content = @Content
+            )
+    })
+    public ResponseEntity<Void> releaseReservation(
+            @Parameter(
+                    description = "Public ID of the reserved product",
+                    example = "550e8400-e29b-41d4-a716-446655440000",
+                    required = true
+            )
+            @PathVariable
+            @Pattern(regexp = UUID_PATTERN, message = "{validation.publicid.pattern}")
+            String publicId,
+            @Parameter(
+                    description = "ID of the reservation to release",
+                    example = "9b2f4c1e-8a7d-4e3b-9c6a-1d2e3f4a5b6c",
+                    required = true
+            )
+            @PathVariable
+            @Pattern(regexp = UUID_PATTERN, message = "{validation.reservation.id.pattern}")
+            String reservationId) {
+        productService.releaseReservation(publicId, reservationId);
+        return ResponseEntity.noContent().build();
     }
 
     @DeleteMapping("/{publicId}")
@@ -192,6 +753,16 @@ public class ProductController {
                     responseCode = "204",
                     description = "Request processed successfully (product deleted or did not exist)",
                     content = @Content
+            ),
+            @ApiResponse(
+                    responseCode = "409",
+                    description = "Product was changed by a concurrent request",
+                    content = @Content
+            ),
+            @ApiResponse(
+                    responseCode = "412",
+                    description = "Product was changed since the version in If-Match",
+                    content = @Content
             )
     })
     public ResponseEntity<Void> delete(
@@ -202,8 +773,49 @@ public class ProductController {
             )
             @PathVariable 
             @Pattern(regexp = UUID_PATTERN, message = "{validation.publicid.pattern}") 
-            String publicId) {
-        productService.delete(publicId);
+            String publicId,
+            @Parameter(
+                    description = "ETag of the product version the change is based on; the change is rejected with 412 when the product is at another version",
+                    example = "\"3\""
+            )
+            @RequestHeader(value = HttpHeaders.IF_MATCH, required = false) String ifMatch) {
+        Long expectedVersion = expectedVersion(ifMatch);
+        if (expectedVersion != null) {
+            productService.delete(publicId, expectedVersion);
+        } else {
+            concurrentWriteRetry.execute(() -> productService.delete(publicId, null));
+        }
         return ResponseEntity.noContent().build();
     }
+
+    /**
+     * Version required by an If-Match header, or null when the header is absent. A wildcard only
+     * requires the product to exist, so it yields {@link ProductService#ANY_VERSION}.
+     * Versions are compared strongly and one at a time: weak, malformed or multiple entity tags
+     * yield a version no product has, so the precondition fails.
+     */
+    private static Long expectedVersion(String ifMatch) {
+        if (ifMatch == null) {
+            return null;
+        }
+
+        List<ETag> tags = ETag.parse(ifMatch);
+        if (tags.stream().anyMatch(ETag::isWildcard)) {
+            return ProductService.ANY_VERSION;
+        }
+        if (tags.size() == 1 && !tags.get(0).weak() && tags.get(0).tag().matches("\\d{1,18}")) {
+            return Long.valueOf(tags.get(0).tag());
+        }
+        return UNMATCHABLE_VERSION;
+    }
+
+    /**
+     * Hot products and read-model rows carry no version, so they are sent without an ETag
+     */
+    private static ResponseEntity<ProductResponseDTO> withETag(ResponseEntity.BodyBuilder response, ProductResponseDTO product) {
+        if (product != null && product.version() != null) {
+            response.eTag(String.valueOf(product.version()));
+        }
+        return response.body(product);
+    }
 }
\ No newline at end of file
@@ -0,0 +1,31 @@
+package br.com.productmanagementsystem.dto;
+
+import br.com.productmanagementsystem.event.ProductChangedEvent;
+import io.swagger.v3.oas.annotations.media.Schema;
+
+import java.time.Instant;
+
+@Schema(description = "Product change delivered by the change stream")
+public record ProductChangeEventDTO(
+        @Schema(
+            description = "Kind of change",
+            example = "UPDATED"
+        )
+        ProductChangedEvent.ChangeType type,
+
+        @Schema(
+            description = "Public ID of the changed product",
+            example = "abc123def456"
+        )
+        String publicId,
+
+        @Schema(description = "Product after the change, or as it was when deleted")
+        ProductResponseDTO product,
+
+        @Schema(
+            description = "When the change was written",
+            example = "2025-01-15T10:30:00Z"
+        )
+        Instant occurredAt
+) {
+}
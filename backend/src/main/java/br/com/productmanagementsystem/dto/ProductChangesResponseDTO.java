@@ -0,0 +1,21 @@
+package br.com.productmanagementsystem.dto;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+
+import java.util.List;
+
+@Schema(description = "Products changed since a sync token")
+public record ProductChangesResponseDTO(
+        @Schema(description = "Products created or updated since the token, in their current state")
+        List<ProductResponseDTO> changed,
+
+        @Schema(description = "Products deleted since the token")
+        List<ProductTombstoneDTO> deleted,
+
+        @Schema(description = "Token to pass as since in the next request; also valid as Last-Event-ID of the change stream", example = "1042")
+        String nextToken,
+
+        @Schema(description = "Whether more changes are available right away with nextToken", example = "false")
+        boolean hasMore
+) {
+}
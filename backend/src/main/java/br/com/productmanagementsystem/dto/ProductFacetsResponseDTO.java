@@ -0,0 +1,45 @@
+package br.com.productmanagementsystem.dto;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+
+import java.math.BigDecimal;
+import java.util.List;
+
+@Schema(description = "Facet counts and histograms for the filtered product set")
+public record ProductFacetsResponseDTO(
+        @Schema(description = "Number of products matching the filters", example = "42")
+        long total,
+
+        @Schema(description = "Price histogram; the last bucket has no upper bound")
+        List<PriceBucket> priceBuckets,
+
+        @Schema(description = "Stock status counts")
+        StockStatus stockStatus,
+
+        @Schema(description = "Quantity bands; the last band has no upper bound")
+        List<QuantityBand> quantityBands
+) {
+
+    @Schema(description = "Products priced from 'from' (inclusive) up to 'to' (exclusive)")
+    public record PriceBucket(
+            @Schema(example = "100.00") BigDecimal from,
+            @Schema(example = "500.00") BigDecimal to,
+            @Schema(example = "12") long count
+    ) {
+    }
+
+    @Schema(description = "Products with quantity between 'from' and 'to', both inclusive")
+    public record QuantityBand(
+            @Schema(example = "1") Integer from,
+            @Schema(example = "10") Integer to,
+            @Schema(example = "7") long count
+    ) {
+    }
+
+    @Schema(description = "Products in and out of stock")
+    public record StockStatus(
+            @Schema(example = "38") long inStock,
+            @Schema(example = "4") long outOfStock
+    ) {
+    }
+}
@@ -0,0 +1,24 @@
+package br.com.productmanagementsystem.dto;
+
+import br.com.productmanagementsystem.event.ProductChangedEvent;
+import io.swagger.v3.oas.annotations.media.Schema;
+
+import java.time.Instant;
+import java.util.Map;
+
+@Schema(description = "Recorded write of a product")
+public record ProductHistoryEventDTO(
+        @Schema(description = "Position in the history of the product, from 1", example = "3")
+        Long revision,
+
+        @Schema(description = "Kind of write", example = "UPDATED")
+        ProductChangedEvent.ChangeType type,
+
+        @Schema(description = "Properties set by the write with their new values; empty for deletions",
+                example = "{\"price\": 1199.99, \"quantity\": 40}")
+        Map<String, Object> changes,
+
+        @Schema(description = "When the write happened", example = "2025-01-01T12:00:00Z")
+        Instant occurredAt
+) {
+}
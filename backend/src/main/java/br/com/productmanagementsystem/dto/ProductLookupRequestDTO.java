@@ -0,0 +1,26 @@
+package br.com.productmanagementsystem.dto;
+
+import io.swagger.v3.oas.annotations.media.ArraySchema;
+import io.swagger.v3.oas.annotations.media.Schema;
+import jakarta.validation.constraints.NotEmpty;
+import jakarta.validation.constraints.Pattern;
+import jakarta.validation.constraints.Size;
+
+import java.util.List;
+
+@Schema(description = "Public IDs of the products to be resolved in a single request")
+public record ProductLookupRequestDTO(
+        @ArraySchema(
+                schema = @Schema(
+                        description = "Product public ID",
+                        example = "550e8400-e29b-41d4-a716-446655440000"
+                ),
+                minItems = 1,
+                maxItems = 200
+        )
+        @NotEmpty(message = "{validation.lookup.publicids.required}")
+        @Size(max = 200, message = "{validation.lookup.publicids.size}")
+        List<@Pattern(regexp = "^[0-9a-f]{8}-[0-9a-f]{4}-[0-9a-f]{4}-[0-9a-f]{4}-[0-9a-f]{12}$",
+                message = "{validation.publicid.pattern}") String> publicIds
+) {
+}
@@ -0,0 +1,18 @@
+package br.com.productmanagementsystem.dto;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+
+import java.util.List;
+
+@Schema(description = "Result of a batch product lookup")
+public record ProductLookupResponseDTO(
+        @Schema(description = "Products found, in the same order as the requested public IDs")
+        List<ProductResponseDTO> products,
+
+        @Schema(
+                description = "Requested public IDs that do not match any product",
+                example = "[\"999e9999-e99b-99d4-a999-999999999999\"]"
+        )
+        List<String> missingPublicIds
+) {
+}
@@ -50,11 +50,18 @@ public record ProductQueryDTO(
                 description = "Include products with zero quantity",
                 example = "false"
         )
-        Boolean includeOutOfStock
+        Boolean includeOutOfStock,
+
+        @Schema(
+                description = "Match name words within a small edit distance, tolerating typos",
+                example = "false"
+        )
+        Boolean fuzzy
 ) {
 
     public ProductQueryDTO {
         includeOutOfStock = includeOutOfStock != null ? includeOutOfStock : true;
+        fuzzy = fuzzy != null ? fuzzy : false;
     }
 
     @AssertTrue(message = "{productquery.price.range.invalid}")
@@ -1,5 +1,6 @@
 package br.com.productmanagementsystem.dto;
 
+import com.fasterxml.jackson.annotation.JsonIgnore;
 import io.swagger.v3.oas.annotations.media.Schema;
 import java.math.BigDecimal;
 
@@ -33,6 +34,15 @@ public record ProductResponseDTO(
             description = "Stock quantity",
             example = "50"
         )
-        Integer quantity
+        Integer quantity,
+
+        // Sent as the ETag header instead of in the body; null when the product has no stable version
+        @JsonIgnore
+        @Schema(hidden = true)
+        Long version
 ) {
+
+    public ProductResponseDTO(String publicId, String name, BigDecimal price, String description, Integer quantity) {
+        this(publicId, name, price, description, quantity, null);
+    }
 }
\ No newline at end of file
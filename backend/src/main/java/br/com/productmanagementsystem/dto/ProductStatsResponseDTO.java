@@ -0,0 +1,27 @@
+package br.com.productmanagementsystem.dto;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+
+import java.math.BigDecimal;
+
+@Schema(description = "Inventory statistics across the whole catalog")
+public record ProductStatsResponseDTO(
+        @Schema(description = "Number of products in the catalog", example = "20")
+        long totalProducts,
+
+        @Schema(description = "Sum of the quantities of every product", example = "1240")
+        long totalUnits,
+
+        @Schema(description = "Sum of price times quantity of every product", example = "183456.70")
+        BigDecimal totalStockValue,
+
+        @Schema(description = "Number of products with zero quantity", example = "2")
+        long outOfStockCount,
+
+        @Schema(description = "Number of products in stock with quantity up to the low stock threshold", example = "5")
+        long lowStockCount,
+
+        @Schema(description = "Highest quantity still considered low stock", example = "10")
+        int lowStockThreshold
+) {
+}
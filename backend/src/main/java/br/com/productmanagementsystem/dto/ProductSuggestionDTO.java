@@ -0,0 +1,16 @@
+package br.com.productmanagementsystem.dto;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+
+@Schema(description = "Product name suggestion for search-as-you-type")
+public record ProductSuggestionDTO(
+        @Schema(description = "Product public ID", example = "550e8400-e29b-41d4-a716-446655440000")
+        String publicId,
+
+        @Schema(description = "Product name", example = "Smartphone Samsung Galaxy")
+        String name,
+
+        @Schema(description = "Quantity in stock, used for ranking", example = "50")
+        Integer quantity
+) {
+}
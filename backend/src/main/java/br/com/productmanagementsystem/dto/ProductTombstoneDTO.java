@@ -0,0 +1,15 @@
+package br.com.productmanagementsystem.dto;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+
+import java.time.Instant;
+
+@Schema(description = "Product deleted since the sync token")
+public record ProductTombstoneDTO(
+        @Schema(description = "Public ID of the deleted product", example = "550e8400-e29b-41d4-a716-446655440000")
+        String publicId,
+
+        @Schema(description = "When the product was deleted", example = "2025-01-01T12:00:00Z")
+        Instant deletedAt
+) {
+}
@@ -0,0 +1,21 @@
+package br.com.productmanagementsystem.dto;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+import jakarta.validation.constraints.Max;
+import jakarta.validation.constraints.Min;
+import jakarta.validation.constraints.NotNull;
+
+@Schema(description = "Signed change to apply to the stock of a product")
+public record StockAdjustmentRequestDTO(
+        @Schema(
+                description = "Units to add (positive) or remove (negative)",
+                example = "-3",
+                minimum = "-999999",
+                maximum = "999999"
+        )
+        @NotNull(message = "{validation.stock.delta.required}")
+        @Min(value = -999999, message = "{validation.stock.delta.range}")
+        @Max(value = 999999, message = "{validation.stock.delta.range}")
+        Integer delta
+) {
+}
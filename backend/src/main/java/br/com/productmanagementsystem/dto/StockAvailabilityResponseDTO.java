@@ -0,0 +1,19 @@
+package br.com.productmanagementsystem.dto;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+
+@Schema(description = "Stock of a product split into reserved and available units")
+public record StockAvailabilityResponseDTO(
+        @Schema(description = "Product public ID", example = "550e8400-e29b-41d4-a716-446655440000")
+        String publicId,
+
+        @Schema(description = "Units in stock", example = "50")
+        int quantity,
+
+        @Schema(description = "Units held by pending reservations", example = "8")
+        int reserved,
+
+        @Schema(description = "Units that can still be reserved or sold (quantity - reserved)", example = "42")
+        int available
+) {
+}
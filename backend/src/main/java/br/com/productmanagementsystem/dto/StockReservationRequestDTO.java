@@ -0,0 +1,22 @@
+package br.com.productmanagementsystem.dto;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+import jakarta.validation.constraints.Max;
+import jakarta.validation.constraints.Min;
+import jakarta.validation.constraints.NotNull;
+
+@Schema(description = "Units to hold for a checkout")
+public record StockReservationRequestDTO(
+        @Schema(description = "Units to reserve", example = "2", minimum = "1", maximum = "999999")
+        @NotNull(message = "{validation.reservation.quantity.required}")
+        @Min(value = 1, message = "{validation.reservation.quantity.range}")
+        @Max(value = 999999, message = "{validation.reservation.quantity.range}")
+        Integer quantity,
+
+        @Schema(description = "Seconds until the reservation expires; the server default applies when absent",
+                example = "600", minimum = "1", maximum = "3600")
+        @Min(value = 1, message = "{validation.reservation.ttl.range}")
+        @Max(value = 3600, message = "{validation.reservation.ttl.range}")
+        Integer ttlSeconds
+) {
+}
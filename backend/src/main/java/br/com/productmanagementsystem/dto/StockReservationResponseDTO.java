@@ -0,0 +1,21 @@
+package br.com.productmanagementsystem.dto;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+
+import java.time.Instant;
+
+@Schema(description = "Stock reservation held for a checkout")
+public record StockReservationResponseDTO(
+        @Schema(description = "Reservation ID, used to confirm or release it", example = "9b2f4c1e-8a7d-4e3b-9c6a-1d2e3f4a5b6c")
+        String reservationId,
+
+        @Schema(description = "Public ID of the reserved product", example = "550e8400-e29b-41d4-a716-446655440000")
+        String productPublicId,
+
+        @Schema(description = "Reserved units", example = "2")
+        int quantity,
+
+        @Schema(description = "When the units return to the available stock unless confirmed", example = "2025-01-01T12:10:00Z")
+        Instant expiresAt
+) {
+}
@@ -4,16 +4,23 @@ import jakarta.persistence.*;
 import lombok.AllArgsConstructor;
 import lombok.Data;
 import lombok.NoArgsConstructor;
+import org.hibernate.annotations.ColumnDefault;
+import org.hibernate.annotations.DynamicUpdate;
 
 import java.math.BigDecimal;
 import java.util.UUID;
 
 @Entity
-@Table(name = "products")
+@Table(name = "products",
+        uniqueConstraints = @UniqueConstraint(name = Product.NAME_UNIQUE_CONSTRAINT, columnNames = "normalized_name"),
+        indexes = @Index(name = "idx_products_change_seq", columnList = "change_seq"))
+@DynamicUpdate
 @Data
 @NoArgsConstructor
 @AllArgsConstructor
 public class Product {
+
+    public static final String NAME_UNIQUE_CONSTRAINT = "uk_products_normalized_name";
     
     @Id
     @GeneratedValue(strategy = GenerationType.IDENTITY)
@@ -33,6 +40,31 @@ public class Product {
     
     @Column(nullable = false)
     private Integer quantity;
+
+    // Units held by pending stock reservations; available stock is quantity - reserved
+    @Column(nullable = false)
+    @ColumnDefault("0")
+    private Integer reserved = 0;
+
+    // Optimistic lock, exposed to clients as the ETag of the product
+    @Version
+    @Column(nullable = false)
+    @ColumnDefault("0")
+    private Long version;
+
+    // Outbox id of the latest change, the position of the product in the delta sync; only set by ProductOutboxWriter
+    @Column(nullable = false, insertable = false, updatable = false)
+    @ColumnDefault("0")
+    private Long changeSeq;
+
+    // Computed by the database so every writer, bulk or not, is covered by the case-insensitive unique constraint
+    @Column(length = 100, insertable = false, updatable = false,
+            columnDefinition = "varchar(100) generated always as (lower(trim(name)))")
+    private String normalizedName;
+
+    public Product(Long id, String publicId, String name, BigDecimal price, String description, Integer quantity) {
+        this(id, publicId, name, price, description, quantity, 0, null, null, null);
+    }
     
     @PrePersist
     public void generatePublicId() {
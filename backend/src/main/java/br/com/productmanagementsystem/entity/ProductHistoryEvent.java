@@ -0,0 +1,57 @@
+package br.com.productmanagementsystem.entity;
+
+import br.com.productmanagementsystem.event.ProductChangedEvent;
+import jakarta.persistence.*;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.math.BigDecimal;
+import java.time.Instant;
+
+/**
+ * Append-only record of one product write. Only the changed properties are set; the state of the
+ * product at a revision is its latest snapshot with the later events applied on top.
+ */
+@Entity
+@Table(name = "product_history",
+        uniqueConstraints = @UniqueConstraint(name = "uk_product_history_revision", columnNames = {"product_public_id", "revision"}),
+        indexes = @Index(name = "idx_product_history_occurred_at", columnList = "product_public_id, occurred_at"))
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class ProductHistoryEvent {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @Column(nullable = false, length = 36)
+    private String productPublicId;
+
+    // Position in the history of the product, from 1; the unique constraint rejects a second writer of the same revision
+    @Column(nullable = false)
+    private Long revision;
+
+    @Enumerated(EnumType.STRING)
+    @Column(nullable = false, length = 10)
+    private ProductChangedEvent.ChangeType type;
+
+    // Comma-separated properties set by this event, empty for deletions; a null below is a value only when listed
+    @Column(nullable = false, length = 50)
+    private String changedFields;
+
+    @Column(length = 100)
+    private String name;
+
+    @Column(precision = 10, scale = 2)
+    private BigDecimal price;
+
+    @Column(length = 500)
+    private String description;
+
+    private Integer quantity;
+
+    @Column(nullable = false)
+    private Instant occurredAt;
+}
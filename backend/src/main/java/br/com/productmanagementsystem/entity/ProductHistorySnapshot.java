@@ -0,0 +1,47 @@
+package br.com.productmanagementsystem.entity;
+
+import jakarta.persistence.*;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.math.BigDecimal;
+import java.time.Instant;
+
+/**
+ * Whole state of a product at a revision of its history, so a point-in-time read replays a bounded
+ * number of events instead of the history from the start
+ */
+@Entity
+@Table(name = "product_history_snapshots",
+        uniqueConstraints = @UniqueConstraint(name = "uk_product_history_snapshots_revision", columnNames = {"product_public_id", "revision"}))
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class ProductHistorySnapshot {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @Column(nullable = false, length = 36)
+    private String productPublicId;
+
+    @Column(nullable = false)
+    private Long revision;
+
+    @Column(nullable = false, length = 100)
+    private String name;
+
+    @Column(nullable = false, precision = 10, scale = 2)
+    private BigDecimal price;
+
+    @Column(length = 500)
+    private String description;
+
+    @Column(nullable = false)
+    private Integer quantity;
+
+    @Column(nullable = false)
+    private Instant occurredAt;
+}
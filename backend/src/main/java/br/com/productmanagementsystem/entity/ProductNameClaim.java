@@ -0,0 +1,32 @@
+package br.com.productmanagementsystem.entity;
+
+import jakarta.persistence.*;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.Instant;
+
+/**
+ * Product name held by a product in sharded mode, where the unique constraint of each shard only
+ * covers its own products. Kept on the home shard and accessed over plain JDBC by
+ * {@code ProductShards}, outside the transaction of the product write.
+ */
+@Entity
+@Table(name = "product_name_claims")
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class ProductNameClaim {
+
+    // Same normalization as Product.normalizedName
+    @Id
+    @Column(length = 100)
+    private String normalizedName;
+
+    @Column(nullable = false, length = 36)
+    private String productPublicId;
+
+    @Column(nullable = false)
+    private Instant claimedAt;
+}
@@ -0,0 +1,39 @@
+package br.com.productmanagementsystem.entity;
+
+import br.com.productmanagementsystem.event.ProductChangedEvent;
+import jakarta.persistence.*;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.Instant;
+
+/**
+ * Product change written in the same transaction as the change itself, so the change feed
+ * publishes exactly the writes that committed. The id orders the feed and is the SSE event id.
+ */
+@Entity
+@Table(name = "product_outbox")
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class ProductOutboxEvent {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @Enumerated(EnumType.STRING)
+    @Column(nullable = false, length = 10)
+    private ProductChangedEvent.ChangeType type;
+
+    @Column(nullable = false, length = 36)
+    private String productPublicId;
+
+    // Serialized once at write time and sent verbatim to every subscriber
+    @Column(nullable = false, length = 4000)
+    private String payload;
+
+    @Column(nullable = false)
+    private Instant occurredAt;
+}
@@ -0,0 +1,30 @@
+package br.com.productmanagementsystem.entity;
+
+import jakarta.persistence.*;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.Instant;
+
+/**
+ * Marker left by a deleted product, so the delta sync can tell clients to remove it
+ */
+@Entity
+@Table(name = "product_tombstones", indexes = @Index(name = "idx_product_tombstones_change_seq", columnList = "change_seq"))
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class ProductTombstone {
+
+    @Id
+    @Column(length = 36)
+    private String publicId;
+
+    // Outbox id of the deletion
+    @Column(nullable = false)
+    private Long changeSeq;
+
+    @Column(nullable = false)
+    private Instant deletedAt;
+}
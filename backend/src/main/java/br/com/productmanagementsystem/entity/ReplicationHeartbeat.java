@@ -0,0 +1,28 @@
+package br.com.productmanagementsystem.entity;
+
+import jakarta.persistence.*;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.Instant;
+
+/**
+ * Heartbeat written to the primary and read back from the read replica to measure its lag. Accessed
+ * over plain JDBC by {@code ReplicaLagMonitor}, which sits below the routing DataSource used by JPA.
+ */
+@Entity
+@Table(name = "replication_heartbeat")
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class ReplicationHeartbeat {
+
+    public static final int SINGLETON_ID = 1;
+
+    @Id
+    private Integer id;
+
+    @Column(nullable = false)
+    private Instant beatAt;
+}
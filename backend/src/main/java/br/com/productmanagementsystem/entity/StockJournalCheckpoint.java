@@ -0,0 +1,26 @@
+package br.com.productmanagementsystem.entity;
+
+import jakarta.persistence.*;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * Last stock journal segment whose deltas were applied to the products table. Written in the
+ * same transaction as the deltas, so a segment is never applied twice after a crash.
+ */
+@Entity
+@Table(name = "stock_journal_checkpoint")
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class StockJournalCheckpoint {
+
+    public static final int SINGLETON_ID = 1;
+
+    @Id
+    private Integer id;
+
+    @Column(nullable = false)
+    private Long lastAppliedSegment;
+}
@@ -0,0 +1,33 @@
+package br.com.productmanagementsystem.event;
+
+/**
+ * Published by {@code ProductService} for every product write.
+ * Listeners that maintain derived state should react after commit.
+ */
+public record ProductChangedEvent(ChangeType type, ProductSnapshot before, ProductSnapshot after) {
+
+    public enum ChangeType {
+        CREATED,
+        UPDATED,
+        DELETED
+    }
+
+    public static ProductChangedEvent created(ProductSnapshot after) {
+        return new ProductChangedEvent(ChangeType.CREATED, null, after);
+    }
+
+    public static ProductChangedEvent updated(ProductSnapshot before, ProductSnapshot after) {
+        return new ProductChangedEvent(ChangeType.UPDATED, before, after);
+    }
+
+    public static ProductChangedEvent deleted(ProductSnapshot before) {
+        return new ProductChangedEvent(ChangeType.DELETED, before, null);
+    }
+
+    /**
+     * Latest known state of the product: the new state, or the removed one for deletions
+     */
+    public ProductSnapshot current() {
+        return after != null ? after : before;
+    }
+}
@@ -0,0 +1,40 @@
+package br.com.productmanagementsystem.event;
+
+import br.com.productmanagementsystem.entity.Product;
+
+import java.math.BigDecimal;
+
+/**
+ * Immutable copy of a product's persisted state
+ */
+public record ProductSnapshot(
+        Long id,
+        String publicId,
+        String name,
+        BigDecimal price,
+        String description,
+        Integer quantity,
+        Long version
+) {
+
+    public static ProductSnapshot from(Product product) {
+        return new ProductSnapshot(
+                product.getId(),
+                product.getPublicId(),
+                product.getName(),
+                product.getPrice(),
+                product.getDescription(),
+                product.getQuantity(),
+                product.getVersion()
+        );
+    }
+
+    /**
+     * State before a stock change of {@code delta} units that led to this one, a version earlier
+     * when the version is known
+     */
+    public ProductSnapshot beforeStockChange(int delta) {
+        return new ProductSnapshot(id, publicId, name, price, description, quantity - delta,
+                version != null ? version - 1 : null);
+    }
+}
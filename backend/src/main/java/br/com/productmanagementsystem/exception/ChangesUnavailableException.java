@@ -0,0 +1,11 @@
+package br.com.productmanagementsystem.exception;
+
+/**
+ * The delta sync and the change stream follow one outbox, so the sharded mode does not serve them
+ */
+public class ChangesUnavailableException extends RuntimeException {
+
+    public ChangesUnavailableException() {
+        super(); // Don't use hardcoded message - will be handled by GlobalExceptionHandler
+    }
+}
@@ -0,0 +1,15 @@
+package br.com.productmanagementsystem.exception;
+
+import lombok.Getter;
+
+@Getter
+public class ConcurrencyLimitExceededException extends RuntimeException {
+    private final String limiterName;
+    private final long retryAfterSeconds;
+
+    public ConcurrencyLimitExceededException(String limiterName, long retryAfterSeconds) {
+        super(); // Don't use hardcoded message - will be handled by GlobalExceptionHandler
+        this.limiterName = limiterName;
+        this.retryAfterSeconds = retryAfterSeconds;
+    }
+}
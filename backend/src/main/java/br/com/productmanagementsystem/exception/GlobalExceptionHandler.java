@@ -1,10 +1,12 @@
 package br.com.productmanagementsystem.exception;
 
+import br.com.productmanagementsystem.specification.ProductSpecification;
 import jakarta.validation.ConstraintViolation;
 import jakarta.validation.ConstraintViolationException;
 import org.springframework.context.MessageSource;
 import org.springframework.context.i18n.LocaleContextHolder;
 import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.dao.OptimisticLockingFailureException;
 import org.springframework.http.*;
 import org.springframework.http.converter.HttpMessageNotReadableException;
 import org.springframework.lang.NonNull;
@@ -100,6 +102,207 @@ public class GlobalExceptionHandler extends ResponseEntityExceptionHandler {
         return super.handleExceptionInternal(ex, problemDetail, new HttpHeaders(), status, request);
     }
 
+    @ExceptionHandler(IdempotencyKeyReusedException.class)
+    public ResponseEntity<Object> handleIdempotencyKeyReusedException(IdempotencyKeyReusedException ex, WebRequest request) {
+        HttpStatus status = HttpStatus.UNPROCESSABLE_ENTITY;
+        String detail = messageSource.getMessage("idempotency.key.reused.detail", null, LocaleContextHolder.getLocale());
+
+        ProblemDetail problemDetail = ProblemDetail.forStatusAndDetail(status, detail);
+        problemDetail.setType(URI.create(PROBLEM_DETAILS_BASE_URL + "/idempotency-key-reused"));
+        problemDetail.setTitle(messageSource.getMessage("error.title.idempotency.key.reused", null, LocaleContextHolder.getLocale()));
+        problemDetail.setProperty("idempotencyKey", ex.getIdempotencyKey());
+
+        return super.handleExceptionInternal(ex, problemDetail, new HttpHeaders(), status, request);
+    }
+
+    @ExceptionHandler(IdempotentRequestInProgressException.class)
+    public ResponseEntity<Object> handleIdempotentRequestInProgressException(IdempotentRequestInProgressException ex, WebRequest request) {
+        HttpStatus status = HttpStatus.CONFLICT;
+        String detail = messageSource.getMessage("idempotent.request.in.progress.detail", null, LocaleContextHolder.getLocale());
+
+        ProblemDetail problemDetail = ProblemDetail.forStatusAndDetail(status, detail);
+        problemDetail.setType(URI.create(PROBLEM_DETAILS_BASE_URL + "/idempotent-request-in-progress"));
+        problemDetail.setTitle(messageSource.getMessage("error.title.idempotent.request.in.progress", null, LocaleContextHolder.getLocale()));
+        problemDetail.setProperty("idempotencyKey", ex.getIdempotencyKey());
+
+        return super.handleExceptionInternal(ex, problemDetail, new HttpHeaders(), status, request);
+    }
+
+    @ExceptionHandler(ConcurrencyLimitExceededException.class)
+    public ResponseEntity<Object> handleConcurrencyLimitExceededException(ConcurrencyLimitExceededException ex, WebRequest request) {
+        HttpStatus status = HttpStatus.SERVICE_UNAVAILABLE;
+        String detail = messageSource.getMessage("concurrency.limit.exceeded.detail", null, LocaleContextHolder.getLocale());
+
+        ProblemDetail problemDetail = ProblemDetail.forStatusAndDetail(status, detail);
+        problemDetail.setType(URI.create(PROBLEM_DETAILS_BASE_URL + "/service-overloaded"));
+        problemDetail.setTitle(messageSource.getMessage("error.title.service.overloaded", null, LocaleContextHolder.getLocale()));
+        problemDetail.setProperty("limiter", ex.getLimiterName());
+
+        HttpHeaders headers = new HttpHeaders();
+        headers.set(HttpHeaders.RETRY_AFTER, String.valueOf(ex.getRetryAfterSeconds()));
+
+        return super.handleExceptionInternal(ex, problemDetail, headers, status, request);
+    }
+
+    @ExceptionHandler(RateLimitExceededException.class)
+    public ResponseEntity<Object> handleRateLimitExceededException(RateLimitExceededException ex, WebRequest request) {
+        HttpStatus status = HttpStatus.TOO_MANY_REQUESTS;
+        String detail = messageSource.getMessage("rate.limit.exceeded.detail",
+                new Object[]{ex.getRetryAfterSeconds()}, LocaleContextHolder.getLocale());
+
+        ProblemDetail problemDetail = ProblemDetail.forStatusAndDetail(status, detail);
+        problemDetail.setType(URI.create(PROBLEM_DETAILS_BASE_URL + "/rate-limit-exceeded"));
+        problemDetail.setTitle(messageSource.getMessage("error.title.rate.limit.exceeded", null, LocaleContextHolder.getLocale()));
+        problemDetail.setProperty("route", ex.getRoute());
+
+        HttpHeaders headers = new HttpHeaders();
+        headers.set(HttpHeaders.RETRY_AFTER, String.valueOf(ex.getRetryAfterSeconds()));
+
+        return super.handleExceptionInternal(ex, problemDetail, headers, status, request);
+    }
+
+    @ExceptionHandler(InvalidSortPropertyException.class)
+    public ResponseEntity<Object> handleInvalidSortPropertyException(InvalidSortPropertyException ex, WebRequest request) {
+        HttpStatus status = HttpStatus.BAD_REQUEST;
+        String detail = messageSource.getMessage("invalid.sort.property.detail",
+                new Object[]{ex.getProperty(), String.join(", ", ProductSpecification.SORTABLE_PROPERTIES)},
+                LocaleContextHolder.getLocale());
+
+        ProblemDetail problemDetail = ProblemDetail.forStatusAndDetail(status, detail);
+        problemDetail.setType(URI.create(PROBLEM_DETAILS_BASE_URL + "/invalid-sort-property"));
+        problemDetail.setTitle(messageSource.getMessage("error.title.invalid.sort.property", null, LocaleContextHolder.getLocale()));
+        problemDetail.setProperty("property", ex.getProperty());
+
+        return super.handleExceptionInternal(ex, problemDetail, new HttpHeaders(), status, request);
+    }
+
+    @ExceptionHandler(PageTooDeepException.class)
+    public ResponseEntity<Object> handlePageTooDeepException(PageTooDeepException ex, WebRequest request) {
+        HttpStatus status = HttpStatus.BAD_REQUEST;
+        String detail = messageSource.getMessage("page.too.deep.detail",
+                new Object[]{String.valueOf(ex.getOffset()), String.valueOf(ex.getMaxOffset())}, LocaleContextHolder.getLocale());
+
+        ProblemDetail problemDetail = ProblemDetail.forStatusAndDetail(status, detail);
+        problemDetail.setType(URI.create(PROBLEM_DETAILS_BASE_URL + "/page-too-deep"));
+        problemDetail.setTitle(messageSource.getMessage("error.title.page.too.deep", null, LocaleContextHolder.getLocale()));
+        problemDetail.setProperty("offset", ex.getOffset());
+        problemDetail.setProperty("maxOffset", ex.getMaxOffset());
+
+        return super.handleExceptionInternal(ex, problemDetail, new HttpHeaders(), status, request);
+    }
+
+    @ExceptionHandler(StockAdjustmentRejectedException.class)
+    public ResponseEntity<Object> handleStockAdjustmentRejectedException(StockAdjustmentRejectedException ex, WebRequest request) {
+        HttpStatus status = HttpStatus.CONFLICT;
+        String detail = messageSource.getMessage("stock.adjustment.rejected.detail",
+                new Object[]{ex.getDelta(), ex.getCurrentQuantity()}, LocaleContextHolder.getLocale());
+
+        ProblemDetail problemDetail = ProblemDetail.forStatusAndDetail(status, detail);
+        problemDetail.setType(URI.create(PROBLEM_DETAILS_BASE_URL + "/stock-adjustment-rejected"));
+        problemDetail.setTitle(messageSource.getMessage("error.title.stock.adjustment.rejected", null, LocaleContextHolder.getLocale()));
+        problemDetail.setProperty("publicId", ex.getPublicId());
+        problemDetail.setProperty("delta", ex.getDelta());
+        problemDetail.setProperty("currentQuantity", ex.getCurrentQuantity());
+
+        return super.handleExceptionInternal(ex, problemDetail, new HttpHeaders(), status, request);
+    }
+
+    @ExceptionHandler(InsufficientStockException.class)
+    public ResponseEntity<Object> handleInsufficientStockException(InsufficientStockException ex, WebRequest request) {
+        HttpStatus status = HttpStatus.CONFLICT;
+        String detail = messageSource.getMessage("insufficient.stock.detail",
+                new Object[]{ex.getRequested(), ex.getAvailable()}, LocaleContextHolder.getLocale());
+
+        ProblemDetail problemDetail = ProblemDetail.forStatusAndDetail(status, detail);
+        problemDetail.setType(URI.create(PROBLEM_DETAILS_BASE_URL + "/insufficient-stock"));
+        problemDetail.setTitle(messageSource.getMessage("error.title.insufficient.stock", null, LocaleContextHolder.getLocale()));
+        problemDetail.setProperty("publicId", ex.getPublicId());
+        problemDetail.setProperty("requested", ex.getRequested());
+        problemDetail.setProperty("available", ex.getAvailable());
+
+        return super.handleExceptionInternal(ex, problemDetail, new HttpHeaders(), status, request);
+    }
+
+    @ExceptionHandler(QuantityBelowReservedException.class)
+    public ResponseEntity<Object> handleQuantityBelowReservedException(QuantityBelowReservedException ex, WebRequest request) {
+        HttpStatus status = HttpStatus.CONFLICT;
+        String detail = messageSource.getMessage("quantity.below.reserved.detail",
+                new Object[]{ex.getQuantity(), ex.getReserved()}, LocaleContextHolder.getLocale());
+
+        ProblemDetail problemDetail = ProblemDetail.forStatusAndDetail(status, detail);
+        problemDetail.setType(URI.create(PROBLEM_DETAILS_BASE_URL + "/quantity-below-reserved"));
+        problemDetail.setTitle(messageSource.getMessage("error.title.quantity.below.reserved", null, LocaleContextHolder.getLocale()));
+        problemDetail.setProperty("publicId", ex.getPublicId());
+        problemDetail.setProperty("quantity", ex.getQuantity());
+        problemDetail.setProperty("reserved", ex.getReserved());
+
+        return super.handleExceptionInternal(ex, problemDetail, new HttpHeaders(), status, request);
+    }
+
+    @ExceptionHandler(PreconditionFailedException.class)
+    public ResponseEntity<Object> handlePreconditionFailedException(PreconditionFailedException ex, WebRequest request) {
+        HttpStatus status = HttpStatus.PRECONDITION_FAILED;
+        String detail = messageSource.getMessage("precondition.failed.detail", null, LocaleContextHolder.getLocale());
+
+        ProblemDetail problemDetail = ProblemDetail.forStatusAndDetail(status, detail);
+        problemDetail.setType(URI.create(PROBLEM_DETAILS_BASE_URL + "/precondition-failed"));
+        problemDetail.setTitle(messageSource.getMessage("error.title.precondition.failed", null, LocaleContextHolder.getLocale()));
+        problemDetail.setProperty("publicId", ex.getPublicId());
+
+        HttpHeaders headers = new HttpHeaders();
+        if (ex.getCurrentVersion() != null) {
+            problemDetail.setProperty("currentVersion", ex.getCurrentVersion());
+            headers.setETag(String.valueOf(ex.getCurrentVersion()));
+        }
+
+        return super.handleExceptionInternal(ex, problemDetail, headers, status, request);
+    }
+
+    /**
+     * A concurrent write committed between reading the product and writing it back: the
+     * precondition failed when the client sent If-Match, otherwise the write is a plain conflict
+     */
+    @ExceptionHandler(OptimisticLockingFailureException.class)
+    public ResponseEntity<Object> handleOptimisticLockingFailureException(OptimisticLockingFailureException ex, WebRequest request) {
+        boolean conditional = request.getHeader(HttpHeaders.IF_MATCH) != null;
+        HttpStatus status = conditional ? HttpStatus.PRECONDITION_FAILED : HttpStatus.CONFLICT;
+        String detail = messageSource.getMessage(conditional ? "precondition.failed.detail" : "concurrent.modification.detail",
+                null, LocaleContextHolder.getLocale());
+
+        ProblemDetail problemDetail = ProblemDetail.forStatusAndDetail(status, detail);
+        problemDetail.setType(URI.create(PROBLEM_DETAILS_BASE_URL + (conditional ? "/precondition-failed" : "/concurrent-modification")));
+        problemDetail.setTitle(messageSource.getMessage(conditional ? "error.title.precondition.failed" : "error.title.concurrent.modification",
+                null, LocaleContextHolder.getLocale()));
+
+        return super.handleExceptionInternal(ex, problemDetail, new HttpHeaders(), status, request);
+    }
+
+    @ExceptionHandler(InvalidSyncTokenException.class)
+    public ResponseEntity<Object> handleInvalidSyncTokenException(InvalidSyncTokenException ex, WebRequest request) {
+        HttpStatus status = HttpStatus.GONE;
+        String detail = messageSource.getMessage("sync.token.invalid.detail",
+                new Object[]{String.valueOf(ex.getToken())}, LocaleContextHolder.getLocale());
+
+        ProblemDetail problemDetail = ProblemDetail.forStatusAndDetail(status, detail);
+        problemDetail.setType(URI.create(PROBLEM_DETAILS_BASE_URL + "/sync-token-invalid"));
+        problemDetail.setTitle(messageSource.getMessage("error.title.sync.token.invalid", null, LocaleContextHolder.getLocale()));
+        problemDetail.setProperty("token", String.valueOf(ex.getToken()));
+
+        return super.handleExceptionInternal(ex, problemDetail, new HttpHeaders(), status, request);
+    }
+
+    @ExceptionHandler(ChangesUnavailableException.class)
+    public ResponseEntity<Object> handleChangesUnavailableException(ChangesUnavailableException ex, WebRequest request) {
+        HttpStatus status = HttpStatus.NOT_IMPLEMENTED;
+        String detail = messageSource.getMessage("changes.unavailable.detail", null, LocaleContextHolder.getLocale());
+
+        ProblemDetail problemDetail = ProblemDetail.forStatusAndDetail(status, detail);
+        problemDetail.setType(URI.create(PROBLEM_DETAILS_BASE_URL + "/changes-unavailable"));
+        problemDetail.setTitle(messageSource.getMessage("error.title.changes.unavailable", null, LocaleContextHolder.getLocale()));
+
+        return super.handleExceptionInternal(ex, problemDetail, new HttpHeaders(), status, request);
+    }
+
     @ExceptionHandler(ResourceNotFoundException.class)
     public ResponseEntity<Object> handleResourceNotFoundException(ResourceNotFoundException ex, WebRequest request) {
         HttpStatus status = HttpStatus.NOT_FOUND;
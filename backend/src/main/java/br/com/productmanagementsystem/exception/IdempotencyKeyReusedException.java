@@ -0,0 +1,13 @@
+package br.com.productmanagementsystem.exception;
+
+import lombok.Getter;
+
+@Getter
+public class IdempotencyKeyReusedException extends RuntimeException {
+    private final String idempotencyKey;
+
+    public IdempotencyKeyReusedException(String idempotencyKey) {
+        super(); // Don't use hardcoded message - will be handled by GlobalExceptionHandler
+        this.idempotencyKey = idempotencyKey;
+    }
+}
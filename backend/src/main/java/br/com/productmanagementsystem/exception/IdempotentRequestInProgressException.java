@@ -0,0 +1,13 @@
+package br.com.productmanagementsystem.exception;
+
+import lombok.Getter;
+
+@Getter
+public class IdempotentRequestInProgressException extends RuntimeException {
+    private final String idempotencyKey;
+
+    public IdempotentRequestInProgressException(String idempotencyKey) {
+        super(); // Don't use hardcoded message - will be handled by GlobalExceptionHandler
+        this.idempotencyKey = idempotencyKey;
+    }
+}
@@ -0,0 +1,17 @@
+package br.com.productmanagementsystem.exception;
+
+import lombok.Getter;
+
+@Getter
+public class InsufficientStockException extends RuntimeException {
+    private final String publicId;
+    private final int requested;
+    private final int available;
+
+    public InsufficientStockException(String publicId, int requested, int available) {
+        super(); // Don't use hardcoded message - will be handled by GlobalExceptionHandler
+        this.publicId = publicId;
+        this.requested = requested;
+        this.available = available;
+    }
+}
@@ -0,0 +1,13 @@
+package br.com.productmanagementsystem.exception;
+
+import lombok.Getter;
+
+@Getter
+public class InvalidSortPropertyException extends RuntimeException {
+    private final String property;
+
+    public InvalidSortPropertyException(String property) {
+        super(); // Don't use hardcoded message - will be handled by GlobalExceptionHandler
+        this.property = property;
+    }
+}
@@ -0,0 +1,13 @@
+package br.com.productmanagementsystem.exception;
+
+import lombok.Getter;
+
+@Getter
+public class InvalidSyncTokenException extends RuntimeException {
+    private final Long token;
+
+    public InvalidSyncTokenException(Long token) {
+        super(); // Don't use hardcoded message - will be handled by GlobalExceptionHandler
+        this.token = token;
+    }
+}
@@ -0,0 +1,21 @@
+package br.com.productmanagementsystem.exception;
+
+import br.com.productmanagementsystem.dto.ProductRequestDTO;
+import lombok.Getter;
+import org.springframework.dao.OptimisticLockingFailureException;
+
+/**
+ * A merge patch lost a race with a concurrent write. Carries the state the patch was merged
+ * into, so that a retry can tell whether the concurrent write changed the same fields.
+ */
+@Getter
+public class MergePatchConflictException extends OptimisticLockingFailureException {
+    private final String publicId;
+    private final transient ProductRequestDTO base;
+
+    public MergePatchConflictException(String publicId, ProductRequestDTO base, OptimisticLockingFailureException cause) {
+        super(cause.getMessage(), cause);
+        this.publicId = publicId;
+        this.base = base;
+    }
+}
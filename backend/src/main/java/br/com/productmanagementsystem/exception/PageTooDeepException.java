@@ -0,0 +1,15 @@
+package br.com.productmanagementsystem.exception;
+
+import lombok.Getter;
+
+@Getter
+public class PageTooDeepException extends RuntimeException {
+    private final long offset;
+    private final long maxOffset;
+
+    public PageTooDeepException(long offset, long maxOffset) {
+        super(); // Don't use hardcoded message - will be handled by GlobalExceptionHandler
+        this.offset = offset;
+        this.maxOffset = maxOffset;
+    }
+}
@@ -0,0 +1,15 @@
+package br.com.productmanagementsystem.exception;
+
+import lombok.Getter;
+
+@Getter
+public class PreconditionFailedException extends RuntimeException {
+    private final String publicId;
+    private final Long currentVersion;
+
+    public PreconditionFailedException(String publicId, Long currentVersion) {
+        super(); // Don't use hardcoded message - will be handled by GlobalExceptionHandler
+        this.publicId = publicId;
+        this.currentVersion = currentVersion;
+    }
+}
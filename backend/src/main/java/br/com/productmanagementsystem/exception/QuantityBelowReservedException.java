@@ -0,0 +1,17 @@
+package br.com.productmanagementsystem.exception;
+
+import lombok.Getter;
+
+@Getter
+public class QuantityBelowReservedException extends RuntimeException {
+    private final String publicId;
+    private final int quantity;
+    private final int reserved;
+
+    public QuantityBelowReservedException(String publicId, int quantity, int reserved) {
+        super(); // Don't use hardcoded message - will be handled by GlobalExceptionHandler
+        this.publicId = publicId;
+        this.quantity = quantity;
+        this.reserved = reserved;
+    }
+}
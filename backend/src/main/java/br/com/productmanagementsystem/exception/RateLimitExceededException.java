@@ -0,0 +1,15 @@
+package br.com.productmanagementsystem.exception;
+
+import lombok.Getter;
+
+@Getter
+public class RateLimitExceededException extends RuntimeException {
+    private final String route;
+    private final long retryAfterSeconds;
+
+    public RateLimitExceededException(String route, long retryAfterSeconds) {
+        super(); // Don't use hardcoded message - will be handled by GlobalExceptionHandler
+        this.route = route;
+        this.retryAfterSeconds = retryAfterSeconds;
+    }
+}
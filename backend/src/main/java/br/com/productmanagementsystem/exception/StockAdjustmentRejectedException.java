@@ -0,0 +1,17 @@
+package br.com.productmanagementsystem.exception;
+
+import lombok.Getter;
+
+@Getter
+public class StockAdjustmentRejectedException extends RuntimeException {
+    private final String publicId;
+    private final int delta;
+    private final int currentQuantity;
+
+    public StockAdjustmentRejectedException(String publicId, int delta, int currentQuantity) {
+        super(); // Don't use hardcoded message - will be handled by GlobalExceptionHandler
+        this.publicId = publicId;
+        this.delta = delta;
+        this.currentQuantity = currentQuantity;
+    }
+}
@@ -0,0 +1,38 @@
+package br.com.productmanagementsystem.filter;
+
+import jakarta.servlet.http.HttpServletRequest;
+
+/**
+ * Identity of the client behind a request, for state kept per client.
+ * <p>
+ * API keys are not validated, so a key alone would let any client pick its identity; the
+ * remote address is always part of it and the key only tells clients behind one address apart.
+ */
+final class ClientIdentity {
+
+    static final String API_KEY_HEADER = "X-API-Key";
+
+    private static final int MAX_API_KEY_LENGTH = 128;
+
+    private ClientIdentity() {
+    }
+
+    /**
+     * Remote address and API key, for state only the client itself can reach
+     */
+    static String of(HttpServletRequest request) {
+        String address = address(request);
+        String apiKey = request.getHeader(API_KEY_HEADER);
+        if (apiKey != null && !apiKey.isBlank() && apiKey.length() <= MAX_API_KEY_LENGTH) {
+            return address + " key:" + apiKey;
+        }
+        return address;
+    }
+
+    /**
+     * Remote address alone, for limits a client must not escape by sending another API key
+     */
+    static String address(HttpServletRequest request) {
+        return "ip:" + request.getRemoteAddr();
+    }
+}
@@ -0,0 +1,239 @@
+package br.com.productmanagementsystem.filter;
+
+import br.com.productmanagementsystem.exception.IdempotencyKeyReusedException;
+import br.com.productmanagementsystem.exception.IdempotentRequestInProgressException;
+import br.com.productmanagementsystem.idempotency.IdempotencyStore;
+import br.com.productmanagementsystem.idempotency.IdempotentResponse;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ReadListener;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.ServletInputStream;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletRequestWrapper;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.http.HttpHeaders;
+import org.springframework.lang.NonNull;
+import org.springframework.util.StreamUtils;
+import org.springframework.web.filter.OncePerRequestFilter;
+import org.springframework.web.servlet.HandlerExceptionResolver;
+import org.springframework.web.util.ContentCachingResponseWrapper;
+
+import java.io.BufferedReader;
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.nio.charset.Charset;
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.time.Duration;
+import java.util.HashMap;
+import java.util.HexFormat;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.TimeoutException;
+
+/**
+ * Honors the {@code Idempotency-Key} header on unsafe requests.
+ * <p>
+ * Completed responses are replayed for retries carrying the same key without
+ * reaching the controller; concurrent duplicates wait on the in-flight original.
+ * Keys are scoped to the client that sent them, see {@link ClientIdentity}.
+ */
+public class IdempotencyFilter extends OncePerRequestFilter {
+
+    public static final String IDEMPOTENCY_KEY_HEADER = "Idempotency-Key";
+    public static final String IDEMPOTENT_REPLAYED_HEADER = "Idempotent-Replayed";
+
+    private static final Set<String> IDEMPOTENT_METHODS = Set.of("POST", "PATCH");
+    private static final List<String> REPLAYED_HEADERS = List.of(
+            HttpHeaders.CONTENT_TYPE, HttpHeaders.LOCATION, HttpHeaders.ETAG
+    );
+    private static final int MAX_KEY_LENGTH = 255;
+
+    private final IdempotencyStore idempotencyStore;
+    private final HandlerExceptionResolver handlerExceptionResolver;
+    private final Duration waitTimeout;
+
+    public IdempotencyFilter(IdempotencyStore idempotencyStore,
+                             HandlerExceptionResolver handlerExceptionResolver,
+                             Duration waitTimeout) {
+        this.idempotencyStore = idempotencyStore;
+        this.handlerExceptionResolver = handlerExceptionResolver;
+        this.waitTimeout = waitTimeout;
+    }
+
+    @Override
+    protected boolean shouldNotFilter(@NonNull HttpServletRequest request) {
+        String key = request.getHeader(IDEMPOTENCY_KEY_HEADER);
+        return !IDEMPOTENT_METHODS.contains(request.getMethod())
+                || key == null || key.isBlank() || key.length() > MAX_KEY_LENGTH;
+    }
+
+    @Override
+    protected void doFilterInternal(@NonNull HttpServletRequest request,
+                                    @NonNull HttpServletResponse response,
+                                    @NonNull FilterChain filterChain) throws ServletException, IOException {
+
+        String idempotencyKey = request.getHeader(IDEMPOTENCY_KEY_HEADER);
+        CachedBodyRequest cachedRequest = new CachedBodyRequest(request);
+        // Keys are chosen by clients, so two clients may well send the same one
+        String scope = ClientIdentity.of(request) + " " + request.getMethod() + " " + request.getRequestURI()
+                + " " + idempotencyKey;
+        String fingerprint = fingerprint(cachedRequest.body);
+
+        while (true) {
+            IdempotencyStore.Reservation reservation = idempotencyStore.reserve(scope, fingerprint);
+
+            if (reservation.isOwner()) {
+                executeAndStore(cachedRequest, response, filterChain, reservation);
+                return;
+            }
+
+            if (!reservation.matches(fingerprint)) {
+                resolve(request, response, new IdempotencyKeyReusedException(idempotencyKey));
+                return;
+            }
+
+            Optional<IdempotentResponse> outcome;
+            try {
+                outcome = reservation.awaitOutcome(waitTimeout);
+            } catch (TimeoutException ex) {
+                resolve(request, response, new IdempotentRequestInProgressException(idempotencyKey));
+                return;
+            } catch (InterruptedException ex) {
+                Thread.currentThread().interrupt();
+                resolve(request, response, new IdempotentRequestInProgressException(idempotencyKey));
+                return;
+            }
+
+            if (outcome.isPresent()) {
+                replay(outcome.get(), response);
+                return;
+            }
+            // The original request failed without a replayable outcome: try to become the owner
+        }
+    }
+
+    private void executeAndStore(CachedBodyRequest request, HttpServletResponse response, FilterChain filterChain,
+                                 IdempotencyStore.Reservation reservation) throws ServletException, IOException {
+        ContentCachingResponseWrapper responseWrapper = new ContentCachingResponseWrapper(response);
+        try {
+            filterChain.doFilter(request, responseWrapper);
+        } catch (ServletException | IOException | RuntimeException ex) {
+            idempotencyStore.abandon(reservation);
+            throw ex;
+        }
+
+        int status = responseWrapper.getStatus();
+        if (status >= HttpServletResponse.SC_INTERNAL_SERVER_ERROR) {
+            // Server errors are transient: let the client retry for real
+            idempotencyStore.abandon(reservation);
+        } else {
+            Map<String, String> headers = new HashMap<>();
+            REPLAYED_HEADERS.forEach(name -> {
+                String value = responseWrapper.getHeader(name);
+                if (value != null) {
+                    headers.put(name, value);
+                }
+            });
+            idempotencyStore.complete(reservation,
+                    new IdempotentResponse(status, headers, responseWrapper.getContentAsByteArray()));
+        }
+
+        responseWrapper.copyBodyToResponse();
+    }
+
+    private void replay(IdempotentResponse stored, HttpServletResponse response) throws IOException {
+        response.setStatus(stored.status());
+        stored.headers().forEach(response::setHeader);
+        response.setHeader(IDEMPOTENT_REPLAYED_HEADER, "true");
+
+        byte[] body = stored.body();
+        response.setContentLength(body.length);
+        response.getOutputStream().write(body);
+    }
+
+    private void resolve(HttpServletRequest request, HttpServletResponse response, Exception ex) {
+        handlerExceptionResolver.resolveException(request, response, null, ex);
+    }
+
+    private static String fingerprint(byte[] body) {
+        try {
+            return HexFormat.of().formatHex(MessageDigest.getInstance("SHA-256").digest(body));
+        } catch (NoSuchAlgorithmException ex) {
+            throw new IllegalStateException("SHA-256 not available", ex);
+        }
+    }
+
+    /**
+     * Request wrapper that reads the body once so it can be fingerprinted and replayed downstream
+     */
+    private static final class CachedBodyRequest extends HttpServletRequestWrapper {
+
+        private final byte[] body;
+
+        private CachedBodyRequest(HttpServletRequest request) throws IOException {
+            super(request);
+            this.body = StreamUtils.copyToByteArray(request.getInputStream());
+        }
+
+        @Override
+        public ServletInputStream getInputStream() {
+            ByteArrayInputStream inputStream = new ByteArrayInputStream(body);
+            return new ServletInputStream() {
+                @Override
+                public boolean isFinished() {
+                    return inputStream.available() == 0;
+                }
+
+                @Override
+                public boolean isReady() {
+                    return true;
+                }
+
+                /**
+                 * The body is already buffered, so the listener is told right away that it can be
+                 * read and, once it has read all of it, that the input is complete
+                 */
+                @Override
+                public void setReadListener(ReadListener readListener) {
+                    Objects.requireNonNull(readListener, "readListener");
+                    if (!isAsyncStarted()) {
+                        throw new IllegalStateException("Non-blocking reads require an async request");
+                    }
+
+                    try {
+                        if (!isFinished()) {
+                            readListener.onDataAvailable();
+                        }
+                        if (isFinished()) {
+                            readListener.onAllDataRead();
+                        }
+                    } catch (IOException | RuntimeException ex) {
+                        readListener.onError(ex);
+                    }
+                }
+
+                @Override
+                public int read() {
+                    return inputStream.read();
+                }
+
+                @Override
+                public int read(@NonNull byte[] b, int off, int len) {
+                    return inputStream.read(b, off, len);
+                }
+            };
+        }
+
+        @Override
+        public BufferedReader getReader() {
+            String encoding = getCharacterEncoding() != null ? getCharacterEncoding() : StandardCharsets.UTF_8.name();
+            return new BufferedReader(new InputStreamReader(getInputStream(), Charset.forName(encoding)));
+        }
+    }
+}
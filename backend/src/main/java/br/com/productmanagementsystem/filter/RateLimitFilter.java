@@ -0,0 +1,79 @@
+package br.com.productmanagementsystem.filter;
+
+import br.com.productmanagementsystem.exception.RateLimitExceededException;
+import br.com.productmanagementsystem.limit.TokenBucketRateLimiter;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.lang.NonNull;
+import org.springframework.util.AntPathMatcher;
+import org.springframework.util.PathMatcher;
+import org.springframework.web.filter.OncePerRequestFilter;
+import org.springframework.web.servlet.HandlerExceptionResolver;
+
+import java.io.IOException;
+import java.util.List;
+import java.util.Set;
+
+/**
+ * Per-client rate limiting for the product API.
+ * Clients are identified by remote address: API keys are not validated, so a client
+ * could rotate them for a fresh burst each time and fill the bucket map.
+ */
+public class RateLimitFilter extends OncePerRequestFilter {
+
+    public static final String REMAINING_HEADER = "RateLimit-Remaining";
+
+    private static final Set<String> READ_METHODS = Set.of("GET", "HEAD");
+
+    private final TokenBucketRateLimiter readLimiter;
+    private final TokenBucketRateLimiter writeLimiter;
+    private final TokenBucketRateLimiter exportLimiter;
+    private final List<String> exportPatterns;
+    private final HandlerExceptionResolver handlerExceptionResolver;
+    private final PathMatcher pathMatcher = new AntPathMatcher();
+
+    public RateLimitFilter(TokenBucketRateLimiter readLimiter,
+                           TokenBucketRateLimiter writeLimiter,
+                           TokenBucketRateLimiter exportLimiter,
+                           List<String> exportPatterns,
+                           HandlerExceptionResolver handlerExceptionResolver) {
+        this.readLimiter = readLimiter;
+        this.writeLimiter = writeLimiter;
+        this.exportLimiter = exportLimiter;
+        this.exportPatterns = List.copyOf(exportPatterns);
+        this.handlerExceptionResolver = handlerExceptionResolver;
+    }
+
+    @Override
+    protected boolean shouldNotFilter(@NonNull HttpServletRequest request) {
+        return "OPTIONS".equals(request.getMethod());
+    }
+
+    @Override
+    protected void doFilterInternal(@NonNull HttpServletRequest request,
+                                    @NonNull HttpServletResponse response,
+                                    @NonNull FilterChain filterChain) throws ServletException, IOException {
+
+        TokenBucketRateLimiter limiter = limiterFor(request);
+        TokenBucketRateLimiter.Decision decision = limiter.tryAcquire(ClientIdentity.address(request));
+
+        if (!decision.allowed()) {
+            handlerExceptionResolver.resolveException(request, response, null,
+                    new RateLimitExceededException(limiter.getName(), decision.retryAfterSeconds()));
+            return;
+        }
+
+        response.setHeader(REMAINING_HEADER, String.valueOf(decision.remainingTokens()));
+        filterChain.doFilter(request, response);
+    }
+
+    private TokenBucketRateLimiter limiterFor(HttpServletRequest request) {
+        String path = request.getRequestURI().substring(request.getContextPath().length());
+        if (exportPatterns.stream().anyMatch(pattern -> pathMatcher.match(pattern, path))) {
+            return exportLimiter;
+        }
+        return READ_METHODS.contains(request.getMethod()) ? readLimiter : writeLimiter;
+    }
+}
@@ -0,0 +1,136 @@
+package br.com.productmanagementsystem.filter;
+
+import br.com.productmanagementsystem.replica.ReplicaReads;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.ServletOutputStream;
+import jakarta.servlet.http.Cookie;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import jakarta.servlet.http.HttpServletResponseWrapper;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.ResponseCookie;
+import org.springframework.lang.NonNull;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import java.io.IOException;
+import java.io.PrintWriter;
+import java.time.Clock;
+import java.time.Duration;
+import java.util.Set;
+
+/**
+ * Lets API requests read from the replica while making sure clients read their own writes.
+ * <p>
+ * Every write response sets a cookie with the time the write completed; reads carrying it are
+ * served by the replica only once the replica has caught up with that time, and by the primary
+ * until then. The cookie expires after the lag threshold, past which a replica that is still
+ * behind is not read from anyway.
+ */
+public class ReadYourWritesFilter extends OncePerRequestFilter {
+
+    public static final String READ_AFTER_COOKIE = "read-after";
+
+    private static final Set<String> READ_METHODS = Set.of("GET", "HEAD", "OPTIONS");
+
+    private final Clock clock;
+    private final Duration maxLag;
+
+    public ReadYourWritesFilter(Clock clock, Duration maxLag) {
+        this.clock = clock;
+        this.maxLag = maxLag;
+    }
+
+    @Override
+    protected void doFilterInternal(@NonNull HttpServletRequest request,
+                                    @NonNull HttpServletResponse response,
+                                    @NonNull FilterChain filterChain) throws ServletException, IOException {
+
+        ReplicaReads.allow(readAfter(request));
+        try {
+            if (READ_METHODS.contains(request.getMethod())) {
+                filterChain.doFilter(request, response);
+            } else {
+                WriteResponse writeResponse = new WriteResponse(response);
+                filterChain.doFilter(request, writeResponse);
+                writeResponse.markWritten();
+            }
+        } finally {
+            ReplicaReads.clear();
+        }
+    }
+
+    private static long readAfter(HttpServletRequest request) {
+        Cookie[] cookies = request.getCookies();
+        if (cookies != null) {
+            for (Cookie cookie : cookies) {
+                if (READ_AFTER_COOKIE.equals(cookie.getName()) && cookie.getValue().matches("\\d{1,18}")) {
+                    return Long.parseLong(cookie.getValue());
+                }
+            }
+        }
+        return Long.MIN_VALUE;
+    }
+
+    /**
+     * Sets the cookie right before the response commits. The service transaction is committed by
+     * then, so the recorded time is not earlier than the write.
+     */
+    private final class WriteResponse extends HttpServletResponseWrapper {
+
+        private boolean marked;
+
+        private WriteResponse(HttpServletResponse response) {
+            super(response);
+        }
+
+        private void markWritten() {
+            if (!marked && !isCommitted()) {
+                marked = true;
+                ResponseCookie cookie = ResponseCookie.from(READ_AFTER_COOKIE, Long.toString(clock.millis()))
+                        .path("/api")
+                        .maxAge(maxLag)
+                        .httpOnly(true)
+                        .sameSite("Lax")
+                        .build();
+                addHeader(HttpHeaders.SET_COOKIE, cookie.toString());
+            }
+        }
+
+        @Override
+        public ServletOutputStream getOutputStream() throws IOException {
+            markWritten();
+            return super.getOutputStream();
+        }
+
+        @Override
+        public PrintWriter getWriter() throws IOException {
+            markWritten();
+            return super.getWriter();
+        }
+
+        @Override
+        public void flushBuffer() throws IOException {
+            markWritten();
+            super.flushBuffer();
+        }
+
+        @Override
+        public void sendError(int sc) throws IOException {
+            markWritten();
+            super.sendError(sc);
+        }
+
+        @Override
+        public void sendError(int sc, String msg) throws IOException {
+            markWritten();
+            super.sendError(sc, msg);
+        }
+
+        @Override
+        public void sendRedirect(String location) throws IOException {
+            markWritten();
+            super.sendRedirect(location);
+        }
+    }
+}
@@ -0,0 +1,125 @@
+package br.com.productmanagementsystem.history;
+
+import br.com.productmanagementsystem.dto.ProductHistoryEventDTO;
+import br.com.productmanagementsystem.dto.ProductResponseDTO;
+import br.com.productmanagementsystem.entity.ProductHistoryEvent;
+import br.com.productmanagementsystem.entity.ProductHistorySnapshot;
+import br.com.productmanagementsystem.event.ProductChangedEvent;
+import br.com.productmanagementsystem.repository.ProductHistoryEventRepository;
+import br.com.productmanagementsystem.repository.ProductHistorySnapshotRepository;
+import br.com.productmanagementsystem.specification.ProductField;
+import lombok.RequiredArgsConstructor;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.math.BigDecimal;
+import java.time.Instant;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+
+/**
+ * Reads the history written by {@link ProductHistoryWriter}.
+ * <p>
+ * The state of a product at a point in time is rebuilt from the latest snapshot at or before the
+ * revision current at that time, replaying at most a snapshot interval of events. The current
+ * state keeps being read from the products table; the history is only read for audits.
+ */
+@Component
+@RequiredArgsConstructor
+@Transactional(readOnly = true)
+public class ProductHistory {
+
+    private final ProductHistoryEventRepository eventRepository;
+    private final ProductHistorySnapshotRepository snapshotRepository;
+
+    /**
+     * State of the product at the given time, empty when it did not exist yet or was already deleted
+     */
+    public Optional<ProductResponseDTO> findStateAt(String publicId, Instant asOf) {
+        Optional<ProductHistoryEvent> current = eventRepository
+                .findFirstByProductPublicIdAndOccurredAtLessThanEqualOrderByOccurredAtDescRevisionDesc(publicId, asOf);
+        if (current.isEmpty() || current.get().getType() == ProductChangedEvent.ChangeType.DELETED) {
+            return Optional.empty();
+        }
+
+        long revision = current.get().getRevision();
+        State state = snapshotRepository.findFirstByProductPublicIdAndRevisionLessThanEqualOrderByRevisionDesc(publicId, revision)
+                .map(State::of)
+                .orElseGet(State::new);
+        if (state.revision < revision) {
+            eventRepository.findByProductPublicIdAndRevisionGreaterThanAndRevisionLessThanEqualOrderByRevisionAsc(
+                    publicId, state.revision, revision).forEach(state::apply);
+        }
+
+        return Optional.of(new ProductResponseDTO(publicId, state.name, state.price, state.description, state.quantity));
+    }
+
+    /**
+     * Recorded writes of the product, latest first
+     */
+    public Page<ProductHistoryEventDTO> findEvents(String publicId, Pageable pageable) {
+        // Revisions are the only meaningful order
+        Pageable unsorted = PageRequest.of(pageable.getPageNumber(), pageable.getPageSize());
+        return eventRepository.findByProductPublicIdOrderByRevisionDesc(publicId, unsorted)
+                .map(event -> new ProductHistoryEventDTO(event.getRevision(), event.getType(), changes(event),
+                        event.getOccurredAt()));
+    }
+
+    private static Map<String, Object> changes(ProductHistoryEvent event) {
+        Map<String, Object> changes = new LinkedHashMap<>();
+        for (ProductField field : changedFields(event)) {
+            changes.put(field.getProperty(), switch (field) {
+                case NAME -> event.getName();
+                case PRICE -> event.getPrice();
+                case DESCRIPTION -> event.getDescription();
+                case QUANTITY -> event.getQuantity();
+                case PUBLIC_ID -> event.getProductPublicId();
+            });
+        }
+        return changes;
+    }
+
+    private static List<ProductField> changedFields(ProductHistoryEvent event) {
+        if (event.getChangedFields().isEmpty()) {
+            return List.of();
+        }
+        return ProductField.parse(event.getChangedFields()).stream().toList();
+    }
+
+    private static final class State {
+        private long revision;
+        private String name;
+        private BigDecimal price;
+        private String description;
+        private Integer quantity;
+
+        private static State of(ProductHistorySnapshot snapshot) {
+            State state = new State();
+            state.revision = snapshot.getRevision();
+            state.name = snapshot.getName();
+            state.price = snapshot.getPrice();
+            state.description = snapshot.getDescription();
+            state.quantity = snapshot.getQuantity();
+            return state;
+        }
+
+        private void apply(ProductHistoryEvent event) {
+            for (ProductField field : changedFields(event)) {
+                switch (field) {
+                    case NAME -> name = event.getName();
+                    case PRICE -> price = event.getPrice();
+                    case DESCRIPTION -> description = event.getDescription();
+                    case QUANTITY -> quantity = event.getQuantity();
+                    case PUBLIC_ID -> {
+                    }
+                }
+            }
+            revision = event.getRevision();
+        }
+    }
+}
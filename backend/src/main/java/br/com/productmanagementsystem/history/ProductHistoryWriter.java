@@ -0,0 +1,107 @@
+package br.com.productmanagementsystem.history;
+
+import br.com.productmanagementsystem.entity.ProductHistoryEvent;
+import br.com.productmanagementsystem.entity.ProductHistorySnapshot;
+import br.com.productmanagementsystem.event.ProductChangedEvent;
+import br.com.productmanagementsystem.event.ProductSnapshot;
+import br.com.productmanagementsystem.repository.ProductHistoryEventRepository;
+import br.com.productmanagementsystem.repository.ProductHistorySnapshotRepository;
+import br.com.productmanagementsystem.specification.ProductField;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.Instant;
+import java.util.EnumSet;
+import java.util.Objects;
+import java.util.Optional;
+import java.util.Set;
+import java.util.stream.Collectors;
+
+/**
+ * Appends every {@link ProductChangedEvent} to the history of its product.
+ * <p>
+ * Like the outbox, the history is written synchronously inside the transaction of the write, so it
+ * holds exactly the writes that committed. The write already locks the product row, which orders
+ * the revisions of a product. Every {@code app.history.snapshot-interval} revisions the whole
+ * state is stored as well, bounding the events a point-in-time read replays.
+ */
+@Component
+public class ProductHistoryWriter {
+
+    static final Set<ProductField> STATE_FIELDS = EnumSet.complementOf(EnumSet.of(ProductField.PUBLIC_ID));
+
+    private final ProductHistoryEventRepository eventRepository;
+    private final ProductHistorySnapshotRepository snapshotRepository;
+    private final int snapshotInterval;
+
+    public ProductHistoryWriter(ProductHistoryEventRepository eventRepository,
+                                ProductHistorySnapshotRepository snapshotRepository,
+                                @Value("${app.history.snapshot-interval:50}") int snapshotInterval) {
+        this.eventRepository = eventRepository;
+        this.snapshotRepository = snapshotRepository;
+        this.snapshotInterval = snapshotInterval;
+    }
+
+    @EventListener
+    @Transactional(propagation = Propagation.MANDATORY)
+    public void append(ProductChangedEvent event) {
+        ProductSnapshot product = event.current();
+        Optional<ProductHistoryEvent> previous = eventRepository.findFirstByProductPublicIdOrderByRevisionDesc(product.publicId());
+
+        Set<ProductField> changed;
+        if (event.type() == ProductChangedEvent.ChangeType.DELETED) {
+            changed = EnumSet.noneOf(ProductField.class);
+        } else if (previous.isEmpty() || event.before() == null) {
+            // A product without history starts it with its whole state
+            changed = STATE_FIELDS;
+        } else {
+            changed = changedFields(event.before(), event.after());
+            if (changed.isEmpty()) {
+                return;
+            }
+        }
+
+        long revision = previous.map(ProductHistoryEvent::getRevision).orElse(0L) + 1;
+        Instant occurredAt = Instant.now();
+        ProductSnapshot values = event.after();
+        eventRepository.save(new ProductHistoryEvent(
+                null,
+                product.publicId(),
+                revision,
+                event.type(),
+                changed.stream().map(ProductField::getProperty).collect(Collectors.joining(",")),
+                changed.contains(ProductField.NAME) ? values.name() : null,
+                changed.contains(ProductField.PRICE) ? values.price() : null,
+                changed.contains(ProductField.DESCRIPTION) ? values.description() : null,
+                changed.contains(ProductField.QUANTITY) ? values.quantity() : null,
+                occurredAt
+        ));
+
+        if (revision % snapshotInterval == 0 && values != null) {
+            snapshotRepository.save(new ProductHistorySnapshot(null, product.publicId(), revision, values.name(),
+                    values.price(), values.description(), values.quantity(), occurredAt));
+        }
+    }
+
+    private static Set<ProductField> changedFields(ProductSnapshot before, ProductSnapshot after) {
+        Set<ProductField> changed = EnumSet.noneOf(ProductField.class);
+        if (!Objects.equals(before.name(), after.name())) {
+            changed.add(ProductField.NAME);
+        }
+        // 10 and 10.00 are the same price
+        if (before.price() == null || after.price() == null
+                ? before.price() != after.price() : before.price().compareTo(after.price()) != 0) {
+            changed.add(ProductField.PRICE);
+        }
+        if (!Objects.equals(before.description(), after.description())) {
+            changed.add(ProductField.DESCRIPTION);
+        }
+        if (!Objects.equals(before.quantity(), after.quantity())) {
+            changed.add(ProductField.QUANTITY);
+        }
+        return changed;
+    }
+}
@@ -0,0 +1,199 @@
+package br.com.productmanagementsystem.idempotency;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.util.Iterator;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Queue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Bounded, TTL-evicted store of idempotent request outcomes.
+ * <p>
+ * The first request for a key becomes the owner and executes normally; concurrent
+ * duplicates wait on the owner's outcome instead of executing again.
+ * <p>
+ * Entries are evicted oldest first once expired or past {@code maxEntries}. Every reservation
+ * queues its own entry, so the queue entry of a key reserved again is recognized as stale by
+ * identity and dropped without a scan.
+ */
+public class IdempotencyStore {
+
+    private final Map<String, Entry> entries = new ConcurrentHashMap<>();
+    private final Queue<Queued> insertionOrder = new ConcurrentLinkedQueue<>();
+    // ConcurrentLinkedQueue.size() walks the whole queue
+    private final AtomicInteger queued = new AtomicInteger();
+    private final int maxEntries;
+    private final Duration ttl;
+    private final Clock clock;
+
+    public IdempotencyStore(int maxEntries, Duration ttl, Clock clock) {
+        if (maxEntries <= 0) {
+            throw new IllegalArgumentException("maxEntries must be positive");
+        }
+        this.maxEntries = maxEntries;
+        this.ttl = ttl;
+        this.clock = clock;
+    }
+
+    /**
+     * Registers the key, or returns the entry of the request that already owns it
+     */
+    public Reservation reserve(String key, String fingerprint) {
+        while (true) {
+            Entry candidate = new Entry(fingerprint);
+            Entry existing = entries.putIfAbsent(key, candidate);
+
+            if (existing == null) {
+                insertionOrder.add(new Queued(key, candidate));
+                queued.incrementAndGet();
+                evictIfNeeded();
+                return new Reservation(key, candidate, true);
+            }
+
+            if (existing.isExpired(clock.millis())) {
+                entries.remove(key, existing);
+                continue;
+            }
+
+            return new Reservation(key, existing, false);
+        }
+    }
+
+    /**
+     * Stores the outcome of the owner request and releases waiting duplicates
+     */
+    public void complete(Reservation reservation, IdempotentResponse response) {
+        reservation.entry.expiresAt = clock.millis() + ttl.toMillis();
+        reservation.entry.outcome.complete(Optional.of(response));
+    }
+
+    /**
+     * Forgets a reservation whose request did not produce a replayable outcome,
+     * letting waiting duplicates retry on their own
+     */
+    public void abandon(Reservation reservation) {
+        entries.remove(reservation.key, reservation.entry);
+        reservation.entry.outcome.complete(Optional.empty());
+    }
+
+    public int size() {
+        return entries.size();
+    }
+
+    int queued() {
+        return queued.get();
+    }
+
+    private void evictIfNeeded() {
+        if (queued.get() > 2L * maxEntries) {
+            dropStale();
+        }
+
+        long now = clock.millis();
+        while (true) {
+            Queued oldest = insertionOrder.peek();
+            if (oldest == null) {
+                return;
+            }
+
+            boolean stale = !oldest.isCurrent();
+            if (!stale && !oldest.entry.isExpired(now) && entries.size() <= maxEntries) {
+                return;
+            }
+            if (!insertionOrder.remove(oldest)) {
+                continue; // Taken by a concurrent eviction
+            }
+            queued.decrementAndGet();
+            if (!stale) {
+                // In-flight entries count towards the bound too. The concurrency limits keep them far below
+                // it, and the duplicates already waiting on an evicted one still receive its outcome.
+                entries.remove(oldest.key, oldest.entry);
+            }
+        }
+    }
+
+    // Queue entries of abandoned and re-reserved keys are otherwise only dropped once they reach the head
+    private void dropStale() {
+        Iterator<Queued> iterator = insertionOrder.iterator();
+        while (iterator.hasNext()) {
+            if (!iterator.next().isCurrent()) {
+                iterator.remove();
+                queued.decrementAndGet();
+            }
+        }
+    }
+
+    /**
+     * Handle on a stored key, either as its owner or as a duplicate
+     */
+    public static final class Reservation {
+
+        private final String key;
+        private final Entry entry;
+        private final boolean owner;
+
+        private Reservation(String key, Entry entry, boolean owner) {
+            this.key = key;
+            this.entry = entry;
+            this.owner = owner;
+        }
+
+        public boolean isOwner() {
+            return owner;
+        }
+
+        public boolean matches(String fingerprint) {
+            return entry.fingerprint.equals(fingerprint);
+        }
+
+        /**
+         * Waits for the owner's outcome; empty when the owner abandoned the key
+         */
+        public Optional<IdempotentResponse> awaitOutcome(Duration timeout)
+                throws InterruptedException, TimeoutException {
+            try {
+                return entry.outcome.get(timeout.toMillis(), TimeUnit.MILLISECONDS);
+            } catch (ExecutionException ex) {
+                return Optional.empty();
+            }
+        }
+    }
+
+    private final class Queued {
+
+        private final String key;
+        private final Entry entry;
+
+        private Queued(String key, Entry entry) {
+            this.key = key;
+            this.entry = entry;
+        }
+
+        private boolean isCurrent() {
+            return entries.get(key) == entry;
+        }
+    }
+
+    private static final class Entry {
+
+        private final String fingerprint;
+        private final CompletableFuture<Optional<IdempotentResponse>> outcome = new CompletableFuture<>();
+        private volatile long expiresAt = Long.MAX_VALUE;
+
+        private Entry(String fingerprint) {
+            this.fingerprint = fingerprint;
+        }
+
+        private boolean isExpired(long now) {
+            return now >= expiresAt;
+        }
+    }
+}
@@ -0,0 +1,19 @@
+package br.com.productmanagementsystem.idempotency;
+
+import java.util.Map;
+
+/**
+ * Completed HTTP response stored for replay of an idempotent request
+ */
+public record IdempotentResponse(int status, Map<String, String> headers, byte[] body) {
+
+    public IdempotentResponse {
+        headers = Map.copyOf(headers);
+        body = body.clone();
+    }
+
+    @Override
+    public byte[] body() {
+        return body.clone();
+    }
+}
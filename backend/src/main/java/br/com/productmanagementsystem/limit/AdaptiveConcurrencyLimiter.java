@@ -0,0 +1,142 @@
+package br.com.productmanagementsystem.limit;
+
+import org.springframework.jmx.export.annotation.ManagedAttribute;
+import org.springframework.jmx.export.annotation.ManagedResource;
+
+import java.util.Optional;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Concurrency limit adjusted with AIMD (additive increase, multiplicative decrease).
+ * <p>
+ * Requests completing within the latency target grow the limit by one while the
+ * limiter is actually being used; slow or failed requests shrink it by the backoff
+ * ratio. Requests above the limit are rejected immediately instead of queueing.
+ */
+@ManagedResource(description = "Adaptive concurrency limit")
+public class AdaptiveConcurrencyLimiter {
+
+    private final String name;
+    private final int minLimit;
+    private final int maxLimit;
+    private final long latencyTargetNanos;
+    private final double backoffRatio;
+
+    private final AtomicInteger inFlight = new AtomicInteger();
+    private final LongAdder accepted = new LongAdder();
+    private final LongAdder rejected = new LongAdder();
+    private final LongAdder dropped = new LongAdder();
+
+    private volatile double limit;
+
+    public AdaptiveConcurrencyLimiter(String name, int initialLimit, int minLimit, int maxLimit,
+                                      long latencyTargetMillis, double backoffRatio) {
+        if (minLimit < 1 || maxLimit < minLimit || initialLimit < minLimit || initialLimit > maxLimit) {
+            throw new IllegalArgumentException("Invalid concurrency limits for " + name);
+        }
+        if (backoffRatio <= 0 || backoffRatio >= 1) {
+            throw new IllegalArgumentException("Backoff ratio must be between 0 and 1");
+        }
+        this.name = name;
+        this.minLimit = minLimit;
+        this.maxLimit = maxLimit;
+        this.latencyTargetNanos = TimeUnit.MILLISECONDS.toNanos(latencyTargetMillis);
+        this.backoffRatio = backoffRatio;
+        this.limit = initialLimit;
+    }
+
+    /**
+     * Acquires a permit, or returns empty when the current limit is reached
+     */
+    public Optional<Permit> tryAcquire() {
+        while (true) {
+            int current = inFlight.get();
+            if (current >= (int) limit) {
+                rejected.increment();
+                return Optional.empty();
+            }
+            if (inFlight.compareAndSet(current, current + 1)) {
+                accepted.increment();
+                return Optional.of(new Permit(current + 1, System.nanoTime()));
+            }
+        }
+    }
+
+    private void onSample(Permit permit, long latencyNanos, boolean didDrop) {
+        inFlight.decrementAndGet();
+
+        synchronized (this) {
+            if (didDrop || latencyNanos > latencyTargetNanos) {
+                dropped.increment();
+                limit = Math.max(minLimit, limit * backoffRatio);
+            } else if (permit.inFlightAtStart * 2 >= limit) {
+                // Only grow while the limit is the actual constraint
+                limit = Math.min(maxLimit, limit + 1);
+            }
+        }
+    }
+
+    public String getName() {
+        return name;
+    }
+
+    @ManagedAttribute(description = "Current concurrency limit")
+    public int getLimit() {
+        return (int) limit;
+    }
+
+    @ManagedAttribute(description = "Requests currently in flight")
+    public int getInFlight() {
+        return inFlight.get();
+    }
+
+    @ManagedAttribute(description = "Total accepted requests")
+    public long getAcceptedCount() {
+        return accepted.sum();
+    }
+
+    @ManagedAttribute(description = "Total requests rejected with 503")
+    public long getRejectedCount() {
+        return rejected.sum();
+    }
+
+    @ManagedAttribute(description = "Total samples that triggered a limit decrease")
+    public long getDroppedCount() {
+        return dropped.sum();
+    }
+
+    /**
+     * Slot held by an in-flight request; must be released exactly once
+     */
+    public final class Permit {
+
+        private final int inFlightAtStart;
+        private final long startNanos;
+        private final AtomicInteger released = new AtomicInteger();
+
+        private Permit(int inFlightAtStart, long startNanos) {
+            this.inFlightAtStart = inFlightAtStart;
+            this.startNanos = startNanos;
+        }
+
+        /**
+         * Releases the permit, feeding the observed latency back into the limit
+         */
+        public void release(boolean didDrop) {
+            if (released.compareAndSet(0, 1)) {
+                onSample(this, System.nanoTime() - startNanos, didDrop);
+            }
+        }
+
+        /**
+         * Releases the permit without affecting the limit
+         */
+        public void ignore() {
+            if (released.compareAndSet(0, 1)) {
+                inFlight.decrementAndGet();
+            }
+        }
+    }
+}
@@ -0,0 +1,141 @@
+package br.com.productmanagementsystem.limit;
+
+import org.springframework.jmx.export.annotation.ManagedAttribute;
+import org.springframework.jmx.export.annotation.ManagedResource;
+import org.springframework.scheduling.annotation.Scheduled;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.LongSupplier;
+
+/**
+ * Lock-free per-client token bucket, implemented as GCRA (generic cell rate algorithm).
+ * <p>
+ * Each client bucket is a single {@link AtomicLong} holding its theoretical arrival time,
+ * updated with one CAS per request. A bucket whose arrival time is in the past is full,
+ * so idle clients can be dropped from the map without losing any state. A scheduled sweep
+ * drops them, so requests never scan the map. While the map is full of active clients,
+ * unknown clients are spread by hash over a fixed set of overflow buckets, so a noisy one
+ * only shares its limit with a small fraction of the others.
+ */
+@ManagedResource(description = "Per-client token bucket rate limiter")
+public class TokenBucketRateLimiter {
+
+    // Power of two, so a masked hash picks the bucket
+    private static final int OVERFLOW_BUCKETS = 256;
+
+    private final String name;
+    private final long emissionIntervalNanos;
+    private final long burstToleranceNanos;
+    private final int maxClients;
+    private final LongSupplier nanoClock;
+
+    private final Map<String, AtomicLong> buckets = new ConcurrentHashMap<>();
+    private final AtomicLong[] overflowBuckets = new AtomicLong[OVERFLOW_BUCKETS];
+    private final LongAdder allowed = new LongAdder();
+    private final LongAdder rejected = new LongAdder();
+
+    public TokenBucketRateLimiter(String name, double permitsPerSecond, int burst, int maxClients) {
+        this(name, permitsPerSecond, burst, maxClients, System::nanoTime);
+    }
+
+    TokenBucketRateLimiter(String name, double permitsPerSecond, int burst, int maxClients, LongSupplier nanoClock) {
+        if (permitsPerSecond <= 0 || burst < 1 || maxClients < 1) {
+            throw new IllegalArgumentException("Invalid rate limit configuration for " + name);
+        }
+        this.name = name;
+        this.emissionIntervalNanos = (long) (TimeUnit.SECONDS.toNanos(1) / permitsPerSecond);
+        this.burstToleranceNanos = emissionIntervalNanos * (burst - 1L);
+        this.maxClients = maxClients;
+        this.nanoClock = nanoClock;
+        for (int i = 0; i < OVERFLOW_BUCKETS; i++) {
+            overflowBuckets[i] = new AtomicLong(Long.MIN_VALUE);
+        }
+    }
+
+    /**
+     * Takes one token from the client's bucket
+     */
+    public Decision tryAcquire(String clientKey) {
+        AtomicLong bucket = bucketFor(clientKey);
+        long now = nanoClock.getAsLong();
+
+        while (true) {
+            long storedArrival = bucket.get();
+            long arrival = Math.max(storedArrival, now);
+            long waitNanos = arrival - burstToleranceNanos - now;
+
+            if (waitNanos > 0) {
+                rejected.increment();
+                return new Decision(false, 0, waitNanos);
+            }
+
+            long nextArrival = arrival + emissionIntervalNanos;
+            if (bucket.compareAndSet(storedArrival, nextArrival)) {
+                allowed.increment();
+                long remaining = (burstToleranceNanos - (nextArrival - now) + emissionIntervalNanos) / emissionIntervalNanos;
+                return new Decision(true, Math.max(0, remaining), 0);
+            }
+        }
+    }
+
+    private AtomicLong bucketFor(String clientKey) {
+        AtomicLong bucket = buckets.get(clientKey);
+        if (bucket != null) {
+            return bucket;
+        }
+
+        if (buckets.size() >= maxClients) {
+            // Table full of active clients until the next sweep: unknown clients share the overflow buckets
+            return overflowBuckets[overflowSlot(clientKey)];
+        }
+
+        return buckets.computeIfAbsent(clientKey, key -> new AtomicLong(Long.MIN_VALUE));
+    }
+
+    static int overflowSlot(String clientKey) {
+        int hash = clientKey.hashCode();
+        return (hash ^ (hash >>> 16)) & (OVERFLOW_BUCKETS - 1);
+    }
+
+    /**
+     * Drops buckets that have fully refilled; they are indistinguishable from new ones
+     */
+    @Scheduled(fixedDelayString = "${app.rate-limit.sweep-interval:PT1S}")
+    public void evictIdleBuckets() {
+        long now = nanoClock.getAsLong();
+        buckets.entrySet().removeIf(entry -> entry.getValue().get() <= now);
+    }
+
+    public String getName() {
+        return name;
+    }
+
+    @ManagedAttribute(description = "Number of tracked client buckets")
+    public int getTrackedClients() {
+        return buckets.size();
+    }
+
+    @ManagedAttribute(description = "Total requests allowed")
+    public long getAllowedCount() {
+        return allowed.sum();
+    }
+
+    @ManagedAttribute(description = "Total requests rejected with 429")
+    public long getRejectedCount() {
+        return rejected.sum();
+    }
+
+    /**
+     * Outcome of a token request
+     */
+    public record Decision(boolean allowed, long remainingTokens, long retryAfterNanos) {
+
+        public long retryAfterSeconds() {
+            return Math.max(1, TimeUnit.NANOSECONDS.toSeconds(retryAfterNanos + TimeUnit.SECONDS.toNanos(1) - 1));
+        }
+    }
+}
@@ -0,0 +1,71 @@
+package br.com.productmanagementsystem.mapper;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Component;
+
+import java.util.Map;
+import java.util.Objects;
+
+/**
+ * Applies JSON Merge Patch documents (RFC 7396) to DTOs
+ */
+@Component
+@RequiredArgsConstructor
+public class JsonMergePatcher {
+
+    private final ObjectMapper objectMapper;
+
+    /**
+     * Merges the patch into the current state and converts the result back to the given type
+     */
+    public <T> T apply(T current, JsonNode patch, Class<T> type) {
+        if (patch == null || !patch.isObject()) {
+            throw new IllegalArgumentException("Merge patch document must be a JSON object");
+        }
+
+        JsonNode merged = merge(this.objectMapper.valueToTree(current), patch);
+        try {
+            return this.objectMapper.treeToValue(merged, type);
+        } catch (JsonProcessingException ex) {
+            throw new IllegalArgumentException("Merge patch document does not match the target type", ex);
+        }
+    }
+
+    /**
+     * Whether the patch sets a member whose value differs between the two states, in which case
+     * applying it before or after the change from one to the other gives different results
+     */
+    public boolean overlaps(JsonNode patch, Object before, Object after) {
+        JsonNode beforeTree = this.objectMapper.valueToTree(before);
+        JsonNode afterTree = this.objectMapper.valueToTree(after);
+        for (Map.Entry<String, JsonNode> field : patch.properties()) {
+            if (!Objects.equals(beforeTree.get(field.getKey()), afterTree.get(field.getKey()))) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private JsonNode merge(JsonNode target, JsonNode patch) {
+        if (!patch.isObject()) {
+            return patch;
+        }
+
+        ObjectNode result = target != null && target.isObject()
+                ? ((ObjectNode) target).deepCopy()
+                : this.objectMapper.createObjectNode();
+
+        for (Map.Entry<String, JsonNode> field : patch.properties()) {
+            if (field.getValue().isNull()) {
+                result.remove(field.getKey());
+            } else {
+                result.set(field.getKey(), merge(result.get(field.getKey()), field.getValue()));
+            }
+        }
+        return result;
+    }
+}
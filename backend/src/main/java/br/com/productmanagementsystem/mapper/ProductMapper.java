@@ -7,6 +7,8 @@ import br.com.productmanagementsystem.service.MessageService;
 import lombok.RequiredArgsConstructor;
 import org.springframework.stereotype.Component;
 
+import java.util.Objects;
+
 @Component
 @RequiredArgsConstructor
 public class ProductMapper {
@@ -23,7 +25,8 @@ public class ProductMapper {
                 product.getName(),
                 product.getPrice(),
                 product.getDescription(),
-                product.getQuantity()
+                product.getQuantity(),
+                product.getVersion()
         );
     }
 
@@ -55,4 +58,44 @@ public class ProductMapper {
         product.setDescription(requestDTO.description());
         product.setQuantity(requestDTO.quantity());
     }
+
+    public ProductRequestDTO toRequestDTO(Product product) {
+        if (product == null) {
+            throw new IllegalArgumentException(messageService.getMessage("mapper.product.null"));
+        }
+
+        return new ProductRequestDTO(
+                product.getName(),
+                product.getPrice(),
+                product.getDescription(),
+                product.getQuantity()
+        );
+    }
+
+    /**
+     * Copies only the attributes that differ, so untouched columns stay out of the UPDATE statement
+     */
+    public void applyChanges(Product product, ProductRequestDTO requestDTO) {
+        if (product == null) {
+            throw new IllegalArgumentException(messageService.getMessage("mapper.product.null"));
+        }
+
+        if (requestDTO == null) {
+            throw new IllegalArgumentException(messageService.getMessage("mapper.product.request.dto.null"));
+        }
+
+        if (!Objects.equals(product.getName(), requestDTO.name())) {
+            product.setName(requestDTO.name());
+        }
+        if (product.getPrice() == null || requestDTO.price() == null
+                || product.getPrice().compareTo(requestDTO.price()) != 0) {
+            product.setPrice(requestDTO.price());
+        }
+        if (!Objects.equals(product.getDescription(), requestDTO.description())) {
+            product.setDescription(requestDTO.description());
+        }
+        if (!Objects.equals(product.getQuantity(), requestDTO.quantity())) {
+            product.setQuantity(requestDTO.quantity());
+        }
+    }
 }
\ No newline at end of file
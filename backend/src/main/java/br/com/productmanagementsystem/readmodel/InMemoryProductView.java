@@ -0,0 +1,267 @@
+package br.com.productmanagementsystem.readmodel;
+
+import br.com.productmanagementsystem.entity.Product;
+import br.com.productmanagementsystem.event.ProductChangedEvent;
+import br.com.productmanagementsystem.event.ProductSnapshot;
+import br.com.productmanagementsystem.repository.ProductRepository;
+import br.com.productmanagementsystem.shard.ProductShards;
+import br.com.productmanagementsystem.shard.ShardedPages;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.domain.Limit;
+import org.springframework.data.domain.Sort;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Queue;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+/**
+ * Base class for in-memory structures derived from the product table.
+ * <p>
+ * The view is built from the database once and then follows committed
+ * {@link ProductChangedEvent}s. Changes committed while the initial load is running are
+ * buffered and replayed on top of it, so none are lost. After-commit listeners of concurrent
+ * transactions may run in any order, so the view remembers the row version it holds for each
+ * product and drops events at or below it. A deleted product is remembered for a retention
+ * period, long enough for the late events of its concurrent transactions. Subclasses mutate their state only
+ * from {@link #rebuild} and {@link #apply}, which run under the write lock, and read it
+ * under the read lock. With sharding the view is built from every shard, merged in id order.
+ */
+public abstract class InMemoryProductView {
+
+    private static final long DELETED = Long.MAX_VALUE;
+
+    protected final ReadWriteLock lock = new ReentrantReadWriteLock();
+
+    private final ProductRepository productRepository;
+    private final List<ProductChangedEvent> pendingEvents = new ArrayList<>();
+    private final Map<String, Long> versions = new HashMap<>();
+    private final Queue<Tombstone> tombstones = new ArrayDeque<>();
+    private ProductShards productShards = ProductShards.UNSHARDED;
+    private Duration tombstoneRetention = Duration.ofMinutes(1);
+    private Clock clock = Clock.systemUTC();
+    private boolean loading;
+    private volatile boolean loaded;
+
+    protected InMemoryProductView(ProductRepository productRepository) {
+        this.productRepository = productRepository;
+    }
+
+    /**
+     * Injected through a setter so that subclasses keep their constructors; views built without
+     * it read a single database
+     */
+    @Autowired
+    public void setProductShards(ProductShards productShards) {
+        this.productShards = productShards;
+    }
+
+    @Autowired
+    public void setTombstoneRetention(@Value("${app.read-model.tombstone-retention:PT1M}") Duration tombstoneRetention) {
+        this.tombstoneRetention = tombstoneRetention;
+    }
+
+    void setClock(Clock clock) {
+        this.clock = clock;
+    }
+
+    /**
+     * Replaces the whole view with the given products
+     */
+    protected abstract void rebuild(List<ProductSnapshot> products);
+
+    /**
+     * Applies one committed change to the view
+     */
+    protected abstract void apply(ProductChangedEvent event);
+
+    /**
+     * Whether the view should be built when the application starts
+     */
+    protected boolean loadOnStartup() {
+        return true;
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void onApplicationReady() {
+        if (loadOnStartup()) {
+            load();
+        }
+    }
+
+    /**
+     * (Re)builds the view from the database
+     */
+    public void load() {
+        beginLoad();
+        List<List<ProductSnapshot>> shards = productShards.scatter(shard -> productRepository.findAll(Sort.by("id")).stream()
+                .map(ProductSnapshot::from)
+                .toList());
+        completeLoad(mergeById(shards));
+    }
+
+    /**
+     * (Re)builds the view reading the table in id order, one batch at a time, pausing between
+     * batches to stay under {@code rowsPerSecond}. The current view keeps serving until the load
+     * completes; if the thread is interrupted the load is abandoned and the current view kept.
+     */
+    public void load(int batchSize, double rowsPerSecond) {
+        beginLoad();
+        List<List<ProductSnapshot>> shards = new ArrayList<>();
+        int loadedRows = 0;
+        long startedAt = System.nanoTime();
+
+        // One shard after the other, so the rate limit holds for the databases together
+        for (int shard = 0; shard < productShards.count(); shard++) {
+            List<ProductSnapshot> products = new ArrayList<>();
+            shards.add(products);
+            long lastId = Long.MIN_VALUE;
+
+            while (true) {
+                long after = lastId;
+                List<Product> batch = productShards.onShard(shard,
+                        () -> productRepository.findByIdGreaterThanOrderByIdAsc(after, Limit.of(batchSize)));
+                batch.forEach(product -> products.add(ProductSnapshot.from(product)));
+                loadedRows += batch.size();
+                if (batch.size() < batchSize) {
+                    break;
+                }
+                lastId = batch.getLast().getId();
+
+                long dueNanos = (long) (loadedRows / rowsPerSecond * 1_000_000_000L);
+                long aheadNanos = dueNanos - (System.nanoTime() - startedAt);
+                try {
+                    TimeUnit.NANOSECONDS.sleep(aheadNanos);
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                    abandonLoad();
+                    return;
+                }
+            }
+        }
+
+        completeLoad(mergeById(shards));
+    }
+
+    private static List<ProductSnapshot> mergeById(List<List<ProductSnapshot>> shards) {
+        if (shards.size() == 1) {
+            return shards.getFirst();
+        }
+        return ShardedPages.merge(shards, Comparator.comparingLong(ProductSnapshot::id), 0, Integer.MAX_VALUE);
+    }
+
+    private void beginLoad() {
+        lock.writeLock().lock();
+        try {
+            loading = true;
+            pendingEvents.clear();
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    private void completeLoad(List<ProductSnapshot> products) {
+        lock.writeLock().lock();
+        try {
+            rebuild(products);
+            versions.clear();
+            tombstones.clear();
+            products.forEach(product -> versions.put(product.publicId(), product.version()));
+            pendingEvents.forEach(this::applyInOrder);
+            pendingEvents.clear();
+            loading = false;
+            loaded = true;
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    private void abandonLoad() {
+        lock.writeLock().lock();
+        try {
+            // The current view is still valid; bring it up to date with what was buffered
+            if (loaded) {
+                pendingEvents.forEach(this::applyInOrder);
+            }
+            pendingEvents.clear();
+            loading = false;
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onProductChanged(ProductChangedEvent event) {
+        lock.writeLock().lock();
+        try {
+            if (loading) {
+                pendingEvents.add(event);
+            } else if (loaded) {
+                applyInOrder(event);
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    // Must hold the write lock
+    private void applyInOrder(ProductChangedEvent event) {
+        expireTombstones();
+        ProductSnapshot product = event.current();
+        Long applied = versions.get(product.publicId());
+        if (applied != null && applied == DELETED) {
+            return; // Public IDs are never reused, nothing comes after a delete
+        }
+
+        if (event.type() == ProductChangedEvent.ChangeType.DELETED) {
+            versions.put(product.publicId(), DELETED);
+            tombstones.add(new Tombstone(product.publicId(), clock.instant()));
+        } else if (product.version() != null) {
+            if (applied != null && product.version() <= applied) {
+                return;
+            }
+            versions.put(product.publicId(), product.version());
+        }
+        apply(event);
+    }
+
+    // Must hold the write lock. Tombstones are queued in deletion order, so the oldest come first
+    private void expireTombstones() {
+        Instant expiredBefore = clock.instant().minus(tombstoneRetention);
+        while (!tombstones.isEmpty() && tombstones.peek().deletedAt().isBefore(expiredBefore)) {
+            versions.remove(tombstones.remove().publicId());
+        }
+    }
+
+    /**
+     * Products whose row version the view remembers, deleted ones still within retention included
+     */
+    int getTrackedVersions() {
+        lock.readLock().lock();
+        try {
+            return versions.size();
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    public boolean isLoaded() {
+        return loaded;
+    }
+
+    private record Tombstone(String publicId, Instant deletedAt) {
+    }
+}
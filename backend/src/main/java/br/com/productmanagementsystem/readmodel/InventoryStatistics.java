@@ -0,0 +1,164 @@
+package br.com.productmanagementsystem.readmodel;
+
+import br.com.productmanagementsystem.dto.ProductStatsResponseDTO;
+import br.com.productmanagementsystem.event.ProductChangedEvent;
+import br.com.productmanagementsystem.event.ProductSnapshot;
+import br.com.productmanagementsystem.repository.ProductRepository;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jmx.export.annotation.ManagedAttribute;
+import org.springframework.jmx.export.annotation.ManagedOperation;
+import org.springframework.jmx.export.annotation.ManagedResource;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Catalog-wide inventory aggregates, maintained incrementally from committed changes.
+ * <p>
+ * Each change costs O(1): the stored contribution of the product is subtracted and its new
+ * one added. Because a change is applied against the stored state rather than the event's
+ * before image, replaying a change is harmless. A scheduled reconciliation rebuilds the
+ * aggregates from a full scan and reports any drift it repairs.
+ */
+@Slf4j
+@Component
+@ManagedResource(description = "Incrementally maintained inventory statistics")
+public class InventoryStatistics extends InMemoryProductView {
+
+    private final int lowStockThreshold;
+    private final Map<Long, Contribution> contributions = new HashMap<>();
+
+    private long totalUnits;
+    private BigDecimal totalStockValue = BigDecimal.ZERO;
+    private long outOfStockCount;
+    private long lowStockCount;
+
+    private long appliedChanges;
+    private long driftRepairs;
+
+    public InventoryStatistics(ProductRepository productRepository,
+                               @Value("${app.stats.low-stock-threshold:10}") int lowStockThreshold) {
+        super(productRepository);
+        this.lowStockThreshold = lowStockThreshold;
+    }
+
+    private record Contribution(BigDecimal price, int quantity) {
+    }
+
+    @Override
+    protected void rebuild(List<ProductSnapshot> products) {
+        contributions.clear();
+        totalUnits = 0;
+        totalStockValue = BigDecimal.ZERO;
+        outOfStockCount = 0;
+        lowStockCount = 0;
+        products.forEach(product -> add(product.id(), new Contribution(product.price(), product.quantity())));
+    }
+
+    @Override
+    protected void apply(ProductChangedEvent event) {
+        ProductSnapshot product = event.current();
+        Contribution previous = contributions.remove(product.id());
+        if (previous != null) {
+            subtract(previous);
+        }
+        if (event.type() != ProductChangedEvent.ChangeType.DELETED) {
+            add(product.id(), new Contribution(product.price(), product.quantity()));
+        }
+        appliedChanges++;
+    }
+
+    public ProductStatsResponseDTO current() {
+        if (!isLoaded()) {
+            load();
+        }
+
+        lock.readLock().lock();
+        try {
+            return new ProductStatsResponseDTO(
+                    contributions.size(),
+                    totalUnits,
+                    totalStockValue.setScale(2, RoundingMode.HALF_UP),
+                    outOfStockCount,
+                    lowStockCount,
+                    lowStockThreshold
+            );
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * Rebuilds the aggregates from a full scan. Drift is only reported when no change was
+     * applied meanwhile, since a concurrent write legitimately changes the totals.
+     */
+    @ManagedOperation(description = "Check the aggregates against a full scan and repair any drift")
+    @Scheduled(fixedDelayString = "${app.stats.reconcile-interval:PT5M}",
+            initialDelayString = "${app.stats.reconcile-interval:PT5M}")
+    public void reconcile() {
+        if (!isLoaded()) {
+            return;
+        }
+
+        ProductStatsResponseDTO before = current();
+        long changesBefore = appliedChanges();
+        load();
+        ProductStatsResponseDTO after = current();
+
+        if (!before.equals(after) && appliedChanges() == changesBefore) {
+            lock.writeLock().lock();
+            try {
+                driftRepairs++;
+            } finally {
+                lock.writeLock().unlock();
+            }
+            log.warn("Inventory statistics drifted from the database and were repaired: {} -> {}", before, after);
+        }
+    }
+
+    private void add(long id, Contribution contribution) {
+        contributions.put(id, contribution);
+        totalUnits += contribution.quantity();
+        totalStockValue = totalStockValue.add(contribution.price().multiply(BigDecimal.valueOf(contribution.quantity())));
+        if (contribution.quantity() == 0) {
+            outOfStockCount++;
+        } else if (contribution.quantity() <= lowStockThreshold) {
+            lowStockCount++;
+        }
+    }
+
+    private void subtract(Contribution contribution) {
+        totalUnits -= contribution.quantity();
+        totalStockValue = totalStockValue.subtract(contribution.price().multiply(BigDecimal.valueOf(contribution.quantity())));
+        if (contribution.quantity() == 0) {
+            outOfStockCount--;
+        } else if (contribution.quantity() <= lowStockThreshold) {
+            lowStockCount--;
+        }
+    }
+
+    private long appliedChanges() {
+        lock.readLock().lock();
+        try {
+            return appliedChanges;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    @ManagedAttribute(description = "Number of reconciliations that found and repaired drift")
+    public long getDriftRepairs() {
+        lock.readLock().lock();
+        try {
+            return driftRepairs;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+}
@@ -0,0 +1,95 @@
+package br.com.productmanagementsystem.readmodel;
+
+import java.nio.charset.StandardCharsets;
+
+/**
+ * In-memory equivalent of {@code lower(name) LIKE '%term%'} as issued by
+ * {@code ProductSpecification.nameContains}.
+ * <p>
+ * Plain terms are matched as UTF-8 byte substrings, which is exact because UTF-8 is
+ * self-synchronizing. Terms containing {@code %} or {@code _} fall back to a
+ * character-level wildcard matcher with the same semantics as the database.
+ */
+final class LikePattern {
+
+    private static final char ESCAPE = '\\';
+
+    private final String pattern;
+    private final byte[] literal;
+
+    private LikePattern(String pattern, byte[] literal) {
+        this.pattern = pattern;
+        this.literal = literal;
+    }
+
+    /**
+     * Compiles the contains-pattern for a raw filter term, or returns null when the
+     * term relies on escape sequences, which are left to the database to interpret
+     */
+    static LikePattern containing(String term) {
+        String normalized = term.toLowerCase().trim();
+        if (normalized.indexOf(ESCAPE) >= 0) {
+            return null;
+        }
+
+        boolean hasWildcards = normalized.indexOf('%') >= 0 || normalized.indexOf('_') >= 0;
+        byte[] literal = hasWildcards ? null : normalized.getBytes(StandardCharsets.UTF_8);
+        return new LikePattern("%" + normalized + "%", literal);
+    }
+
+    boolean matches(byte[] lowerValue) {
+        if (literal != null) {
+            return indexOf(lowerValue, literal) >= 0;
+        }
+        return matches(new String(lowerValue, StandardCharsets.UTF_8), 0, 0);
+    }
+
+    private boolean matches(String value, int valueIndex, int patternIndex) {
+        int v = valueIndex;
+        int p = patternIndex;
+        int starPattern = -1;
+        int starValue = -1;
+
+        while (v < value.length()) {
+            if (p < pattern.length() && (pattern.charAt(p) == '_' || pattern.charAt(p) == value.charAt(v))) {
+                v++;
+                p++;
+            } else if (p < pattern.length() && pattern.charAt(p) == '%') {
+                starPattern = p++;
+                starValue = v;
+            } else if (starPattern >= 0) {
+                p = starPattern + 1;
+                v = ++starValue;
+            } else {
+                return false;
+            }
+        }
+
+        while (p < pattern.length() && pattern.charAt(p) == '%') {
+            p++;
+        }
+        return p == pattern.length();
+    }
+
+    private static int indexOf(byte[] haystack, byte[] needle) {
+        if (needle.length == 0) {
+            return 0;
+        }
+
+        int last = haystack.length - needle.length;
+        byte first = needle[0];
+        outer:
+        for (int i = 0; i <= last; i++) {
+            if (haystack[i] != first) {
+                continue;
+            }
+            for (int j = 1; j < needle.length; j++) {
+                if (haystack[i + j] != needle[j]) {
+                    continue outer;
+                }
+            }
+            return i;
+        }
+        return -1;
+    }
+}
@@ -0,0 +1,272 @@
+package br.com.productmanagementsystem.readmodel;
+
+import br.com.productmanagementsystem.dto.ProductResponseDTO;
+import br.com.productmanagementsystem.event.ProductSnapshot;
+import org.springframework.data.domain.Sort;
+
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+
+/**
+ * Column-oriented storage of the product catalog.
+ * <p>
+ * Prices are kept as long cents, quantities as int, public IDs as two longs and text as
+ * UTF-8 bytes. Deleted rows are cleared from the live bitmap and reclaimed by compaction,
+ * so row positions stay stable between compactions. Not thread-safe; callers synchronize.
+ */
+final class ProductColumns {
+
+    private static final int INITIAL_CAPACITY = 1024;
+    private static final int MIN_COMPACTION_GARBAGE = 1024;
+
+    /**
+     * Columns with a {@link SortedIndex}
+     */
+    static final Set<String> INDEXED_PROPERTIES = Set.of("name", "price", "quantity");
+
+    private int size;
+    private int liveCount;
+    private boolean idOrdered = true;
+
+    long[] ids = new long[INITIAL_CAPACITY];
+    long[] priceCents = new long[INITIAL_CAPACITY];
+    int[] quantities = new int[INITIAL_CAPACITY];
+    long[] publicIdMsb = new long[INITIAL_CAPACITY];
+    long[] publicIdLsb = new long[INITIAL_CAPACITY];
+    byte[][] names = new byte[INITIAL_CAPACITY][];
+    byte[][] lowerNames = new byte[INITIAL_CAPACITY][];
+    byte[][] descriptions = new byte[INITIAL_CAPACITY][];
+    long[] live = new long[bitmapWords(INITIAL_CAPACITY)];
+
+    private final Map<Long, Integer> rowById = new HashMap<>();
+    // Public IDs that are not canonical UUID strings are kept verbatim
+    private final Map<Long, String> irregularPublicIds = new HashMap<>();
+    private final Map<String, SortedIndex> sortedIndexes = new HashMap<>();
+
+    ProductColumns() {
+        for (String property : INDEXED_PROPERTIES) {
+            sortedIndexes.put(property, new SortedIndex(
+                    RowComparators.ofKey(this, property), RowComparators.of(this, Sort.by(property))));
+        }
+    }
+
+    static int bitmapWords(int rows) {
+        return (rows + 63) >>> 6;
+    }
+
+    static long toCents(BigDecimal price) {
+        return price.setScale(2, RoundingMode.HALF_UP).unscaledValue().longValueExact();
+    }
+
+    /**
+     * Number of physical rows, including deleted ones
+     */
+    int size() {
+        return size;
+    }
+
+    int liveCount() {
+        return liveCount;
+    }
+
+    /**
+     * Whether physical row order is ascending by id
+     */
+    boolean isIdOrdered() {
+        return idOrdered;
+    }
+
+    boolean isLive(int row) {
+        return (live[row >>> 6] & (1L << row)) != 0;
+    }
+
+    /**
+     * Bitmap with the rows of the given product IDs set, ignoring IDs not held in memory
+     */
+    long[] bitmapOf(Collection<Long> ids) {
+        long[] bitmap = new long[bitmapWords(size)];
+        for (Long id : ids) {
+            Integer row = rowById.get(id);
+            if (row != null) {
+                bitmap[row >>> 6] |= 1L << row;
+            }
+        }
+        return bitmap;
+    }
+
+    /**
+     * Copy of the live bitmap, used as the starting selection of a scan
+     */
+    long[] liveBitmap() {
+        return Arrays.copyOf(live, bitmapWords(size));
+    }
+
+    /**
+     * Index that yields rows in the order of the sort, if the sort is on one indexed column
+     */
+    SortedIndex sortedIndex(Sort sort) {
+        List<Sort.Order> orders = sort.toList();
+        if (orders.size() != 1 || orders.getFirst().isIgnoreCase()) {
+            return null;
+        }
+        return sortedIndexes.get(orders.getFirst().getProperty());
+    }
+
+    void upsert(ProductSnapshot snapshot) {
+        Integer existingRow = rowById.get(snapshot.id());
+        int row;
+        if (existingRow != null) {
+            row = existingRow;
+            sortedIndexes.values().forEach(index -> index.remove(row));
+        } else {
+            row = append(snapshot.id());
+        }
+        write(row, snapshot);
+        sortedIndexes.values().forEach(index -> index.add(row));
+    }
+
+    void delete(long id) {
+        Integer row = rowById.remove(id);
+        if (row == null) {
+            return;
+        }
+
+        sortedIndexes.values().forEach(index -> index.remove(row));
+        live[row >>> 6] &= ~(1L << row);
+        names[row] = null;
+        lowerNames[row] = null;
+        descriptions[row] = null;
+        irregularPublicIds.remove(id);
+        liveCount--;
+
+        int garbage = size - liveCount;
+        if (garbage >= MIN_COMPACTION_GARBAGE && garbage > liveCount) {
+            compact();
+        }
+    }
+
+    ProductResponseDTO toResponse(int row) {
+        return new ProductResponseDTO(
+                publicId(row),
+                new String(names[row], StandardCharsets.UTF_8),
+                BigDecimal.valueOf(priceCents[row], 2),
+                descriptions[row] != null ? new String(descriptions[row], StandardCharsets.UTF_8) : null,
+                quantities[row]
+        );
+    }
+
+    String publicId(int row) {
+        String irregular = irregularPublicIds.isEmpty() ? null : irregularPublicIds.get(ids[row]);
+        return irregular != null ? irregular : new UUID(publicIdMsb[row], publicIdLsb[row]).toString();
+    }
+
+    boolean hasIrregularPublicIds() {
+        return !irregularPublicIds.isEmpty();
+    }
+
+    private int append(long id) {
+        if (size == ids.length) {
+            grow();
+        }
+
+        int row = size++;
+        if (row > 0 && ids[row - 1] >= id) {
+            idOrdered = false;
+        }
+        ids[row] = id;
+        live[row >>> 6] |= 1L << row;
+        rowById.put(id, row);
+        liveCount++;
+        return row;
+    }
+
+    private void write(int row, ProductSnapshot snapshot) {
+        priceCents[row] = toCents(snapshot.price());
+        quantities[row] = snapshot.quantity();
+        names[row] = snapshot.name().getBytes(StandardCharsets.UTF_8);
+        lowerNames[row] = snapshot.name().toLowerCase().getBytes(StandardCharsets.UTF_8);
+        descriptions[row] = snapshot.description() != null
+                ? snapshot.description().getBytes(StandardCharsets.UTF_8)
+                : null;
+
+        UUID uuid = parseCanonical(snapshot.publicId());
+        if (uuid != null) {
+            publicIdMsb[row] = uuid.getMostSignificantBits();
+            publicIdLsb[row] = uuid.getLeastSignificantBits();
+            irregularPublicIds.remove(snapshot.id());
+        } else {
+            publicIdMsb[row] = 0;
+            publicIdLsb[row] = 0;
+            irregularPublicIds.put(snapshot.id(), snapshot.publicId());
+        }
+    }
+
+    private static UUID parseCanonical(String publicId) {
+        try {
+            UUID uuid = UUID.fromString(publicId);
+            return uuid.toString().equals(publicId) ? uuid : null;
+        } catch (IllegalArgumentException ex) {
+            return null;
+        }
+    }
+
+    private void grow() {
+        int capacity = ids.length * 2;
+        ids = Arrays.copyOf(ids, capacity);
+        priceCents = Arrays.copyOf(priceCents, capacity);
+        quantities = Arrays.copyOf(quantities, capacity);
+        publicIdMsb = Arrays.copyOf(publicIdMsb, capacity);
+        publicIdLsb = Arrays.copyOf(publicIdLsb, capacity);
+        names = Arrays.copyOf(names, capacity);
+        lowerNames = Arrays.copyOf(lowerNames, capacity);
+        descriptions = Arrays.copyOf(descriptions, capacity);
+        live = Arrays.copyOf(live, bitmapWords(capacity));
+    }
+
+    /**
+     * Moves live rows to the front, preserving their relative order
+     */
+    private void compact() {
+        int target = 0;
+        rowById.clear();
+        for (int row = 0; row < size; row++) {
+            if (!isLive(row)) {
+                continue;
+            }
+            ids[target] = ids[row];
+            priceCents[target] = priceCents[row];
+            quantities[target] = quantities[row];
+            publicIdMsb[target] = publicIdMsb[row];
+            publicIdLsb[target] = publicIdLsb[row];
+            names[target] = names[row];
+            lowerNames[target] = lowerNames[row];
+            descriptions[target] = descriptions[row];
+            rowById.put(ids[target], target);
+            target++;
+        }
+
+        Arrays.fill(names, target, size, null);
+        Arrays.fill(lowerNames, target, size, null);
+        Arrays.fill(descriptions, target, size, null);
+        Arrays.fill(live, 0L);
+        for (int row = 0; row < target; row++) {
+            live[row >>> 6] |= 1L << row;
+        }
+        size = target;
+
+        for (SortedIndex index : sortedIndexes.values()) {
+            index.clear();
+            for (int row = 0; row < target; row++) {
+                index.add(row);
+            }
+        }
+    }
+}
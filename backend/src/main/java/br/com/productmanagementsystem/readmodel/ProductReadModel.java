@@ -0,0 +1,312 @@
+package br.com.productmanagementsystem.readmodel;
+
+import br.com.productmanagementsystem.dto.ProductFacetsResponseDTO;
+import br.com.productmanagementsystem.dto.ProductQueryDTO;
+import br.com.productmanagementsystem.dto.ProductResponseDTO;
+import br.com.productmanagementsystem.event.ProductChangedEvent;
+import br.com.productmanagementsystem.event.ProductSnapshot;
+import br.com.productmanagementsystem.repository.ProductRepository;
+import br.com.productmanagementsystem.specification.ProductFacets;
+import br.com.productmanagementsystem.specification.ProductField;
+import br.com.productmanagementsystem.specification.ProductProjection;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageImpl;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Sort;
+import org.springframework.jmx.export.annotation.ManagedAttribute;
+import org.springframework.jmx.export.annotation.ManagedOperation;
+import org.springframework.jmx.export.annotation.ManagedResource;
+import org.springframework.stereotype.Component;
+
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.function.IntFunction;
+
+/**
+ * Columnar in-memory copy of the catalog that answers listing queries without touching the database.
+ * <p>
+ * Loaded once at startup and kept in sync with committed {@link ProductChangedEvent}s. It evaluates
+ * every {@link ProductQueryDTO} filter and sort with the same semantics as
+ * {@code ProductSpecification}; anything it cannot reproduce exactly is left to the JPA path.
+ */
+@Component
+@ManagedResource(description = "Columnar in-memory read model of the product catalog")
+public class ProductReadModel extends InMemoryProductView {
+
+    /**
+     * Pages ending within the first 1/N of the selection are served by top-K selection
+     * instead of a full sort
+     */
+    private static final int TOP_K_MAX_FRACTION = 4;
+
+    private final ScanKernel scanKernel;
+
+    private ProductColumns columns = new ProductColumns();
+    private volatile boolean enabled;
+
+    public ProductReadModel(ProductRepository productRepository,
+                            @Value("${app.read-model.enabled:false}") boolean enabled,
+                            @Value("${app.read-model.vector-scan.enabled:false}") boolean vectorScan) {
+        super(productRepository);
+        this.enabled = enabled;
+        this.scanKernel = ScanKernel.select(vectorScan);
+    }
+
+    @Override
+    protected boolean loadOnStartup() {
+        return enabled;
+    }
+
+    @Override
+    @ManagedOperation(description = "Rebuild the read model from the database")
+    public void load() {
+        super.load();
+    }
+
+    @Override
+    protected void rebuild(List<ProductSnapshot> products) {
+        ProductColumns rebuilt = new ProductColumns();
+        products.forEach(rebuilt::upsert);
+        columns = rebuilt;
+    }
+
+    @Override
+    protected void apply(ProductChangedEvent event) {
+        if (event.type() == ProductChangedEvent.ChangeType.DELETED) {
+            columns.delete(event.before().id());
+        } else {
+            columns.upsert(event.after());
+        }
+    }
+
+    /**
+     * Whether the query can be answered by the read model with results identical to the JPA path
+     */
+    public boolean canServe(ProductQueryDTO query, Pageable pageable) {
+        if (!enabled || !isLoaded() || !RowComparators.supports(pageable.getSort())) {
+            return false;
+        }
+        // Fuzzy name filters arrive already resolved to product IDs
+        return isBlank(query.name()) || query.fuzzy() || LikePattern.containing(query.name()) != null;
+    }
+
+    public Page<ProductResponseDTO> findAll(ProductQueryDTO query, Pageable pageable) {
+        return findAll(query, pageable, null);
+    }
+
+    /**
+     * Lists products where the name filter has been resolved to {@code nameMatches} when not null
+     */
+    public Page<ProductResponseDTO> findAll(ProductQueryDTO query, Pageable pageable, Collection<Long> nameMatches) {
+        lock.readLock().lock();
+        try {
+            return page(select(query, nameMatches), pageable, columns::toResponse);
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    public Page<Map<String, Object>> findAll(ProductQueryDTO query, Set<ProductField> fields, Pageable pageable) {
+        return findAll(query, fields, pageable, null);
+    }
+
+    public Page<Map<String, Object>> findAll(ProductQueryDTO query, Set<ProductField> fields,
+                                             Pageable pageable, Collection<Long> nameMatches) {
+        ProductProjection projection = ProductProjection.of(fields);
+        lock.readLock().lock();
+        try {
+            return page(select(query, nameMatches), pageable, row -> project(columns.toResponse(row), projection));
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    public ProductFacetsResponseDTO facets(ProductQueryDTO query) {
+        return facets(query, null);
+    }
+
+    /**
+     * Computes every facet of the filtered products in one scan of the selection
+     */
+    public ProductFacetsResponseDTO facets(ProductQueryDTO query, Collection<Long> nameMatches) {
+        lock.readLock().lock();
+        try {
+            long[] selection = select(query, nameMatches);
+            ProductFacets.Counter counter = new ProductFacets.Counter();
+            for (int word = 0; word < selection.length; word++) {
+                long bits = selection[word];
+                while (bits != 0) {
+                    int row = (word << 6) + Long.numberOfTrailingZeros(bits);
+                    bits &= bits - 1;
+                    counter.add(columns.priceCents[row], columns.quantities[row]);
+                }
+            }
+            return counter.toResponse();
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    private long[] select(ProductQueryDTO query, Collection<Long> nameMatches) {
+        int rows = columns.size();
+        long[] selection = columns.liveBitmap();
+
+        if (nameMatches != null) {
+            long[] matches = columns.bitmapOf(nameMatches);
+            for (int word = 0; word < selection.length; word++) {
+                selection[word] &= matches[word];
+            }
+        }
+
+        if (query.minPrice() != null || query.maxPrice() != null) {
+            long min = query.minPrice() != null ? toCents(query.minPrice(), RoundingMode.CEILING) : Long.MIN_VALUE;
+            long max = query.maxPrice() != null ? toCents(query.maxPrice(), RoundingMode.FLOOR) : Long.MAX_VALUE;
+            scanKernel.retainBetween(columns.priceCents, rows, min, max, selection);
+        }
+
+        boolean inStockOnly = Boolean.FALSE.equals(query.includeOutOfStock());
+        if (query.minQuantity() != null || query.maxQuantity() != null || inStockOnly) {
+            int min = query.minQuantity() != null ? query.minQuantity() : Integer.MIN_VALUE;
+            int max = query.maxQuantity() != null ? query.maxQuantity() : Integer.MAX_VALUE;
+            if (inStockOnly) {
+                min = Math.max(min, 1);
+            }
+            scanKernel.retainBetween(columns.quantities, rows, min, max, selection);
+        }
+
+        if (nameMatches == null && !isBlank(query.name())) {
+            retainMatchingNames(LikePattern.containing(query.name()), selection);
+        }
+
+        return selection;
+    }
+
+    private void retainMatchingNames(LikePattern pattern, long[] selection) {
+        for (int word = 0; word < selection.length; word++) {
+            long bits = selection[word];
+            while (bits != 0) {
+                int bit = Long.numberOfTrailingZeros(bits);
+                bits &= bits - 1;
+                if (!pattern.matches(columns.lowerNames[(word << 6) + bit])) {
+                    selection[word] &= ~(1L << bit);
+                }
+            }
+        }
+    }
+
+    private <T> Page<T> page(long[] selection, Pageable pageable, IntFunction<T> mapper) {
+        int total = ScanKernel.cardinality(selection);
+        int from = pageable.isPaged() ? (int) Math.min(pageable.getOffset(), total) : 0;
+        int to = pageable.isPaged() ? Math.min(from + pageable.getPageSize(), total) : total;
+
+        int[] rows;
+        Sort sort = pageable.getSort();
+        SortedIndex sortedIndex = columns.sortedIndex(sort);
+        if (columns.isIdOrdered() && RowComparators.isIdAscending(sort)) {
+            rows = toRows(selection, total);
+        } else if (sortedIndex != null && isIndexWalkCheaper(to, total)) {
+            rows = sortedIndex.walk(selection, to, sort.iterator().next().isAscending());
+        } else if (to <= total / TOP_K_MAX_FRACTION) {
+            // Only the rows up to the end of the page need ordering
+            rows = TopKRows.select(selection, to, RowComparators.of(columns, sort));
+        } else {
+            RowComparators.RowComparator comparator = RowComparators.of(columns, sort);
+            rows = Arrays.stream(toRows(selection, total)).boxed()
+                    .sorted(comparator::compare)
+                    .mapToInt(Integer::intValue)
+                    .toArray();
+        }
+
+        List<T> content = new ArrayList<>(to - from);
+        for (int i = from; i < to; i++) {
+            content.add(mapper.apply(rows[i]));
+        }
+        return new PageImpl<>(content, pageable, total);
+    }
+
+    /**
+     * A walk visits about {@code to * live / total} index entries before collecting the page;
+     * it beats touching every selected row unless the filters are very selective
+     */
+    private boolean isIndexWalkCheaper(int to, int total) {
+        return (long) to * columns.liveCount() <= (long) total * total;
+    }
+
+    private static int[] toRows(long[] selection, int total) {
+        int[] rows = new int[total];
+        int index = 0;
+        for (int word = 0; word < selection.length; word++) {
+            long bits = selection[word];
+            while (bits != 0) {
+                rows[index++] = (word << 6) + Long.numberOfTrailingZeros(bits);
+                bits &= bits - 1;
+            }
+        }
+        return rows;
+    }
+
+    private static Map<String, Object> project(ProductResponseDTO product, ProductProjection projection) {
+        Map<String, Object> values = new LinkedHashMap<>();
+        for (ProductField field : projection.fields()) {
+            Object value = switch (field) {
+                case PUBLIC_ID -> product.publicId();
+                case NAME -> product.name();
+                case PRICE -> product.price();
+                case DESCRIPTION -> product.description();
+                case QUANTITY -> product.quantity();
+            };
+            values.put(field.getProperty(), value);
+        }
+        return values;
+    }
+
+    private static long toCents(BigDecimal price, RoundingMode roundingMode) {
+        return price.movePointRight(2).setScale(0, roundingMode).longValueExact();
+    }
+
+    private static boolean isBlank(String value) {
+        return value == null || value.trim().isEmpty();
+    }
+
+    @ManagedAttribute(description = "Whether listing queries are served from the read model")
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    @ManagedAttribute(description = "Serve listing queries from the read model instead of JPA")
+    public void setEnabled(boolean enabled) {
+        this.enabled = enabled;
+        if (enabled && !isLoaded()) {
+            load();
+        }
+    }
+
+    @ManagedAttribute(description = "Scan kernel evaluating range predicates")
+    public String getScanKernel() {
+        return scanKernel.getClass().getSimpleName();
+    }
+
+    @Override
+    @ManagedAttribute(description = "Whether the initial load has completed")
+    public boolean isLoaded() {
+        return super.isLoaded();
+    }
+
+    @ManagedAttribute(description = "Number of live products held in memory")
+    public int getLiveProducts() {
+        lock.readLock().lock();
+        try {
+            return columns.liveCount();
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+}
@@ -0,0 +1,141 @@
+package br.com.productmanagementsystem.readmodel;
+
+import br.com.productmanagementsystem.specification.ProductSpecification;
+import org.springframework.data.domain.Sort;
+
+import java.nio.charset.StandardCharsets;
+
+/**
+ * Builds row comparators over {@link ProductColumns} that reproduce the ordering of the
+ * database, including its default of sorting nulls low. Every comparator ends with an
+ * ascending id tiebreak so pages are stable.
+ */
+final class RowComparators {
+
+    private RowComparators() {
+    }
+
+    @FunctionalInterface
+    interface RowComparator {
+        int compare(int left, int right);
+
+        default RowComparator then(RowComparator next) {
+            return (left, right) -> {
+                int result = compare(left, right);
+                return result != 0 ? result : next.compare(left, right);
+            };
+        }
+
+        default RowComparator reversed() {
+            return (left, right) -> compare(right, left);
+        }
+    }
+
+    /**
+     * Whether every order in the sort can be evaluated in memory
+     */
+    static boolean supports(Sort sort) {
+        for (Sort.Order order : sort) {
+            if (!ProductSpecification.SORTABLE_PROPERTIES.contains(order.getProperty()) || order.isIgnoreCase()) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * Whether the sort is already satisfied by physical row order
+     */
+    static boolean isIdAscending(Sort sort) {
+        Sort.Order first = sort.stream().findFirst().orElse(null);
+        return sort.isUnsorted() || (first != null && first.getProperty().equals("id") && first.isAscending());
+    }
+
+    static RowComparator of(ProductColumns columns, Sort sort) {
+        RowComparator comparator = null;
+        for (Sort.Order order : sort) {
+            RowComparator next = forOrder(columns, order);
+            comparator = comparator == null ? next : comparator.then(next);
+        }
+
+        RowComparator byId = (left, right) -> Long.compare(columns.ids[left], columns.ids[right]);
+        return comparator == null ? byId : comparator.then(byId);
+    }
+
+    /**
+     * Ascending order on a single property, without the id tiebreak
+     */
+    static RowComparator ofKey(ProductColumns columns, String property) {
+        return forOrder(columns, Sort.Order.asc(property));
+    }
+
+    private static RowComparator forOrder(ProductColumns columns, Sort.Order order) {
+        RowComparator comparator = switch (order.getProperty()) {
+            case "id" -> (left, right) -> Long.compare(columns.ids[left], columns.ids[right]);
+            case "price" -> (left, right) -> Long.compare(columns.priceCents[left], columns.priceCents[right]);
+            case "quantity" -> (left, right) -> Integer.compare(columns.quantities[left], columns.quantities[right]);
+            case "name" -> (left, right) -> compareText(columns.names[left], columns.names[right]);
+            case "publicId" -> publicIdComparator(columns);
+            case "description" -> null;
+            default -> throw new IllegalArgumentException("Unsupported sort property: " + order.getProperty());
+        };
+
+        if (comparator == null) {
+            return descriptionComparator(columns, order);
+        }
+        return order.isAscending() ? comparator : comparator.reversed();
+    }
+
+    private static RowComparator publicIdComparator(ProductColumns columns) {
+        if (columns.hasIrregularPublicIds()) {
+            return (left, right) -> columns.publicId(left).compareTo(columns.publicId(right));
+        }
+
+        // Lowercase hex of fixed width sorts like the unsigned value it encodes
+        return (left, right) -> {
+            int result = Long.compareUnsigned(columns.publicIdMsb[left], columns.publicIdMsb[right]);
+            return result != 0 ? result : Long.compareUnsigned(columns.publicIdLsb[left], columns.publicIdLsb[right]);
+        };
+    }
+
+    private static RowComparator descriptionComparator(ProductColumns columns, Sort.Order order) {
+        boolean nullsFirst = switch (order.getNullHandling()) {
+            case NULLS_FIRST -> true;
+            case NULLS_LAST -> false;
+            case NATIVE -> order.isAscending();
+        };
+        int direction = order.isAscending() ? 1 : -1;
+
+        return (left, right) -> {
+            byte[] leftValue = columns.descriptions[left];
+            byte[] rightValue = columns.descriptions[right];
+            if (leftValue == null || rightValue == null) {
+                if (leftValue == rightValue) {
+                    return 0;
+                }
+                return (leftValue == null) == nullsFirst ? -1 : 1;
+            }
+            return direction * compareText(leftValue, rightValue);
+        };
+    }
+
+    /**
+     * Compares UTF-8 text in the same order as {@link String#compareTo}.
+     * Byte order equals code point order, which only differs from UTF-16 order between
+     * U+E000..U+FFFF and supplementary characters; those cases are decoded.
+     */
+    static int compareText(byte[] left, byte[] right) {
+        int length = Math.min(left.length, right.length);
+        for (int i = 0; i < length; i++) {
+            int leftByte = left[i] & 0xFF;
+            int rightByte = right[i] & 0xFF;
+            if (leftByte != rightByte) {
+                if (leftByte >= 0xEE && rightByte >= 0xEE) {
+                    return new String(left, StandardCharsets.UTF_8).compareTo(new String(right, StandardCharsets.UTF_8));
+                }
+                return leftByte - rightByte;
+            }
+        }
+        return left.length - right.length;
+    }
+}
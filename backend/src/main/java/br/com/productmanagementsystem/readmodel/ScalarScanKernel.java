@@ -0,0 +1,51 @@
+package br.com.productmanagementsystem.readmodel;
+
+/**
+ * Portable scan kernel: one compare per row, packed into 64-row bitmap words
+ */
+final class ScalarScanKernel implements ScanKernel {
+
+    @Override
+    public void retainBetween(long[] values, int rows, long min, long max, long[] selection) {
+        int words = ProductColumns.bitmapWords(rows);
+        for (int word = 0; word < words; word++) {
+            long bits = selection[word];
+            if (bits == 0) {
+                continue;
+            }
+
+            int base = word << 6;
+            int end = Math.min(64, rows - base);
+            long matches = 0;
+            for (int bit = 0; bit < end; bit++) {
+                long value = values[base + bit];
+                if (value >= min && value <= max) {
+                    matches |= 1L << bit;
+                }
+            }
+            selection[word] = bits & matches;
+        }
+    }
+
+    @Override
+    public void retainBetween(int[] values, int rows, int min, int max, long[] selection) {
+        int words = ProductColumns.bitmapWords(rows);
+        for (int word = 0; word < words; word++) {
+            long bits = selection[word];
+            if (bits == 0) {
+                continue;
+            }
+
+            int base = word << 6;
+            int end = Math.min(64, rows - base);
+            long matches = 0;
+            for (int bit = 0; bit < end; bit++) {
+                int value = values[base + bit];
+                if (value >= min && value <= max) {
+                    matches |= 1L << bit;
+                }
+            }
+            selection[word] = bits & matches;
+        }
+    }
+}
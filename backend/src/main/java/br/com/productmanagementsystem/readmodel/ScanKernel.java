@@ -0,0 +1,40 @@
+package br.com.productmanagementsystem.readmodel;
+
+/**
+ * Range predicates over primitive columns. Each scan clears the bits of rows that do
+ * not satisfy the predicate from a selection bitmap, so predicates compose by chaining.
+ */
+interface ScanKernel {
+
+    String VECTOR_MODULE = "jdk.incubator.vector";
+
+    void retainBetween(long[] values, int rows, long min, long max, long[] selection);
+
+    void retainBetween(int[] values, int rows, int min, int max, long[] selection);
+
+    /**
+     * Returns the Vector API kernel when requested and the incubator module is present
+     * at runtime, otherwise the scalar kernel
+     */
+    static ScanKernel select(boolean vectorRequested) {
+        if (vectorRequested && ModuleLayer.boot().findModule(VECTOR_MODULE).isPresent()) {
+            try {
+                // Loaded reflectively so the scalar path never links against the incubator module
+                return (ScanKernel) Class.forName(ScanKernel.class.getPackageName() + ".VectorScanKernel")
+                        .getDeclaredConstructor()
+                        .newInstance();
+            } catch (ReflectiveOperationException | LinkageError ex) {
+                return new ScalarScanKernel();
+            }
+        }
+        return new ScalarScanKernel();
+    }
+
+    static int cardinality(long[] selection) {
+        int count = 0;
+        for (long word : selection) {
+            count += Long.bitCount(word);
+        }
+        return count;
+    }
+}
@@ -0,0 +1,101 @@
+package br.com.productmanagementsystem.readmodel;
+
+import java.util.Arrays;
+import java.util.NavigableSet;
+import java.util.concurrent.ConcurrentSkipListSet;
+
+/**
+ * Ordered index of rows on one column, kept in a concurrent skip list.
+ * <p>
+ * Rows are ordered by the column and then by id, the same total order used by
+ * {@link RowComparators}, so walking the index while skipping rows outside a selection
+ * yields a sorted page without sorting. Rows must be removed before their values change
+ * and added back afterwards.
+ */
+final class SortedIndex {
+
+    private final RowComparators.RowComparator keyOrder;
+    private final ConcurrentSkipListSet<Integer> rows;
+
+    SortedIndex(RowComparators.RowComparator keyOrder, RowComparators.RowComparator rowOrder) {
+        this.keyOrder = keyOrder;
+        this.rows = new ConcurrentSkipListSet<>(rowOrder::compare);
+    }
+
+    void add(int row) {
+        rows.add(row);
+    }
+
+    void remove(int row) {
+        rows.remove(row);
+    }
+
+    void clear() {
+        rows.clear();
+    }
+
+    int size() {
+        return rows.size();
+    }
+
+    /**
+     * First {@code limit} rows of the selection ordered by the column, ascending or
+     * descending, with ties always broken by ascending id
+     */
+    int[] walk(long[] selection, int limit, boolean ascending) {
+        int[] result = new int[limit];
+        int count = 0;
+        if (limit == 0) {
+            return result;
+        }
+
+        if (ascending) {
+            for (int row : rows) {
+                if (isSelected(selection, row)) {
+                    result[count++] = row;
+                    if (count == limit) {
+                        break;
+                    }
+                }
+            }
+            return count == limit ? result : Arrays.copyOf(result, count);
+        }
+
+        // Walking backwards visits ties in descending id order; emit each run of equal keys reversed
+        NavigableSet<Integer> descending = rows.descendingSet();
+        int runStart = 0;
+        int runKeyRow = -1;
+        for (int row : descending) {
+            if (!isSelected(selection, row)) {
+                continue;
+            }
+            if (runKeyRow >= 0 && keyOrder.compare(row, runKeyRow) != 0) {
+                reverse(result, runStart, count);
+                runStart = count;
+                if (count >= limit) {
+                    break;
+                }
+            }
+            if (count == result.length) {
+                result = Arrays.copyOf(result, result.length * 2);
+            }
+            result[count++] = row;
+            runKeyRow = row;
+        }
+        reverse(result, runStart, count);
+        return Arrays.copyOf(result, Math.min(count, limit));
+    }
+
+    private static boolean isSelected(long[] selection, int row) {
+        int word = row >>> 6;
+        return word < selection.length && (selection[word] & (1L << row)) != 0;
+    }
+
+    private static void reverse(int[] rows, int from, int to) {
+        for (int i = from, j = to - 1; i < j; i++, j--) {
+            int swap = rows[i];
+            rows[i] = rows[j];
+            rows[j] = swap;
+        }
+    }
+}
@@ -0,0 +1,85 @@
+package br.com.productmanagementsystem.readmodel;
+
+import java.util.Arrays;
+
+/**
+ * Selects the first K rows of a selection in comparator order without sorting the whole
+ * selection, using a bounded max-heap of primitive row numbers: O(N log K) time, O(K) space.
+ * <p>
+ * Comparators from {@link RowComparators} are total orders (they end with an id tiebreak),
+ * so the result is exactly the prefix a full sort would produce.
+ */
+final class TopKRows {
+
+    private TopKRows() {
+    }
+
+    /**
+     * First {@code k} rows set in the selection bitmap, in ascending comparator order
+     */
+    static int[] select(long[] selection, int k, RowComparators.RowComparator comparator) {
+        int[] heap = new int[k];
+        int size = 0;
+        if (k == 0) {
+            return heap;
+        }
+
+        for (int word = 0; word < selection.length; word++) {
+            long bits = selection[word];
+            while (bits != 0) {
+                int row = (word << 6) + Long.numberOfTrailingZeros(bits);
+                bits &= bits - 1;
+
+                if (size < k) {
+                    heap[size] = row;
+                    siftUp(heap, size++, comparator);
+                } else if (comparator.compare(row, heap[0]) < 0) {
+                    // Beats the worst row kept so far
+                    heap[0] = row;
+                    siftDown(heap, size, comparator);
+                }
+            }
+        }
+
+        // Drain the heap from the back, leaving rows in ascending order
+        for (int end = size - 1; end > 0; end--) {
+            int worst = heap[0];
+            heap[0] = heap[end];
+            heap[end] = worst;
+            siftDown(heap, end, comparator);
+        }
+        return size == k ? heap : Arrays.copyOf(heap, size);
+    }
+
+    private static void siftUp(int[] heap, int index, RowComparators.RowComparator comparator) {
+        int row = heap[index];
+        while (index > 0) {
+            int parent = (index - 1) >>> 1;
+            if (comparator.compare(row, heap[parent]) <= 0) {
+                break;
+            }
+            heap[index] = heap[parent];
+            index = parent;
+        }
+        heap[index] = row;
+    }
+
+    private static void siftDown(int[] heap, int size, RowComparators.RowComparator comparator) {
+        int row = heap[0];
+        int index = 0;
+        int half = size >>> 1;
+        while (index < half) {
+            int child = 2 * index + 1;
+            int right = child + 1;
+            if (right < size && comparator.compare(heap[right], heap[child]) > 0) {
+                child = right;
+            }
+            if (comparator.compare(row, heap[child]) >= 0) {
+                break;
+            }
+            heap[index] = heap[child];
+            index = child;
+        }
+        heap[index] = row;
+    }
+}
@@ -0,0 +1,70 @@
+package br.com.productmanagementsystem.readmodel;
+
+import jdk.incubator.vector.IntVector;
+import jdk.incubator.vector.LongVector;
+import jdk.incubator.vector.VectorMask;
+import jdk.incubator.vector.VectorOperators;
+import jdk.incubator.vector.VectorSpecies;
+
+/**
+ * SIMD scan kernel built on the incubating JDK Vector API.
+ * <p>
+ * Each 64-row bitmap word is filled from lane masks of the preferred species, so a
+ * range check costs two vector compares per {@code species.length()} rows. Requires
+ * {@code --add-modules jdk.incubator.vector}; obtain it through {@link ScanKernel#select}.
+ */
+final class VectorScanKernel implements ScanKernel {
+
+    private static final VectorSpecies<Long> LONG_SPECIES = LongVector.SPECIES_PREFERRED;
+    private static final VectorSpecies<Integer> INT_SPECIES = IntVector.SPECIES_PREFERRED;
+
+    @Override
+    public void retainBetween(long[] values, int rows, long min, long max, long[] selection) {
+        int lanes = LONG_SPECIES.length();
+        int words = ProductColumns.bitmapWords(rows);
+        for (int word = 0; word < words; word++) {
+            long bits = selection[word];
+            if (bits == 0) {
+                continue;
+            }
+
+            int base = word << 6;
+            long matches = 0;
+            for (int offset = 0; offset < 64 && base + offset < rows; offset += lanes) {
+                int index = base + offset;
+                VectorMask<Long> inRange = LONG_SPECIES.indexInRange(index, rows);
+                LongVector vector = LongVector.fromArray(LONG_SPECIES, values, index, inRange);
+                VectorMask<Long> hits = vector.compare(VectorOperators.GE, min)
+                        .and(vector.compare(VectorOperators.LE, max))
+                        .and(inRange);
+                matches |= hits.toLong() << offset;
+            }
+            selection[word] = bits & matches;
+        }
+    }
+
+    @Override
+    public void retainBetween(int[] values, int rows, int min, int max, long[] selection) {
+        int lanes = INT_SPECIES.length();
+        int words = ProductColumns.bitmapWords(rows);
+        for (int word = 0; word < words; word++) {
+            long bits = selection[word];
+            if (bits == 0) {
+                continue;
+            }
+
+            int base = word << 6;
+            long matches = 0;
+            for (int offset = 0; offset < 64 && base + offset < rows; offset += lanes) {
+                int index = base + offset;
+                VectorMask<Integer> inRange = INT_SPECIES.indexInRange(index, rows);
+                IntVector vector = IntVector.fromArray(INT_SPECIES, values, index, inRange);
+                VectorMask<Integer> hits = vector.compare(VectorOperators.GE, min)
+                        .and(vector.compare(VectorOperators.LE, max))
+                        .and(inRange);
+                matches |= hits.toLong() << offset;
+            }
+            selection[word] = bits & matches;
+        }
+    }
+}
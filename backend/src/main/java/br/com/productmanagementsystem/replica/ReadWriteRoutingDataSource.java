@@ -0,0 +1,40 @@
+package br.com.productmanagementsystem.replica;
+
+import org.springframework.jdbc.datasource.lookup.AbstractRoutingDataSource;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import javax.sql.DataSource;
+import java.util.Map;
+
+/**
+ * Sends the read-only transactions of API requests to the read replica while it is caught up, and
+ * everything else to the primary.
+ * <p>
+ * The route is decided when a connection is taken, so this must sit behind a
+ * {@link org.springframework.jdbc.datasource.LazyConnectionDataSourceProxy}: the transaction
+ * manager asks for a connection while beginning the transaction, before it is marked read-only.
+ */
+public class ReadWriteRoutingDataSource extends AbstractRoutingDataSource {
+
+    enum Route {
+        PRIMARY,
+        REPLICA
+    }
+
+    private final ReplicaLagMonitor lagMonitor;
+
+    public ReadWriteRoutingDataSource(DataSource primary, DataSource replica, ReplicaLagMonitor lagMonitor) {
+        this.lagMonitor = lagMonitor;
+        setTargetDataSources(Map.of(Route.PRIMARY, primary, Route.REPLICA, replica));
+        setDefaultTargetDataSource(primary);
+    }
+
+    @Override
+    protected Object determineCurrentLookupKey() {
+        Long readAfter = ReplicaReads.readAfter();
+        boolean replica = readAfter != null
+                && TransactionSynchronizationManager.isCurrentTransactionReadOnly()
+                && lagMonitor.canServe(readAfter);
+        return replica ? Route.REPLICA : Route.PRIMARY;
+    }
+}
@@ -0,0 +1,100 @@
+package br.com.productmanagementsystem.replica;
+
+import br.com.productmanagementsystem.entity.ReplicationHeartbeat;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.dao.DataAccessException;
+import org.springframework.dao.EmptyResultDataAccessException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jmx.export.annotation.ManagedAttribute;
+import org.springframework.jmx.export.annotation.ManagedResource;
+import org.springframework.scheduling.annotation.Scheduled;
+
+import javax.sql.DataSource;
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+
+/**
+ * Measures how far the read replica is behind the primary.
+ * <p>
+ * A heartbeat is written to the primary at a fixed rate and read back from the replica. Replicas
+ * apply commits in order, so the replica holds every write committed before the heartbeat it
+ * returns: its age is the lag, and a write is readable from the replica once a later heartbeat is.
+ * Without a fresh heartbeat, e.g. when the replica is down or stopped replicating, the lag keeps
+ * growing and reads fall back to the primary.
+ */
+@Slf4j
+@ManagedResource(description = "Replication lag of the read replica")
+public class ReplicaLagMonitor {
+
+    private static final String WRITE_HEARTBEAT = "UPDATE replication_heartbeat SET beat_at = ? WHERE id = ?";
+    private static final String INSERT_HEARTBEAT = "INSERT INTO replication_heartbeat (id, beat_at) VALUES (?, ?)";
+    private static final String READ_HEARTBEAT = "SELECT beat_at FROM replication_heartbeat WHERE id = ?";
+
+    private final JdbcTemplate primary;
+    private final JdbcTemplate replica;
+    private final Clock clock;
+    private final Duration maxLag;
+
+    // Time of the latest heartbeat seen on the replica; null until one is read
+    private volatile Instant replicatedUpTo;
+
+    public ReplicaLagMonitor(DataSource primary, DataSource replica, Clock clock, Duration maxLag) {
+        this.primary = new JdbcTemplate(primary);
+        this.replica = new JdbcTemplate(replica);
+        this.clock = clock;
+        this.maxLag = maxLag;
+    }
+
+    @Scheduled(fixedDelayString = "${app.datasource.replica.heartbeat-interval:PT1S}")
+    public void heartbeat() {
+        beat();
+        refresh();
+    }
+
+    /**
+     * Writes a heartbeat to the primary
+     */
+    public void beat() {
+        Instant now = clock.instant();
+        try {
+            if (primary.update(WRITE_HEARTBEAT, now, ReplicationHeartbeat.SINGLETON_ID) == 0) {
+                primary.update(INSERT_HEARTBEAT, ReplicationHeartbeat.SINGLETON_ID, now);
+            }
+        } catch (DataAccessException ex) {
+            log.warn("Could not write the replication heartbeat to the primary", ex);
+        }
+    }
+
+    /**
+     * Reads the latest heartbeat that reached the replica
+     */
+    public void refresh() {
+        try {
+            replicatedUpTo = replica.queryForObject(READ_HEARTBEAT, Instant.class, ReplicationHeartbeat.SINGLETON_ID);
+        } catch (EmptyResultDataAccessException ex) {
+            replicatedUpTo = null;
+        } catch (DataAccessException ex) {
+            if (replicatedUpTo != null) {
+                log.warn("Read replica unavailable, reading from the primary", ex);
+            }
+            replicatedUpTo = null;
+        }
+    }
+
+    /**
+     * Whether the replica is within the lag threshold and holds every write committed up to {@code readAfterMillis}
+     */
+    public boolean canServe(long readAfterMillis) {
+        Instant upTo = replicatedUpTo;
+        return upTo != null
+                && upTo.toEpochMilli() > readAfterMillis
+                && !upTo.plus(maxLag).isBefore(clock.instant());
+    }
+
+    @ManagedAttribute(description = "Age of the latest heartbeat seen on the replica in milliseconds, -1 when none was")
+    public long getLagMillis() {
+        Instant upTo = replicatedUpTo;
+        return upTo != null ? Duration.between(upTo, clock.instant()).toMillis() : -1;
+    }
+}
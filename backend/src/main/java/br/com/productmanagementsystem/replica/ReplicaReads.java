@@ -0,0 +1,32 @@
+package br.com.productmanagementsystem.replica;
+
+/**
+ * Replica reads allowed on the current thread. Bound by {@code ReadYourWritesFilter} for the
+ * duration of an API request; reads outside requests, such as the loading of derived state at
+ * startup or the change feed, stay on the primary.
+ */
+public final class ReplicaReads {
+
+    private static final ThreadLocal<Long> READ_AFTER = new ThreadLocal<>();
+
+    private ReplicaReads() {
+    }
+
+    /**
+     * Allows replica reads as long as the replica holds every write committed up to {@code readAfterMillis}
+     */
+    public static void allow(long readAfterMillis) {
+        READ_AFTER.set(readAfterMillis);
+    }
+
+    public static void clear() {
+        READ_AFTER.remove();
+    }
+
+    /**
+     * Epoch millis the replica must have caught up with, or null when replica reads are not allowed
+     */
+    public static Long readAfter() {
+        return READ_AFTER.get();
+    }
+}
@@ -0,0 +1,28 @@
+package br.com.productmanagementsystem.repository;
+
+import br.com.productmanagementsystem.entity.ProductHistoryEvent;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.stereotype.Repository;
+
+import java.time.Instant;
+import java.util.List;
+import java.util.Optional;
+
+@Repository
+public interface ProductHistoryEventRepository extends JpaRepository<ProductHistoryEvent, Long> {
+
+    Optional<ProductHistoryEvent> findFirstByProductPublicIdOrderByRevisionDesc(String productPublicId);
+
+    /**
+     * Latest event of the product at the given time
+     */
+    Optional<ProductHistoryEvent> findFirstByProductPublicIdAndOccurredAtLessThanEqualOrderByOccurredAtDescRevisionDesc(
+            String productPublicId, Instant occurredAt);
+
+    List<ProductHistoryEvent> findByProductPublicIdAndRevisionGreaterThanAndRevisionLessThanEqualOrderByRevisionAsc(
+            String productPublicId, Long afterRevision, Long upToRevision);
+
+    Page<ProductHistoryEvent> findByProductPublicIdOrderByRevisionDesc(String productPublicId, Pageable pageable);
+}
@@ -0,0 +1,14 @@
+package br.com.productmanagementsystem.repository;
+
+import br.com.productmanagementsystem.entity.ProductHistorySnapshot;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.stereotype.Repository;
+
+import java.util.Optional;
+
+@Repository
+public interface ProductHistorySnapshotRepository extends JpaRepository<ProductHistorySnapshot, Long> {
+
+    Optional<ProductHistorySnapshot> findFirstByProductPublicIdAndRevisionLessThanEqualOrderByRevisionDesc(
+            String productPublicId, Long revision);
+}
@@ -0,0 +1,36 @@
+package br.com.productmanagementsystem.repository;
+
+import br.com.productmanagementsystem.entity.ProductOutboxEvent;
+import org.springframework.data.domain.Limit;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.Instant;
+import java.util.List;
+import java.util.Optional;
+
+@Repository
+public interface ProductOutboxRepository extends JpaRepository<ProductOutboxEvent, Long> {
+
+    List<ProductOutboxEvent> findByIdGreaterThanOrderByIdAsc(Long id, Limit limit);
+
+    List<ProductOutboxEvent> findByIdGreaterThanAndIdLessThanEqualOrderByIdAsc(Long afterId, Long upToId, Limit limit);
+
+    @Query("SELECT MIN(e.id) FROM ProductOutboxEvent e")
+    Optional<Long> findMinId();
+
+    @Query("SELECT MAX(e.id) FROM ProductOutboxEvent e")
+    Optional<Long> findMaxId();
+
+    /**
+     * Removes the events older than the cutoff that were already published
+     */
+    @Transactional
+    @Modifying
+    @Query("DELETE FROM ProductOutboxEvent e WHERE e.occurredAt < :cutoff AND e.id <= :publishedId")
+    int deletePublishedBefore(@Param("cutoff") Instant cutoff, @Param("publishedId") Long publishedId);
+}
@@ -1,20 +1,110 @@
 package br.com.productmanagementsystem.repository;
 
 import br.com.productmanagementsystem.entity.Product;
+import org.springframework.data.domain.Limit;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.JpaSpecificationExecutor;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import static br.com.productmanagementsystem.validation.ProductBusinessRulesValidator.HIGH_VALUE_MAX_QUANTITY;
+import static br.com.productmanagementsystem.validation.ProductBusinessRulesValidator.HIGH_VALUE_PRICE;
+import static br.com.productmanagementsystem.validation.ProductBusinessRulesValidator.LOW_VALUE_MAX_QUANTITY;
+import static br.com.productmanagementsystem.validation.ProductBusinessRulesValidator.LOW_VALUE_PRICE;
+
+import java.math.BigDecimal;
+import java.util.Collection;
+import java.util.List;
 import java.util.Optional;
 
 @Repository
-public interface ProductRepository extends JpaRepository<Product, Long>, JpaSpecificationExecutor<Product> {
+public interface ProductRepository extends JpaRepository<Product, Long>, JpaSpecificationExecutor<Product>,
+        ProductRepositoryCustom {
     
     Page<Product> findByNameContainingIgnoreCase(String name, Pageable pageable);
     
     Optional<Product> findByPublicId(String publicId);
-    
-    boolean existsByName(String name);
+
+    List<Product> findByPublicIdIn(Collection<String> publicIds);
+
+    List<Product> findByIdGreaterThanOrderByIdAsc(Long id, Limit limit);
+
+    List<Product> findByChangeSeqGreaterThanAndChangeSeqLessThanEqualOrderByChangeSeqAsc(
+            Long afterSeq, Long upToSeq, Limit limit);
+
+    /**
+     * Moves a product to the end of the delta sync. Leaves the version alone, the product itself did not change
+     */
+    @Modifying(flushAutomatically = true)
+    @Query("UPDATE Product p SET p.changeSeq = :changeSeq WHERE p.id = :id")
+    int updateChangeSeq(@Param("id") Long id, @Param("changeSeq") Long changeSeq);
+
+    /**
+     * Adds a signed delta to the stock of a product in a single conditional statement, so
+     * concurrent adjustments never lose updates. The row is only changed when the resulting
+     * quantity stays within reserved..999999 and the price/quantity rules of
+     * {@link br.com.productmanagementsystem.validation.ProductBusinessRulesValidator} still hold.
+     *
+     * @return 1 when the stock was adjusted, 0 when the product does not exist or the adjustment was rejected
+     */
+    default int adjustQuantity(String publicId, int delta) {
+        return adjustQuantity(publicId, delta,
+                LOW_VALUE_PRICE, LOW_VALUE_MAX_QUANTITY, HIGH_VALUE_PRICE, HIGH_VALUE_MAX_QUANTITY);
+    }
+
+    @Modifying(flushAutomatically = true, clearAutomatically = true)
+    @Query("""
+            UPDATE Product p SET p.quantity = p.quantity + :delta, p.version = p.version + 1
+            WHERE p.publicId = :publicId
+              AND p.quantity + :delta BETWEEN p.reserved AND 999999
+              AND (p.price >= :lowValuePrice OR p.quantity + :delta <= :lowValueMaxQuantity)
+              AND (p.price <= :highValuePrice OR p.quantity + :delta <= :highValueMaxQuantity)
+            """)
+    int adjustQuantity(@Param("publicId") String publicId,
+                       @Param("delta") int delta,
+                       @Param("lowValuePrice") BigDecimal lowValuePrice,
+                       @Param("lowValueMaxQuantity") int lowValueMaxQuantity,
+                       @Param("highValuePrice") BigDecimal highValuePrice,
+                       @Param("highValueMaxQuantity") int highValueMaxQuantity);
+
+    /**
+     * Adds a delta that was already checked against the stock rules, such as the coalesced
+     * in-memory changes of a hot product
+     */
+    @Modifying(flushAutomatically = true, clearAutomatically = true)
+    @Query("UPDATE Product p SET p.quantity = p.quantity + :delta, p.version = p.version + 1 WHERE p.id = :id")
+    int addQuantity(@Param("id") Long id, @Param("delta") int delta);
+
+    /**
+     * Holds units for a reservation, only when that many are still available
+     */
+    @Modifying(flushAutomatically = true, clearAutomatically = true)
+    @Query("UPDATE Product p SET p.reserved = p.reserved + :units WHERE p.id = :id AND p.quantity - p.reserved >= :units")
+    int reserve(@Param("id") Long id, @Param("units") int units);
+
+    /**
+     * Units currently reserved, read from the row rather than the persistence context
+     */
+    @Query("SELECT p.reserved FROM Product p WHERE p.id = :id")
+    int findReservedById(@Param("id") Long id);
+
+    /**
+     * Returns the units of a released or expired reservation to the available stock
+     */
+    @Modifying(flushAutomatically = true, clearAutomatically = true)
+    @Query("UPDATE Product p SET p.reserved = p.reserved - :units WHERE p.id = :id")
+    int releaseReserved(@Param("id") Long id, @Param("units") int units);
+
+    /**
+     * Turns the units of a confirmed reservation into a permanent decrement of the stock
+     */
+    @Modifying(flushAutomatically = true, clearAutomatically = true)
+    @Query("UPDATE Product p SET p.quantity = p.quantity - :units, p.reserved = p.reserved - :units, "
+            + "p.version = p.version + 1 "
+            + "WHERE p.id = :id AND p.quantity >= :units")
+    int confirmReserved(@Param("id") Long id, @Param("units") int units);
 }
\ No newline at end of file
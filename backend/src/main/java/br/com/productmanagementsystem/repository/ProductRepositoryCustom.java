@@ -0,0 +1,32 @@
+package br.com.productmanagementsystem.repository;
+
+import br.com.productmanagementsystem.dto.ProductFacetsResponseDTO;
+import br.com.productmanagementsystem.entity.Product;
+import br.com.productmanagementsystem.specification.ProductProjection;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.domain.Specification;
+
+import java.util.Map;
+import java.util.Optional;
+
+/**
+ * Custom Product queries that cannot be expressed through derived query methods
+ */
+public interface ProductRepositoryCustom {
+
+    /**
+     * Finds a page of products selecting only the projected columns
+     */
+    Page<Map<String, Object>> findAllProjected(Specification<Product> spec, ProductProjection projection, Pageable pageable);
+
+    /**
+     * Finds a single product by public ID selecting only the projected columns
+     */
+    Optional<Map<String, Object>> findProjectedByPublicId(String publicId, ProductProjection projection);
+
+    /**
+     * Computes every facet of the filtered products with a single aggregate query
+     */
+    ProductFacetsResponseDTO findFacets(Specification<Product> spec);
+}
@@ -0,0 +1,15 @@
+package br.com.productmanagementsystem.repository;
+
+import br.com.productmanagementsystem.entity.ProductTombstone;
+import org.springframework.data.domain.Limit;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.stereotype.Repository;
+
+import java.util.List;
+
+@Repository
+public interface ProductTombstoneRepository extends JpaRepository<ProductTombstone, String> {
+
+    List<ProductTombstone> findByChangeSeqGreaterThanAndChangeSeqLessThanEqualOrderByChangeSeqAsc(
+            Long afterSeq, Long upToSeq, Limit limit);
+}
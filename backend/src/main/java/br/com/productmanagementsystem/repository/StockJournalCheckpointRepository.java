@@ -0,0 +1,9 @@
+package br.com.productmanagementsystem.repository;
+
+import br.com.productmanagementsystem.entity.StockJournalCheckpoint;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.stereotype.Repository;
+
+@Repository
+public interface StockJournalCheckpointRepository extends JpaRepository<StockJournalCheckpoint, Integer> {
+}
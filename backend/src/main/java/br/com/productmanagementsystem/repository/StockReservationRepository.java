@@ -0,0 +1,24 @@
+package br.com.productmanagementsystem.repository;
+
+import br.com.productmanagementsystem.entity.StockReservation;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.util.Optional;
+
+@Repository
+public interface StockReservationRepository extends JpaRepository<StockReservation, Long> {
+
+    Optional<StockReservation> findByPublicId(String publicId);
+
+    /**
+     * Deletes a reservation by id. Only the caller that gets 1 back may settle its units, so a
+     * reservation is never both confirmed and released.
+     */
+    @Modifying(flushAutomatically = true, clearAutomatically = true)
+    @Query("DELETE FROM StockReservation r WHERE r.id = :id")
+    int deleteReservation(@Param("id") Long id);
+}
@@ -0,0 +1,103 @@
+package br.com.productmanagementsystem.search;
+
+import br.com.productmanagementsystem.event.ProductChangedEvent;
+import br.com.productmanagementsystem.event.ProductSnapshot;
+import br.com.productmanagementsystem.readmodel.InMemoryProductView;
+import br.com.productmanagementsystem.repository.ProductRepository;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageImpl;
+import org.springframework.data.domain.Pageable;
+import org.springframework.jmx.export.annotation.ManagedAttribute;
+import org.springframework.jmx.export.annotation.ManagedOperation;
+import org.springframework.jmx.export.annotation.ManagedResource;
+import org.springframework.stereotype.Component;
+
+import java.util.List;
+
+/**
+ * Relevance-ranked full-text search over product names and descriptions.
+ * <p>
+ * The {@link InvertedIndex} lives in memory and is refreshed as soon as each product write
+ * commits. {@link #reindex()} rebuilds it from the database in throttled batches while the
+ * current index keeps serving searches.
+ */
+@Component
+@ManagedResource(description = "Full-text index over product names and descriptions")
+public class FullTextIndex extends InMemoryProductView {
+
+    private final int reindexBatchSize;
+    private final double reindexRowsPerSecond;
+    private InvertedIndex index = new InvertedIndex();
+
+    public FullTextIndex(ProductRepository productRepository,
+                         @Value("${app.search.reindex.batch-size:500}") int reindexBatchSize,
+                         @Value("${app.search.reindex.max-rows-per-second:5000}") double reindexRowsPerSecond) {
+        super(productRepository);
+        this.reindexBatchSize = reindexBatchSize;
+        this.reindexRowsPerSecond = reindexRowsPerSecond;
+    }
+
+    @Override
+    protected void rebuild(List<ProductSnapshot> products) {
+        InvertedIndex rebuilt = new InvertedIndex();
+        products.forEach(rebuilt::add);
+        index = rebuilt;
+    }
+
+    @Override
+    protected void apply(ProductChangedEvent event) {
+        index.remove(event.current().id());
+        if (event.type() != ProductChangedEvent.ChangeType.DELETED) {
+            index.add(event.after());
+        }
+    }
+
+    /**
+     * Public IDs of the products matching the query, most relevant first
+     */
+    public Page<String> search(String query, Pageable pageable) {
+        if (!isLoaded()) {
+            load();
+        }
+
+        lock.readLock().lock();
+        try {
+            List<InvertedIndex.Hit> hits = index.search(query);
+            int from = pageable.isPaged() ? (int) Math.min(pageable.getOffset(), hits.size()) : 0;
+            int to = pageable.isPaged() ? Math.min(from + pageable.getPageSize(), hits.size()) : hits.size();
+
+            List<String> publicIds = hits.subList(from, to).stream()
+                    .map(InvertedIndex.Hit::publicId)
+                    .toList();
+            return new PageImpl<>(publicIds, pageable, hits.size());
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    @ManagedOperation(description = "Rebuild the index from the database in throttled batches")
+    public void reindex() {
+        load(reindexBatchSize, reindexRowsPerSecond);
+    }
+
+    @ManagedAttribute(description = "Number of indexed products")
+    public int getDocuments() {
+        lock.readLock().lock();
+        try {
+            return index.documents();
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    @ManagedAttribute(description = "Number of distinct terms across indexed fields")
+    public int getTerms() {
+        lock.readLock().lock();
+        try {
+            return index.terms();
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+}
@@ -0,0 +1,158 @@
+package br.com.productmanagementsystem.search;
+
+import br.com.productmanagementsystem.event.ProductChangedEvent;
+import br.com.productmanagementsystem.event.ProductSnapshot;
+import br.com.productmanagementsystem.readmodel.InMemoryProductView;
+import br.com.productmanagementsystem.repository.ProductRepository;
+import org.springframework.jmx.export.annotation.ManagedAttribute;
+import org.springframework.jmx.export.annotation.ManagedResource;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.regex.Pattern;
+
+/**
+ * Typo-tolerant index over the words of product names.
+ * <p>
+ * A query matches a product when every query word is within a small edit distance of some
+ * word of its name, so "samsnug galxy" finds "Samsung Galaxy S24". Each query word is compiled
+ * into a {@link LevenshteinAutomaton} and intersected with the {@link TermDictionary}, which
+ * only visits dictionary branches that can still match instead of comparing against every term.
+ */
+@Component
+@ManagedResource(description = "Typo-tolerant product name index")
+public class FuzzyNameIndex extends InMemoryProductView {
+
+    private static final Pattern WORD_SEPARATOR = Pattern.compile("[^\\p{L}\\p{N}]+");
+
+    private final TermDictionary dictionary = new TermDictionary();
+    private final Map<String, Set<Long>> postings = new HashMap<>();
+    private final Map<Long, List<String>> termsById = new HashMap<>();
+
+    public FuzzyNameIndex(ProductRepository productRepository) {
+        super(productRepository);
+    }
+
+    @Override
+    protected void rebuild(List<ProductSnapshot> products) {
+        new ArrayList<>(termsById.keySet()).forEach(this::unindex);
+        products.forEach(this::index);
+    }
+
+    @Override
+    protected void apply(ProductChangedEvent event) {
+        ProductSnapshot product = event.current();
+        unindex(product.id());
+        if (event.type() != ProductChangedEvent.ChangeType.DELETED) {
+            index(product);
+        }
+    }
+
+    /**
+     * IDs of the products whose name matches every word of the query within its edit distance
+     */
+    public Set<Long> match(String query) {
+        if (!isLoaded()) {
+            load();
+        }
+
+        List<String> words = termsOf(query);
+        if (words.isEmpty()) {
+            return Set.of();
+        }
+
+        lock.readLock().lock();
+        try {
+            List<Set<Long>> candidates = new ArrayList<>(words.size());
+            for (String word : words) {
+                Set<Long> matches = matchWord(word);
+                if (matches.isEmpty()) {
+                    return Set.of();
+                }
+                candidates.add(matches);
+            }
+
+            // Intersect starting from the most selective word
+            candidates.sort(Comparator.comparingInt(Set::size));
+            Set<Long> result = new HashSet<>(candidates.getFirst());
+            for (int i = 1; i < candidates.size() && !result.isEmpty(); i++) {
+                result.retainAll(candidates.get(i));
+            }
+            return result;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    private Set<Long> matchWord(String word) {
+        Set<Long> matches = new HashSet<>();
+        LevenshteinAutomaton automaton = new LevenshteinAutomaton(word, maxEdits(word));
+        dictionary.intersect(automaton, term -> matches.addAll(postings.get(term)));
+        return matches;
+    }
+
+    /**
+     * Edit distance tolerated for a word: none for very short words, where a single edit
+     * already matches most of the dictionary, and up to two for long ones
+     */
+    static int maxEdits(String word) {
+        int length = word.length();
+        if (length <= 2) return 0;
+        if (length <= 5) return 1;
+        return 2;
+    }
+
+    /**
+     * Lowercase words of a name, split on anything that is not a letter or digit
+     */
+    static List<String> termsOf(String name) {
+        return Arrays.stream(WORD_SEPARATOR.split(name.toLowerCase()))
+                .filter(term -> !term.isEmpty())
+                .distinct()
+                .toList();
+    }
+
+    private void index(ProductSnapshot product) {
+        List<String> terms = termsOf(product.name());
+        termsById.put(product.id(), terms);
+        for (String term : terms) {
+            postings.computeIfAbsent(term, key -> {
+                dictionary.add(key);
+                return new HashSet<>();
+            }).add(product.id());
+        }
+    }
+
+    private void unindex(long id) {
+        List<String> terms = termsById.remove(id);
+        if (terms == null) {
+            return;
+        }
+
+        for (String term : terms) {
+            Set<Long> ids = postings.get(term);
+            ids.remove(id);
+            if (ids.isEmpty()) {
+                postings.remove(term);
+                dictionary.remove(term);
+            }
+        }
+    }
+
+    @ManagedAttribute(description = "Number of distinct name terms in the dictionary")
+    public int getTerms() {
+        lock.readLock().lock();
+        try {
+            return dictionary.size();
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+}
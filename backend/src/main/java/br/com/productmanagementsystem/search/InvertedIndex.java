@@ -0,0 +1,148 @@
+package br.com.productmanagementsystem.search;
+
+import br.com.productmanagementsystem.event.ProductSnapshot;
+
+import java.text.Normalizer;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.regex.Pattern;
+
+/**
+ * Inverted index over product names and descriptions, scored with BM25.
+ * <p>
+ * Each field keeps its own postings and length statistics; the score of a product is the
+ * boosted sum of its per-field BM25 scores, so a match in the name outweighs the same match
+ * in the description. Text is lowercased and stripped of accents, so "cafe" finds "Café".
+ * Not thread-safe.
+ */
+final class InvertedIndex {
+
+    static final double K1 = 1.2;
+    static final double B = 0.75;
+
+    private static final Pattern WORD_SEPARATOR = Pattern.compile("[^\\p{L}\\p{N}]+");
+    private static final Pattern COMBINING_MARKS = Pattern.compile("\\p{M}+");
+
+    private final Field name = new Field(2.0);
+    private final Field description = new Field(1.0);
+    private final Map<Long, String> publicIds = new HashMap<>();
+
+    record Hit(long id, String publicId, double score) {
+    }
+
+    private static final Comparator<Hit> BY_RELEVANCE = Comparator
+            .comparingDouble(Hit::score).reversed()
+            .thenComparingLong(Hit::id);
+
+    int documents() {
+        return publicIds.size();
+    }
+
+    int terms() {
+        return name.postings.size() + description.postings.size();
+    }
+
+    void add(ProductSnapshot product) {
+        publicIds.put(product.id(), product.publicId());
+        name.add(product.id(), product.name());
+        description.add(product.id(), product.description());
+    }
+
+    void remove(long id) {
+        if (publicIds.remove(id) != null) {
+            name.remove(id);
+            description.remove(id);
+        }
+    }
+
+    /**
+     * Products matching any query term, most relevant first; ties are broken by id
+     */
+    List<Hit> search(String query) {
+        List<String> terms = termsOf(query);
+        Map<Long, Double> scores = new HashMap<>();
+        name.score(terms, publicIds.size(), scores);
+        description.score(terms, publicIds.size(), scores);
+
+        List<Hit> hits = new ArrayList<>(scores.size());
+        scores.forEach((id, score) -> hits.add(new Hit(id, publicIds.get(id), score)));
+        hits.sort(BY_RELEVANCE);
+        return hits;
+    }
+
+    /**
+     * Normalized words of a text: lowercase, without accents, split on anything that is not
+     * a letter or digit
+     */
+    static List<String> termsOf(String text) {
+        if (text == null) {
+            return List.of();
+        }
+        String folded = COMBINING_MARKS.matcher(Normalizer.normalize(text.toLowerCase(), Normalizer.Form.NFD)).replaceAll("");
+        return Arrays.stream(WORD_SEPARATOR.split(folded))
+                .filter(term -> !term.isEmpty())
+                .toList();
+    }
+
+    private static final class Field {
+        private final double boost;
+        private final Map<String, Map<Long, Integer>> postings = new HashMap<>();
+        private final Map<Long, Map<String, Integer>> termFrequencies = new HashMap<>();
+        private final Map<Long, Integer> lengths = new HashMap<>();
+        private long totalLength;
+
+        private Field(double boost) {
+            this.boost = boost;
+        }
+
+        private void add(long id, String text) {
+            List<String> terms = termsOf(text);
+            Map<String, Integer> frequencies = new LinkedHashMap<>();
+            terms.forEach(term -> frequencies.merge(term, 1, Integer::sum));
+
+            termFrequencies.put(id, frequencies);
+            lengths.put(id, terms.size());
+            totalLength += terms.size();
+            frequencies.forEach((term, frequency) ->
+                    postings.computeIfAbsent(term, key -> new HashMap<>()).put(id, frequency));
+        }
+
+        private void remove(long id) {
+            Map<String, Integer> frequencies = termFrequencies.remove(id);
+            totalLength -= lengths.remove(id);
+            for (String term : frequencies.keySet()) {
+                Map<Long, Integer> documents = postings.get(term);
+                documents.remove(id);
+                if (documents.isEmpty()) {
+                    postings.remove(term);
+                }
+            }
+        }
+
+        private void score(List<String> terms, int documentCount, Map<Long, Double> scores) {
+            if (documentCount == 0) {
+                return;
+            }
+            double averageLength = Math.max(1.0, (double) totalLength / documentCount);
+
+            for (String term : terms) {
+                Map<Long, Integer> documents = postings.get(term);
+                if (documents == null) {
+                    continue;
+                }
+
+                double idf = Math.log(1 + (documentCount - documents.size() + 0.5) / (documents.size() + 0.5));
+                documents.forEach((id, frequency) -> {
+                    double norm = K1 * (1 - B + B * lengths.get(id) / averageLength);
+                    double score = boost * idf * frequency * (K1 + 1) / (frequency + norm);
+                    scores.merge(id, score, Double::sum);
+                });
+            }
+        }
+    }
+}
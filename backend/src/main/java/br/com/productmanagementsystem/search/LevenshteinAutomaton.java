@@ -0,0 +1,119 @@
+package br.com.productmanagementsystem.search;
+
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Deterministic automaton accepting every string within {@code maxDistance} edits
+ * (insertions, deletions and substitutions) of a term.
+ * <p>
+ * A state is the row of edit distances between the input consumed so far and every prefix
+ * of the term, capped at {@code maxDistance + 1}. States are interned and transitions are
+ * memoized, so the DFA is only built as far as the input explores it. A state whose row
+ * exceeds the distance everywhere is dead, which lets a dictionary walk skip whole subtrees.
+ * Not thread-safe.
+ */
+final class LevenshteinAutomaton {
+
+    private final String term;
+    private final int maxDistance;
+    private final Map<Row, State> states = new HashMap<>();
+    private final State start;
+
+    LevenshteinAutomaton(String term, int maxDistance) {
+        this.term = term;
+        this.maxDistance = maxDistance;
+
+        int[] initial = new int[term.length() + 1];
+        for (int i = 0; i < initial.length; i++) {
+            initial[i] = Math.min(i, maxDistance + 1);
+        }
+        this.start = intern(initial);
+    }
+
+    State start() {
+        return start;
+    }
+
+    /**
+     * Whether the whole input is within the distance of the term
+     */
+    boolean accepts(String input) {
+        State state = start;
+        for (int i = 0; i < input.length() && state.isLive(); i++) {
+            state = state.step(input.charAt(i));
+        }
+        return state.isAccepting();
+    }
+
+    /**
+     * Number of distinct states materialized so far
+     */
+    int stateCount() {
+        return states.size();
+    }
+
+    final class State {
+        private final int[] distances;
+        private final Map<Character, State> transitions = new HashMap<>();
+        private final boolean accepting;
+        private final boolean live;
+
+        private State(int[] distances) {
+            this.distances = distances;
+            this.accepting = distances[distances.length - 1] <= maxDistance;
+            this.live = Arrays.stream(distances).min().orElseThrow() <= maxDistance;
+        }
+
+        State step(char input) {
+            State next = transitions.get(input);
+            if (next == null) {
+                next = intern(advance(input));
+                transitions.put(input, next);
+            }
+            return next;
+        }
+
+        boolean isAccepting() {
+            return accepting;
+        }
+
+        /**
+         * Whether some continuation of the input can still be accepted
+         */
+        boolean isLive() {
+            return live;
+        }
+
+        private int[] advance(char input) {
+            int cap = maxDistance + 1;
+            int[] next = new int[distances.length];
+            next[0] = Math.min(distances[0] + 1, cap);
+            for (int i = 1; i < next.length; i++) {
+                int substitution = distances[i - 1] + (term.charAt(i - 1) == input ? 0 : 1);
+                int deletion = distances[i] + 1;
+                int insertion = next[i - 1] + 1;
+                next[i] = Math.min(Math.min(substitution, deletion), Math.min(insertion, cap));
+            }
+            return next;
+        }
+    }
+
+    private State intern(int[] distances) {
+        return states.computeIfAbsent(new Row(distances), row -> new State(distances));
+    }
+
+    private record Row(int[] distances) {
+
+        @Override
+        public boolean equals(Object other) {
+            return other instanceof Row row && Arrays.equals(distances, row.distances);
+        }
+
+        @Override
+        public int hashCode() {
+            return Arrays.hashCode(distances);
+        }
+    }
+}
@@ -0,0 +1,110 @@
+package br.com.productmanagementsystem.search;
+
+import br.com.productmanagementsystem.dto.ProductSuggestionDTO;
+import br.com.productmanagementsystem.event.ProductChangedEvent;
+import br.com.productmanagementsystem.event.ProductSnapshot;
+import br.com.productmanagementsystem.readmodel.InMemoryProductView;
+import br.com.productmanagementsystem.repository.ProductRepository;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jmx.export.annotation.ManagedAttribute;
+import org.springframework.jmx.export.annotation.ManagedResource;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Search-as-you-type index over product names.
+ * <p>
+ * Every word of a name is a key into a {@link SuggestionTrie}, so "gal" suggests
+ * "Samsung Galaxy S24". Results are ranked by quantity in stock and the trie is updated
+ * incrementally as products are created, renamed, restocked or deleted.
+ */
+@Component
+@ManagedResource(description = "Product name autocomplete index")
+public class NameSuggestionIndex extends InMemoryProductView {
+
+    private final int maxResults;
+    private final Map<Long, SuggestionTrie.Suggestion> indexed = new HashMap<>();
+    private SuggestionTrie trie;
+
+    public NameSuggestionIndex(ProductRepository productRepository,
+                               @Value("${app.suggest.max-results:10}") int maxResults) {
+        super(productRepository);
+        this.maxResults = maxResults;
+        this.trie = new SuggestionTrie(maxResults);
+    }
+
+    @Override
+    protected void rebuild(List<ProductSnapshot> products) {
+        indexed.clear();
+        trie = new SuggestionTrie(maxResults);
+        products.forEach(this::index);
+    }
+
+    @Override
+    protected void apply(ProductChangedEvent event) {
+        ProductSnapshot product = event.current();
+        unindex(product.id());
+        if (event.type() != ProductChangedEvent.ChangeType.DELETED) {
+            index(product);
+        }
+    }
+
+    /**
+     * Top ranked products with a name word starting with the prefix (case insensitive)
+     */
+    public List<ProductSuggestionDTO> suggest(String prefix, int limit) {
+        String normalized = prefix.toLowerCase().stripLeading();
+        lock.readLock().lock();
+        try {
+            return trie.search(normalized, Math.min(limit, maxResults)).stream()
+                    .map(suggestion -> new ProductSuggestionDTO(suggestion.publicId(), suggestion.name(), suggestion.quantity()))
+                    .toList();
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    private void index(ProductSnapshot product) {
+        SuggestionTrie.Suggestion suggestion = new SuggestionTrie.Suggestion(
+                product.id(), product.publicId(), product.name(), product.quantity());
+        indexed.put(product.id(), suggestion);
+        keysOf(product.name()).forEach(key -> trie.insert(key, suggestion));
+    }
+
+    private void unindex(long id) {
+        SuggestionTrie.Suggestion previous = indexed.remove(id);
+        if (previous != null) {
+            keysOf(previous.name()).forEach(key -> trie.remove(key, id));
+        }
+    }
+
+    /**
+     * One key per word: the lowercase name from the start of that word to the end
+     */
+    static List<String> keysOf(String name) {
+        String lower = name.toLowerCase().strip();
+        List<String> keys = new ArrayList<>();
+        for (int i = 0; i < lower.length(); i++) {
+            boolean wordStart = !Character.isWhitespace(lower.charAt(i))
+                    && (i == 0 || Character.isWhitespace(lower.charAt(i - 1)));
+            if (wordStart) {
+                keys.add(lower.substring(i));
+            }
+        }
+        return keys;
+    }
+
+    @ManagedAttribute(description = "Number of indexed products")
+    public int getIndexedProducts() {
+        lock.readLock().lock();
+        try {
+            return indexed.size();
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+}
@@ -0,0 +1,250 @@
+package br.com.productmanagementsystem.search;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+
+/**
+ * Radix trie (path-compressed prefix tree) mapping lowercase keys to products.
+ * <p>
+ * Every node caches the top-K products of its subtree, so a prefix lookup costs one walk
+ * down the trie plus copying at most K entries, independent of how many names match.
+ * Inserts and removals refresh the caches along the touched path only. Not thread-safe.
+ */
+final class SuggestionTrie {
+
+    /**
+     * Ranking of suggestions: most stock first, then alphabetically
+     */
+    static final Comparator<Suggestion> RANKING = Comparator
+            .comparingInt(Suggestion::quantity).reversed()
+            .thenComparing(Suggestion::name)
+            .thenComparingLong(Suggestion::id);
+
+    private static final Node[] NO_CHILDREN = new Node[0];
+    private static final Suggestion[] NO_SUGGESTIONS = new Suggestion[0];
+
+    private final int topK;
+    private final Node root = new Node("");
+
+    SuggestionTrie(int topK) {
+        this.topK = topK;
+    }
+
+    record Suggestion(long id, String publicId, String name, int quantity) {
+    }
+
+    void insert(String key, Suggestion suggestion) {
+        List<Node> path = new ArrayList<>();
+        Node node = root;
+        int position = 0;
+        path.add(node);
+
+        while (position < key.length()) {
+            int index = node.childIndex(key.charAt(position));
+            if (index < 0) {
+                Node leaf = new Node(key.substring(position));
+                node.addChild(leaf);
+                node = leaf;
+                path.add(node);
+                position = key.length();
+                break;
+            }
+
+            Node child = node.children[index];
+            int common = commonPrefixLength(child.label, key, position);
+            if (common < child.label.length()) {
+                child = split(node, index, common);
+            }
+            node = child;
+            path.add(node);
+            position += common;
+        }
+
+        node.terminals = append(node.terminals, suggestion);
+        refresh(path);
+    }
+
+    void remove(String key, long id) {
+        List<Node> path = new ArrayList<>();
+        Node node = root;
+        int position = 0;
+        path.add(node);
+
+        while (position < key.length()) {
+            int index = node.childIndex(key.charAt(position));
+            if (index < 0) {
+                return;
+            }
+            Node child = node.children[index];
+            if (!key.startsWith(child.label, position)) {
+                return;
+            }
+            node = child;
+            path.add(node);
+            position += child.label.length();
+        }
+
+        node.terminals = Arrays.stream(node.terminals)
+                .filter(suggestion -> suggestion.id() != id)
+                .toArray(Suggestion[]::new);
+        prune(path);
+        refresh(path);
+    }
+
+    /**
+     * Top ranked products having a key that starts with the prefix
+     */
+    List<Suggestion> search(String prefix, int limit) {
+        Node node = root;
+        int position = 0;
+
+        while (position < prefix.length()) {
+            int index = node.childIndex(prefix.charAt(position));
+            if (index < 0) {
+                return List.of();
+            }
+            Node child = node.children[index];
+            int common = commonPrefixLength(child.label, prefix, position);
+            if (position + common < prefix.length() && common < child.label.length()) {
+                return List.of();
+            }
+            node = child;
+            position += common;
+        }
+
+        return Arrays.asList(node.top).subList(0, Math.min(limit, node.top.length));
+    }
+
+    /**
+     * Splits the child edge after {@code length} characters and returns the new inner node
+     */
+    private static Node split(Node parent, int childIndex, int length) {
+        Node child = parent.children[childIndex];
+        Node inner = new Node(child.label.substring(0, length));
+        child.label = child.label.substring(length);
+        inner.children = new Node[]{child};
+        inner.top = child.top;
+        parent.children[childIndex] = inner;
+        return inner;
+    }
+
+    /**
+     * Removes empty nodes and re-merges single-child chains left behind by a removal
+     */
+    private void prune(List<Node> path) {
+        for (int i = path.size() - 1; i > 0; i--) {
+            Node node = path.get(i);
+            Node parent = path.get(i - 1);
+
+            if (node.terminals.length == 0 && node.children.length == 0) {
+                parent.removeChild(node);
+                path.remove(i);
+            } else if (node.terminals.length == 0 && node.children.length == 1) {
+                Node onlyChild = node.children[0];
+                node.label = node.label + onlyChild.label;
+                node.terminals = onlyChild.terminals;
+                node.children = onlyChild.children;
+                node.top = onlyChild.top;
+            }
+        }
+    }
+
+    private void refresh(List<Node> path) {
+        for (int i = path.size() - 1; i >= 0; i--) {
+            path.get(i).top = computeTop(path.get(i));
+        }
+    }
+
+    private Suggestion[] computeTop(Node node) {
+        List<Suggestion> candidates = new ArrayList<>(Arrays.asList(node.terminals));
+        for (Node child : node.children) {
+            candidates.addAll(Arrays.asList(child.top));
+        }
+        if (candidates.isEmpty()) {
+            return NO_SUGGESTIONS;
+        }
+
+        // The same product can be reached through keys of several of its words
+        candidates.sort(RANKING);
+        Set<Long> seen = new HashSet<>();
+        List<Suggestion> top = new ArrayList<>(Math.min(topK, candidates.size()));
+        for (Suggestion candidate : candidates) {
+            if (seen.add(candidate.id())) {
+                top.add(candidate);
+                if (top.size() == topK) {
+                    break;
+                }
+            }
+        }
+        return top.toArray(NO_SUGGESTIONS);
+    }
+
+    private static int commonPrefixLength(String label, String key, int offset) {
+        int length = Math.min(label.length(), key.length() - offset);
+        int i = 0;
+        while (i < length && label.charAt(i) == key.charAt(offset + i)) {
+            i++;
+        }
+        return i;
+    }
+
+    private static Suggestion[] append(Suggestion[] suggestions, Suggestion suggestion) {
+        Suggestion[] extended = Arrays.copyOf(suggestions, suggestions.length + 1);
+        extended[suggestions.length] = suggestion;
+        return extended;
+    }
+
+    private static final class Node {
+        private String label;
+        private Node[] children = NO_CHILDREN;
+        private Suggestion[] terminals = NO_SUGGESTIONS;
+        private Suggestion[] top = NO_SUGGESTIONS;
+
+        private Node(String label) {
+            this.label = label;
+        }
+
+        /**
+         * Children are kept sorted by the first character of their label
+         */
+        private int childIndex(char first) {
+            int low = 0;
+            int high = children.length - 1;
+            while (low <= high) {
+                int mid = (low + high) >>> 1;
+                char midFirst = children[mid].label.charAt(0);
+                if (midFirst < first) {
+                    low = mid + 1;
+                } else if (midFirst > first) {
+                    high = mid - 1;
+                } else {
+                    return mid;
+                }
+            }
+            return -1;
+        }
+
+        private void addChild(Node child) {
+            char first = child.label.charAt(0);
+            int insertAt = 0;
+            while (insertAt < children.length && children[insertAt].label.charAt(0) < first) {
+                insertAt++;
+            }
+            Node[] extended = new Node[children.length + 1];
+            System.arraycopy(children, 0, extended, 0, insertAt);
+            extended[insertAt] = child;
+            System.arraycopy(children, insertAt, extended, insertAt + 1, children.length - insertAt);
+            children = extended;
+        }
+
+        private void removeChild(Node child) {
+            children = Arrays.stream(children)
+                    .filter(candidate -> candidate != child)
+                    .toArray(Node[]::new);
+        }
+    }
+}
@@ -0,0 +1,129 @@
+package br.com.productmanagementsystem.search;
+
+import java.util.Arrays;
+import java.util.function.Consumer;
+
+/**
+ * Trie of the distinct terms found in product names, walked in lockstep with a
+ * {@link LevenshteinAutomaton} to enumerate the terms it accepts without visiting
+ * branches the automaton has already rejected. Not thread-safe.
+ */
+final class TermDictionary {
+
+    private static final char[] NO_LABELS = new char[0];
+    private static final Node[] NO_CHILDREN = new Node[0];
+
+    private final Node root = new Node();
+    private int size;
+
+    int size() {
+        return size;
+    }
+
+    void add(String term) {
+        Node node = root;
+        for (int i = 0; i < term.length(); i++) {
+            node = node.childOrCreate(term.charAt(i));
+        }
+        if (!node.terminal) {
+            node.terminal = true;
+            size++;
+        }
+    }
+
+    void remove(String term) {
+        Node[] path = new Node[term.length() + 1];
+        path[0] = root;
+        for (int i = 0; i < term.length(); i++) {
+            Node child = path[i].child(term.charAt(i));
+            if (child == null) {
+                return;
+            }
+            path[i + 1] = child;
+        }
+
+        Node node = path[term.length()];
+        if (!node.terminal) {
+            return;
+        }
+        node.terminal = false;
+        size--;
+
+        for (int i = term.length(); i > 0 && !path[i].terminal && path[i].labels.length == 0; i--) {
+            path[i - 1].removeChild(term.charAt(i - 1));
+        }
+    }
+
+    /**
+     * Visits every term accepted by the automaton
+     */
+    void intersect(LevenshteinAutomaton automaton, Consumer<String> visitor) {
+        intersect(root, automaton.start(), new StringBuilder(), visitor);
+    }
+
+    private static void intersect(Node node, LevenshteinAutomaton.State state,
+                                  StringBuilder prefix, Consumer<String> visitor) {
+        if (node.terminal && state.isAccepting()) {
+            visitor.accept(prefix.toString());
+        }
+
+        for (int i = 0; i < node.labels.length; i++) {
+            LevenshteinAutomaton.State next = state.step(node.labels[i]);
+            if (next.isLive()) {
+                prefix.append(node.labels[i]);
+                intersect(node.children[i], next, prefix, visitor);
+                prefix.setLength(prefix.length() - 1);
+            }
+        }
+    }
+
+    /**
+     * Children are kept in parallel arrays sorted by their label
+     */
+    private static final class Node {
+        private char[] labels = NO_LABELS;
+        private Node[] children = NO_CHILDREN;
+        private boolean terminal;
+
+        private Node child(char label) {
+            int index = Arrays.binarySearch(labels, label);
+            return index >= 0 ? children[index] : null;
+        }
+
+        private Node childOrCreate(char label) {
+            int index = Arrays.binarySearch(labels, label);
+            if (index >= 0) {
+                return children[index];
+            }
+
+            int insertAt = -index - 1;
+            char[] extendedLabels = new char[labels.length + 1];
+            Node[] extendedChildren = new Node[children.length + 1];
+            System.arraycopy(labels, 0, extendedLabels, 0, insertAt);
+            System.arraycopy(children, 0, extendedChildren, 0, insertAt);
+            extendedLabels[insertAt] = label;
+            extendedChildren[insertAt] = new Node();
+            System.arraycopy(labels, insertAt, extendedLabels, insertAt + 1, labels.length - insertAt);
+            System.arraycopy(children, insertAt, extendedChildren, insertAt + 1, children.length - insertAt);
+            labels = extendedLabels;
+            children = extendedChildren;
+            return extendedChildren[insertAt];
+        }
+
+        private void removeChild(char label) {
+            int index = Arrays.binarySearch(labels, label);
+            if (index < 0) {
+                return;
+            }
+
+            char[] remainingLabels = new char[labels.length - 1];
+            Node[] remainingChildren = new Node[children.length - 1];
+            System.arraycopy(labels, 0, remainingLabels, 0, index);
+            System.arraycopy(children, 0, remainingChildren, 0, index);
+            System.arraycopy(labels, index + 1, remainingLabels, index, labels.length - index - 1);
+            System.arraycopy(children, index + 1, remainingChildren, index, children.length - index - 1);
+            labels = remainingLabels;
+            children = remainingChildren;
+        }
+    }
+}
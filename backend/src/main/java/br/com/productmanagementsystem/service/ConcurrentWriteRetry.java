@@ -0,0 +1,74 @@
+package br.com.productmanagementsystem.service;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.OptimisticLockingFailureException;
+import org.springframework.jmx.export.annotation.ManagedAttribute;
+import org.springframework.jmx.export.annotation.ManagedResource;
+import org.springframework.stereotype.Component;
+
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Function;
+import java.util.function.Supplier;
+
+/**
+ * Bounded retry of unconditional product writes that lost an optimistic lock race.
+ * <p>
+ * Only writes that commute with the competing one may run again, as if they had simply run after
+ * it: deletes, and merge patches whose members the competing write left alone, which the retry
+ * callback checks with the conflict of the attempt before. A full replacement is never retried,
+ * since running it again would silently discard the competing write. Each attempt must be a
+ * transaction of its own, so the retry wraps the transactional service call instead of running
+ * inside it. Disabled with a single attempt, which surfaces the conflict to the client.
+ */
+@Slf4j
+@Component
+@ManagedResource(description = "Retries of unconditional writes that lost an optimistic lock race")
+public class ConcurrentWriteRetry {
+
+    private final int maxAttempts;
+    private final LongAdder retries = new LongAdder();
+
+    public ConcurrentWriteRetry(@Value("${app.optimistic-locking.retry.max-attempts:1}") int maxAttempts) {
+        if (maxAttempts < 1) {
+            throw new IllegalArgumentException("app.optimistic-locking.retry.max-attempts must be at least 1");
+        }
+        this.maxAttempts = maxAttempts;
+    }
+
+    public <T> T execute(Supplier<T> write) {
+        return execute(write, conflict -> write.get());
+    }
+
+    /**
+     * Runs a write, then {@code retry} with the conflict that failed the attempt before. A retry
+     * rethrowing that conflict found that running again is not safe, and is not retried further.
+     */
+    public <T> T execute(Supplier<T> write, Function<OptimisticLockingFailureException, T> retry) {
+        OptimisticLockingFailureException conflict = null;
+        for (int attempt = 1; ; attempt++) {
+            try {
+                return conflict == null ? write.get() : retry.apply(conflict);
+            } catch (OptimisticLockingFailureException ex) {
+                if (attempt >= maxAttempts || ex == conflict) {
+                    throw ex;
+                }
+                conflict = ex;
+                retries.increment();
+                log.debug("Retrying write after optimistic lock conflict, attempt {} of {}", attempt + 1, maxAttempts);
+            }
+        }
+    }
+
+    public void execute(Runnable write) {
+        execute(() -> {
+            write.run();
+            return null;
+        });
+    }
+
+    @ManagedAttribute(description = "Writes run again after an optimistic lock conflict")
+    public long getRetries() {
+        return retries.sum();
+    }
+}
@@ -1,68 +1,595 @@
 package br.com.productmanagementsystem.service;
 
+import br.com.productmanagementsystem.config.CacheConfig;
+import br.com.productmanagementsystem.changes.ProductChangeFeed;
+import br.com.productmanagementsystem.dto.ProductChangesResponseDTO;
+import br.com.productmanagementsystem.dto.ProductFacetsResponseDTO;
+import br.com.productmanagementsystem.dto.ProductHistoryEventDTO;
+import br.com.productmanagementsystem.dto.ProductLookupResponseDTO;
 import br.com.productmanagementsystem.dto.ProductQueryDTO;
 import br.com.productmanagementsystem.dto.ProductRequestDTO;
 import br.com.productmanagementsystem.dto.ProductResponseDTO;
+import br.com.productmanagementsystem.dto.ProductStatsResponseDTO;
+import br.com.productmanagementsystem.dto.ProductSuggestionDTO;
+import br.com.productmanagementsystem.dto.ProductTombstoneDTO;
+import br.com.productmanagementsystem.dto.StockAvailabilityResponseDTO;
+import br.com.productmanagementsystem.dto.StockReservationRequestDTO;
+import br.com.productmanagementsystem.dto.StockReservationResponseDTO;
 import br.com.productmanagementsystem.entity.Product;
+import br.com.productmanagementsystem.entity.ProductTombstone;
+import br.com.productmanagementsystem.event.ProductChangedEvent;
+import br.com.productmanagementsystem.event.ProductSnapshot;
+import br.com.productmanagementsystem.exception.ChangesUnavailableException;
+import br.com.productmanagementsystem.exception.InvalidSyncTokenException;
+import br.com.productmanagementsystem.exception.MergePatchConflictException;
+import br.com.productmanagementsystem.exception.PreconditionFailedException;
 import br.com.productmanagementsystem.exception.ProductAlreadyExistsException;
+import br.com.productmanagementsystem.exception.QuantityBelowReservedException;
 import br.com.productmanagementsystem.exception.ResourceNotFoundException;
+import br.com.productmanagementsystem.exception.StockAdjustmentRejectedException;
+import br.com.productmanagementsystem.history.ProductHistory;
+import br.com.productmanagementsystem.mapper.JsonMergePatcher;
 import br.com.productmanagementsystem.mapper.ProductMapper;
+import br.com.productmanagementsystem.readmodel.InventoryStatistics;
+import br.com.productmanagementsystem.readmodel.ProductReadModel;
 import br.com.productmanagementsystem.repository.ProductRepository;
+import br.com.productmanagementsystem.repository.ProductTombstoneRepository;
+import br.com.productmanagementsystem.search.FullTextIndex;
+import br.com.productmanagementsystem.search.FuzzyNameIndex;
+import br.com.productmanagementsystem.search.NameSuggestionIndex;
+import br.com.productmanagementsystem.shard.ProductShards;
+import br.com.productmanagementsystem.shard.ShardedPages;
+import br.com.productmanagementsystem.specification.ProductFacets;
+import br.com.productmanagementsystem.specification.ProductField;
+import br.com.productmanagementsystem.specification.ProductProjection;
 import br.com.productmanagementsystem.specification.ProductSpecification;
+import br.com.productmanagementsystem.stock.HotStockCounters;
+import br.com.productmanagementsystem.stock.StockReservations;
+import com.fasterxml.jackson.databind.JsonNode;
+import jakarta.validation.ConstraintViolation;
+import jakarta.validation.ConstraintViolationException;
+import jakarta.validation.Validator;
 import lombok.RequiredArgsConstructor;
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
+import org.springframework.cache.annotation.CacheEvict;
+import org.springframework.cache.annotation.CachePut;
+import org.springframework.cache.annotation.Cacheable;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.dao.OptimisticLockingFailureException;
+import org.springframework.data.domain.Limit;
 import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageImpl;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.domain.Specification;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.function.UnaryOperator;
+import java.util.stream.Collectors;
+
 @Service
 @RequiredArgsConstructor
 @Transactional
 public class ProductService {
 
+    /**
+     * Expected version of an {@code If-Match: *} precondition, met by any current version of an
+     * existing product
+     */
+    public static final long ANY_VERSION = Long.MIN_VALUE;
+
     private final ProductRepository productRepository;
     private final ProductMapper productMapper;
     private final MessageService messageService;
+    private final CacheManager cacheManager;
+    private final JsonMergePatcher jsonMergePatcher;
+    private final Validator validator;
+    private final ProductReadModel productReadModel;
+    private final ApplicationEventPublisher eventPublisher;
+    private final NameSuggestionIndex nameSuggestionIndex;
+    private final FuzzyNameIndex fuzzyNameIndex;
+    private final FullTextIndex fullTextIndex;
+    private final InventoryStatistics inventoryStatistics;
+    private final HotStockCounters hotStockCounters;
+    private final StockReservations stockReservations;
+    private final ProductTombstoneRepository tombstoneRepository;
+    private final ProductChangeFeed productChangeFeed;
+    private final ProductHistory productHistory;
+    private final ProductShards productShards;
 
+    /**
+     * Hot products show their in-memory quantity, but are filtered and sorted by the quantity
+     * flushed to their row
+     */
+    @Transactional(readOnly = true)
     public Page<ProductResponseDTO> findAll(ProductQueryDTO queryParams, Pageable pageable) {
-        Specification<Product> spec = ProductSpecification.buildSpecification(queryParams);
-        return this.productRepository.findAll(spec, pageable).map(productMapper::toResponseDTO);
+        Set<Long> nameMatches = fuzzyNameMatches(queryParams);
+        if (this.productReadModel.canServe(queryParams, pageable)) {
+            return this.productReadModel.findAll(queryParams, pageable, nameMatches).map(hotStockCounters::overlay);
+        }
+
+        Specification<Product> spec = ProductSpecification.buildSpecification(queryParams, nameMatches);
+        Page<Product> products = this.productShards.isSharded()
+                ? findAllOnShards(spec, pageable)
+                : this.productRepository.findAll(spec, ProductSpecification.withIdTiebreak(pageable));
+        return products
+                .map(productMapper::toResponseDTO)
+                .map(hotStockCounters::overlay);
+    }
+
+    @Transactional(readOnly = true)
+    public Page<Map<String, Object>> findAll(ProductQueryDTO queryParams, Set<ProductField> fields, Pageable pageable) {
+        Set<Long> nameMatches = fuzzyNameMatches(queryParams);
+        if (this.productReadModel.canServe(queryParams, pageable)) {
+            return this.productReadModel.findAll(queryParams, fields, pageable, nameMatches).map(hotStockCounters::overlay);
+        }
+
+        Specification<Product> spec = ProductSpecification.buildSpecification(queryParams, nameMatches);
+        ProductProjection projection = ProductSpecification.buildProjection(fields);
+        if (this.productShards.isSharded()) {
+            // The merge compares the sort keys, which the projection may leave out, so whole rows are read
+            return findAllOnShards(spec, pageable)
+                    .map(product -> projection.toMap(productMapper.toResponseDTO(product)))
+                    .map(hotStockCounters::overlay);
+        }
+        return this.productRepository.findAllProjected(spec, projection, ProductSpecification.withIdTiebreak(pageable))
+                .map(hotStockCounters::overlay);
+    }
+
+    @Transactional(readOnly = true)
+    public ProductFacetsResponseDTO findFacets(ProductQueryDTO queryParams) {
+        Set<Long> nameMatches = fuzzyNameMatches(queryParams);
+        if (this.productReadModel.canServe(queryParams, Pageable.unpaged())) {
+            return this.productReadModel.facets(queryParams, nameMatches);
+        }
+
+        Specification<Product> spec = ProductSpecification.buildSpecification(queryParams, nameMatches);
+        if (this.productShards.isSharded()) {
+            ProductFacets.Counter counter = new ProductFacets.Counter();
+            this.productShards.scatter(shard -> this.productRepository.findFacets(spec)).forEach(counter::add);
+            return counter.toResponse();
+        }
+        return this.productRepository.findFacets(spec);
     }
 
+    /**
+     * Runs the query on every shard in parallel and merges the sorted partial pages
+     */
+    private Page<Product> findAllOnShards(Specification<Product> spec, Pageable pageable) {
+        Pageable perShard = ShardedPages.perShard(pageable);
+        List<Page<Product>> pages = this.productShards.scatter(shard -> this.productRepository.findAll(spec, perShard));
+        return ShardedPages.merge(pages, ShardedPages.comparator(pageable.getSort()), pageable);
+    }
+
+    /**
+     * Resolves a fuzzy name filter to the matching product IDs, or null when the query has none
+     */
+    private Set<Long> fuzzyNameMatches(ProductQueryDTO queryParams) {
+        if (!queryParams.fuzzy() || queryParams.name() == null || queryParams.name().isBlank()) {
+            return null;
+        }
+        return this.fuzzyNameIndex.match(queryParams.name());
+    }
+
+    public ProductStatsResponseDTO findStats() {
+        return this.inventoryStatistics.current();
+    }
+
+    public List<ProductSuggestionDTO> suggest(String prefix, int limit) {
+        return this.nameSuggestionIndex.suggest(prefix, limit);
+    }
+
+    @Transactional(readOnly = true)
+    public Page<ProductResponseDTO> search(String query, Pageable pageable) {
+        Page<String> rankedPublicIds = this.fullTextIndex.search(query, pageable);
+
+        // Hydrate the page in one batched lookup; results keep the relevance order
+        List<ProductResponseDTO> products = findAllByPublicIds(rankedPublicIds.getContent()).products();
+        return new PageImpl<>(products, pageable, rankedPublicIds.getTotalElements());
+    }
+
+    /**
+     * Products created, updated or deleted after the sync token, read by change sequence from an
+     * index so the cost follows the number of changes instead of the catalog size. Without a token
+     * only a new token is returned, to be taken before fetching the whole catalog.
+     *
+     * @throws InvalidSyncTokenException when the token is ahead of the committed changes
+     * @throws ChangesUnavailableException in the sharded mode, where change sequences are per shard
+     */
+    // Not read-only: the token bounds the delta by what the primary committed, which a replica may not hold yet
+    public ProductChangesResponseDTO findChanges(Long since, int limit) {
+        if (this.productShards.isSharded()) {
+            throw new ChangesUnavailableException();
+        }
+
+        // Changes after the committed position may still be preceded by ones that did not commit yet
+        long upTo = this.productChangeFeed.committedPosition();
+        if (since == null) {
+            return new ProductChangesResponseDTO(List.of(), List.of(), Long.toString(upTo), false);
+        }
+        if (since > upTo) {
+            throw new InvalidSyncTokenException(since);
+        }
+
+        List<Product> products = this.productRepository
+                .findByChangeSeqGreaterThanAndChangeSeqLessThanEqualOrderByChangeSeqAsc(since, upTo, Limit.of(limit + 1));
+        List<ProductTombstone> tombstones = this.tombstoneRepository
+                .findByChangeSeqGreaterThanAndChangeSeqLessThanEqualOrderByChangeSeqAsc(since, upTo, Limit.of(limit + 1));
+
+        // Merged by change sequence, which is unique across products and tombstones
+        List<ProductResponseDTO> changed = new ArrayList<>();
+        List<ProductTombstoneDTO> deleted = new ArrayList<>();
+        int productIndex = 0;
+        int tombstoneIndex = 0;
+        long last = since;
+        while (changed.size() + deleted.size() < limit
+                && (productIndex < products.size() || tombstoneIndex < tombstones.size())) {
+            if (tombstoneIndex == tombstones.size() || (productIndex < products.size()
+                    && products.get(productIndex).getChangeSeq() < tombstones.get(tombstoneIndex).getChangeSeq())) {
+                Product product = products.get(productIndex++);
+                changed.add(this.hotStockCounters.overlay(this.productMapper.toResponseDTO(product)));
+                last = product.getChangeSeq();
+            } else {
+                ProductTombstone tombstone = tombstones.get(tombstoneIndex++);
+                deleted.add(new ProductTombstoneDTO(tombstone.getPublicId(), tombstone.getDeletedAt()));
+                last = tombstone.getChangeSeq();
+            }
+        }
+
+        boolean hasMore = productIndex < products.size() || tombstoneIndex < tombstones.size();
+        return new ProductChangesResponseDTO(changed, deleted, Long.toString(hasMore ? last : upTo), hasMore);
+    }
+
+    // Hot products are never served from the cache, their quantity lives in memory
+    @Cacheable(cacheNames = CacheConfig.PRODUCTS_CACHE, key = "#publicId", condition = "!@hotStockCounters.isHot(#publicId)")
+    @Transactional(readOnly = true)
     public ProductResponseDTO findByPublicId(String publicId) {
+        this.productShards.route(publicId);
         Product product = this.productRepository.findByPublicId(publicId)
                 .orElseThrow(() -> new ResourceNotFoundException(
                         this.messageService.getMessage("resource.not.found.by.public.id", publicId))
                 );
 
-        return this.productMapper.toResponseDTO(product);
+        return this.hotStockCounters.overlay(this.productMapper.toResponseDTO(product));
     }
 
-    public ProductResponseDTO save(ProductRequestDTO requestDTO) {
-        // Check if product with same name already exists
-        if (this.productRepository.existsByName(requestDTO.name())) {
-            throw new ProductAlreadyExistsException(requestDTO.name());
+    @Transactional(readOnly = true)
+    public Map<String, Object> findByPublicId(String publicId, Set<ProductField> fields) {
+        this.productShards.route(publicId);
+        ProductProjection projection = ProductSpecification.buildProjection(fields);
+        return this.productRepository.findProjectedByPublicId(publicId, projection)
+                .map(hotStockCounters::overlay)
+                .orElseThrow(() -> new ResourceNotFoundException(
+                        this.messageService.getMessage("resource.not.found.by.public.id", publicId))
+                );
+    }
+
+    /**
+     * State of the product at a point in time, rebuilt from its history
+     */
+    @Transactional(readOnly = true)
+    public ProductResponseDTO findByPublicIdAsOf(String publicId, Instant asOf) {
+        this.productShards.route(publicId);
+        return this.productHistory.findStateAt(publicId, asOf)
+                .orElseThrow(() -> new ResourceNotFoundException(
+                        this.messageService.getMessage("resource.not.found.by.public.id.as.of", publicId, asOf))
+                );
+    }
+
+    @Transactional(readOnly = true)
+    public Page<ProductHistoryEventDTO> findHistory(String publicId, Pageable pageable) {
+        this.productShards.route(publicId);
+        Page<ProductHistoryEventDTO> history = this.productHistory.findEvents(publicId, pageable);
+        if (history.getTotalElements() == 0) {
+            throw new ResourceNotFoundException(this.messageService.getMessage("resource.not.found.by.public.id", publicId));
+        }
+        return history;
+    }
+
+    @Transactional(readOnly = true)
+    public ProductLookupResponseDTO findAllByPublicIds(List<String> publicIds) {
+        Cache cache = this.cacheManager.getCache(CacheConfig.PRODUCTS_CACHE);
+        Set<String> requestedIds = new LinkedHashSet<>(publicIds);
+        Map<String, ProductResponseDTO> found = new HashMap<>();
+        List<String> cacheMisses = new ArrayList<>();
+
+        for (String publicId : requestedIds) {
+            ProductResponseDTO cached = cache != null ? cache.get(publicId, ProductResponseDTO.class) : null;
+            if (cached != null) {
+                found.put(publicId, cached);
+            } else {
+                cacheMisses.add(publicId);
+            }
+        }
+
+        // Resolve every cache miss with a single IN query
+        if (!cacheMisses.isEmpty()) {
+            for (Product product : findByPublicIdIn(cacheMisses)) {
+                ProductResponseDTO responseDTO = this.productMapper.toResponseDTO(product);
+                found.put(product.getPublicId(), responseDTO);
+                if (cache != null) {
+                    cache.put(product.getPublicId(), responseDTO);
+                }
+            }
+        }
+
+        List<ProductResponseDTO> products = new ArrayList<>();
+        List<String> missingPublicIds = new ArrayList<>();
+        for (String publicId : requestedIds) {
+            ProductResponseDTO responseDTO = found.get(publicId);
+            if (responseDTO != null) {
+                products.add(this.hotStockCounters.overlay(responseDTO));
+            } else {
+                missingPublicIds.add(publicId);
+            }
+        }
+
+        return new ProductLookupResponseDTO(products, missingPublicIds);
+    }
+
+    private List<Product> findByPublicIdIn(List<String> publicIds) {
+        if (!this.productShards.isSharded()) {
+            return this.productRepository.findByPublicIdIn(publicIds);
         }
-        
+
+        // Each shard is only asked for its own products
+        Map<Integer, List<String>> publicIdsByShard = publicIds.stream()
+                .collect(Collectors.groupingBy(this.productShards::shardOf));
+        return this.productShards.scatter(shard -> publicIdsByShard.containsKey(shard)
+                        ? this.productRepository.findByPublicIdIn(publicIdsByShard.get(shard))
+                        : List.<Product>of())
+                .stream()
+                .flatMap(List::stream)
+                .toList();
+    }
+
+    @CachePut(cacheNames = CacheConfig.PRODUCTS_CACHE, key = "#result.publicId")
+    public ProductResponseDTO save(ProductRequestDTO requestDTO) {
         Product product = this.productMapper.toEntity(requestDTO);
-        Product savedProduct = this.productRepository.save(product);
+        // The shard is picked from the public ID, so it is assigned before the insert
+        product.generatePublicId();
+        this.productShards.route(product.getPublicId());
+        // Duplicate names are rejected by the unique constraint on the normalized name, not by a prior lookup
+        Product savedProduct = this.saveUniquelyNamed(product, null, this.productRepository::save);
+        this.eventPublisher.publishEvent(ProductChangedEvent.created(ProductSnapshot.from(savedProduct)));
         return this.productMapper.toResponseDTO(savedProduct);
     }
 
-    public ProductResponseDTO update(String publicId, ProductRequestDTO requestDTO) {
-        Product existingProduct = this.productRepository.findByPublicId(publicId)
+    /**
+     * @param expectedVersion version from the If-Match precondition, {@link #ANY_VERSION} for a wildcard,
+     *                        or null to write unconditionally
+     * @throws PreconditionFailedException when the product is at another version or, with a
+     *                                     precondition, does not exist
+     * @throws QuantityBelowReservedException when the quantity is lowered below the reserved units
+     */
+    @CachePut(cacheNames = CacheConfig.PRODUCTS_CACHE, key = "#publicId")
+    public ProductResponseDTO update(String publicId, ProductRequestDTO requestDTO, Long expectedVersion) {
+        this.productShards.route(publicId);
+        // A hot product is flushed and demoted, so the update works on its current row
+        this.hotStockCounters.suspend(publicId);
+        Product existingProduct = findForConditionalWrite(publicId, expectedVersion);
+        checkVersion(existingProduct, expectedVersion);
+
+        ProductSnapshot before = ProductSnapshot.from(existingProduct);
+        this.productMapper.updateEntityFromDTO(existingProduct, requestDTO);
+        // Flushed right away so the response carries the incremented version
+        Product updatedProduct = this.saveUniquelyNamed(existingProduct, before.name(), this.productRepository::saveAndFlush);
+        checkReserved(updatedProduct, before);
+        this.eventPublisher.publishEvent(ProductChangedEvent.updated(before, ProductSnapshot.from(updatedProduct)));
+
+        return this.productMapper.toResponseDTO(updatedProduct);
+    }
+
+    /**
+     * @param expectedVersion version from the If-Match precondition, {@link #ANY_VERSION} for a wildcard,
+     *                        or null to write unconditionally
+     * @throws PreconditionFailedException when the product is at another version or, with a
+     *                                     precondition, does not exist
+     * @throws QuantityBelowReservedException when the quantity is lowered below the reserved units
+     */
+    @CachePut(cacheNames = CacheConfig.PRODUCTS_CACHE, key = "#publicId")
+    public ProductResponseDTO patch(String publicId, JsonNode mergePatch, Long expectedVersion) {
+        return patch(publicId, mergePatch, expectedVersion, null);
+    }
+
+    /**
+     * Runs a merge patch without If-Match again after it lost a race. Only when the concurrent
+     * write left every member the patch sets as the lost attempt read it do the two commute;
+     * otherwise the conflict is rethrown.
+     *
+     * @throws OptimisticLockingFailureException the conflict, when the patch cannot run again
+     */
+    @CachePut(cacheNames = CacheConfig.PRODUCTS_CACHE, key = "#publicId")
+    public ProductResponseDTO patchAfterConflict(String publicId, JsonNode mergePatch,
+                                                 OptimisticLockingFailureException conflict) {
+        if (!(conflict instanceof MergePatchConflictException lostRace)) {
+            throw conflict;
+        }
+        return patch(publicId, mergePatch, null, lostRace);
+    }
+
+    private ProductResponseDTO patch(String publicId, JsonNode mergePatch, Long expectedVersion,
+                                     MergePatchConflictException lostRace) {
+        this.productShards.route(publicId);
+        // A hot product is flushed and demoted, so the update works on its current row
+        this.hotStockCounters.suspend(publicId);
+        Product existingProduct = findForConditionalWrite(publicId, expectedVersion);
+        checkVersion(existingProduct, expectedVersion);
+
+        ProductRequestDTO currentState = this.productMapper.toRequestDTO(existingProduct);
+        if (lostRace != null && this.jsonMergePatcher.overlaps(mergePatch, lostRace.getBase(), currentState)) {
+            throw lostRace;
+        }
+        ProductRequestDTO mergedState = this.jsonMergePatcher.apply(currentState, mergePatch, ProductRequestDTO.class);
+
+        // Field and cross-field business rules must hold for the merged state
+        Set<ConstraintViolation<ProductRequestDTO>> violations = this.validator.validate(mergedState);
+        if (!violations.isEmpty()) {
+            throw new ConstraintViolationException(violations);
+        }
+
+        ProductSnapshot before = ProductSnapshot.from(existingProduct);
+        this.productMapper.applyChanges(existingProduct, mergedState);
+        Product patchedProduct;
+        try {
+            patchedProduct = this.saveUniquelyNamed(existingProduct, before.name(), this.productRepository::saveAndFlush);
+        } catch (OptimisticLockingFailureException ex) {
+            throw new MergePatchConflictException(publicId, currentState, ex);
+        }
+        checkReserved(patchedProduct, before);
+        this.eventPublisher.publishEvent(ProductChangedEvent.updated(before, ProductSnapshot.from(patchedProduct)));
+
+        return this.productMapper.toResponseDTO(patchedProduct);
+    }
+
+    /**
+     * Adds a signed delta to the stock with a single conditional UPDATE instead of a
+     * read-modify-write, so concurrent adjustments of the same product never lose updates.
+     * The product is only read afterwards, while the row lock is still held, to build the response.
+     * Hot products are adjusted in their in-memory counters instead.
+     */
+    @CachePut(cacheNames = CacheConfig.PRODUCTS_CACHE, key = "#publicId", unless = "@hotStockCounters.isHot(#publicId)")
+    public ProductResponseDTO adjustStock(String publicId, int delta) {
+        this.productShards.route(publicId);
+        Optional<ProductResponseDTO> hotProduct = this.hotStockCounters.adjust(publicId, delta);
+        if (hotProduct.isPresent()) {
+            return hotProduct.get();
+        }
+
+        if (this.productRepository.adjustQuantity(publicId, delta) == 0) {
+            Product product = this.productRepository.findByPublicId(publicId)
+                    .orElseThrow(() -> new ResourceNotFoundException(
+                            this.messageService.getMessage("resource.not.found.by.public.id", publicId))
+                    );
+            throw new StockAdjustmentRejectedException(publicId, delta, product.getQuantity());
+        }
+
+        Product adjustedProduct = this.productRepository.findByPublicId(publicId)
                 .orElseThrow(() -> new ResourceNotFoundException(
                         this.messageService.getMessage("resource.not.found.by.public.id", publicId))
                 );
 
-        this.productMapper.updateEntityFromDTO(existingProduct, requestDTO);
-        Product updatedProduct = this.productRepository.save(existingProduct);
+        ProductSnapshot after = ProductSnapshot.from(adjustedProduct);
+        ProductSnapshot before = after.beforeStockChange(delta);
+        this.eventPublisher.publishEvent(ProductChangedEvent.updated(before, after));
 
-        return this.productMapper.toResponseDTO(updatedProduct);
+        return this.productMapper.toResponseDTO(adjustedProduct);
+    }
+
+    @Transactional(readOnly = true)
+    public StockAvailabilityResponseDTO findAvailability(String publicId) {
+        this.productShards.route(publicId);
+        return this.stockReservations.availability(publicId);
     }
 
-    public void delete(String publicId) {
-        this.productRepository.findByPublicId(publicId).ifPresent(productRepository::delete);
+    public StockReservationResponseDTO reserve(String publicId, StockReservationRequestDTO requestDTO) {
+        this.productShards.route(publicId);
+        Duration ttl = requestDTO.ttlSeconds() != null ? Duration.ofSeconds(requestDTO.ttlSeconds()) : null;
+        return this.stockReservations.reserve(publicId, requestDTO.quantity(), ttl);
+    }
+
+    @CachePut(cacheNames = CacheConfig.PRODUCTS_CACHE, key = "#publicId")
+    public ProductResponseDTO confirmReservation(String publicId, String reservationId) {
+        this.productShards.route(publicId);
+        return this.productMapper.toResponseDTO(this.stockReservations.confirm(publicId, reservationId));
+    }
+
+    public void releaseReservation(String publicId, String reservationId) {
+        this.productShards.route(publicId);
+        this.stockReservations.release(publicId, reservationId);
+    }
+
+    /**
+     * @param expectedVersion version from the If-Match precondition, {@link #ANY_VERSION} for a wildcard,
+     *                        or null to delete unconditionally
+     * @throws PreconditionFailedException when the product is at another version or, with a
+     *                                     precondition, does not exist
+     */
+    @CacheEvict(cacheNames = CacheConfig.PRODUCTS_CACHE, key = "#publicId")
+    public void delete(String publicId, Long expectedVersion) {
+        this.productShards.route(publicId);
+        this.hotStockCounters.suspend(publicId);
+        Optional<Product> existingProduct = this.productRepository.findByPublicId(publicId);
+        if (existingProduct.isEmpty() && expectedVersion != null) {
+            throw new PreconditionFailedException(publicId, null);
+        }
+
+        existingProduct.ifPresent(product -> {
+            checkVersion(product, expectedVersion);
+            this.productRepository.delete(product);
+            this.productShards.releaseName(publicId, product.getName());
+            this.eventPublisher.publishEvent(ProductChangedEvent.deleted(ProductSnapshot.from(product)));
+        });
+    }
+
+    /**
+     * Rejects a lowered quantity that no longer covers the reserved units. Checked after the write,
+     * while its row lock keeps reservations from committing in between, against the reserved units
+     * of the row, which a reservation changes without touching the version.
+     *
+     * @throws QuantityBelowReservedException when fewer units than reserved would be left
+     */
+    private void checkReserved(Product product, ProductSnapshot before) {
+        if (product.getQuantity() >= before.quantity()) {
+            return;
+        }
+        int reserved = this.productRepository.findReservedById(product.getId());
+        if (product.getQuantity() < reserved) {
+            throw new QuantityBelowReservedException(product.getPublicId(), product.getQuantity(), reserved);
+        }
+    }
+
+    /**
+     * Writes the product right away, turning a violation of the unique name constraint into
+     * {@link ProductAlreadyExistsException}. With sharding the name is first claimed across the
+     * shards, whose constraints only cover their own products.
+     *
+     * @param previousName name of the product before this write, or null for a new product
+     */
+    private Product saveUniquelyNamed(Product product, String previousName, UnaryOperator<Product> write) {
+        this.productShards.claimName(product.getPublicId(), product.getName(), previousName);
+        try {
+            return write.apply(product);
+        } catch (DataIntegrityViolationException ex) {
+            if (ex.getCause() instanceof org.hibernate.exception.ConstraintViolationException violation
+                    && violation.getConstraintName() != null
+                    && violation.getConstraintName().toLowerCase(Locale.ROOT).contains(Product.NAME_UNIQUE_CONSTRAINT)) {
+                throw new ProductAlreadyExistsException(product.getName());
+            }
+            throw ex;
+        }
+    }
+
+    /**
+     * Loads the product a write targets. With an If-Match precondition a missing product fails it,
+     * wildcard included, instead of being reported as not found.
+     */
+    private Product findForConditionalWrite(String publicId, Long expectedVersion) {
+        return this.productRepository.findByPublicId(publicId).orElseThrow(() -> expectedVersion != null
+                ? new PreconditionFailedException(publicId, null)
+                : new ResourceNotFoundException(
+                        this.messageService.getMessage("resource.not.found.by.public.id", publicId)));
+    }
+
+    /**
+     * Compares the If-Match version with the loaded row; a write that commits in between is
+     * still caught by the version check of the UPDATE itself
+     */
+    private void checkVersion(Product product, Long expectedVersion) {
+        if (expectedVersion != null && expectedVersion != ANY_VERSION && !expectedVersion.equals(product.getVersion())) {
+            throw new PreconditionFailedException(product.getPublicId(), product.getVersion());
+        }
     }
 }
\ No newline at end of file
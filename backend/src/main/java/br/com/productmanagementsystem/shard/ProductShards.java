@@ -0,0 +1,366 @@
+package br.com.productmanagementsystem.shard;
+
+import br.com.productmanagementsystem.exception.ProductAlreadyExistsException;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DataAccessException;
+import org.springframework.dao.DuplicateKeyException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import javax.sql.DataSource;
+import java.nio.charset.StandardCharsets;
+import java.sql.Timestamp;
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Locale;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.function.IntFunction;
+import java.util.function.Supplier;
+import java.util.zip.CRC32;
+
+/**
+ * Placement of products on the databases of the sharded mode.
+ * <p>
+ * A product lives on the shard picked by a hash of its public ID, together with the rows that
+ * belong to it: history, outbox events, tombstone and stock reservations. Every write of a product
+ * is then a local transaction of one database. {@link ShardRoutingDataSource} sends a transaction
+ * to the shard bound here, and to the home shard when none is; queries over many products run on
+ * every shard and merge the results.
+ * <p>
+ * Each shard only enforces name uniqueness among its own products, so names are also claimed in
+ * a table of the home shard before a product is written with them. A claim is committed on its
+ * own, ahead of the product write, and given up if that write rolls back; one left behind by a
+ * crash is taken over once it is older than any transaction and its product does not hold the name.
+ * <p>
+ * Without sharding there is a single database and every method runs its work directly.
+ */
+@Slf4j
+@Component
+public class ProductShards {
+
+    public static final int HOME_SHARD = 0;
+
+    /**
+     * A single database, for components built outside Spring
+     */
+    public static final ProductShards UNSHARDED = new ProductShards(1, null, null, null, null, null);
+
+    private static final ThreadLocal<Integer> CURRENT = new ThreadLocal<>();
+
+    private static final String INSERT_CLAIM =
+            "INSERT INTO product_name_claims (normalized_name, product_public_id, claimed_at) VALUES (?, ?, ?)";
+    private static final String READ_CLAIM =
+            "SELECT product_public_id, claimed_at FROM product_name_claims WHERE normalized_name = ?";
+    private static final String TAKE_OVER_CLAIM = "UPDATE product_name_claims SET product_public_id = ?, claimed_at = ? "
+            + "WHERE normalized_name = ? AND product_public_id = ?";
+    private static final String RELEASE_CLAIM =
+            "DELETE FROM product_name_claims WHERE normalized_name = ? AND product_public_id = ?";
+    private static final String HOLDS_NAME = "SELECT COUNT(*) FROM products WHERE public_id = ? AND normalized_name = ?";
+    private static final int CLAIM_ATTEMPTS = 3;
+
+    private final int count;
+    private final TransactionTemplate readTransaction;
+    private final JdbcTemplate jdbcTemplate;
+    private final ExecutorService executor;
+    private final Clock clock;
+    private final Duration claimGrace;
+
+    @Autowired
+    public ProductShards(@Value("${app.sharding.enabled:false}") boolean enabled,
+                         @Value("${app.sharding.urls:}") List<String> shardUrls,
+                         DataSource dataSource,
+                         PlatformTransactionManager transactionManager,
+                         @Value("${app.sharding.name-claim-grace:PT1M}") Duration claimGrace) {
+        this(enabled ? 1 + (int) shardUrls.stream().filter(url -> !url.isBlank()).count() : 1,
+                readOnly(transactionManager), new JdbcTemplate(dataSource),
+                Executors.newVirtualThreadPerTaskExecutor(), Clock.systemUTC(), claimGrace);
+    }
+
+    ProductShards(int count,
+                  TransactionTemplate readTransaction,
+                  JdbcTemplate jdbcTemplate,
+                  ExecutorService executor,
+                  Clock clock,
+                  Duration claimGrace) {
+        this.count = count;
+        this.readTransaction = readTransaction;
+        this.jdbcTemplate = jdbcTemplate;
+        this.executor = executor;
+        this.clock = clock;
+        this.claimGrace = claimGrace;
+    }
+
+    /**
+     * Shard the current thread is bound to, or null for the home shard
+     */
+    static Integer current() {
+        return CURRENT.get();
+    }
+
+    public int count() {
+        return count;
+    }
+
+    public boolean isSharded() {
+        return count > 1;
+    }
+
+    /**
+     * Shard of a product. CRC32 is fixed by its specification, so placement survives restarts and
+     * upgrades; it does not survive a change of the shard count, which needs the products moved.
+     */
+    public int shardOf(String publicId) {
+        CRC32 crc = new CRC32();
+        crc.update(publicId.getBytes(StandardCharsets.UTF_8));
+        return (int) (crc.getValue() % count);
+    }
+
+    /**
+     * Sends the current transaction to the shard of the product. Must be called before the first
+     * statement of the transaction, which is when its connection is taken.
+     *
+     * @throws IllegalStateException outside a transaction, or when the transaction is already on another shard
+     */
+    public void route(String publicId) {
+        if (!isSharded()) {
+            return;
+        }
+
+        int shard = shardOf(publicId);
+        Integer current = CURRENT.get();
+        if (current != null) {
+            if (current != shard) {
+                throw new IllegalStateException("Product " + publicId + " is on shard " + shard
+                        + " but the transaction is on shard " + current);
+            }
+            return;
+        }
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            throw new IllegalStateException("Products are routed to their shard per transaction");
+        }
+
+        CURRENT.set(shard);
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCompletion(int status) {
+                CURRENT.remove();
+            }
+        });
+    }
+
+    /**
+     * Runs work against one shard on the current thread. The work opens its own transactions,
+     * so none may be active.
+     */
+    public <T> T onShard(int shard, Supplier<T> work) {
+        if (!isSharded()) {
+            return work.get();
+        }
+        if (TransactionSynchronizationManager.isActualTransactionActive()) {
+            throw new IllegalStateException("A transaction is already open on shard " + (CURRENT.get() != null ? CURRENT.get() : HOME_SHARD));
+        }
+
+        Integer previous = CURRENT.get();
+        CURRENT.set(shard);
+        try {
+            return work.get();
+        } finally {
+            if (previous != null) {
+                CURRENT.set(previous);
+            } else {
+                CURRENT.remove();
+            }
+        }
+    }
+
+    /**
+     * Runs work against every shard in turn on the current thread
+     *
+     * @return the results in shard order
+     */
+    public <T> List<T> onEveryShard(Supplier<T> work) {
+        List<T> results = new ArrayList<>(count);
+        for (int shard = 0; shard < count; shard++) {
+            results.add(onShard(shard, work));
+        }
+        return results;
+    }
+
+    /**
+     * Runs a query on every shard in parallel, each in its own read-only transaction. Without
+     * sharding the query runs on the calling thread, in its transaction if it has one.
+     *
+     * @return the results in shard order
+     */
+    public <T> List<T> scatter(IntFunction<T> query) {
+        if (!isSharded()) {
+            return Collections.singletonList(query.apply(HOME_SHARD));
+        }
+
+        List<Future<T>> futures = new ArrayList<>(count);
+        for (int shard = 0; shard < count; shard++) {
+            int target = shard;
+            futures.add(executor.submit(() -> onShard(target, () -> readTransaction.execute(status -> query.apply(target)))));
+        }
+        return join(futures);
+    }
+
+    /**
+     * Claims a name for the product across every shard, before the product is written with it in
+     * the current transaction. A new claim is given up if the transaction rolls back, the
+     * previous name of the product once it commits.
+     *
+     * @param previousName name the product had so far, or null for a new product
+     * @throws ProductAlreadyExistsException when another product holds the name
+     */
+    public void claimName(String publicId, String name, String previousName) {
+        if (!isSharded()) {
+            return;
+        }
+
+        String claimed = normalize(name);
+        String previous = previousName != null ? normalize(previousName) : null;
+        if (claimed.equals(previous)) {
+            return;
+        }
+
+        boolean taken = onSeparateThread(HOME_SHARD, () -> claim(claimed, publicId, name));
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCompletion(int status) {
+                if (status == STATUS_COMMITTED && previous != null) {
+                    release(previous, publicId);
+                } else if (status != STATUS_COMMITTED && taken) {
+                    release(claimed, publicId);
+                }
+            }
+        });
+    }
+
+    /**
+     * Gives up the name of a product deleted in the current transaction, once it commits
+     */
+    public void releaseName(String publicId, String name) {
+        if (!isSharded()) {
+            return;
+        }
+
+        String claimed = normalize(name);
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                release(claimed, publicId);
+            }
+        });
+    }
+
+    @PreDestroy
+    public void stop() {
+        if (executor != null) {
+            executor.shutdownNow();
+        }
+    }
+
+    /**
+     * @return whether the claim was taken now, false when the product already held it
+     */
+    private boolean claim(String claimed, String publicId, String name) {
+        for (int attempt = 0; attempt < CLAIM_ATTEMPTS; attempt++) {
+            Instant now = clock.instant();
+            try {
+                jdbcTemplate.update(INSERT_CLAIM, claimed, publicId, Timestamp.from(now));
+                return true;
+            } catch (DuplicateKeyException ex) {
+                List<Claim> holders = jdbcTemplate.query(READ_CLAIM, (rs, rowNum) ->
+                        new Claim(rs.getString(1), rs.getTimestamp(2).toInstant()), claimed);
+                if (holders.isEmpty()) {
+                    continue; // Released in the meantime
+                }
+
+                Claim holder = holders.getFirst();
+                if (holder.publicId().equals(publicId)) {
+                    return false;
+                }
+                if (holder.claimedAt().plus(claimGrace).isAfter(now) || holdsName(holder.publicId(), claimed)) {
+                    throw new ProductAlreadyExistsException(name);
+                }
+                // Left behind by a write that never committed
+                if (jdbcTemplate.update(TAKE_OVER_CLAIM, publicId, Timestamp.from(now), claimed, holder.publicId()) == 1) {
+                    return true;
+                }
+            }
+        }
+        throw new ProductAlreadyExistsException(name);
+    }
+
+    private boolean holdsName(String publicId, String claimed) {
+        Integer matches = onShard(shardOf(publicId),
+                () -> jdbcTemplate.queryForObject(HOLDS_NAME, Integer.class, publicId, claimed));
+        return matches != null && matches > 0;
+    }
+
+    private void release(String claimed, String publicId) {
+        try {
+            onSeparateThread(HOME_SHARD, () -> jdbcTemplate.update(RELEASE_CLAIM, claimed, publicId));
+        } catch (DataAccessException ex) {
+            // Taken over once stale, as its product does not hold the name
+            log.warn("Could not release the name claim of product {}", publicId, ex);
+        }
+    }
+
+    // The calling thread may be in a transaction on another shard, whose connection JDBC access would reuse
+    private <T> T onSeparateThread(int shard, Supplier<T> work) {
+        return join(List.of(executor.submit(() -> onShard(shard, work)))).getFirst();
+    }
+
+    private static <T> List<T> join(List<Future<T>> futures) {
+        List<T> results = new ArrayList<>(futures.size());
+        try {
+            for (Future<T> future : futures) {
+                results.add(future.get());
+            }
+        } catch (InterruptedException ex) {
+            futures.forEach(future -> future.cancel(true));
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Interrupted while waiting for the shards", ex);
+        } catch (ExecutionException ex) {
+            futures.forEach(future -> future.cancel(true));
+            if (ex.getCause() instanceof RuntimeException runtimeException) {
+                throw runtimeException;
+            }
+            if (ex.getCause() instanceof Error error) {
+                throw error;
+            }
+            throw new IllegalStateException(ex.getCause());
+        }
+        return results;
+    }
+
+    // Same normalization as the generated Product.normalizedName column
+    private static String normalize(String name) {
+        return name.trim().toLowerCase(Locale.ROOT);
+    }
+
+    private static TransactionTemplate readOnly(PlatformTransactionManager transactionManager) {
+        TransactionTemplate template = new TransactionTemplate(transactionManager);
+        template.setReadOnly(true);
+        return template;
+    }
+
+    private record Claim(String publicId, Instant claimedAt) {
+    }
+}
@@ -0,0 +1,80 @@
+package br.com.productmanagementsystem.shard;
+
+import jakarta.persistence.EntityManagerFactory;
+import lombok.extern.slf4j.Slf4j;
+import org.hibernate.SessionFactory;
+import org.springframework.beans.factory.SmartInitializingSingleton;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowCallbackHandler;
+
+import javax.sql.DataSource;
+import java.util.List;
+
+/**
+ * Prepares the shards before the application starts reading them.
+ * <p>
+ * Hibernate only creates the schema on the home shard, the connection it gets at startup, so it
+ * is exported to the other shards here. Products and stock reservations are looked up by id
+ * across shards, by the in-memory views and the expiry of reservations, so their generated ids
+ * are interleaved: shard {@code s} of {@code n} hands out {@code s + 1}, {@code s + 1 + n}, and so on.
+ * Finally every product must be on the shard of its public ID; rows inserted straight into the
+ * home shard, such as the seed data, are not, and would be missed by point lookups.
+ */
+@Slf4j
+public class ShardSchemaInitializer implements SmartInitializingSingleton {
+
+    private static final List<String> INTERLEAVED_TABLES = List.of("products", "stock_reservations");
+
+    private final EntityManagerFactory entityManagerFactory;
+    private final JdbcTemplate jdbcTemplate;
+    private final ProductShards productShards;
+    private final boolean createSchema;
+
+    public ShardSchemaInitializer(EntityManagerFactory entityManagerFactory,
+                                  DataSource dataSource,
+                                  ProductShards productShards,
+                                  boolean createSchema) {
+        this.entityManagerFactory = entityManagerFactory;
+        this.jdbcTemplate = new JdbcTemplate(dataSource);
+        this.productShards = productShards;
+        this.createSchema = createSchema;
+    }
+
+    @Override
+    public void afterSingletonsInstantiated() {
+        for (int shard = 0; shard < productShards.count(); shard++) {
+            int target = shard;
+            productShards.onShard(target, () -> {
+                if (createSchema && target != ProductShards.HOME_SHARD) {
+                    entityManagerFactory.unwrap(SessionFactory.class).getSchemaManager().exportMappedObjects(true);
+                }
+                INTERLEAVED_TABLES.forEach(table -> interleaveIds(table, target));
+                checkPlacement(target);
+                return null;
+            });
+        }
+
+        log.info("Products are sharded over {} databases", productShards.count());
+        log.warn("The change feed and the delta sync only follow the products on the home shard");
+    }
+
+    private void interleaveIds(String table, int shard) {
+        int shards = productShards.count();
+        Long maxId = jdbcTemplate.queryForObject("SELECT MAX(id) FROM " + table, Long.class);
+        long next = (maxId != null ? maxId : 0) + 1;
+        next += Math.floorMod(shard + 1 - next, shards);
+        jdbcTemplate.execute("ALTER TABLE " + table + " ALTER COLUMN id RESTART WITH " + next + " SET INCREMENT BY " + shards);
+    }
+
+    private void checkPlacement(int shard) {
+        jdbcTemplate.query("SELECT public_id FROM products", (RowCallbackHandler) rs -> {
+            String publicId = rs.getString(1);
+            int owner = productShards.shardOf(publicId);
+            if (owner != shard) {
+                throw new IllegalStateException("Product " + publicId + " is on shard " + shard + " but belongs on shard "
+                        + owner + "; sharded databases must be written through the application, without the seed data "
+                        + "of spring.sql.init");
+            }
+        });
+    }
+}
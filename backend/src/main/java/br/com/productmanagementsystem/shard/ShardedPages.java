@@ -0,0 +1,169 @@
+package br.com.productmanagementsystem.shard;
+
+import br.com.productmanagementsystem.entity.Product;
+import br.com.productmanagementsystem.exception.PageTooDeepException;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageImpl;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Sort;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Locale;
+import java.util.PriorityQueue;
+import java.util.function.Function;
+
+/**
+ * Scatter-gather paging: every shard returns its first {@code offset + size} rows in the
+ * requested order, and a k-way merge of those sorted runs skips the offset and keeps the page.
+ * <p>
+ * The order ends with an ascending id tiebreak, on the shards and in the merge alike, so rows
+ * with equal sort keys come out the same way on every request. The comparator reproduces the
+ * ordering of the database, including its default of sorting nulls low.
+ * <p>
+ * Every shard reads the whole offset, so pages start at most {@link #MAX_OFFSET} rows deep.
+ */
+public final class ShardedPages {
+
+    public static final long MAX_OFFSET = 10_000;
+
+    private static final String ID = "id";
+
+    private ShardedPages() {
+    }
+
+    /**
+     * Page to request from each shard for a page of the merged result
+     *
+     * @throws PageTooDeepException when the page starts past {@link #MAX_OFFSET}
+     */
+    public static Pageable perShard(Pageable pageable) {
+        Sort sort = withIdTiebreak(pageable.getSort());
+        if (pageable.isUnpaged()) {
+            return Pageable.unpaged(sort);
+        }
+        if (pageable.getOffset() > MAX_OFFSET) {
+            throw new PageTooDeepException(pageable.getOffset(), MAX_OFFSET);
+        }
+        return PageRequest.of(0, (int) pageable.getOffset() + pageable.getPageSize(), sort);
+    }
+
+    /**
+     * Merges the pages returned by the shards for {@link #perShard(Pageable)}
+     */
+    public static <T> Page<T> merge(List<Page<T>> shardPages, Comparator<? super T> comparator, Pageable pageable) {
+        long total = 0;
+        List<List<T>> runs = new ArrayList<>(shardPages.size());
+        for (Page<T> shardPage : shardPages) {
+            total += shardPage.getTotalElements();
+            runs.add(shardPage.getContent());
+        }
+
+        List<T> content = pageable.isPaged()
+                ? merge(runs, comparator, pageable.getOffset(), pageable.getPageSize())
+                : merge(runs, comparator, 0, Integer.MAX_VALUE);
+        return new PageImpl<>(content, pageable, total);
+    }
+
+    /**
+     * K-way merge of runs that are each sorted by the comparator, skipping the first {@code skip}
+     * elements and keeping at most {@code limit}. Equal elements keep the order of their runs.
+     */
+    public static <T> List<T> merge(List<? extends List<? extends T>> runs, Comparator<? super T> comparator,
+                                    long skip, int limit) {
+        PriorityQueue<Cursor<T>> heads = new PriorityQueue<>(Math.max(1, runs.size()), (left, right) -> {
+            int result = comparator.compare(left.head(), right.head());
+            return result != 0 ? result : Integer.compare(left.run, right.run);
+        });
+        for (int run = 0; run < runs.size(); run++) {
+            if (!runs.get(run).isEmpty()) {
+                heads.add(new Cursor<>(run, runs.get(run)));
+            }
+        }
+
+        List<T> merged = new ArrayList<>();
+        long skipped = 0;
+        while (!heads.isEmpty() && merged.size() < limit) {
+            Cursor<T> cursor = heads.poll();
+            if (skipped < skip) {
+                skipped++;
+            } else {
+                merged.add(cursor.head());
+            }
+            if (cursor.advance()) {
+                heads.add(cursor);
+            }
+        }
+        return merged;
+    }
+
+    /**
+     * Order of products for a sort on {@link br.com.productmanagementsystem.specification.ProductSpecification#SORTABLE_PROPERTIES},
+     * with the id tiebreak
+     */
+    public static Comparator<Product> comparator(Sort sort) {
+        Comparator<Product> comparator = null;
+        for (Sort.Order order : withIdTiebreak(sort)) {
+            Comparator<Product> next = switch (order.getProperty()) {
+                case ID -> compare(Product::getId, order);
+                case "publicId" -> compareText(Product::getPublicId, order);
+                case "name" -> compareText(Product::getName, order);
+                case "price" -> compare(Product::getPrice, order);
+                case "description" -> compareText(Product::getDescription, order);
+                case "quantity" -> compare(Product::getQuantity, order);
+                default -> throw new IllegalArgumentException("Unsupported sort property: " + order.getProperty());
+            };
+            comparator = comparator == null ? next : comparator.thenComparing(next);
+        }
+        return comparator;
+    }
+
+    private static Sort withIdTiebreak(Sort sort) {
+        return sort.getOrderFor(ID) != null ? sort : sort.and(Sort.by(ID));
+    }
+
+    private static Comparator<Product> compareText(Function<Product, String> property, Sort.Order order) {
+        Comparator<String> values = order.isIgnoreCase()
+                ? Comparator.comparing(value -> value.toLowerCase(Locale.ROOT))
+                : Comparator.naturalOrder();
+        return compare(property, values, order);
+    }
+
+    private static <V extends Comparable<? super V>> Comparator<Product> compare(Function<Product, V> property,
+                                                                                Sort.Order order) {
+        return compare(property, Comparator.<V>naturalOrder(), order);
+    }
+
+    private static <V> Comparator<Product> compare(Function<Product, V> property, Comparator<V> values, Sort.Order order) {
+        boolean nullsFirst = switch (order.getNullHandling()) {
+            case NULLS_FIRST -> true;
+            case NULLS_LAST -> false;
+            case NATIVE -> order.isAscending();
+        };
+
+        Comparator<V> directed = order.isAscending() ? values : values.reversed();
+        return Comparator.comparing(property, nullsFirst ? Comparator.nullsFirst(directed) : Comparator.nullsLast(directed));
+    }
+
+    private static final class Cursor<T> {
+
+        private final int run;
+        private final List<? extends T> elements;
+        private int position;
+
+        private Cursor(int run, List<? extends T> elements) {
+            this.run = run;
+            this.elements = elements;
+        }
+
+        private T head() {
+            return elements.get(position);
+        }
+
+        private boolean advance() {
+            return ++position < elements.size();
+        }
+    }
+}
@@ -0,0 +1,160 @@
+package br.com.productmanagementsystem.specification;
+
+import br.com.productmanagementsystem.dto.ProductFacetsResponseDTO;
+import br.com.productmanagementsystem.entity.Product;
+import jakarta.persistence.Tuple;
+import jakarta.persistence.criteria.CriteriaBuilder;
+import jakarta.persistence.criteria.Expression;
+import jakarta.persistence.criteria.Predicate;
+import jakarta.persistence.criteria.Root;
+import jakarta.persistence.criteria.Selection;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Facet definitions for product listings: price buckets, quantity bands and stock status.
+ * All facets are computed together, either as conditional aggregates of a single SQL
+ * query or by feeding rows of an in-memory scan into a {@link Counter}.
+ */
+public final class ProductFacets {
+
+    /**
+     * Lower bounds of the price buckets, in cents
+     */
+    static final long[] PRICE_EDGES_CENTS = {0, 50_00, 100_00, 500_00, 1_000_00, 5_000_00};
+
+    /**
+     * Lower bounds of the quantity bands; the first band holds out of stock products
+     */
+    static final int[] QUANTITY_EDGES = {0, 1, 11, 51, 101};
+
+    private static final String TOTAL_ALIAS = "total";
+    private static final String PRICE_ALIAS = "price_";
+    private static final String QUANTITY_ALIAS = "quantity_";
+
+    private ProductFacets() {
+    }
+
+    /**
+     * Builds the aggregate selections computing every facet in one pass over the filtered rows
+     */
+    public static List<Selection<?>> toSelections(Root<Product> root, CriteriaBuilder criteriaBuilder) {
+        List<Selection<?>> selections = new ArrayList<>();
+        selections.add(criteriaBuilder.count(root).alias(TOTAL_ALIAS));
+
+        Expression<BigDecimal> price = root.get("price");
+        for (int i = 0; i < PRICE_EDGES_CENTS.length; i++) {
+            Predicate inBucket = criteriaBuilder.greaterThanOrEqualTo(price, BigDecimal.valueOf(PRICE_EDGES_CENTS[i], 2));
+            if (i + 1 < PRICE_EDGES_CENTS.length) {
+                inBucket = criteriaBuilder.and(inBucket,
+                        criteriaBuilder.lessThan(price, BigDecimal.valueOf(PRICE_EDGES_CENTS[i + 1], 2)));
+            }
+            selections.add(countWhere(criteriaBuilder, inBucket).alias(PRICE_ALIAS + i));
+        }
+
+        Expression<Integer> quantity = root.get("quantity");
+        for (int i = 0; i < QUANTITY_EDGES.length; i++) {
+            Predicate inBand = criteriaBuilder.greaterThanOrEqualTo(quantity, QUANTITY_EDGES[i]);
+            if (i + 1 < QUANTITY_EDGES.length) {
+                inBand = criteriaBuilder.and(inBand, criteriaBuilder.lessThan(quantity, QUANTITY_EDGES[i + 1]));
+            }
+            selections.add(countWhere(criteriaBuilder, inBand).alias(QUANTITY_ALIAS + i));
+        }
+
+        return selections;
+    }
+
+    /**
+     * Converts the aggregate tuple produced by {@link #toSelections} into facet counts
+     */
+    public static ProductFacetsResponseDTO fromTuple(Tuple tuple) {
+        Counter counter = new Counter();
+        counter.total = valueOf(tuple.get(TOTAL_ALIAS));
+        for (int i = 0; i < PRICE_EDGES_CENTS.length; i++) {
+            counter.priceCounts[i] = valueOf(tuple.get(PRICE_ALIAS + i));
+        }
+        for (int i = 0; i < QUANTITY_EDGES.length; i++) {
+            counter.quantityCounts[i] = valueOf(tuple.get(QUANTITY_ALIAS + i));
+        }
+        return counter.toResponse();
+    }
+
+    private static Expression<Long> countWhere(CriteriaBuilder criteriaBuilder, Predicate predicate) {
+        return criteriaBuilder.sum(criteriaBuilder.<Long>selectCase().when(predicate, 1L).otherwise(0L));
+    }
+
+    // SUM over an empty set is NULL
+    private static long valueOf(Object aggregate) {
+        return aggregate != null ? ((Number) aggregate).longValue() : 0L;
+    }
+
+    /**
+     * Accumulates facet counts row by row, or shard by shard
+     */
+    public static final class Counter {
+
+        private long total;
+        private final long[] priceCounts = new long[PRICE_EDGES_CENTS.length];
+        private final long[] quantityCounts = new long[QUANTITY_EDGES.length];
+
+        public void add(long priceCents, int quantity) {
+            total++;
+            priceCounts[bucketOf(PRICE_EDGES_CENTS, priceCents)]++;
+            quantityCounts[bandOf(quantity)]++;
+        }
+
+        /**
+         * Adds the counts computed by another shard; the buckets are the same on every shard
+         */
+        public void add(ProductFacetsResponseDTO facets) {
+            total += facets.total();
+            for (int i = 0; i < PRICE_EDGES_CENTS.length; i++) {
+                priceCounts[i] += facets.priceBuckets().get(i).count();
+            }
+            for (int i = 0; i < QUANTITY_EDGES.length; i++) {
+                quantityCounts[i] += facets.quantityBands().get(i).count();
+            }
+        }
+
+        public ProductFacetsResponseDTO toResponse() {
+            List<ProductFacetsResponseDTO.PriceBucket> priceBuckets = new ArrayList<>();
+            for (int i = 0; i < PRICE_EDGES_CENTS.length; i++) {
+                BigDecimal to = i + 1 < PRICE_EDGES_CENTS.length ? BigDecimal.valueOf(PRICE_EDGES_CENTS[i + 1], 2) : null;
+                priceBuckets.add(new ProductFacetsResponseDTO.PriceBucket(
+                        BigDecimal.valueOf(PRICE_EDGES_CENTS[i], 2), to, priceCounts[i]));
+            }
+
+            List<ProductFacetsResponseDTO.QuantityBand> quantityBands = new ArrayList<>();
+            for (int i = 0; i < QUANTITY_EDGES.length; i++) {
+                Integer to = i + 1 < QUANTITY_EDGES.length ? QUANTITY_EDGES[i + 1] - 1 : null;
+                quantityBands.add(new ProductFacetsResponseDTO.QuantityBand(QUANTITY_EDGES[i], to, quantityCounts[i]));
+            }
+
+            long outOfStock = quantityCounts[0];
+            return new ProductFacetsResponseDTO(
+                    total,
+                    priceBuckets,
+                    new ProductFacetsResponseDTO.StockStatus(total - outOfStock, outOfStock),
+                    quantityBands
+            );
+        }
+
+        private static int bucketOf(long[] edges, long value) {
+            int bucket = 0;
+            while (bucket + 1 < edges.length && value >= edges[bucket + 1]) {
+                bucket++;
+            }
+            return bucket;
+        }
+
+        private static int bandOf(int quantity) {
+            int band = 0;
+            while (band + 1 < QUANTITY_EDGES.length && quantity >= QUANTITY_EDGES[band + 1]) {
+                band++;
+            }
+            return band;
+        }
+    }
+}
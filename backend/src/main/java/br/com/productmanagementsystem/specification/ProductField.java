@@ -0,0 +1,55 @@
+package br.com.productmanagementsystem.specification;
+
+import lombok.Getter;
+import lombok.RequiredArgsConstructor;
+
+import java.util.Arrays;
+import java.util.EnumSet;
+import java.util.Set;
+
+/**
+ * Product attributes that can be selected through sparse fieldsets
+ */
+@Getter
+@RequiredArgsConstructor
+public enum ProductField {
+
+    PUBLIC_ID("publicId"),
+    NAME("name"),
+    PRICE("price"),
+    DESCRIPTION("description"),
+    QUANTITY("quantity");
+
+    /**
+     * Regular expression accepted by the {@code fields} request parameter
+     */
+    public static final String FIELDS_PATTERN =
+            "^(publicId|name|price|description|quantity)(,(publicId|name|price|description|quantity))*$";
+
+    private final String property;
+
+    /**
+     * Resolves a field by its JSON/entity property name
+     */
+    public static ProductField fromProperty(String property) {
+        return Arrays.stream(values())
+                .filter(field -> field.property.equals(property.trim()))
+                .findFirst()
+                .orElseThrow(() -> new IllegalArgumentException("Unknown product field: " + property));
+    }
+
+    /**
+     * Parses a comma separated list of property names, e.g. {@code publicId,name,price}
+     */
+    public static Set<ProductField> parse(String fields) {
+        Set<ProductField> selected = EnumSet.noneOf(ProductField.class);
+        if (fields == null || fields.isBlank()) {
+            return EnumSet.allOf(ProductField.class);
+        }
+
+        for (String property : fields.split(",")) {
+            selected.add(fromProperty(property));
+        }
+        return selected;
+    }
+}
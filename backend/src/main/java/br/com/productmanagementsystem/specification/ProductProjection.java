@@ -0,0 +1,67 @@
+package br.com.productmanagementsystem.specification;
+
+import br.com.productmanagementsystem.dto.ProductResponseDTO;
+import br.com.productmanagementsystem.entity.Product;
+import jakarta.persistence.Tuple;
+import jakarta.persistence.criteria.Root;
+import jakarta.persistence.criteria.Selection;
+
+import java.util.EnumSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Dynamic column selection for Product queries.
+ * Only the selected columns are read from the database and serialized.
+ */
+public record ProductProjection(List<ProductField> fields) {
+
+    public ProductProjection {
+        fields = List.copyOf(fields);
+        if (fields.isEmpty()) {
+            throw new IllegalArgumentException("Projection must select at least one field");
+        }
+    }
+
+    /**
+     * Creates a projection keeping the canonical field order
+     */
+    public static ProductProjection of(Set<ProductField> fields) {
+        return new ProductProjection(List.copyOf(EnumSet.copyOf(fields)));
+    }
+
+    /**
+     * Builds the criteria selections for this projection
+     */
+    public List<Selection<?>> toSelections(Root<Product> root) {
+        return fields.stream()
+                .<Selection<?>>map(field -> root.get(field.getProperty()).alias(field.getProperty()))
+                .toList();
+    }
+
+    /**
+     * Converts a projected tuple into an ordered property map
+     */
+    public Map<String, Object> toMap(Tuple tuple) {
+        Map<String, Object> values = new LinkedHashMap<>();
+        fields.forEach(field -> values.put(field.getProperty(), tuple.get(field.getProperty())));
+        return values;
+    }
+
+    /**
+     * Selects the projected properties of a product that was already read
+     */
+    public Map<String, Object> toMap(ProductResponseDTO product) {
+        Map<String, Object> values = new LinkedHashMap<>();
+        fields.forEach(field -> values.put(field.getProperty(), switch (field) {
+            case PUBLIC_ID -> product.publicId();
+            case NAME -> product.name();
+            case PRICE -> product.price();
+            case DESCRIPTION -> product.description();
+            case QUANTITY -> product.quantity();
+        }));
+        return values;
+    }
+}
@@ -2,30 +2,84 @@ package br.com.productmanagementsystem.specification;
 
 import br.com.productmanagementsystem.dto.ProductQueryDTO;
 import br.com.productmanagementsystem.entity.Product;
+import br.com.productmanagementsystem.exception.InvalidSortPropertyException;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Sort;
 import org.springframework.data.jpa.domain.Specification;
 
 import java.math.BigDecimal;
+import java.util.Collection;
+import java.util.List;
+import java.util.Set;
 
 /**
  * Utility class to create specifications for dynamic Product queries
  */
 public final class ProductSpecification {
 
+    /**
+     * Properties accepted in the {@code sort} request parameter
+     */
+    public static final List<String> SORTABLE_PROPERTIES =
+            List.of("id", "publicId", "name", "price", "description", "quantity");
+
     private ProductSpecification() {
     }
 
+    /**
+     * Rejects sorts on properties outside {@link #SORTABLE_PROPERTIES}
+     */
+    public static void validateSort(Sort sort) {
+        for (Sort.Order order : sort) {
+            if (!SORTABLE_PROPERTIES.contains(order.getProperty())) {
+                throw new InvalidSortPropertyException(order.getProperty());
+            }
+        }
+    }
+
+    /**
+     * Ends the sort with an ascending id tiebreak, so rows with equal sort keys come out in the
+     * same order on every request, as they do from the read model and the shards
+     */
+    public static Pageable withIdTiebreak(Pageable pageable) {
+        Sort sort = pageable.getSort();
+        if (sort.getOrderFor("id") != null) {
+            return pageable;
+        }
+        Sort tiebroken = sort.and(Sort.by("id"));
+        return pageable.isPaged()
+                ? PageRequest.of(pageable.getPageNumber(), pageable.getPageSize(), tiebroken)
+                : Pageable.unpaged(tiebroken);
+    }
+
     /**
      * Creates a specification for filtering product records based on query parameters
      */
     public static Specification<Product> buildSpecification(ProductQueryDTO query) {
+        return buildSpecification(query, null);
+    }
+
+    /**
+     * Creates a specification where the name filter has already been resolved to product IDs,
+     * as done by fuzzy name search
+     */
+    public static Specification<Product> buildSpecification(ProductQueryDTO query, Collection<Long> nameMatches) {
         return Specification.allOf(
-                nameContains(query.name()),
+                nameMatches != null ? idIn(nameMatches) : nameContains(query.name()),
                 priceBetween(query.minPrice(), query.maxPrice()),
                 quantityBetween(query.minQuantity(), query.maxQuantity()),
                 stockFilter(query.includeOutOfStock())
         );
     }
 
+    /**
+     * Creates a projection selecting only the requested product columns
+     */
+    public static ProductProjection buildProjection(Set<ProductField> fields) {
+        return ProductProjection.of(fields);
+    }
+
     /**
      * Filter by product name (case insensitive)
      */
@@ -40,6 +94,17 @@ public final class ProductSpecification {
         };
     }
 
+    /**
+     * Filter by product IDs
+     */
+    public static Specification<Product> idIn(Collection<Long> ids) {
+        return (root, query, criteriaBuilder) -> {
+            if (ids.isEmpty()) return criteriaBuilder.disjunction();
+
+            return root.get("id").in(ids);
+        };
+    }
+
     /**
      * Filter by price range
      */
@@ -0,0 +1,111 @@
+package br.com.productmanagementsystem.stock;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+
+/**
+ * Hashed timing wheel: deadlines are hashed into a ring of buckets, one per tick, and each
+ * advance only visits the buckets of the ticks that elapsed. Scheduling and expiring are O(1)
+ * per item no matter how many are pending; deadlines beyond one revolution wait in their bucket
+ * for the remaining number of rounds.
+ * <p>
+ * {@link #schedule} is thread-safe and only enqueues; {@link #advance} must be called from one
+ * thread at a time, which moves the queued items into their buckets. Items expire at the first
+ * advance on or after their deadline, so they fire up to one tick late but never early.
+ */
+final class HashedTimingWheel<T> {
+
+    private final long tickMillis;
+    private final List<ArrayDeque<Timeout<T>>> buckets;
+    private final int mask;
+    private final long startMillis;
+    private final Queue<Timeout<T>> scheduled = new ConcurrentLinkedQueue<>();
+    private long nextTick;
+    private int pending;
+
+    private static final class Timeout<T> {
+        private final T item;
+        private final long deadlineMillis;
+        private long remainingRounds;
+
+        private Timeout(T item, long deadlineMillis) {
+            this.item = item;
+            this.deadlineMillis = deadlineMillis;
+        }
+    }
+
+    /**
+     * @param wheelSize number of buckets, rounded up to a power of two
+     */
+    HashedTimingWheel(long tickMillis, int wheelSize, long startMillis) {
+        int size = Integer.highestOneBit(Math.max(1, wheelSize - 1)) << 1;
+        this.tickMillis = tickMillis;
+        this.mask = size - 1;
+        this.startMillis = startMillis;
+        this.buckets = new ArrayList<>(size);
+        for (int i = 0; i < size; i++) {
+            buckets.add(new ArrayDeque<>());
+        }
+    }
+
+    void schedule(T item, long deadlineMillis) {
+        scheduled.add(new Timeout<>(item, deadlineMillis));
+    }
+
+    /**
+     * Processes every tick that ended up to {@code nowMillis}
+     *
+     * @return the items whose deadline passed
+     */
+    List<T> advance(long nowMillis) {
+        List<T> expired = new ArrayList<>();
+        long lastTick = (nowMillis - startMillis) / tickMillis;
+        while (nextTick <= lastTick) {
+            transferScheduled(expired, nowMillis);
+            expireBucket(buckets.get((int) (nextTick & mask)), expired, nowMillis);
+            nextTick++;
+        }
+        return expired;
+    }
+
+    /**
+     * Items scheduled and not yet expired
+     */
+    int size() {
+        return pending + scheduled.size();
+    }
+
+    private void transferScheduled(List<T> expired, long nowMillis) {
+        Timeout<T> timeout;
+        while ((timeout = scheduled.poll()) != null) {
+            if (timeout.deadlineMillis <= nowMillis) {
+                expired.add(timeout.item);
+                continue;
+            }
+
+            // First tick starting at or after the deadline
+            long tick = Math.max(nextTick, Math.ceilDiv(timeout.deadlineMillis - startMillis, tickMillis));
+            timeout.remainingRounds = (tick - nextTick) / buckets.size();
+            buckets.get((int) (tick & mask)).add(timeout);
+            pending++;
+        }
+    }
+
+    private void expireBucket(ArrayDeque<Timeout<T>> bucket, List<T> expired, long nowMillis) {
+        Iterator<Timeout<T>> iterator = bucket.iterator();
+        while (iterator.hasNext()) {
+            Timeout<T> timeout = iterator.next();
+            if (timeout.remainingRounds > 0) {
+                timeout.remainingRounds--;
+            } else if (timeout.deadlineMillis <= nowMillis) {
+                iterator.remove();
+                pending--;
+                expired.add(timeout.item);
+            }
+        }
+    }
+}
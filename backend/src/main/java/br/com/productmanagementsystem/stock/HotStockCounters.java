@@ -0,0 +1,322 @@
+package br.com.productmanagementsystem.stock;
+
+import br.com.productmanagementsystem.config.CacheConfig;
+import br.com.productmanagementsystem.dto.ProductResponseDTO;
+import br.com.productmanagementsystem.entity.Product;
+import br.com.productmanagementsystem.entity.StockJournalCheckpoint;
+import br.com.productmanagementsystem.event.ProductChangedEvent;
+import br.com.productmanagementsystem.event.ProductSnapshot;
+import br.com.productmanagementsystem.exception.StockAdjustmentRejectedException;
+import br.com.productmanagementsystem.repository.ProductRepository;
+import br.com.productmanagementsystem.repository.StockJournalCheckpointRepository;
+import br.com.productmanagementsystem.validation.ProductBusinessRulesValidator;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.context.event.EventListener;
+import org.springframework.jmx.export.annotation.ManagedAttribute;
+import org.springframework.jmx.export.annotation.ManagedOperation;
+import org.springframework.jmx.export.annotation.ManagedResource;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.nio.file.Path;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.OptionalInt;
+import java.util.Set;
+import java.util.TreeSet;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Optional hot-product mode for flash sales: the stock of promoted products lives in
+ * {@link StripedStockCounter}s instead of the products table, so concurrent adjustments do not
+ * serialize on the row lock.
+ * <p>
+ * Every adjustment is journaled in the {@link StockJournal} before it is acknowledged. The
+ * journal is flushed on a short interval and on shutdown: each sealed segment becomes one
+ * relative UPDATE per product, committed together with the segment checkpoint, and segments
+ * left over by a crash are applied the same way at startup. Updates, deletes and reservations of
+ * a hot product demote it first, so they work on the flushed row, and promote it again once their
+ * transaction completes, whether it commits or rolls back, unless the product is gone.
+ * <p>
+ * Only the products returned by reads carry the in-memory quantity. Quantity filters and
+ * sorts, facets and statistics work on the quantity of the row, which trails the counters by
+ * at most one flush interval.
+ */
+@Slf4j
+@Component
+@ManagedResource(description = "In-memory stock counters for hot products")
+public class HotStockCounters {
+
+    private final ProductRepository productRepository;
+    private final StockJournalCheckpointRepository checkpointRepository;
+    private final ApplicationEventPublisher eventPublisher;
+    private final CacheManager cacheManager;
+    private final TransactionTemplate flushTransaction;
+    private final boolean enabled;
+    private final List<String> initialProducts;
+    private final Path journalDirectory;
+    private final int segmentRecords;
+    private final int stripes;
+
+    private final Map<String, HotProduct> products = new ConcurrentHashMap<>();
+    private volatile StockJournal journal;
+
+    /**
+     * The counter holds the available units; units reserved at promotion are added back to show
+     * the quantity, and stay out of reach of hot sales until the product is promoted again
+     */
+    private record HotProduct(long id, ProductResponseDTO product, StripedStockCounter counter, int reserved) {
+
+        int quantity() {
+            return counter.total() + reserved;
+        }
+    }
+
+    public HotStockCounters(ProductRepository productRepository,
+                            StockJournalCheckpointRepository checkpointRepository,
+                            ApplicationEventPublisher eventPublisher,
+                            CacheManager cacheManager,
+                            PlatformTransactionManager transactionManager,
+                            @Value("${app.hot-stock.enabled:false}") boolean enabled,
+                            @Value("${app.hot-stock.products:}") List<String> initialProducts,
+                            @Value("${app.hot-stock.journal.directory:${java.io.tmpdir}/product-management-system/stock-journal}") Path journalDirectory,
+                            @Value("${app.hot-stock.journal.segment-records:1048576}") int segmentRecords,
+                            @Value("${app.hot-stock.stripes:0}") int stripes) {
+        this.productRepository = productRepository;
+        this.checkpointRepository = checkpointRepository;
+        this.eventPublisher = eventPublisher;
+        this.cacheManager = cacheManager;
+        this.flushTransaction = new TransactionTemplate(transactionManager);
+        this.flushTransaction.setPropagationBehavior(TransactionDefinition.PROPAGATION_REQUIRES_NEW);
+        this.enabled = enabled;
+        this.initialProducts = initialProducts;
+        this.journalDirectory = journalDirectory;
+        this.segmentRecords = segmentRecords;
+        this.stripes = stripes > 0 ? stripes : Runtime.getRuntime().availableProcessors();
+    }
+
+    /**
+     * Applies the journal left by a previous run, then promotes the configured products
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    public void start() {
+        if (!enabled) {
+            return;
+        }
+
+        journal = new StockJournal(journalDirectory, segmentRecords, lastAppliedSegment());
+        flush();
+        initialProducts.stream()
+                .filter(publicId -> !publicId.isBlank())
+                .forEach(this::promote);
+    }
+
+    @PreDestroy
+    public synchronized void stop() {
+        if (journal != null) {
+            products.clear();
+            flush();
+            journal.close();
+            journal = null;
+        }
+    }
+
+    public boolean isHot(String publicId) {
+        return products.containsKey(publicId);
+    }
+
+    /**
+     * In-memory quantity of a hot product
+     */
+    public OptionalInt quantity(String publicId) {
+        HotProduct hot = products.get(publicId);
+        return hot != null ? OptionalInt.of(hot.quantity()) : OptionalInt.empty();
+    }
+
+    /**
+     * The product with its in-memory quantity when it is hot, otherwise the product itself
+     */
+    public ProductResponseDTO overlay(ProductResponseDTO product) {
+        HotProduct hot = products.isEmpty() ? null : products.get(product.publicId());
+        return hot != null ? withQuantity(product, hot.quantity()) : product;
+    }
+
+    /**
+     * Replaces the quantity of a projected product when it is hot and the projection has both
+     * its public ID and quantity
+     */
+    public Map<String, Object> overlay(Map<String, Object> product) {
+        if (!products.isEmpty() && product.get("publicId") instanceof String publicId && product.containsKey("quantity")) {
+            quantity(publicId).ifPresent(quantity -> product.put("quantity", quantity));
+        }
+        return product;
+    }
+
+    /**
+     * Adjusts the stock of a hot product in memory
+     *
+     * @return the adjusted product, or empty when the product is not hot
+     * @throws StockAdjustmentRejectedException when the quantity would leave its allowed range
+     */
+    public Optional<ProductResponseDTO> adjust(String publicId, int delta) {
+        HotProduct hot = products.get(publicId);
+        StockJournal currentJournal = journal;
+        if (hot == null || currentJournal == null) {
+            return Optional.empty();
+        }
+
+        boolean adjusted = currentJournal.append(hot.id(), delta, () -> hot.counter().tryAdjust(delta));
+        int quantity = hot.quantity();
+        if (!adjusted) {
+            throw new StockAdjustmentRejectedException(publicId, delta, quantity);
+        }
+        return Optional.of(withQuantity(hot.product(), quantity));
+    }
+
+    @ManagedOperation(description = "Move the stock of a product into in-memory counters")
+    public synchronized void promote(String publicId) {
+        if (journal == null) {
+            throw new IllegalStateException("Hot stock mode is disabled");
+        }
+
+        // Pending deltas from an earlier hot period must reach the row the counter starts from
+        flush();
+        Product product = productRepository.findByPublicId(publicId)
+                .orElseThrow(() -> new IllegalArgumentException("Unknown product " + publicId));
+        promote(product);
+    }
+
+    // Must hold the lock, with the journal flushed
+    private void promote(Product product) {
+        String publicId = product.getPublicId();
+        int reserved = product.getReserved();
+        StripedStockCounter counter = new StripedStockCounter(product.getQuantity() - reserved,
+                ProductBusinessRulesValidator.maxQuantity(product.getPrice()) - reserved, stripes);
+        ProductResponseDTO response = new ProductResponseDTO(product.getPublicId(), product.getName(),
+                product.getPrice(), product.getDescription(), product.getQuantity());
+        products.put(publicId, new HotProduct(product.getId(), response, counter, reserved));
+        evictCached(publicId);
+    }
+
+    /**
+     * Flushes the counters of a product and moves its stock back to the products table
+     *
+     * @return whether the product was hot
+     */
+    @ManagedOperation(description = "Flush a product and move its stock back to the products table")
+    public synchronized boolean demote(String publicId) {
+        boolean hot = products.remove(publicId) != null;
+        if (hot) {
+            flush();
+            evictCached(publicId);
+        }
+        return hot;
+    }
+
+    /**
+     * Demotes a hot product for the rest of the current transaction, which is about to change it,
+     * and promotes it again once the transaction completes
+     *
+     * @return whether the product was hot
+     * @throws IllegalStateException outside a transaction
+     */
+    public boolean suspend(String publicId) {
+        if (!products.containsKey(publicId)) {
+            return false;
+        }
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            throw new IllegalStateException("Hot products are suspended per transaction");
+        }
+
+        boolean hot = demote(publicId);
+        if (hot) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCompletion(int status) {
+                    promoteAgain(publicId);
+                }
+            });
+        }
+        return hot;
+    }
+
+    // Runs after the suspending transaction, which may have failed or deleted the product
+    private synchronized void promoteAgain(String publicId) {
+        if (journal == null || products.containsKey(publicId)) {
+            return;
+        }
+        flush();
+        productRepository.findByPublicId(publicId).ifPresent(this::promote);
+    }
+
+    /**
+     * Applies every sealed journal segment to the products table
+     */
+    @Scheduled(fixedDelayString = "${app.hot-stock.flush-interval:PT1S}",
+            initialDelayString = "${app.hot-stock.flush-interval:PT1S}")
+    public synchronized void flush() {
+        if (journal == null) {
+            return;
+        }
+
+        for (StockJournal.Segment segment : journal.drain()) {
+            flushTransaction.executeWithoutResult(status -> apply(segment));
+            journal.release(segment);
+        }
+    }
+
+    private void apply(StockJournal.Segment segment) {
+        if (segment.sequence <= lastAppliedSegment()) {
+            return; // Applied before a crash prevented its deletion
+        }
+
+        Map<Long, Long> deltas = segment.deltas();
+        deltas.forEach((id, delta) -> productRepository.addQuantity(id, Math.toIntExact(delta)));
+        for (Product product : productRepository.findAllById(deltas.keySet())) {
+            ProductSnapshot after = ProductSnapshot.from(product);
+            int delta = Math.toIntExact(deltas.get(after.id()));
+            ProductSnapshot before = after.beforeStockChange(delta);
+            eventPublisher.publishEvent(ProductChangedEvent.updated(before, after));
+        }
+        checkpointRepository.save(new StockJournalCheckpoint(StockJournalCheckpoint.SINGLETON_ID, segment.sequence));
+
+        if (!deltas.isEmpty()) {
+            log.info("Applied stock journal segment {} to {} products", segment.sequence, deltas.size());
+        }
+    }
+
+    private long lastAppliedSegment() {
+        return checkpointRepository.findById(StockJournalCheckpoint.SINGLETON_ID)
+                .map(StockJournalCheckpoint::getLastAppliedSegment)
+                .orElse(0L);
+    }
+
+    private void evictCached(String publicId) {
+        Cache cache = cacheManager.getCache(CacheConfig.PRODUCTS_CACHE);
+        if (cache != null) {
+            cache.evict(publicId);
+        }
+    }
+
+    // Without a version: the in-memory quantity changes without the row, so it has no ETag
+    private static ProductResponseDTO withQuantity(ProductResponseDTO product, int quantity) {
+        return new ProductResponseDTO(product.publicId(), product.name(), product.price(), product.description(), quantity);
+    }
+
+    @ManagedAttribute(description = "Public IDs of the hot products")
+    public Set<String> getHotProducts() {
+        return new TreeSet<>(products.keySet());
+    }
+}
@@ -0,0 +1,232 @@
+package br.com.productmanagementsystem.stock;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.BooleanSupplier;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+import java.util.stream.Stream;
+
+/**
+ * Write-ahead log of in-memory stock changes, kept in memory-mapped segment files.
+ * <p>
+ * Each change is a fixed 16-byte record (product id, delta, checksum) written into the mapped
+ * segment before the request is acknowledged, so it survives a crash of the process. The mapped
+ * pages are left to the operating system to write back, so a power loss may still drop recent
+ * changes. Segments are sealed and handed to the flusher, which applies their coalesced deltas to
+ * the database and deletes them; segments still on disk at startup are the changes that never
+ * reached the database.
+ * Slots whose checksum does not match (never written, or torn by a crash) are skipped.
+ */
+final class StockJournal implements Closeable {
+
+    static final int RECORD_BYTES = 16;
+
+    private static final int CHECKSUM_SEED = 0x5EED_57C0;
+    private static final Pattern SEGMENT_NAME = Pattern.compile("stock-(\\d{19})\\.journal");
+
+    private final Path directory;
+    private final int segmentRecords;
+    // Sealed segments waiting to be applied, oldest first; guarded by this
+    private final List<Segment> sealed = new ArrayList<>();
+    private volatile Segment current;
+
+    /**
+     * Opens the journal, treating every segment left in the directory as sealed. New segments
+     * are numbered after both those and the last segment applied to the database.
+     */
+    StockJournal(Path directory, int segmentRecords, long lastAppliedSequence) {
+        this.directory = directory;
+        this.segmentRecords = segmentRecords;
+        try {
+            Files.createDirectories(directory);
+            long lastSequence = lastAppliedSequence;
+            try (Stream<Path> files = Files.list(directory)) {
+                for (Path file : files.sorted().toList()) {
+                    Matcher matcher = SEGMENT_NAME.matcher(file.getFileName().toString());
+                    if (matcher.matches()) {
+                        Segment segment = Segment.open(file, Long.parseLong(matcher.group(1)));
+                        sealed.add(segment);
+                        lastSequence = Math.max(lastSequence, segment.sequence);
+                    }
+                }
+            }
+            current = Segment.create(directory, lastSequence + 1, segmentRecords);
+        } catch (IOException ex) {
+            throw new UncheckedIOException(ex);
+        }
+    }
+
+    /**
+     * Runs a change and journals its delta in the same step: the flusher never seals a segment
+     * while a change that reserved a slot in it is still running
+     *
+     * @return the result of the change; a rejected change is journaled as a zero delta
+     */
+    boolean append(long productId, int delta, BooleanSupplier change) {
+        while (true) {
+            Segment segment = current;
+            segment.writers.incrementAndGet();
+            try {
+                if (segment != current) {
+                    continue; // Sealed after it was read, retry on the new segment
+                }
+                int record = segment.nextRecord.getAndIncrement();
+                if (record >= segment.capacity) {
+                    seal(segment);
+                    continue;
+                }
+
+                boolean changed = change.getAsBoolean();
+                segment.write(record, productId, changed ? delta : 0);
+                return changed;
+            } finally {
+                segment.writers.decrementAndGet();
+            }
+        }
+    }
+
+    /**
+     * Seals the current segment if it has records and returns every sealed segment not yet
+     * released, oldest first, once no change is still writing to them
+     */
+    List<Segment> drain() {
+        Segment segment = current;
+        if (segment.nextRecord.get() > 0) {
+            seal(segment);
+        }
+
+        List<Segment> segments;
+        synchronized (this) {
+            segments = List.copyOf(sealed);
+        }
+        for (Segment drained : segments) {
+            while (drained.writers.get() != 0) {
+                Thread.onSpinWait();
+            }
+        }
+        return segments;
+    }
+
+    /**
+     * Deletes a segment whose deltas reached the database
+     */
+    void release(Segment segment) {
+        synchronized (this) {
+            sealed.remove(segment);
+        }
+        segment.delete();
+    }
+
+    private synchronized void seal(Segment segment) {
+        if (segment != current) {
+            return; // Another writer already sealed it
+        }
+        sealed.add(segment);
+        current = Segment.create(directory, segment.sequence + 1, segmentRecords);
+    }
+
+    @Override
+    public synchronized void close() {
+        sealed.forEach(Segment::close);
+        if (current.nextRecord.get() == 0) {
+            current.delete();
+        } else {
+            current.close();
+        }
+    }
+
+    private static int checksum(long productId, int delta) {
+        long mixed = (productId ^ ((long) delta << 32)) * 0x9E3779B97F4A7C15L;
+        return (int) (mixed >>> 32) ^ (int) mixed ^ CHECKSUM_SEED;
+    }
+
+    static final class Segment {
+        final long sequence;
+        private final Path path;
+        private final FileChannel channel;
+        private final MappedByteBuffer buffer;
+        private final int capacity;
+        private final AtomicInteger nextRecord;
+        private final AtomicInteger writers = new AtomicInteger();
+
+        private Segment(long sequence, Path path, FileChannel channel, int capacity, int nextRecord) throws IOException {
+            this.sequence = sequence;
+            this.path = path;
+            this.channel = channel;
+            this.capacity = capacity;
+            this.buffer = channel.map(FileChannel.MapMode.READ_WRITE, 0, (long) capacity * RECORD_BYTES);
+            this.nextRecord = new AtomicInteger(nextRecord);
+        }
+
+        private static Segment create(Path directory, long sequence, int capacity) {
+            Path path = directory.resolve("stock-%019d.journal".formatted(sequence));
+            try {
+                FileChannel channel = FileChannel.open(path,
+                        StandardOpenOption.CREATE_NEW, StandardOpenOption.READ, StandardOpenOption.WRITE);
+                return new Segment(sequence, path, channel, capacity, 0);
+            } catch (IOException ex) {
+                throw new UncheckedIOException(ex);
+            }
+        }
+
+        private static Segment open(Path path, long sequence) throws IOException {
+            FileChannel channel = FileChannel.open(path, StandardOpenOption.READ, StandardOpenOption.WRITE);
+            int capacity = (int) (channel.size() / RECORD_BYTES);
+            return new Segment(sequence, path, channel, capacity, capacity);
+        }
+
+        private void write(int record, long productId, int delta) {
+            int offset = record * RECORD_BYTES;
+            buffer.putLong(offset, productId);
+            buffer.putInt(offset + 8, delta);
+            buffer.putInt(offset + 12, checksum(productId, delta));
+        }
+
+        /**
+         * Net delta per product id across the valid records of the segment
+         */
+        Map<Long, Long> deltas() {
+            Map<Long, Long> deltas = new HashMap<>();
+            int records = Math.min(nextRecord.get(), capacity);
+            for (int record = 0; record < records; record++) {
+                int offset = record * RECORD_BYTES;
+                long productId = buffer.getLong(offset);
+                int delta = buffer.getInt(offset + 8);
+                if (delta != 0 && buffer.getInt(offset + 12) == checksum(productId, delta)) {
+                    deltas.merge(productId, (long) delta, Long::sum);
+                }
+            }
+            deltas.values().removeIf(delta -> delta == 0);
+            return deltas;
+        }
+
+        private void close() {
+            try {
+                channel.close();
+            } catch (IOException ex) {
+                throw new UncheckedIOException(ex);
+            }
+        }
+
+        private void delete() {
+            close();
+            try {
+                Files.deleteIfExists(path);
+            } catch (IOException ex) {
+                throw new UncheckedIOException(ex);
+            }
+        }
+    }
+}
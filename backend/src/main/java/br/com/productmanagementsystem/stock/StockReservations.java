@@ -0,0 +1,232 @@
+package br.com.productmanagementsystem.stock;
+
+import br.com.productmanagementsystem.dto.StockAvailabilityResponseDTO;
+import br.com.productmanagementsystem.dto.StockReservationResponseDTO;
+import br.com.productmanagementsystem.entity.Product;
+import br.com.productmanagementsystem.entity.StockReservation;
+import br.com.productmanagementsystem.event.ProductChangedEvent;
+import br.com.productmanagementsystem.event.ProductSnapshot;
+import br.com.productmanagementsystem.exception.InsufficientStockException;
+import br.com.productmanagementsystem.exception.ResourceNotFoundException;
+import br.com.productmanagementsystem.exception.StockAdjustmentRejectedException;
+import br.com.productmanagementsystem.repository.ProductRepository;
+import br.com.productmanagementsystem.repository.StockReservationRepository;
+import br.com.productmanagementsystem.service.MessageService;
+import br.com.productmanagementsystem.shard.ProductShards;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.context.event.EventListener;
+import org.springframework.jmx.export.annotation.ManagedAttribute;
+import org.springframework.jmx.export.annotation.ManagedResource;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.List;
+
+/**
+ * Stock reservations that hold units for a checkout without decrementing the stock.
+ * <p>
+ * Reserving adds to {@code Product.reserved} with a conditional UPDATE, so available stock
+ * ({@code quantity - reserved}) can never be oversold; confirming turns the held units into a
+ * decrement and releasing gives them back. Reservations are rows of their own, so they survive a
+ * restart, and their expiry runs on a {@link HashedTimingWheel} refilled from the table at
+ * startup: no timer per reservation and no scans of the table for expired rows.
+ */
+@Slf4j
+@Component
+@ManagedResource(description = "Pending stock reservations")
+public class StockReservations {
+
+    private final ProductRepository productRepository;
+    private final StockReservationRepository reservationRepository;
+    private final HotStockCounters hotStockCounters;
+    private final MessageService messageService;
+    private final ApplicationEventPublisher eventPublisher;
+    private final ProductShards productShards;
+    private final TransactionTemplate expiryTransaction;
+    private final Clock clock;
+    private final Duration defaultTtl;
+    private final HashedTimingWheel<Long> expiryWheel;
+
+    @Autowired
+    public StockReservations(ProductRepository productRepository,
+                             StockReservationRepository reservationRepository,
+                             HotStockCounters hotStockCounters,
+                             MessageService messageService,
+                             ApplicationEventPublisher eventPublisher,
+                             ProductShards productShards,
+                             PlatformTransactionManager transactionManager,
+                             @Value("${app.reservations.default-ttl:PT10M}") Duration defaultTtl,
+                             @Value("${app.reservations.expiry.tick:PT1S}") Duration tick,
+                             @Value("${app.reservations.expiry.wheel-size:512}") int wheelSize) {
+        this(productRepository, reservationRepository, hotStockCounters, messageService, eventPublisher, productShards,
+                new TransactionTemplate(transactionManager), Clock.systemUTC(), defaultTtl, tick, wheelSize);
+    }
+
+    StockReservations(ProductRepository productRepository,
+                      StockReservationRepository reservationRepository,
+                      HotStockCounters hotStockCounters,
+                      MessageService messageService,
+                      ApplicationEventPublisher eventPublisher,
+                      ProductShards productShards,
+                      TransactionTemplate expiryTransaction,
+                      Clock clock,
+                      Duration defaultTtl,
+                      Duration tick,
+                      int wheelSize) {
+        this.productRepository = productRepository;
+        this.reservationRepository = reservationRepository;
+        this.hotStockCounters = hotStockCounters;
+        this.messageService = messageService;
+        this.eventPublisher = eventPublisher;
+        this.productShards = productShards;
+        this.expiryTransaction = expiryTransaction;
+        this.clock = clock;
+        this.defaultTtl = defaultTtl;
+        this.expiryWheel = new HashedTimingWheel<>(tick.toMillis(), wheelSize, clock.millis());
+    }
+
+    /**
+     * Schedules the expiry of the reservations persisted by a previous run, on every shard
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    public void start() {
+        List<StockReservation> pending = productShards.onEveryShard(reservationRepository::findAll).stream()
+                .flatMap(List::stream)
+                .toList();
+        pending.forEach(reservation -> expiryWheel.schedule(reservation.getId(), reservation.getExpiresAt().toEpochMilli()));
+        if (!pending.isEmpty()) {
+            log.info("Scheduled the expiry of {} persisted stock reservations", pending.size());
+        }
+    }
+
+    @Transactional(readOnly = true)
+    public StockAvailabilityResponseDTO availability(String publicId) {
+        Product product = findProduct(publicId);
+        int quantity = hotStockCounters.quantity(publicId).orElse(product.getQuantity());
+        return new StockAvailabilityResponseDTO(publicId, quantity, product.getReserved(), quantity - product.getReserved());
+    }
+
+    /**
+     * Holds units of a product for {@code ttl}, or the default TTL when null
+     *
+     * @throws InsufficientStockException when fewer units are available
+     */
+    @Transactional
+    public StockReservationResponseDTO reserve(String publicId, int quantity, Duration ttl) {
+        // Reserved units are tracked on the row, which a hot product does not keep up to date; it
+        // is promoted again with the new reservation once this transaction completes
+        hotStockCounters.suspend(publicId);
+
+        Product product = findProduct(publicId);
+        if (productRepository.reserve(product.getId(), quantity) == 0) {
+            Product current = findProduct(publicId);
+            throw new InsufficientStockException(publicId, quantity, current.getQuantity() - current.getReserved());
+        }
+
+        Instant expiresAt = clock.instant().plus(ttl != null ? ttl : defaultTtl);
+        StockReservation reservation = reservationRepository.save(
+                new StockReservation(null, null, product.getId(), publicId, quantity, expiresAt));
+        expiryWheel.schedule(reservation.getId(), expiresAt.toEpochMilli());
+
+        return new StockReservationResponseDTO(reservation.getPublicId(), publicId, quantity, expiresAt);
+    }
+
+    /**
+     * Settles a reservation as a permanent decrement of the stock
+     *
+     * @return the product after the decrement
+     */
+    @Transactional
+    public Product confirm(String publicId, String reservationId) {
+        hotStockCounters.suspend(publicId);
+
+        StockReservation reservation = claim(publicId, reservationId);
+        if (productRepository.confirmReserved(reservation.getProductId(), reservation.getQuantity()) == 0) {
+            Product current = findProduct(publicId);
+            throw new StockAdjustmentRejectedException(publicId, -reservation.getQuantity(), current.getQuantity());
+        }
+
+        Product confirmed = findProduct(publicId);
+        ProductSnapshot after = ProductSnapshot.from(confirmed);
+        ProductSnapshot before = after.beforeStockChange(-reservation.getQuantity());
+        eventPublisher.publishEvent(ProductChangedEvent.updated(before, after));
+        return confirmed;
+    }
+
+    /**
+     * Gives the units of a reservation back to the available stock
+     */
+    @Transactional
+    public void release(String publicId, String reservationId) {
+        // Promoted again afterwards, so hot sales can reach the released units
+        hotStockCounters.suspend(publicId);
+        StockReservation reservation = claim(publicId, reservationId);
+        productRepository.releaseReserved(reservation.getProductId(), reservation.getQuantity());
+    }
+
+    /**
+     * Releases the reservations whose deadline passed since the last tick
+     */
+    @Scheduled(fixedRateString = "${app.reservations.expiry.tick:PT1S}")
+    public synchronized void expire() {
+        List<Long> expiredIds = expiryWheel.advance(clock.millis());
+        if (expiredIds.isEmpty()) {
+            return;
+        }
+
+        // Confirmed and released reservations are already gone, only the rest is settled here. Reservation
+        // ids are unique across shards, so each shard settles the ones it holds
+        int released = productShards.onEveryShard(() -> expiryTransaction.execute(status -> {
+            int count = 0;
+            for (StockReservation reservation : reservationRepository.findAllById(expiredIds)) {
+                if (reservationRepository.deleteReservation(reservation.getId()) == 1) {
+                    productRepository.releaseReserved(reservation.getProductId(), reservation.getQuantity());
+                    count++;
+                }
+            }
+            return count;
+        })).stream().mapToInt(Integer::intValue).sum();
+        if (released > 0) {
+            log.info("Released {} expired stock reservations", released);
+        }
+    }
+
+    /**
+     * Deletes a pending reservation of the product, so only this caller settles its units
+     */
+    private StockReservation claim(String publicId, String reservationId) {
+        StockReservation reservation = reservationRepository.findByPublicId(reservationId)
+                .filter(found -> found.getProductPublicId().equals(publicId))
+                .filter(found -> found.getExpiresAt().isAfter(clock.instant()))
+                .orElseThrow(() -> reservationNotFound(reservationId));
+        if (reservationRepository.deleteReservation(reservation.getId()) == 0) {
+            throw reservationNotFound(reservationId);
+        }
+        return reservation;
+    }
+
+    private Product findProduct(String publicId) {
+        return productRepository.findByPublicId(publicId)
+                .orElseThrow(() -> new ResourceNotFoundException(
+                        messageService.getMessage("resource.not.found.by.public.id", publicId)));
+    }
+
+    private ResourceNotFoundException reservationNotFound(String reservationId) {
+        return new ResourceNotFoundException(messageService.getMessage("reservation.not.found.by.public.id", reservationId));
+    }
+
+    @ManagedAttribute(description = "Reservations waiting for their expiry")
+    public int getScheduledExpiries() {
+        return expiryWheel.size();
+    }
+}
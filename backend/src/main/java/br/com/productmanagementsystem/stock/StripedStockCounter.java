@@ -0,0 +1,110 @@
+package br.com.productmanagementsystem.stock;
+
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * Stock of one product split across padded stripes, so concurrent decrements from different
+ * threads usually touch different cache lines instead of a single contended counter.
+ * <p>
+ * Every stripe holds a non-negative share of the units and a decrement only takes units from
+ * stripes that have them, so the total can never go below zero. When no single stripe can cover
+ * a decrement, the stripes are drained and rebalanced under a lock before deciding. Increments
+ * are rare (restocks) and always take the lock, which keeps the total under the price cap.
+ */
+final class StripedStockCounter {
+
+    // 8 longs = 64 bytes, one cache line per stripe
+    private static final int PADDING = 8;
+
+    private final AtomicLongArray cells;
+    private final int stripes;
+    private final int maxQuantity;
+    private final ReentrantLock rebalanceLock = new ReentrantLock();
+
+    StripedStockCounter(int quantity, int maxQuantity, int stripes) {
+        this.stripes = stripes;
+        this.maxQuantity = maxQuantity;
+        this.cells = new AtomicLongArray(stripes * PADDING);
+        spread(quantity);
+    }
+
+    /**
+     * Adds a signed delta, unless the total would leave 0..maxQuantity
+     *
+     * @return whether the delta was applied
+     */
+    boolean tryAdjust(int delta) {
+        if (delta >= 0) {
+            return tryAdd(delta);
+        }
+
+        int units = -delta;
+        int home = (int) (Thread.currentThread().threadId() % stripes);
+        for (int i = 0; i < stripes; i++) {
+            int cell = ((home + i) % stripes) * PADDING;
+            long available = cells.get(cell);
+            while (available >= units) {
+                long witness = cells.compareAndExchange(cell, available, available - units);
+                if (witness == available) {
+                    return true;
+                }
+                available = witness;
+            }
+        }
+        return tryTakeAcrossStripes(units);
+    }
+
+    /**
+     * Sum of the stripes; exact when no adjustment is running
+     */
+    int total() {
+        long total = 0;
+        for (int i = 0; i < stripes; i++) {
+            total += cells.get(i * PADDING);
+        }
+        return (int) total;
+    }
+
+    int maxQuantity() {
+        return maxQuantity;
+    }
+
+    private boolean tryAdd(int units) {
+        rebalanceLock.lock();
+        try {
+            // Only decrements run concurrently, so the total can only be lower than this sum
+            if (total() + (long) units > maxQuantity) {
+                return false;
+            }
+            cells.addAndGet((int) (Thread.currentThread().threadId() % stripes) * PADDING, units);
+            return true;
+        } finally {
+            rebalanceLock.unlock();
+        }
+    }
+
+    private boolean tryTakeAcrossStripes(int units) {
+        rebalanceLock.lock();
+        try {
+            long drained = 0;
+            for (int i = 0; i < stripes; i++) {
+                drained += cells.getAndSet(i * PADDING, 0);
+            }
+
+            boolean taken = drained >= units;
+            spread(taken ? drained - units : drained);
+            return taken;
+        } finally {
+            rebalanceLock.unlock();
+        }
+    }
+
+    private void spread(long units) {
+        long share = units / stripes;
+        long remainder = units % stripes;
+        for (int i = 0; i < stripes; i++) {
+            cells.addAndGet(i * PADDING, share + (i < remainder ? 1 : 0));
+        }
+    }
+}
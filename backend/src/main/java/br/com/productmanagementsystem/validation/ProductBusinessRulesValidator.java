@@ -9,6 +9,25 @@ import java.math.BigDecimal;
  * Validator for cross-field business rules on ProductRequestDTO
  */
 public class ProductBusinessRulesValidator implements ConstraintValidator<ValidProductBusinessRules, ProductRequestDTO> {
+
+    public static final BigDecimal LOW_VALUE_PRICE = new BigDecimal("10.00");
+    public static final int LOW_VALUE_MAX_QUANTITY = 100;
+    public static final BigDecimal HIGH_VALUE_PRICE = new BigDecimal("10000.00");
+    public static final int HIGH_VALUE_MAX_QUANTITY = 10;
+    public static final int MAX_QUANTITY = 999999;
+
+    /**
+     * Highest quantity the business rules allow for a product with the given price
+     */
+    public static int maxQuantity(BigDecimal price) {
+        if (price.compareTo(LOW_VALUE_PRICE) < 0) {
+            return LOW_VALUE_MAX_QUANTITY;
+        }
+        if (price.compareTo(HIGH_VALUE_PRICE) > 0) {
+            return HIGH_VALUE_MAX_QUANTITY;
+        }
+        return MAX_QUANTITY;
+    }
     
     @Override
     public boolean isValid(ProductRequestDTO product, ConstraintValidatorContext context) {
@@ -19,7 +38,7 @@ public class ProductBusinessRulesValidator implements ConstraintValidator<ValidP
         // Business rule: Low-value products (price < 10) cannot have high quantity (> 100)
         // This prevents inventory overload of low-margin items
         if (product.price() != null && product.quantity() != null) {
-            if (product.price().compareTo(new BigDecimal("10.00")) < 0 && product.quantity() > 100) {
+            if (product.price().compareTo(LOW_VALUE_PRICE) < 0 && product.quantity() > LOW_VALUE_MAX_QUANTITY) {
                 context.disableDefaultConstraintViolation();
                 context.buildConstraintViolationWithTemplate(
                     "Low-value products (price < 10) cannot have quantity greater than 100"
@@ -31,7 +50,7 @@ public class ProductBusinessRulesValidator implements ConstraintValidator<ValidP
         // Business rule: High-value products (price > 10000) must have limited quantity (<= 10)
         // This is for exclusive/luxury items
         if (product.price() != null && product.quantity() != null) {
-            if (product.price().compareTo(new BigDecimal("10000.00")) > 0 && product.quantity() > 10) {
+            if (product.price().compareTo(HIGH_VALUE_PRICE) > 0 && product.quantity() > HIGH_VALUE_MAX_QUANTITY) {
                 context.disableDefaultConstraintViolation();
                 context.buildConstraintViolationWithTemplate(
                     "High-value products (price > 10000) must have quantity less than or equal to 10"
@@ -18,4 +18,9 @@ INSERT INTO products (public_id, name, price, description, quantity) VALUES
 ('e7f8a9b0-c1d2-3456-7890-123456a9bcde', 'Instant Pot Duo 7-in-1', 99.99, 'Multi-functional pressure cooker and slow cooker', 142),
 ('f8a9b0c1-d2e3-4567-8901-234567abcdef', 'Fitbit Charge 6', 199.99, 'Advanced fitness tracker with built-in GPS', 83),
 ('a9b0c1d2-e3f4-5678-9012-345678bcdef0', 'Amazon Echo Dot 5th Gen', 49.99, 'Smart speaker with Alexa voice assistant', 156),
-('b0c1d2e3-f4a5-6789-0123-456789cdef01', 'Tesla Model Y Charger', 399.99, 'Home charging solution for Tesla electric vehicles', 24);
\ No newline at end of file
+('b0c1d2e3-f4a5-6789-0123-456789cdef01', 'Tesla Model Y Charger', 399.99, 'Home charging solution for Tesla electric vehicles', 24);
+
+-- Starts the history of the seeded products, so point-in-time reads know their initial state
+INSERT INTO product_history (product_public_id, revision, type, changed_fields, name, price, description, quantity, occurred_at)
+SELECT public_id, 1, 'CREATED', 'name,price,description,quantity', name, price, description, quantity, CURRENT_TIMESTAMP
+FROM products;
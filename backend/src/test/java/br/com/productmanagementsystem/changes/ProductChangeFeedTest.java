@@ -0,0 +1,348 @@
+package br.com.productmanagementsystem.changes;
+
+import br.com.productmanagementsystem.entity.ProductOutboxEvent;
+import br.com.productmanagementsystem.event.ProductChangedEvent;
+import br.com.productmanagementsystem.repository.ProductOutboxRepository;
+import br.com.productmanagementsystem.shard.ProductShards;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.data.domain.Limit;
+import org.springframework.web.servlet.mvc.method.annotation.ResponseBodyEmitter;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.ZoneOffset;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Optional;
+import java.util.stream.Collectors;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+public class ProductChangeFeedTest {
+
+    private static final Instant NOW = Instant.parse("2025-01-01T12:00:00Z");
+    private static final Duration GAP_TIMEOUT = Duration.ofSeconds(5);
+    private static final Duration RETENTION = Duration.ofHours(24);
+
+    private final ProductOutboxRepository outboxRepository = mock(ProductOutboxRepository.class);
+    private final ProductOutboxWriter outboxWriter = mock(ProductOutboxWriter.class);
+    private final List<Runnable> deliveries = new ArrayList<>();
+    private final List<RecordingEmitter> emitters = new ArrayList<>();
+    private MutableClock clock;
+
+    @BeforeEach
+    public void setUp() {
+        clock = new MutableClock(NOW);
+        when(outboxRepository.findMaxId()).thenReturn(Optional.empty());
+        when(outboxRepository.findByIdGreaterThanOrderByIdAsc(anyLong(), any(Limit.class))).thenReturn(List.of());
+    }
+
+    @Test
+    public void givenSubscriber_whenPolling_thenShouldSendCommittedChangesInOrder() {
+        // Arrange
+        ProductChangeFeed feed = createFeed(16);
+        feed.subscribe(null);
+        when(outboxRepository.findByIdGreaterThanOrderByIdAsc(eq(0L), any(Limit.class)))
+                .thenReturn(List.of(outboxEvent(1), outboxEvent(2)));
+
+        // Act
+        feed.poll();
+        deliver();
+
+        // Assert
+        assertThat(emitters.getFirst().ids()).containsExactly("1", "2");
+        assertThat(emitters.getFirst().names()).containsOnly(ProductChangeFeed.CHANGE_EVENT);
+        assertThat(feed.getPosition()).isEqualTo(2);
+    }
+
+    @Test
+    public void givenGapInOutboxIds_whenPolling_thenShouldWaitForTheMissingChange() {
+        // Arrange
+        ProductChangeFeed feed = createFeed(16);
+        feed.subscribe(null);
+        when(outboxRepository.findByIdGreaterThanOrderByIdAsc(eq(0L), any(Limit.class)))
+                .thenReturn(List.of(outboxEvent(2)))
+                .thenReturn(List.of(outboxEvent(1), outboxEvent(2)));
+
+        // Act
+        feed.poll();
+        deliver();
+        List<String> sentBeforeCommit = emitters.getFirst().ids();
+        feed.poll();
+        deliver();
+
+        // Assert
+        assertThat(sentBeforeCommit).isEmpty();
+        assertThat(emitters.getFirst().ids()).containsExactly("1", "2");
+    }
+
+    @Test
+    public void givenGapOlderThanTimeout_whenPolling_thenShouldSkipTheRolledBackChange() {
+        // Arrange
+        ProductChangeFeed feed = createFeed(16);
+        feed.subscribe(null);
+        when(outboxRepository.findByIdGreaterThanOrderByIdAsc(eq(0L), any(Limit.class)))
+                .thenReturn(List.of(outboxEvent(2)));
+
+        // Act
+        feed.poll();
+        clock.advance(GAP_TIMEOUT);
+        feed.poll();
+        deliver();
+
+        // Assert
+        assertThat(emitters.getFirst().ids()).containsExactly("2");
+        assertThat(feed.getPosition()).isEqualTo(2);
+    }
+
+    @Test
+    public void givenSkippedChangeThatCommitsLate_whenPolling_thenShouldRepublishIt() {
+        // Arrange
+        ProductChangeFeed feed = createFeed(16);
+        feed.subscribe(null);
+        ProductOutboxEvent late = outboxEvent(1);
+        when(outboxRepository.findByIdGreaterThanOrderByIdAsc(eq(0L), any(Limit.class)))
+                .thenReturn(List.of(outboxEvent(2)));
+        when(outboxRepository.findByIdGreaterThanAndIdLessThanEqualOrderByIdAsc(eq(0L), eq(1L), any(Limit.class)))
+                .thenReturn(List.of(late));
+
+        // Act
+        feed.poll();
+        clock.advance(GAP_TIMEOUT);
+        feed.poll();
+        feed.poll();
+
+        // Assert
+        verify(outboxWriter).republish(late);
+    }
+
+    @Test
+    public void givenSkippedChangeOlderThanRetention_whenPolling_thenShouldStopWatchingIt() {
+        // Arrange
+        ProductChangeFeed feed = createFeed(16);
+        when(outboxRepository.findByIdGreaterThanOrderByIdAsc(eq(0L), any(Limit.class)))
+                .thenReturn(List.of(outboxEvent(2)));
+        feed.poll();
+        clock.advance(GAP_TIMEOUT);
+        feed.poll();
+
+        // Act
+        clock.advance(RETENTION.plusSeconds(1));
+        feed.poll();
+
+        // Assert
+        verify(outboxRepository, never()).findByIdGreaterThanAndIdLessThanEqualOrderByIdAsc(anyLong(), anyLong(), any(Limit.class));
+    }
+
+    @Test
+    public void givenLastEventId_whenSubscribing_thenShouldReplayMissedChangesBeforeLiveOnes() {
+        // Arrange
+        when(outboxRepository.findMaxId()).thenReturn(Optional.of(3L));
+        when(outboxRepository.findMinId()).thenReturn(Optional.of(1L));
+        when(outboxRepository.findByIdGreaterThanAndIdLessThanEqualOrderByIdAsc(eq(1L), eq(3L), any(Limit.class)))
+                .thenReturn(List.of(outboxEvent(2), outboxEvent(3)));
+        when(outboxRepository.findByIdGreaterThanOrderByIdAsc(eq(3L), any(Limit.class)))
+                .thenReturn(List.of(outboxEvent(4)));
+        ProductChangeFeed feed = createFeed(16);
+
+        // Act
+        feed.subscribe(1L);
+        feed.poll();
+        deliver();
+
+        // Assert
+        assertThat(emitters.getFirst().ids()).containsExactly("2", "3", "4");
+    }
+
+    @Test
+    public void givenPrunedLastEventId_whenSubscribing_thenShouldSendReset() {
+        // Arrange
+        when(outboxRepository.findMaxId()).thenReturn(Optional.of(12L));
+        when(outboxRepository.findMinId()).thenReturn(Optional.of(10L));
+        ProductChangeFeed feed = createFeed(16);
+
+        // Act
+        feed.subscribe(3L);
+        deliver();
+
+        // Assert
+        assertThat(emitters.getFirst().names()).containsExactly(ProductChangeFeed.RESET_EVENT);
+        assertThat(emitters.getFirst().ids()).containsExactly("12");
+    }
+
+    @Test
+    public void givenLastEventIdAheadOfOutbox_whenSubscribing_thenShouldSendReset() {
+        // Arrange
+        when(outboxRepository.findMaxId()).thenReturn(Optional.of(5L));
+        when(outboxRepository.findMinId()).thenReturn(Optional.of(1L));
+        ProductChangeFeed feed = createFeed(16);
+
+        // Act
+        feed.subscribe(99L);
+        deliver();
+
+        // Assert
+        assertThat(emitters.getFirst().names()).containsExactly(ProductChangeFeed.RESET_EVENT);
+    }
+
+    @Test
+    public void givenSlowSubscriber_whenBufferOverflows_thenShouldSendBufferedChangesAndDisconnect() {
+        // Arrange
+        ProductChangeFeed feed = createFeed(2);
+        feed.subscribe(null);
+        when(outboxRepository.findByIdGreaterThanOrderByIdAsc(eq(0L), any(Limit.class)))
+                .thenReturn(List.of(outboxEvent(1), outboxEvent(2), outboxEvent(3)));
+
+        // Act
+        feed.poll();
+        deliver();
+
+        // Assert
+        assertThat(emitters.getFirst().ids()).containsExactly("1", "2");
+        assertThat(emitters.getFirst().completed).isTrue();
+        assertThat(feed.getOverflows()).isEqualTo(1);
+        assertThat(feed.getSubscribers()).isZero();
+    }
+
+    @Test
+    public void givenFailingSubscriber_whenSending_thenShouldNotAffectOtherSubscribers() {
+        // Arrange
+        ProductChangeFeed feed = createFeed(16);
+        feed.subscribe(null);
+        feed.subscribe(null);
+        emitters.getFirst().failing = true;
+        when(outboxRepository.findByIdGreaterThanOrderByIdAsc(eq(0L), any(Limit.class)))
+                .thenReturn(List.of(outboxEvent(1)));
+
+        // Act
+        feed.poll();
+        deliver();
+
+        // Assert
+        assertThat(emitters.get(1).ids()).containsExactly("1");
+        assertThat(feed.getSubscribers()).isEqualTo(1);
+    }
+
+    @Test
+    public void givenIdleSubscriber_whenHeartbeat_thenShouldSendComment() {
+        // Arrange
+        ProductChangeFeed feed = createFeed(16);
+        feed.subscribe(null);
+
+        // Act
+        feed.heartbeat();
+        deliver();
+
+        // Assert
+        assertThat(emitters.getFirst().sent).singleElement().asString().startsWith(":heartbeat");
+    }
+
+    @Test
+    public void givenPublishedChanges_whenPruning_thenShouldDeleteOnlyPublishedChangesOlderThanRetention() {
+        // Arrange
+        when(outboxRepository.findMaxId()).thenReturn(Optional.of(7L));
+        ProductChangeFeed feed = createFeed(16);
+
+        // Act
+        feed.prune();
+
+        // Assert
+        verify(outboxRepository).deletePublishedBefore(NOW.minus(RETENTION), 7L);
+    }
+
+    private ProductChangeFeed createFeed(int bufferCapacity) {
+        return new ProductChangeFeed(outboxRepository, outboxWriter, ProductShards.UNSHARDED, () -> {
+            RecordingEmitter emitter = new RecordingEmitter();
+            emitters.add(emitter);
+            return emitter;
+        }, deliveries::add, clock, 100, bufferCapacity, GAP_TIMEOUT, RETENTION);
+    }
+
+    // Runs the queued deliveries like the virtual threads would, after the poll that queued them
+    private void deliver() {
+        while (!deliveries.isEmpty()) {
+            deliveries.removeFirst().run();
+        }
+    }
+
+    private static ProductOutboxEvent outboxEvent(long id) {
+        return new ProductOutboxEvent(id, ProductChangedEvent.ChangeType.UPDATED, "product-" + id,
+                "{\"publicId\":\"product-" + id + "\"}", NOW);
+    }
+
+    private static final class RecordingEmitter extends SseEmitter {
+        private final List<String> sent = new ArrayList<>();
+        private boolean completed;
+        private boolean failing;
+
+        @Override
+        public void send(SseEventBuilder builder) throws java.io.IOException {
+            if (failing) {
+                throw new java.io.IOException("Broken pipe");
+            }
+            sent.add(builder.build().stream()
+                    .map(ResponseBodyEmitter.DataWithMediaType::getData)
+                    .map(Object::toString)
+                    .collect(Collectors.joining()));
+        }
+
+        @Override
+        public void complete() {
+            completed = true;
+        }
+
+        private List<String> ids() {
+            return fields("id:");
+        }
+
+        private List<String> names() {
+            return fields("event:");
+        }
+
+        private List<String> fields(String prefix) {
+            return sent.stream()
+                    .flatMap(event -> Arrays.stream(event.split("\n")))
+                    .filter(line -> line.startsWith(prefix))
+                    .map(line -> line.substring(prefix.length()))
+                    .toList();
+        }
+    }
+
+    private static final class MutableClock extends Clock {
+        private Instant instant;
+
+        private MutableClock(Instant instant) {
+            this.instant = instant;
+        }
+
+        private void advance(Duration duration) {
+            instant = instant.plus(duration);
+        }
+
+        @Override
+        public ZoneOffset getZone() {
+            return ZoneOffset.UTC;
+        }
+
+        @Override
+        public Clock withZone(java.time.ZoneId zone) {
+            return this;
+        }
+
+        @Override
+        public Instant instant() {
+            return instant;
+        }
+    }
+}
@@ -0,0 +1,91 @@
+package br.com.productmanagementsystem.changes;
+
+import br.com.productmanagementsystem.dto.ProductRequestDTO;
+import br.com.productmanagementsystem.dto.ProductResponseDTO;
+import br.com.productmanagementsystem.entity.ProductOutboxEvent;
+import br.com.productmanagementsystem.event.ProductChangedEvent;
+import br.com.productmanagementsystem.repository.ProductOutboxRepository;
+import br.com.productmanagementsystem.repository.ProductRepository;
+import br.com.productmanagementsystem.service.ProductService;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.data.domain.Limit;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.math.BigDecimal;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Checks that outbox events commit and roll back together with the product writes
+ */
+@SpringBootTest
+public class ProductOutboxIntegrationTest {
+
+    private static final String NAME = "Outbox Product";
+
+    @Autowired
+    private ProductService productService;
+
+    @Autowired
+    private ProductRepository productRepository;
+
+    @Autowired
+    private ProductOutboxRepository outboxRepository;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    private long lastOutboxId;
+
+    @BeforeEach
+    public void setUp() {
+        lastOutboxId = outboxRepository.findMaxId().orElse(0L);
+    }
+
+    @AfterEach
+    public void tearDown() {
+        productRepository.findAll().stream()
+                .filter(product -> product.getName().equals(NAME))
+                .forEach(product -> productService.delete(product.getPublicId(), null));
+    }
+
+    @Test
+    public void givenCommittedWrites_whenWriting_thenShouldAppendOutboxEventsInOrder() {
+        // Arrange
+        ProductRequestDTO requestDTO = new ProductRequestDTO(NAME, new BigDecimal("99.90"), null, 5);
+
+        // Act
+        ProductResponseDTO created = productService.save(requestDTO);
+        productService.adjustStock(created.publicId(), 3);
+
+        // Assert
+        List<ProductOutboxEvent> events = outboxRepository.findByIdGreaterThanOrderByIdAsc(lastOutboxId, Limit.of(10));
+        assertThat(events)
+                .extracting(ProductOutboxEvent::getType)
+                .containsExactly(ProductChangedEvent.ChangeType.CREATED, ProductChangedEvent.ChangeType.UPDATED);
+        assertThat(events).allMatch(event -> event.getProductPublicId().equals(created.publicId()));
+        assertThat(events.getLast().getPayload()).contains("\"quantity\":8");
+    }
+
+    @Test
+    public void givenRolledBackTransaction_whenWriting_thenShouldNotAppendOutboxEvent() {
+        // Arrange
+        ProductRequestDTO requestDTO = new ProductRequestDTO(NAME, new BigDecimal("99.90"), null, 5);
+
+        // Act
+        new TransactionTemplate(transactionManager).executeWithoutResult(status -> {
+            productService.save(requestDTO);
+            status.setRollbackOnly();
+        });
+
+        // Assert
+        assertThat(outboxRepository.findByIdGreaterThanOrderByIdAsc(lastOutboxId, Limit.of(10))).isEmpty();
+        assertThat(productRepository.findAll()).noneMatch(product -> product.getName().equals(NAME));
+    }
+}
@@ -0,0 +1,160 @@
+package br.com.productmanagementsystem.changes;
+
+import br.com.productmanagementsystem.entity.Product;
+import br.com.productmanagementsystem.entity.ProductOutboxEvent;
+import br.com.productmanagementsystem.entity.ProductTombstone;
+import br.com.productmanagementsystem.event.ProductChangedEvent;
+import br.com.productmanagementsystem.event.ProductSnapshot;
+import br.com.productmanagementsystem.repository.ProductOutboxRepository;
+import br.com.productmanagementsystem.repository.ProductRepository;
+import br.com.productmanagementsystem.repository.ProductTombstoneRepository;
+import br.com.productmanagementsystem.util.TestConstants;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+
+import java.time.Instant;
+import java.util.Optional;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+public class ProductOutboxWriterTest {
+
+    private static final long OUTBOX_ID = 5L;
+
+    private final ProductOutboxRepository outboxRepository = mock(ProductOutboxRepository.class);
+    private final ProductRepository productRepository = mock(ProductRepository.class);
+    private final ProductTombstoneRepository tombstoneRepository = mock(ProductTombstoneRepository.class);
+    private final ObjectMapper objectMapper = new ObjectMapper().findAndRegisterModules()
+            // As configured by Spring Boot
+            .disable(SerializationFeature.WRITE_DATES_AS_TIMESTAMPS);
+    private final ProductOutboxWriter outboxWriter = new ProductOutboxWriter(
+            outboxRepository, productRepository, tombstoneRepository, objectMapper);
+
+    @BeforeEach
+    public void setUp() {
+        when(outboxRepository.save(any(ProductOutboxEvent.class))).thenAnswer(invocation -> {
+            ProductOutboxEvent saved = invocation.getArgument(0);
+            return new ProductOutboxEvent(OUTBOX_ID, saved.getType(), saved.getProductPublicId(),
+                    saved.getPayload(), saved.getOccurredAt());
+        });
+    }
+
+    @Test
+    public void givenUpdatedProduct_whenWriting_thenShouldStoreNewStateAsPayload() throws Exception {
+        // Arrange
+        ProductSnapshot before = ProductSnapshot.from(TestConstants.createDefaultProduct());
+        ProductSnapshot after = new ProductSnapshot(before.id(), before.publicId(), before.name(), before.price(),
+                before.description(), 7, null);
+
+        // Act
+        outboxWriter.write(ProductChangedEvent.updated(before, after));
+
+        // Assert
+        ProductOutboxEvent outboxEvent = captureSavedEvent();
+        assertThat(outboxEvent.getId()).isNull();
+        assertThat(outboxEvent.getType()).isEqualTo(ProductChangedEvent.ChangeType.UPDATED);
+        assertThat(outboxEvent.getProductPublicId()).isEqualTo(TestConstants.DEFAULT_PUBLIC_ID);
+        JsonNode payload = objectMapper.readTree(outboxEvent.getPayload());
+        assertThat(payload.get("type").asText()).isEqualTo("UPDATED");
+        assertThat(payload.get("publicId").asText()).isEqualTo(TestConstants.DEFAULT_PUBLIC_ID);
+        assertThat(payload.get("product").get("quantity").asInt()).isEqualTo(7);
+        assertThat(payload.get("product").has("id")).isFalse();
+        assertThat(payload.get("occurredAt").asText()).isEqualTo(outboxEvent.getOccurredAt().toString());
+        verify(productRepository).updateChangeSeq(TestConstants.DEFAULT_ID, OUTBOX_ID);
+        verify(tombstoneRepository, never()).save(any());
+    }
+
+    @Test
+    public void givenDeletedProduct_whenWriting_thenShouldStoreRemovedStateAsPayload() throws Exception {
+        // Arrange
+        ProductSnapshot removed = ProductSnapshot.from(TestConstants.createDefaultProduct());
+
+        // Act
+        outboxWriter.write(ProductChangedEvent.deleted(removed));
+
+        // Assert
+        ProductOutboxEvent outboxEvent = captureSavedEvent();
+        assertThat(outboxEvent.getType()).isEqualTo(ProductChangedEvent.ChangeType.DELETED);
+        JsonNode payload = objectMapper.readTree(outboxEvent.getPayload());
+        assertThat(payload.get("product").get("name").asText()).isEqualTo(removed.name());
+        ArgumentCaptor<ProductTombstone> tombstone = ArgumentCaptor.forClass(ProductTombstone.class);
+        verify(tombstoneRepository).save(tombstone.capture());
+        assertThat(tombstone.getValue().getPublicId()).isEqualTo(TestConstants.DEFAULT_PUBLIC_ID);
+        assertThat(tombstone.getValue().getChangeSeq()).isEqualTo(OUTBOX_ID);
+        assertThat(tombstone.getValue().getDeletedAt()).isEqualTo(outboxEvent.getOccurredAt());
+        verify(productRepository, never()).updateChangeSeq(anyLong(), anyLong());
+    }
+
+    @Test
+    public void givenChangeCommittedAfterItWasSkipped_whenRepublishing_thenShouldMoveItToANewId() {
+        // Arrange
+        Product product = TestConstants.createDefaultProduct();
+        product.setChangeSeq(2L);
+        ProductOutboxEvent late = lateEvent(2L, ProductChangedEvent.ChangeType.UPDATED);
+        when(productRepository.findByPublicId(TestConstants.DEFAULT_PUBLIC_ID)).thenReturn(Optional.of(product));
+
+        // Act
+        boolean republished = outboxWriter.republish(late);
+
+        // Assert
+        assertThat(republished).isTrue();
+        verify(outboxRepository).delete(late);
+        ProductOutboxEvent outboxEvent = captureSavedEvent();
+        assertThat(outboxEvent.getId()).isNull();
+        assertThat(outboxEvent.getPayload()).isEqualTo(late.getPayload());
+        verify(productRepository).updateChangeSeq(TestConstants.DEFAULT_ID, OUTBOX_ID);
+    }
+
+    @Test
+    public void givenDeletionCommittedAfterItWasSkipped_whenRepublishing_thenShouldRestampTheTombstone() {
+        // Arrange
+        ProductTombstone tombstone = new ProductTombstone(TestConstants.DEFAULT_PUBLIC_ID, 2L, Instant.now());
+        when(tombstoneRepository.findById(TestConstants.DEFAULT_PUBLIC_ID)).thenReturn(Optional.of(tombstone));
+
+        // Act
+        boolean republished = outboxWriter.republish(lateEvent(2L, ProductChangedEvent.ChangeType.DELETED));
+
+        // Assert
+        assertThat(republished).isTrue();
+        assertThat(tombstone.getChangeSeq()).isEqualTo(OUTBOX_ID);
+    }
+
+    @Test
+    public void givenSkippedChangeSupersededByALaterOne_whenRepublishing_thenShouldOnlyDropIt() {
+        // Arrange
+        Product product = TestConstants.createDefaultProduct();
+        product.setChangeSeq(4L);
+        ProductOutboxEvent late = lateEvent(2L, ProductChangedEvent.ChangeType.UPDATED);
+        when(productRepository.findByPublicId(TestConstants.DEFAULT_PUBLIC_ID)).thenReturn(Optional.of(product));
+
+        // Act
+        boolean republished = outboxWriter.republish(late);
+
+        // Assert
+        assertThat(republished).isFalse();
+        verify(outboxRepository).delete(late);
+        verify(outboxRepository, never()).save(any());
+        verify(productRepository, never()).updateChangeSeq(anyLong(), anyLong());
+    }
+
+    private static ProductOutboxEvent lateEvent(long id, ProductChangedEvent.ChangeType type) {
+        return new ProductOutboxEvent(id, type, TestConstants.DEFAULT_PUBLIC_ID,
+                "{\"publicId\":\"" + TestConstants.DEFAULT_PUBLIC_ID + "\"}", Instant.now());
+    }
+
+    private ProductOutboxEvent captureSavedEvent() {
+        ArgumentCaptor<ProductOutboxEvent> captor = ArgumentCaptor.forClass(ProductOutboxEvent.class);
+        verify(outboxRepository).save(captor.capture());
+        return captor.getValue();
+    }
+}
@@ -0,0 +1,121 @@
+package br.com.productmanagementsystem.config;
+
+import br.com.productmanagementsystem.dto.ProductResponseDTO;
+import org.junit.jupiter.api.Test;
+
+import java.math.BigDecimal;
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.ZoneId;
+import java.time.ZoneOffset;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+public class ExpiringLruCacheTest {
+
+    private static final Duration TTL = Duration.ofMinutes(10);
+
+    private final MutableClock clock = new MutableClock(Instant.parse("2025-01-01T12:00:00Z"));
+    private final ExpiringLruCache cache = new ExpiringLruCache(CacheConfig.PRODUCTS_CACHE, 2, TTL, clock,
+            CacheConfig::isNewerProduct);
+
+    @Test
+    public void givenFullCache_whenPutting_thenShouldDropTheLeastRecentlyUsedEntry() {
+        // Arrange
+        cache.put("a", product("a", 1L));
+        cache.put("b", product("b", 1L));
+        cache.get("a");
+
+        // Act
+        cache.put("c", product("c", 1L));
+
+        // Assert
+        assertThat(cache.get("a")).isNotNull();
+        assertThat(cache.get("b")).isNull();
+        assertThat(cache.size()).isEqualTo(2);
+    }
+
+    @Test
+    public void givenEntryOlderThanTtl_whenReading_thenShouldMiss() {
+        // Arrange
+        cache.put("a", product("a", 1L));
+
+        // Act
+        clock.advance(TTL);
+
+        // Assert
+        assertThat(cache.get("a")).isNull();
+    }
+
+    @Test
+    public void givenNewerVersion_whenPuttingAnOlderOne_thenShouldKeepTheNewer() {
+        // Arrange
+        cache.put("a", product("a", 2L));
+
+        // Act
+        cache.put("a", product("a", 1L));
+
+        // Assert
+        assertThat(cache.get("a", ProductResponseDTO.class).version()).isEqualTo(2L);
+    }
+
+    @Test
+    public void givenWriteSinceRead_whenReadPathFillsEntry_thenShouldNotOverwriteIt() {
+        // Arrange
+        cache.put("a", product("a", 2L));
+
+        // Act
+        cache.putIfAbsent("a", product("a", 1L));
+
+        // Assert
+        assertThat(cache.get("a", ProductResponseDTO.class).version()).isEqualTo(2L);
+    }
+
+    @Test
+    public void givenEvictedEntry_whenReadPathFillsIt_thenShouldStayEvictedUntilAWrite() {
+        // Arrange
+        cache.put("a", product("a", 1L));
+        cache.evict("a");
+
+        // Act
+        cache.putIfAbsent("a", product("a", 1L));
+        boolean cachedAfterRead = cache.get("a") != null;
+        cache.put("a", product("a", 2L));
+
+        // Assert
+        assertThat(cachedAfterRead).isFalse();
+        assertThat(cache.get("a", ProductResponseDTO.class).version()).isEqualTo(2L);
+    }
+
+    private static ProductResponseDTO product(String publicId, Long version) {
+        return new ProductResponseDTO(publicId, "Product " + publicId, BigDecimal.TEN, null, 1, version);
+    }
+
+    private static final class MutableClock extends Clock {
+        private Instant instant;
+
+        private MutableClock(Instant instant) {
+            this.instant = instant;
+        }
+
+        private void advance(Duration duration) {
+            instant = instant.plus(duration);
+        }
+
+        @Override
+        public ZoneOffset getZone() {
+            return ZoneOffset.UTC;
+        }
+
+        @Override
+        public Clock withZone(ZoneId zone) {
+            return this;
+        }
+
+        @Override
+        public Instant instant() {
+            return instant;
+        }
+    }
+}
@@ -0,0 +1,151 @@
+package br.com.productmanagementsystem.controller;
+
+import br.com.productmanagementsystem.changes.ProductChangeFeed;
+import br.com.productmanagementsystem.dto.ProductChangesResponseDTO;
+import br.com.productmanagementsystem.dto.ProductTombstoneDTO;
+import br.com.productmanagementsystem.exception.ChangesUnavailableException;
+import br.com.productmanagementsystem.exception.InvalidSyncTokenException;
+import br.com.productmanagementsystem.service.ProductService;
+import br.com.productmanagementsystem.util.TestConstants;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.WebMvcTest;
+import org.springframework.http.MediaType;
+import org.springframework.test.context.bean.override.mockito.MockitoBean;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.time.Instant;
+import java.util.List;
+
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.isNull;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.request;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+@WebMvcTest(ProductChangesController.class)
+public final class ProductChangesControllerTest {
+
+    private static final String CHANGES_URL = "/api/v1/products/changes";
+    private static final String STREAM_URL = "/api/v1/products/changes/stream";
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @MockitoBean
+    private ProductService productService;
+
+    @MockitoBean
+    private ProductChangeFeed productChangeFeed;
+
+    @Test
+    public void givenSyncToken_whenFindingChanges_thenShouldReturnChangesAndNextToken() throws Exception {
+        // Arrange
+        ProductChangesResponseDTO changes = new ProductChangesResponseDTO(
+                List.of(TestConstants.createDefaultProductResponseDTO()),
+                List.of(new ProductTombstoneDTO(TestConstants.NON_EXISTENT_PUBLIC_ID, Instant.parse("2025-01-01T12:00:00Z"))),
+                "15",
+                false
+        );
+        when(productService.findChanges(10L, 500)).thenReturn(changes);
+
+        // Act & Assert
+        mockMvc.perform(get(CHANGES_URL).param("since", "10"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.changed[0].publicId").value(TestConstants.DEFAULT_PUBLIC_ID))
+                .andExpect(jsonPath("$.deleted[0].publicId").value(TestConstants.NON_EXISTENT_PUBLIC_ID))
+                .andExpect(jsonPath("$.nextToken").value("15"))
+                .andExpect(jsonPath("$.hasMore").value(false));
+    }
+
+    @Test
+    public void givenNoSyncToken_whenFindingChanges_thenShouldAskServiceForNewToken() throws Exception {
+        // Arrange
+        when(productService.findChanges(null, 500)).thenReturn(new ProductChangesResponseDTO(List.of(), List.of(), "42", false));
+
+        // Act & Assert
+        mockMvc.perform(get(CHANGES_URL))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.nextToken").value("42"));
+    }
+
+    @Test
+    public void givenLimitOutOfRange_whenFindingChanges_thenShouldReturnBadRequest() throws Exception {
+        // Act & Assert
+        mockMvc.perform(get(CHANGES_URL).param("since", "10").param("limit", "0"))
+                .andExpect(status().isBadRequest())
+                .andExpect(jsonPath("$.type").value("https://api.productmanagement.com.br/constraint-violation"));
+        verify(productService, never()).findChanges(any(), anyInt());
+    }
+
+    @Test
+    public void givenInvalidSyncToken_whenFindingChanges_thenShouldReturnGone() throws Exception {
+        // Arrange
+        when(productService.findChanges(999L, 500)).thenThrow(new InvalidSyncTokenException(999L));
+
+        // Act & Assert
+        mockMvc.perform(get(CHANGES_URL).param("since", "999"))
+                .andExpect(status().isGone())
+                .andExpect(jsonPath("$.type").value("https://api.productmanagement.com.br/sync-token-invalid"))
+                .andExpect(jsonPath("$.token").value(999));
+    }
+
+    @Test
+    public void givenShardedCatalog_whenStreaming_thenShouldReturnNotImplemented() throws Exception {
+        // Arrange
+        when(productChangeFeed.subscribe(null)).thenThrow(new ChangesUnavailableException());
+
+        // Act & Assert
+        mockMvc.perform(get(STREAM_URL))
+                .andExpect(status().isNotImplemented())
+                .andExpect(jsonPath("$.type").value("https://api.productmanagement.com.br/changes-unavailable"));
+    }
+
+    @Test
+    public void givenNoLastEventId_whenStreaming_thenShouldSubscribeFromNow() throws Exception {
+        // Arrange
+        when(productChangeFeed.subscribe(isNull())).thenReturn(new SseEmitter());
+
+        // Act & Assert
+        mockMvc.perform(get(STREAM_URL).accept(MediaType.TEXT_EVENT_STREAM))
+                .andExpect(request().asyncStarted());
+        verify(productChangeFeed).subscribe(null);
+    }
+
+    @Test
+    public void givenLastEventIdHeader_whenStreaming_thenShouldResumeAfterIt() throws Exception {
+        // Arrange
+        when(productChangeFeed.subscribe(42L)).thenReturn(new SseEmitter());
+
+        // Act & Assert
+        mockMvc.perform(get(STREAM_URL).header("Last-Event-ID", "42").param("lastEventId", "7"))
+                .andExpect(request().asyncStarted());
+        verify(productChangeFeed).subscribe(42L);
+    }
+
+    @Test
+    public void givenLastEventIdParameter_whenStreaming_thenShouldResumeAfterIt() throws Exception {
+        // Arrange
+        when(productChangeFeed.subscribe(7L)).thenReturn(new SseEmitter());
+
+        // Act & Assert
+        mockMvc.perform(get(STREAM_URL).param("lastEventId", "7"))
+                .andExpect(request().asyncStarted());
+        verify(productChangeFeed).subscribe(7L);
+    }
+
+    @Test
+    public void givenNonNumericLastEventId_whenStreaming_thenShouldReturnBadRequest() throws Exception {
+        // Act & Assert
+        mockMvc.perform(get(STREAM_URL).header("Last-Event-ID", "abc"))
+                .andExpect(status().isBadRequest())
+                .andExpect(jsonPath("$.type").value("https://api.productmanagement.com.br/type-mismatch"));
+        verify(productChangeFeed, never()).subscribe(any());
+    }
+}
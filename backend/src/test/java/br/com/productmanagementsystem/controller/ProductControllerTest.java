@@ -1,12 +1,27 @@
 package br.com.productmanagementsystem.controller;
 
+import br.com.productmanagementsystem.dto.ProductFacetsResponseDTO;
+import br.com.productmanagementsystem.dto.ProductHistoryEventDTO;
+import br.com.productmanagementsystem.dto.ProductLookupRequestDTO;
+import br.com.productmanagementsystem.dto.ProductLookupResponseDTO;
 import br.com.productmanagementsystem.dto.ProductQueryDTO;
 import br.com.productmanagementsystem.dto.ProductRequestDTO;
 import br.com.productmanagementsystem.dto.ProductResponseDTO;
+import br.com.productmanagementsystem.dto.ProductStatsResponseDTO;
+import br.com.productmanagementsystem.dto.ProductSuggestionDTO;
+import br.com.productmanagementsystem.dto.StockReservationRequestDTO;
+import br.com.productmanagementsystem.dto.StockReservationResponseDTO;
+import br.com.productmanagementsystem.event.ProductChangedEvent;
+import br.com.productmanagementsystem.exception.InsufficientStockException;
+import br.com.productmanagementsystem.exception.PreconditionFailedException;
 import br.com.productmanagementsystem.exception.ProductAlreadyExistsException;
 import br.com.productmanagementsystem.exception.ProductNotFoundException;
 import br.com.productmanagementsystem.exception.ResourceNotFoundException;
+import br.com.productmanagementsystem.exception.StockAdjustmentRejectedException;
+import br.com.productmanagementsystem.service.ConcurrentWriteRetry;
 import br.com.productmanagementsystem.service.ProductService;
+import br.com.productmanagementsystem.specification.ProductField;
+import com.fasterxml.jackson.databind.JsonNode;
 import com.fasterxml.jackson.databind.ObjectMapper;
 import jakarta.validation.ConstraintViolation;
 import jakarta.validation.ConstraintViolationException;
@@ -15,17 +30,23 @@ import org.springframework.dao.DataIntegrityViolationException;
 import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.autoconfigure.web.servlet.WebMvcTest;
+import org.springframework.context.annotation.Import;
 import org.springframework.test.context.bean.override.mockito.MockitoBean;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.PageImpl;
 import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
 import org.springframework.http.MediaType;
+import org.springframework.orm.ObjectOptimisticLockingFailureException;
 import org.springframework.test.web.servlet.MockMvc;
 
 import java.math.BigDecimal;
+import java.time.Instant;
+import java.util.EnumSet;
 import java.util.HashSet;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
 import java.util.Set;
 
 import static br.com.productmanagementsystem.util.TestConstants.*;
@@ -33,14 +54,17 @@ import static org.assertj.core.api.Assertions.assertThat;
 import static org.hamcrest.Matchers.hasItem;
 import static org.hamcrest.Matchers.hasSize;
 import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anySet;
 import static org.mockito.Mockito.*;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.delete;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.patch;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.put;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
 
 @WebMvcTest(ProductController.class)
+@Import(ConcurrentWriteRetry.class)
 public final class ProductControllerTest {
 
     @Autowired
@@ -134,7 +158,7 @@ public final class ProductControllerTest {
                 UPDATED_QUANTITY
         );
 
-        when(this.productService.update(DEFAULT_PUBLIC_ID, requestDTO)).thenReturn(responseDTO);
+        when(this.productService.update(DEFAULT_PUBLIC_ID, requestDTO, null)).thenReturn(responseDTO);
 
         // Act & Assert
         mockMvc
@@ -153,7 +177,7 @@ public final class ProductControllerTest {
     @Test
     public void givenValidPublicId_whenDeleting_thenShouldReturnNoContent() throws Exception {
         // Arrange
-        doNothing().when(this.productService).delete(DEFAULT_PUBLIC_ID);
+        doNothing().when(this.productService).delete(DEFAULT_PUBLIC_ID, null);
 
         // Act & Assert
         mockMvc
@@ -307,7 +331,7 @@ public final class ProductControllerTest {
         Long productId = 456L;
         ProductRequestDTO updateRequest = createUpdatedProductRequestDTO();
 
-        when(productService.update(eq(nonExistentPublicId), any(ProductRequestDTO.class)))
+        when(productService.update(eq(nonExistentPublicId), any(ProductRequestDTO.class), isNull()))
                 .thenThrow(new ProductNotFoundException(productId));
 
         // Act & Assert - RFC 7807 Problem Details format
@@ -364,7 +388,7 @@ public final class ProductControllerTest {
 
         // If your service throws exception on delete for non-existent products
         doThrow(new ProductNotFoundException(productId))
-                .when(productService).delete(nonExistentPublicId);
+                .when(productService).delete(nonExistentPublicId, null);
 
         // Act & Assert
         mockMvc
@@ -422,7 +446,7 @@ public final class ProductControllerTest {
                 30
         );
 
-        when(productService.update(eq(publicId), any(ProductRequestDTO.class)))
+        when(productService.update(eq(publicId), any(ProductRequestDTO.class), isNull()))
                 .thenThrow(new ProductAlreadyExistsException(conflictingProductName));
 
         // Act & Assert - RFC 7807 Problem Details format
@@ -536,7 +560,7 @@ public final class ProductControllerTest {
         ProductRequestDTO updateRequest = createUpdatedProductRequestDTO();
         String errorMessage = "Quantity cannot exceed maximum stock limit";
 
-        when(productService.update(eq(publicId), any(ProductRequestDTO.class)))
+        when(productService.update(eq(publicId), any(ProductRequestDTO.class), isNull()))
                 .thenThrow(new IllegalArgumentException(errorMessage));
 
         // Act & Assert
@@ -825,7 +849,7 @@ public final class ProductControllerTest {
         ProductRequestDTO updateRequest = createUpdatedProductRequestDTO();
         
         // Mock the service to throw DataIntegrityViolationException
-        when(productService.update(eq(publicId), any(ProductRequestDTO.class)))
+        when(productService.update(eq(publicId), any(ProductRequestDTO.class), isNull()))
                 .thenThrow(new DataIntegrityViolationException("Column length exceeded"));
 
         // Act & Assert
@@ -841,5 +865,557 @@ public final class ProductControllerTest {
                 .andExpect(jsonPath("$.status").value(409));
     }
 
+    @Test
+    public void givenFieldsParameter_whenFindingAll_thenShouldReturnOnlySelectedFields() throws Exception {
+        // Arrange
+        Map<String, Object> projected = new LinkedHashMap<>();
+        projected.put("publicId", DEFAULT_PUBLIC_ID);
+        projected.put("name", SMARTPHONE_NAME);
+        projected.put("price", SMARTPHONE_PRICE);
+        Page<Map<String, Object>> productPage = new PageImpl<>(List.of(projected), PageRequest.of(0, 10), 1);
+
+        when(this.productService.findAll(any(ProductQueryDTO.class), anySet(), any(Pageable.class))).thenReturn(productPage);
+
+        // Act & Assert
+        mockMvc
+                .perform(get("/api/v1/products")
+                        .param("fields", "publicId,name,price")
+                        .accept(MediaType.APPLICATION_JSON))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.content[0].publicId").value(DEFAULT_PUBLIC_ID))
+                .andExpect(jsonPath("$.content[0].name").value(SMARTPHONE_NAME))
+                .andExpect(jsonPath("$.content[0].price").value(SMARTPHONE_PRICE))
+                .andExpect(jsonPath("$.content[0].description").doesNotExist())
+                .andExpect(jsonPath("$.content[0].quantity").doesNotExist());
+
+        verify(productService).findAll(any(ProductQueryDTO.class),
+                eq(EnumSet.of(ProductField.PUBLIC_ID, ProductField.NAME, ProductField.PRICE)), any(Pageable.class));
+    }
+
+    @Test
+    public void givenFieldsParameter_whenFindingByPublicId_thenShouldReturnOnlySelectedFields() throws Exception {
+        // Arrange
+        Map<String, Object> projected = new LinkedHashMap<>();
+        projected.put("name", SMARTPHONE_NAME);
+        projected.put("quantity", SMARTPHONE_QUANTITY);
+
+        when(this.productService.findByPublicId(eq(DEFAULT_PUBLIC_ID), anySet())).thenReturn(projected);
+
+        // Act & Assert
+        mockMvc
+                .perform(get("/api/v1/products/{publicId}", DEFAULT_PUBLIC_ID)
+                        .param("fields", "name,quantity")
+                        .accept(MediaType.APPLICATION_JSON))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.name").value(SMARTPHONE_NAME))
+                .andExpect(jsonPath("$.quantity").value(SMARTPHONE_QUANTITY))
+                .andExpect(jsonPath("$.publicId").doesNotExist())
+                .andExpect(jsonPath("$.description").doesNotExist());
+    }
+
+    @Test
+    public void givenUnknownField_whenFindingAll_thenShouldReturnBadRequestWithRFC7807() throws Exception {
+        // Act & Assert
+        mockMvc
+                .perform(get("/api/v1/products")
+                        .param("fields", "name,secret")
+                        .accept(MediaType.APPLICATION_JSON))
+                .andExpect(status().isBadRequest())
+                .andExpect(content().contentType("application/problem+json"))
+                .andExpect(jsonPath("$.type").value("https://api.productmanagement.com.br/constraint-violation"))
+                .andExpect(jsonPath("$.errors[0].field").value("fields"));
+
+        verifyNoInteractions(productService);
+    }
+
+    @Test
+    public void givenPublicIds_whenLookingUp_thenShouldReturnProductsAndMissingIds() throws Exception {
+        // Arrange
+        ProductResponseDTO responseDTO = createDefaultProductResponseDTO();
+        ProductLookupRequestDTO lookupRequestDTO = new ProductLookupRequestDTO(List.of(DEFAULT_PUBLIC_ID, NON_EXISTENT_PUBLIC_ID));
+
+        when(this.productService.findAllByPublicIds(List.of(DEFAULT_PUBLIC_ID, NON_EXISTENT_PUBLIC_ID)))
+                .thenReturn(new ProductLookupResponseDTO(List.of(responseDTO), List.of(NON_EXISTENT_PUBLIC_ID)));
 
-}
\ No newline at end of file
+        // Act & Assert
+        mockMvc
+                .perform(post("/api/v1/products/lookup")
+                        .content(this.objectMapper.writeValueAsString(lookupRequestDTO))
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .accept(MediaType.APPLICATION_JSON))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.products.length()").value(1))
+                .andExpect(jsonPath("$.products[0].publicId").value(DEFAULT_PUBLIC_ID))
+                .andExpect(jsonPath("$.missingPublicIds[0]").value(NON_EXISTENT_PUBLIC_ID));
+    }
+
+    @Test
+    public void givenInvalidPublicIdInLookup_whenLookingUp_thenShouldReturnBadRequest() throws Exception {
+        // Arrange
+        ProductLookupRequestDTO lookupRequestDTO = new ProductLookupRequestDTO(List.of(INVALID_UUID_FORMAT));
+
+        // Act & Assert
+        mockMvc
+                .perform(post("/api/v1/products/lookup")
+                        .content(this.objectMapper.writeValueAsString(lookupRequestDTO))
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .accept(MediaType.APPLICATION_JSON))
+                .andExpect(status().isBadRequest())
+                .andExpect(jsonPath("$.type").value("https://api.productmanagement.com.br/validation-error"));
+
+        verifyNoInteractions(productService);
+    }
+
+    @Test
+    public void givenMergePatch_whenPatching_thenShouldReturnPatchedProduct() throws Exception {
+        // Arrange
+        ProductResponseDTO responseDTO = new ProductResponseDTO(
+                DEFAULT_PUBLIC_ID, SMARTPHONE_NAME, SMARTPHONE_PRICE, SMARTPHONE_DESCRIPTION, UPDATED_QUANTITY);
+
+        when(productService.patch(eq(DEFAULT_PUBLIC_ID), any(JsonNode.class), isNull())).thenReturn(responseDTO);
+
+        // Act & Assert
+        mockMvc
+                .perform(patch("/api/v1/products/{publicId}", DEFAULT_PUBLIC_ID)
+                        .content("{\"quantity\": " + UPDATED_QUANTITY + "}")
+                        .contentType("application/merge-patch+json")
+                        .accept(MediaType.APPLICATION_JSON))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.publicId").value(DEFAULT_PUBLIC_ID))
+                .andExpect(jsonPath("$.quantity").value(UPDATED_QUANTITY));
+
+        verify(productService).patch(eq(DEFAULT_PUBLIC_ID), argThat(node -> node.get("quantity").asInt() == UPDATED_QUANTITY), isNull());
+    }
+
+    @Test
+    public void givenMergePatchViolatingRules_whenPatching_thenShouldReturnBadRequestWithRFC7807() throws Exception {
+        // Arrange
+        when(productService.patch(eq(DEFAULT_PUBLIC_ID), any(JsonNode.class), isNull()))
+                .thenThrow(new ConstraintViolationException("Product violates business rules", Set.of()));
+
+        // Act & Assert
+        mockMvc
+                .perform(patch("/api/v1/products/{publicId}", DEFAULT_PUBLIC_ID)
+                        .content("{\"price\": 5.00, \"quantity\": 500}")
+                        .contentType("application/merge-patch+json")
+                        .accept(MediaType.APPLICATION_JSON))
+                .andExpect(status().isBadRequest())
+                .andExpect(jsonPath("$.type").value("https://api.productmanagement.com.br/constraint-violation"));
+    }
+
+    @Test
+    public void givenMergePatchForNonExistentProduct_whenPatching_thenShouldReturnNotFound() throws Exception {
+        // Arrange
+        when(productService.patch(eq(NON_EXISTENT_PUBLIC_ID), any(JsonNode.class), isNull()))
+                .thenThrow(new ResourceNotFoundException("Product not found with publicId: " + NON_EXISTENT_PUBLIC_ID));
+
+        // Act & Assert
+        mockMvc
+                .perform(patch("/api/v1/products/{publicId}", NON_EXISTENT_PUBLIC_ID)
+                        .content("{\"quantity\": 1}")
+                        .contentType("application/merge-patch+json")
+                        .accept(MediaType.APPLICATION_JSON))
+                .andExpect(status().isNotFound())
+                .andExpect(jsonPath("$.type").value("https://api.productmanagement.com.br/resource-not-found"));
+    }
+
+    @Test
+    public void givenFilters_whenFindingFacets_thenShouldReturnFacetCounts() throws Exception {
+        // Arrange
+        ProductFacetsResponseDTO facets = new ProductFacetsResponseDTO(
+                2,
+                List.of(new ProductFacetsResponseDTO.PriceBucket(new BigDecimal("1000.00"), new BigDecimal("5000.00"), 2)),
+                new ProductFacetsResponseDTO.StockStatus(2, 0),
+                List.of(new ProductFacetsResponseDTO.QuantityBand(11, 50, 2))
+        );
+
+        when(this.productService.findFacets(any(ProductQueryDTO.class))).thenReturn(facets);
+
+        // Act & Assert
+        mockMvc
+                .perform(get("/api/v1/products/facets")
+                        .param("minPrice", "1000.00")
+                        .accept(MediaType.APPLICATION_JSON))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.total").value(2))
+                .andExpect(jsonPath("$.priceBuckets[0].count").value(2))
+                .andExpect(jsonPath("$.stockStatus.inStock").value(2))
+                .andExpect(jsonPath("$.quantityBands[0].to").value(50));
+
+        verify(this.productService).findFacets(argThat(query -> new BigDecimal("1000.00").equals(query.minPrice())));
+    }
+
+    @Test
+    public void givenInvalidPriceRange_whenFindingFacets_thenShouldReturnBadRequest() throws Exception {
+        // Act & Assert
+        mockMvc
+                .perform(get("/api/v1/products/facets")
+                        .param("minPrice", "500.00")
+                        .param("maxPrice", "100.00")
+                        .accept(MediaType.APPLICATION_JSON))
+                .andExpect(status().isBadRequest());
+
+        verify(this.productService, never()).findFacets(any(ProductQueryDTO.class));
+    }
+
+    @Test
+    public void givenPrefix_whenSuggesting_thenShouldReturnSuggestions() throws Exception {
+        // Arrange
+        List<ProductSuggestionDTO> suggestions = List.of(
+                new ProductSuggestionDTO(DEFAULT_PUBLIC_ID, SMARTPHONE_NAME, SMARTPHONE_QUANTITY));
+
+        when(this.productService.suggest("sam", 5)).thenReturn(suggestions);
+
+        // Act & Assert
+        mockMvc
+                .perform(get("/api/v1/products/suggest")
+                        .param("prefix", "sam")
+                        .param("limit", "5")
+                        .accept(MediaType.APPLICATION_JSON))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$", hasSize(1)))
+                .andExpect(jsonPath("$[0].name").value(SMARTPHONE_NAME))
+                .andExpect(jsonPath("$[0].quantity").value(SMARTPHONE_QUANTITY));
+    }
+
+    @Test
+    public void givenLimitAboveMaximum_whenSuggesting_thenShouldReturnBadRequest() throws Exception {
+        // Act & Assert
+        mockMvc
+                .perform(get("/api/v1/products/suggest")
+                        .param("prefix", "sam")
+                        .param("limit", "50")
+                        .accept(MediaType.APPLICATION_JSON))
+                .andExpect(status().isBadRequest());
+
+        verify(this.productService, never()).suggest(any(), anyInt());
+    }
+
+    @Test
+    public void givenFuzzyParameter_whenFindingAll_thenShouldBindFuzzyQuery() throws Exception {
+        // Arrange
+        ProductQueryDTO expectedQuery = new ProductQueryDTO("Samsnug", null, null, null, null, true, true);
+        Pageable pageable = PageRequest.of(0, 10);
+        Page<ProductResponseDTO> productPage = new PageImpl<>(List.of(createDefaultProductResponseDTO()), pageable, 1);
+
+        when(this.productService.findAll(eq(expectedQuery), any(Pageable.class))).thenReturn(productPage);
+
+        // Act & Assert
+        mockMvc
+                .perform(get("/api/v1/products")
+                        .param("name", "Samsnug")
+                        .param("fuzzy", "true")
+                        .accept(MediaType.APPLICATION_JSON))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.content[0].name").value(SMARTPHONE_NAME));
+    }
+
+    @Test
+    public void givenQuery_whenSearching_thenShouldReturnProductsInRelevanceOrder() throws Exception {
+        // Arrange
+        ProductResponseDTO responseDTO = createDefaultProductResponseDTO();
+        Page<ProductResponseDTO> productPage = new PageImpl<>(List.of(responseDTO), PageRequest.of(0, 10), 1);
+
+        when(this.productService.search(eq("smartphone"), any(Pageable.class))).thenReturn(productPage);
+
+        // Act & Assert
+        mockMvc
+                .perform(get("/api/v1/products/search")
+                        .param("q", "smartphone")
+                        .accept(MediaType.APPLICATION_JSON))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.content[0].publicId").value(DEFAULT_PUBLIC_ID))
+                .andExpect(jsonPath("$.totalElements").value(1));
+    }
+
+    @Test
+    public void givenBlankQuery_whenSearching_thenShouldReturnBadRequest() throws Exception {
+        // Act & Assert
+        mockMvc
+                .perform(get("/api/v1/products/search")
+                        .param("q", "  ")
+                        .accept(MediaType.APPLICATION_JSON))
+                .andExpect(status().isBadRequest());
+
+        verify(this.productService, never()).search(any(), any());
+    }
+
+    @Test
+    public void givenCatalog_whenGettingStats_thenShouldReturnAggregates() throws Exception {
+        // Arrange
+        ProductStatsResponseDTO stats = new ProductStatsResponseDTO(20, 1240, new BigDecimal("183456.70"), 2, 5, 10);
+
+        when(this.productService.findStats()).thenReturn(stats);
+
+        // Act & Assert
+        mockMvc
+                .perform(get("/api/v1/products/stats")
+                        .accept(MediaType.APPLICATION_JSON))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.totalProducts").value(20))
+                .andExpect(jsonPath("$.totalStockValue").value(183456.70))
+                .andExpect(jsonPath("$.outOfStockCount").value(2))
+                .andExpect(jsonPath("$.lowStockCount").value(5));
+    }
+
+    @Test
+    public void givenUnsupportedSortProperty_whenFindingAll_thenShouldReturnBadRequestWithRFC7807() throws Exception {
+        // Act & Assert
+        mockMvc
+                .perform(get("/api/v1/products")
+                        .param("sort", "createdAt,desc")
+                        .accept(MediaType.APPLICATION_JSON))
+                .andExpect(status().isBadRequest())
+                .andExpect(jsonPath("$.type").value("https://api.productmanagement.com.br/invalid-sort-property"))
+                .andExpect(jsonPath("$.property").value("createdAt"));
+
+        verify(this.productService, never()).findAll(any(ProductQueryDTO.class), any(Pageable.class));
+    }
+
+    @Test
+    public void givenStockDelta_whenAdjustingStock_thenShouldReturnAdjustedProduct() throws Exception {
+        // Arrange
+        ProductResponseDTO responseDTO = new ProductResponseDTO(
+                DEFAULT_PUBLIC_ID, SMARTPHONE_NAME, SMARTPHONE_PRICE, SMARTPHONE_DESCRIPTION, SMARTPHONE_QUANTITY - 3);
+
+        when(productService.adjustStock(DEFAULT_PUBLIC_ID, -3)).thenReturn(responseDTO);
+
+        // Act & Assert
+        mockMvc
+                .perform(post("/api/v1/products/{publicId}/stock", DEFAULT_PUBLIC_ID)
+                        .content("{\"delta\": -3}")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .accept(MediaType.APPLICATION_JSON))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.quantity").value(SMARTPHONE_QUANTITY - 3));
+
+        verify(productService).adjustStock(DEFAULT_PUBLIC_ID, -3);
+    }
+
+    @Test
+    public void givenMissingDelta_whenAdjustingStock_thenShouldReturnBadRequestAndNotCallService() throws Exception {
+        // Act & Assert
+        mockMvc
+                .perform(post("/api/v1/products/{publicId}/stock", DEFAULT_PUBLIC_ID)
+                        .content("{}")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .accept(MediaType.APPLICATION_JSON))
+                .andExpect(status().isBadRequest());
+
+        verify(productService, never()).adjustStock(anyString(), anyInt());
+    }
+
+    @Test
+    public void givenRejectedAdjustment_whenAdjustingStock_thenShouldReturnConflictWithRFC7807() throws Exception {
+        // Arrange
+        when(productService.adjustStock(DEFAULT_PUBLIC_ID, -51))
+                .thenThrow(new StockAdjustmentRejectedException(DEFAULT_PUBLIC_ID, -51, SMARTPHONE_QUANTITY));
+
+        // Act & Assert
+        mockMvc
+                .perform(post("/api/v1/products/{publicId}/stock", DEFAULT_PUBLIC_ID)
+                        .content("{\"delta\": -51}")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .accept(MediaType.APPLICATION_JSON))
+                .andExpect(status().isConflict())
+                .andExpect(jsonPath("$.type").value("https://api.productmanagement.com.br/stock-adjustment-rejected"))
+                .andExpect(jsonPath("$.delta").value(-51))
+                .andExpect(jsonPath("$.currentQuantity").value(SMARTPHONE_QUANTITY));
+    }
+
+    @Test
+    public void givenAvailableStock_whenReserving_thenShouldReturnCreatedReservation() throws Exception {
+        // Arrange
+        Instant expiresAt = Instant.parse("2025-01-01T12:10:00Z");
+        StockReservationResponseDTO responseDTO = new StockReservationResponseDTO(
+                ALTERNATIVE_PUBLIC_ID, DEFAULT_PUBLIC_ID, 2, expiresAt);
+
+        when(productService.reserve(DEFAULT_PUBLIC_ID, new StockReservationRequestDTO(2, null))).thenReturn(responseDTO);
+
+        // Act & Assert
+        mockMvc
+                .perform(post("/api/v1/products/{publicId}/reservations", DEFAULT_PUBLIC_ID)
+                        .content("{\"quantity\": 2}")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .accept(MediaType.APPLICATION_JSON))
+                .andExpect(status().isCreated())
+                .andExpect(jsonPath("$.reservationId").value(ALTERNATIVE_PUBLIC_ID))
+                .andExpect(jsonPath("$.quantity").value(2));
+    }
+
+    @Test
+    public void givenInsufficientStock_whenReserving_thenShouldReturnConflictWithRFC7807() throws Exception {
+        // Arrange
+        when(productService.reserve(DEFAULT_PUBLIC_ID, new StockReservationRequestDTO(60, null)))
+                .thenThrow(new InsufficientStockException(DEFAULT_PUBLIC_ID, 60, SMARTPHONE_QUANTITY));
+
+        // Act & Assert
+        mockMvc
+                .perform(post("/api/v1/products/{publicId}/reservations", DEFAULT_PUBLIC_ID)
+                        .content("{\"quantity\": 60}")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .accept(MediaType.APPLICATION_JSON))
+                .andExpect(status().isConflict())
+                .andExpect(jsonPath("$.type").value("https://api.productmanagement.com.br/insufficient-stock"))
+                .andExpect(jsonPath("$.requested").value(60))
+                .andExpect(jsonPath("$.available").value(SMARTPHONE_QUANTITY));
+    }
+
+    @Test
+    public void givenPendingReservation_whenReleasing_thenShouldReturnNoContent() throws Exception {
+        // Act & Assert
+        mockMvc
+                .perform(delete("/api/v1/products/{publicId}/reservations/{reservationId}", DEFAULT_PUBLIC_ID, ALTERNATIVE_PUBLIC_ID))
+                .andExpect(status().isNoContent());
+
+        verify(productService).releaseReservation(DEFAULT_PUBLIC_ID, ALTERNATIVE_PUBLIC_ID);
+    }
+
+    @Test
+    public void givenVersionedProduct_whenFindingByPublicId_thenShouldReturnVersionAsETag() throws Exception {
+        // Arrange
+        ProductResponseDTO responseDTO = new ProductResponseDTO(
+                DEFAULT_PUBLIC_ID, SMARTPHONE_NAME, SMARTPHONE_PRICE, SMARTPHONE_DESCRIPTION, SMARTPHONE_QUANTITY, 3L);
+
+        when(productService.findByPublicId(DEFAULT_PUBLIC_ID)).thenReturn(responseDTO);
+
+        // Act & Assert
+        mockMvc
+                .perform(get("/api/v1/products/{publicId}", DEFAULT_PUBLIC_ID)
+                        .accept(MediaType.APPLICATION_JSON))
+                .andExpect(status().isOk())
+                .andExpect(header().string("ETag", "\"3\""))
+                .andExpect(jsonPath("$.version").doesNotExist());
+    }
+
+    @Test
+    public void givenAsOfParameter_whenFindingByPublicId_thenShouldReturnHistoricalStateWithoutETag() throws Exception {
+        // Arrange
+        Instant asOf = Instant.parse("2025-01-01T12:00:00Z");
+        when(productService.findByPublicIdAsOf(DEFAULT_PUBLIC_ID, asOf)).thenReturn(createDefaultProductResponseDTO());
+
+        // Act & Assert
+        mockMvc
+                .perform(get("/api/v1/products/{publicId}", DEFAULT_PUBLIC_ID)
+                        .param("asOf", "2025-01-01T12:00:00Z")
+                        .param("fields", "price")
+                        .accept(MediaType.APPLICATION_JSON))
+                .andExpect(status().isOk())
+                .andExpect(header().doesNotExist("ETag"))
+                .andExpect(jsonPath("$.price").value(SMARTPHONE_PRICE))
+                .andExpect(jsonPath("$.name").doesNotExist());
+        verify(productService, never()).findByPublicId(any());
+    }
+
+    @Test
+    public void givenMalformedAsOf_whenFindingByPublicId_thenShouldReturnBadRequest() throws Exception {
+        // Act & Assert
+        mockMvc
+                .perform(get("/api/v1/products/{publicId}", DEFAULT_PUBLIC_ID)
+                        .param("asOf", "yesterday")
+                        .accept(MediaType.APPLICATION_JSON))
+                .andExpect(status().isBadRequest())
+                .andExpect(jsonPath("$.type").value("https://api.productmanagement.com.br/type-mismatch"));
+    }
+
+    @Test
+    public void givenRecordedWrites_whenFindingHistory_thenShouldReturnPageOfEvents() throws Exception {
+        // Arrange
+        ProductHistoryEventDTO event = new ProductHistoryEventDTO(2L, ProductChangedEvent.ChangeType.UPDATED,
+                Map.of("quantity", 7), Instant.parse("2025-01-01T12:00:00Z"));
+        when(productService.findHistory(eq(DEFAULT_PUBLIC_ID), any(Pageable.class)))
+                .thenReturn(new PageImpl<>(List.of(event), PageRequest.of(0, 20), 1));
+
+        // Act & Assert
+        mockMvc
+                .perform(get("/api/v1/products/{publicId}/history", DEFAULT_PUBLIC_ID)
+                        .accept(MediaType.APPLICATION_JSON))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.content[0].revision").value(2))
+                .andExpect(jsonPath("$.content[0].type").value("UPDATED"))
+                .andExpect(jsonPath("$.content[0].changes.quantity").value(7));
+    }
+
+    @Test
+    public void givenIfMatchHeader_whenUpdating_thenShouldPassVersionAndReturnNewETag() throws Exception {
+        // Arrange
+        ProductRequestDTO requestDTO = createUpdatedProductRequestDTO();
+        ProductResponseDTO responseDTO = new ProductResponseDTO(
+                DEFAULT_PUBLIC_ID, UPDATED_NAME, UPDATED_PRICE, UPDATED_DESCRIPTION, UPDATED_QUANTITY, 4L);
+
+        when(productService.update(DEFAULT_PUBLIC_ID, requestDTO, 3L)).thenReturn(responseDTO);
+
+        // Act & Assert
+        mockMvc
+                .perform(put("/api/v1/products/{publicId}", DEFAULT_PUBLIC_ID)
+                        .header("If-Match", "\"3\"")
+                        .content(objectMapper.writeValueAsString(requestDTO))
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .accept(MediaType.APPLICATION_JSON))
+                .andExpect(status().isOk())
+                .andExpect(header().string("ETag", "\"4\""));
+    }
+
+    @Test
+    public void givenStaleIfMatchHeader_whenPatching_thenShouldReturnPreconditionFailedWithRFC7807() throws Exception {
+        // Arrange
+        when(productService.patch(eq(DEFAULT_PUBLIC_ID), any(JsonNode.class), eq(3L)))
+                .thenThrow(new PreconditionFailedException(DEFAULT_PUBLIC_ID, 5L));
+
+        // Act & Assert
+        mockMvc
+                .perform(patch("/api/v1/products/{publicId}", DEFAULT_PUBLIC_ID)
+                        .header("If-Match", "\"3\"")
+                        .content("{\"quantity\": 7}")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .accept(MediaType.APPLICATION_JSON))
+                .andExpect(status().isPreconditionFailed())
+                .andExpect(header().string("ETag", "\"5\""))
+                .andExpect(jsonPath("$.type").value("https://api.productmanagement.com.br/precondition-failed"))
+                .andExpect(jsonPath("$.currentVersion").value(5));
+    }
+
+    @Test
+    public void givenWeakIfMatchHeader_whenDeleting_thenShouldPassVersionNoProductHas() throws Exception {
+        // Act & Assert
+        mockMvc
+                .perform(delete("/api/v1/products/{publicId}", DEFAULT_PUBLIC_ID)
+                        .header("If-Match", "W/\"3\""))
+                .andExpect(status().isNoContent());
+
+        verify(productService).delete(DEFAULT_PUBLIC_ID, -1L);
+    }
+
+    @Test
+    public void givenWildcardIfMatchForMissingProduct_whenDeleting_thenShouldReturnPreconditionFailed() throws Exception {
+        // Arrange
+        doThrow(new PreconditionFailedException(DEFAULT_PUBLIC_ID, null))
+                .when(productService).delete(DEFAULT_PUBLIC_ID, ProductService.ANY_VERSION);
+
+        // Act & Assert
+        mockMvc
+                .perform(delete("/api/v1/products/{publicId}", DEFAULT_PUBLIC_ID)
+                        .header("If-Match", "*"))
+                .andExpect(status().isPreconditionFailed());
+
+        verify(productService).delete(DEFAULT_PUBLIC_ID, ProductService.ANY_VERSION);
+    }
+
+    @Test
+    public void givenConcurrentWriteWithoutIfMatch_whenUpdating_thenShouldReturnConflictWithRFC7807() throws Exception {
+        // Arrange
+        ProductRequestDTO requestDTO = createUpdatedProductRequestDTO();
+
+        when(productService.update(DEFAULT_PUBLIC_ID, requestDTO, null))
+                .thenThrow(new ObjectOptimisticLockingFailureException("Product", 1L));
+
+        // Act & Assert
+        mockMvc
+                .perform(put("/api/v1/products/{publicId}", DEFAULT_PUBLIC_ID)
+                        .content(objectMapper.writeValueAsString(requestDTO))
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .accept(MediaType.APPLICATION_JSON))
+                .andExpect(status().isConflict())
+                .andExpect(jsonPath("$.type").value("https://api.productmanagement.com.br/concurrent-modification"));
+    }
+}
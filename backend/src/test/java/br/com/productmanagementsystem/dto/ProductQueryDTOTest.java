@@ -23,6 +23,7 @@ public class ProductQueryDTOTest {
                 new BigDecimal("50.00"),
                 5,
                 10,
+                null,
                 null
         );
 
@@ -41,7 +42,8 @@ public class ProductQueryDTOTest {
                 new BigDecimal("50.00"),
                 5,
                 10,
-                true
+                true,
+                null
         );
 
         // Assert
@@ -59,7 +61,8 @@ public class ProductQueryDTOTest {
                 new BigDecimal("50.00"),
                 5,
                 10,
-                false
+                false,
+                null
         );
 
         // Assert
@@ -76,7 +79,8 @@ public class ProductQueryDTOTest {
                 maxPrice,
                 null,
                 null,
-                true
+                true,
+                null
         );
 
         // Act
@@ -107,7 +111,8 @@ public class ProductQueryDTOTest {
                 null,
                 minQuantity,
                 maxQuantity,
-                true
+                true,
+                null
         );
 
         // Act
@@ -145,7 +150,8 @@ public class ProductQueryDTOTest {
                 maxPrice,
                 minQuantity,
                 maxQuantity,
-                includeOutOfStock
+                includeOutOfStock,
+                null
         );
 
         // Assert
@@ -164,7 +170,7 @@ public class ProductQueryDTOTest {
         // Arrange
         
         // Act
-        ProductQueryDTO dto = new ProductQueryDTO(null, null, null, null, null, null);
+        ProductQueryDTO dto = new ProductQueryDTO(null, null, null, null, null, null, null);
 
         // Assert
         assertThat(dto.name()).isNull();
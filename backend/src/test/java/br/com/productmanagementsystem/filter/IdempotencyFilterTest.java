@@ -0,0 +1,175 @@
+package br.com.productmanagementsystem.filter;
+
+import br.com.productmanagementsystem.exception.IdempotencyKeyReusedException;
+import br.com.productmanagementsystem.idempotency.IdempotencyStore;
+import jakarta.servlet.ReadListener;
+import jakarta.servlet.ServletInputStream;
+import jakarta.servlet.http.HttpServlet;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.mock.web.MockFilterChain;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.util.StreamUtils;
+import org.springframework.web.servlet.HandlerExceptionResolver;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.time.Clock;
+import java.time.Duration;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.isNull;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.verify;
+
+public class IdempotencyFilterTest {
+
+    private static final String BODY = "{\"name\":\"Smartphone Samsung Galaxy\",\"price\":1299.99,\"quantity\":50}";
+
+    private IdempotencyFilter idempotencyFilter;
+    private HandlerExceptionResolver handlerExceptionResolver;
+    private AtomicInteger executions;
+
+    @BeforeEach
+    void setUp() {
+        this.handlerExceptionResolver = mock(HandlerExceptionResolver.class);
+        this.idempotencyFilter = new IdempotencyFilter(
+                new IdempotencyStore(100, Duration.ofMinutes(5), Clock.systemUTC()),
+                handlerExceptionResolver,
+                Duration.ofSeconds(1));
+        this.executions = new AtomicInteger();
+    }
+
+    @Test
+    public void givenRetryWithSameKey_whenFiltering_thenShouldReplayStoredResponseWithoutExecuting() throws Exception {
+        // Act
+        MockHttpServletResponse first = perform("key-1", BODY);
+        MockHttpServletResponse retry = perform("key-1", BODY);
+
+        // Assert
+        assertThat(executions.get()).isEqualTo(1);
+        assertThat(first.getStatus()).isEqualTo(201);
+        assertThat(retry.getStatus()).isEqualTo(201);
+        assertThat(retry.getContentAsString()).isEqualTo(first.getContentAsString());
+        assertThat(retry.getHeader(IdempotencyFilter.IDEMPOTENT_REPLAYED_HEADER)).isEqualTo("true");
+    }
+
+    @Test
+    public void givenSameKeyWithDifferentPayload_whenFiltering_thenShouldDelegateReuseErrorToExceptionResolver() throws Exception {
+        // Act
+        perform("key-1", BODY);
+        perform("key-1", BODY.replace("50", "51"));
+
+        // Assert
+        assertThat(executions.get()).isEqualTo(1);
+        verify(handlerExceptionResolver).resolveException(
+                any(HttpServletRequest.class), any(HttpServletResponse.class), isNull(), any(IdempotencyKeyReusedException.class));
+    }
+
+    @Test
+    public void givenSameKeyFromAnotherClient_whenFiltering_thenShouldExecuteInsteadOfReplaying() throws Exception {
+        // Act
+        MockHttpServletResponse first = perform("key-1", BODY, "10.0.0.1");
+        MockHttpServletResponse other = perform("key-1", BODY, "10.0.0.2");
+
+        // Assert
+        assertThat(executions.get()).isEqualTo(2);
+        assertThat(other.getContentAsString()).isNotEqualTo(first.getContentAsString());
+        assertThat(other.getHeader(IdempotencyFilter.IDEMPOTENT_REPLAYED_HEADER)).isNull();
+    }
+
+    @Test
+    public void givenRequestWithoutKey_whenFiltering_thenShouldAlwaysExecute() throws Exception {
+        // Act
+        perform(null, BODY);
+        perform(null, BODY);
+
+        // Assert
+        assertThat(executions.get()).isEqualTo(2);
+    }
+
+    @Test
+    public void givenAsyncHandlerReadingWithListener_whenFiltering_thenShouldDeliverTheBufferedBody() throws Exception {
+        // Arrange
+        MockHttpServletRequest request = new MockHttpServletRequest("POST", "/api/v1/products");
+        request.setAsyncSupported(true);
+        request.setContent(BODY.getBytes(StandardCharsets.UTF_8));
+        request.addHeader(IdempotencyFilter.IDEMPOTENCY_KEY_HEADER, "key-1");
+        MockHttpServletResponse response = new MockHttpServletResponse();
+
+        // Act
+        idempotencyFilter.doFilter(request, response, new MockFilterChain(new ListeningServlet()));
+
+        // Assert
+        assertThat(response.getStatus()).isEqualTo(201);
+        assertThat(response.getContentAsString()).isEqualTo("{\"length\":" + BODY.length() + "}");
+    }
+
+    private MockHttpServletResponse perform(String idempotencyKey, String body) throws Exception {
+        return perform(idempotencyKey, body, "127.0.0.1");
+    }
+
+    private MockHttpServletResponse perform(String idempotencyKey, String body, String remoteAddress) throws Exception {
+        MockHttpServletRequest request = new MockHttpServletRequest("POST", "/api/v1/products");
+        request.setRemoteAddr(remoteAddress);
+        request.setContent(body.getBytes(StandardCharsets.UTF_8));
+        request.setContentType("application/json");
+        if (idempotencyKey != null) {
+            request.addHeader(IdempotencyFilter.IDEMPOTENCY_KEY_HEADER, idempotencyKey);
+        }
+
+        MockHttpServletResponse response = new MockHttpServletResponse();
+        idempotencyFilter.doFilter(request, response, new MockFilterChain(new CreatingServlet()));
+        return response;
+    }
+
+    private final class CreatingServlet extends HttpServlet {
+
+        @Override
+        protected void service(HttpServletRequest request, HttpServletResponse response) throws IOException {
+            String body = StreamUtils.copyToString(request.getInputStream(), StandardCharsets.UTF_8);
+            response.setStatus(201);
+            response.setContentType("application/json");
+            response.getWriter().write("{\"execution\":" + executions.incrementAndGet() + ",\"length\":" + body.length() + "}");
+        }
+    }
+
+    private static final class ListeningServlet extends HttpServlet {
+
+        @Override
+        protected void service(HttpServletRequest request, HttpServletResponse response) throws IOException {
+            request.startAsync();
+            ServletInputStream inputStream = request.getInputStream();
+            ByteArrayOutputStream body = new ByteArrayOutputStream();
+            inputStream.setReadListener(new ReadListener() {
+                @Override
+                public void onDataAvailable() throws IOException {
+                    byte[] buffer = new byte[16];
+                    while (inputStream.isReady() && !inputStream.isFinished()) {
+                        int read = inputStream.read(buffer);
+                        if (read > 0) {
+                            body.write(buffer, 0, read);
+                        }
+                    }
+                }
+
+                @Override
+                public void onAllDataRead() throws IOException {
+                    response.setStatus(201);
+                    response.getWriter().write("{\"length\":" + body.size() + "}");
+                }
+
+                @Override
+                public void onError(Throwable throwable) {
+                    response.setStatus(500);
+                }
+            });
+        }
+    }
+}
@@ -0,0 +1,120 @@
+package br.com.productmanagementsystem.filter;
+
+import br.com.productmanagementsystem.exception.RateLimitExceededException;
+import br.com.productmanagementsystem.limit.TokenBucketRateLimiter;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+import org.springframework.mock.web.MockFilterChain;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.web.servlet.HandlerExceptionResolver;
+
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.isNull;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+
+public class RateLimitFilterTest {
+
+    private RateLimitFilter rateLimitFilter;
+    private HandlerExceptionResolver handlerExceptionResolver;
+
+    @BeforeEach
+    void setUp() {
+        this.handlerExceptionResolver = mock(HandlerExceptionResolver.class);
+        this.rateLimitFilter = new RateLimitFilter(
+                new TokenBucketRateLimiter("reads", 1, 2, 100),
+                new TokenBucketRateLimiter("writes", 1, 1, 100),
+                new TokenBucketRateLimiter("exports", 1, 1, 100),
+                List.of("/api/v1/products/changes/**"),
+                handlerExceptionResolver);
+    }
+
+    @Test
+    public void givenRequestWithinLimit_whenFiltering_thenShouldProceedAndExposeRemainingTokens() throws Exception {
+        // Act
+        MockHttpServletResponse response = perform("GET", "/api/v1/products", "10.0.0.1", null);
+
+        // Assert
+        assertThat(response.getHeader(RateLimitFilter.REMAINING_HEADER)).isEqualTo("1");
+        verify(handlerExceptionResolver, never()).resolveException(any(), any(), any(), any());
+    }
+
+    @Test
+    public void givenWriteLimitExhausted_whenFiltering_thenShouldDelegateRateLimitErrorToExceptionResolver() throws Exception {
+        // Arrange
+        perform("POST", "/api/v1/products", "10.0.0.1", null);
+
+        // Act
+        perform("POST", "/api/v1/products", "10.0.0.1", null);
+
+        // Assert
+        ArgumentCaptor<Exception> captor = ArgumentCaptor.forClass(Exception.class);
+        verify(handlerExceptionResolver).resolveException(
+                any(HttpServletRequest.class), any(HttpServletResponse.class), isNull(), captor.capture());
+        assertThat(captor.getValue()).isInstanceOf(RateLimitExceededException.class);
+        assertThat(((RateLimitExceededException) captor.getValue()).getRoute()).isEqualTo("writes");
+        assertThat(((RateLimitExceededException) captor.getValue()).getRetryAfterSeconds()).isPositive();
+    }
+
+    @Test
+    public void givenWriteLimitExhausted_whenReading_thenShouldUseSeparateReadBucket() throws Exception {
+        // Arrange
+        perform("POST", "/api/v1/products", "10.0.0.1", null);
+
+        // Act
+        MockHttpServletResponse response = perform("GET", "/api/v1/products", "10.0.0.1", null);
+
+        // Assert
+        assertThat(response.getHeader(RateLimitFilter.REMAINING_HEADER)).isNotNull();
+        verify(handlerExceptionResolver, never()).resolveException(any(), any(), any(), any());
+    }
+
+    @Test
+    public void givenExportRoute_whenFiltering_thenShouldApplyExportLimit() throws Exception {
+        // Arrange
+        perform("GET", "/api/v1/products/changes/stream", "10.0.0.1", null);
+
+        // Act
+        perform("GET", "/api/v1/products/changes/stream", "10.0.0.1", null);
+
+        // Assert
+        ArgumentCaptor<Exception> captor = ArgumentCaptor.forClass(Exception.class);
+        verify(handlerExceptionResolver).resolveException(
+                any(HttpServletRequest.class), any(HttpServletResponse.class), isNull(), captor.capture());
+        assertThat(((RateLimitExceededException) captor.getValue()).getRoute()).isEqualTo("exports");
+    }
+
+    @Test
+    public void givenRotatedApiKeys_whenFiltering_thenShouldStillLimitByAddress() throws Exception {
+        // Arrange
+        perform("POST", "/api/v1/products", "10.0.0.1", "key-a");
+
+        // Act
+        perform("POST", "/api/v1/products", "10.0.0.1", "key-b");
+        perform("POST", "/api/v1/products", "10.0.0.2", "key-a");
+
+        // Assert
+        verify(handlerExceptionResolver, times(1)).resolveException(
+                any(HttpServletRequest.class), any(HttpServletResponse.class), isNull(), any(RateLimitExceededException.class));
+    }
+
+    private MockHttpServletResponse perform(String method, String uri, String remoteAddress, String apiKey) throws Exception {
+        MockHttpServletRequest request = new MockHttpServletRequest(method, uri);
+        request.setRemoteAddr(remoteAddress);
+        if (apiKey != null) {
+            request.addHeader(ClientIdentity.API_KEY_HEADER, apiKey);
+        }
+        MockHttpServletResponse response = new MockHttpServletResponse();
+        rateLimitFilter.doFilter(request, response, new MockFilterChain());
+        return response;
+    }
+}
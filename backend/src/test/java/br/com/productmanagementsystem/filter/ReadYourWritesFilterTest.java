@@ -0,0 +1,116 @@
+package br.com.productmanagementsystem.filter;
+
+import br.com.productmanagementsystem.replica.ReplicaReads;
+import jakarta.servlet.http.Cookie;
+import jakarta.servlet.http.HttpServlet;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpHeaders;
+import org.springframework.mock.web.MockFilterChain;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+
+import java.io.IOException;
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.ZoneOffset;
+import java.util.concurrent.atomic.AtomicReference;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+public class ReadYourWritesFilterTest {
+
+    private static final Instant NOW = Instant.parse("2025-01-01T12:00:00Z");
+
+    private final ReadYourWritesFilter readYourWritesFilter =
+            new ReadYourWritesFilter(Clock.fixed(NOW, ZoneOffset.UTC), Duration.ofSeconds(5));
+    private final AtomicReference<Long> readAfterInChain = new AtomicReference<>();
+
+    @Test
+    public void givenReadWithoutCookie_whenFiltering_thenShouldAllowReplicaReadsAndSetNoCookie() throws Exception {
+        // Arrange
+        MockHttpServletRequest request = new MockHttpServletRequest("GET", "/api/v1/products");
+        MockHttpServletResponse response = new MockHttpServletResponse();
+
+        // Act
+        readYourWritesFilter.doFilter(request, response, chain());
+
+        // Assert
+        assertThat(readAfterInChain.get()).isEqualTo(Long.MIN_VALUE);
+        assertThat(response.getHeader(HttpHeaders.SET_COOKIE)).isNull();
+        assertThat(ReplicaReads.readAfter()).isNull();
+    }
+
+    @Test
+    public void givenReadWithCookie_whenFiltering_thenShouldRequireReplicaToCatchUpWithTheWrite() throws Exception {
+        // Arrange
+        MockHttpServletRequest request = new MockHttpServletRequest("GET", "/api/v1/products");
+        request.setCookies(new Cookie(ReadYourWritesFilter.READ_AFTER_COOKIE, "1735732800000"));
+
+        // Act
+        readYourWritesFilter.doFilter(request, new MockHttpServletResponse(), chain());
+
+        // Assert
+        assertThat(readAfterInChain.get()).isEqualTo(1735732800000L);
+    }
+
+    @Test
+    public void givenMalformedCookie_whenFiltering_thenShouldIgnoreIt() throws Exception {
+        // Arrange
+        MockHttpServletRequest request = new MockHttpServletRequest("GET", "/api/v1/products");
+        request.setCookies(new Cookie(ReadYourWritesFilter.READ_AFTER_COOKIE, "yesterday"));
+
+        // Act
+        readYourWritesFilter.doFilter(request, new MockHttpServletResponse(), chain());
+
+        // Assert
+        assertThat(readAfterInChain.get()).isEqualTo(Long.MIN_VALUE);
+    }
+
+    @Test
+    public void givenWrite_whenFiltering_thenShouldSetCookieWithTimeOfWrite() throws Exception {
+        // Arrange
+        MockHttpServletRequest request = new MockHttpServletRequest("PATCH", "/api/v1/products/abc");
+        MockHttpServletResponse response = new MockHttpServletResponse();
+
+        // Act
+        readYourWritesFilter.doFilter(request, response, chain());
+
+        // Assert
+        assertThat(response.getHeader(HttpHeaders.SET_COOKIE))
+                .startsWith(ReadYourWritesFilter.READ_AFTER_COOKIE + "=" + NOW.toEpochMilli())
+                .contains("Path=/api", "Max-Age=5", "HttpOnly");
+    }
+
+    @Test
+    public void givenFailedWrite_whenFiltering_thenShouldStillSetCookie() throws Exception {
+        // Arrange
+        MockHttpServletRequest request = new MockHttpServletRequest("DELETE", "/api/v1/products/abc");
+        MockHttpServletResponse response = new MockHttpServletResponse();
+        MockFilterChain chain = new MockFilterChain(new HttpServlet() {
+            @Override
+            protected void service(HttpServletRequest req, HttpServletResponse resp) throws IOException {
+                resp.sendError(HttpServletResponse.SC_CONFLICT);
+            }
+        });
+
+        // Act
+        readYourWritesFilter.doFilter(request, response, chain);
+
+        // Assert
+        assertThat(response.getStatus()).isEqualTo(HttpServletResponse.SC_CONFLICT);
+        assertThat(response.getHeader(HttpHeaders.SET_COOKIE)).startsWith(ReadYourWritesFilter.READ_AFTER_COOKIE + "=");
+    }
+
+    private MockFilterChain chain() {
+        return new MockFilterChain(new HttpServlet() {
+            @Override
+            protected void service(HttpServletRequest req, HttpServletResponse resp) throws IOException {
+                readAfterInChain.set(ReplicaReads.readAfter());
+                resp.getWriter().write("{}");
+            }
+        });
+    }
+}
@@ -0,0 +1,79 @@
+package br.com.productmanagementsystem.history;
+
+import br.com.productmanagementsystem.dto.ProductHistoryEventDTO;
+import br.com.productmanagementsystem.dto.ProductRequestDTO;
+import br.com.productmanagementsystem.dto.ProductResponseDTO;
+import br.com.productmanagementsystem.event.ProductChangedEvent;
+import br.com.productmanagementsystem.exception.ResourceNotFoundException;
+import br.com.productmanagementsystem.repository.ProductRepository;
+import br.com.productmanagementsystem.service.ProductService;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.data.domain.PageRequest;
+
+import java.math.BigDecimal;
+import java.time.Instant;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+/**
+ * Checks point-in-time reads across snapshots, with a snapshot every other revision
+ */
+@SpringBootTest(properties = "app.history.snapshot-interval=2")
+public class ProductHistoryIntegrationTest {
+
+    private static final String NAME = "History Product";
+
+    @Autowired
+    private ProductService productService;
+
+    @Autowired
+    private ProductRepository productRepository;
+
+    @AfterEach
+    public void tearDown() {
+        productRepository.findAll().stream()
+                .filter(product -> product.getName().equals(NAME))
+                .forEach(product -> productService.delete(product.getPublicId(), null));
+    }
+
+    @Test
+    public void givenSeveralWrites_whenReadingAsOf_thenShouldReturnStateAtEachTime() {
+        // Arrange
+        Instant beforeCreation = Instant.now();
+        ProductResponseDTO created = productService.save(new ProductRequestDTO(NAME, new BigDecimal("10.00"), "First", 5));
+        Instant afterCreation = Instant.now();
+        productService.update(created.publicId(), new ProductRequestDTO(NAME, new BigDecimal("12.50"), null, 5), null);
+        Instant afterUpdate = Instant.now();
+        productService.adjustStock(created.publicId(), -2);
+        Instant afterAdjustment = Instant.now();
+        productService.delete(created.publicId(), null);
+
+        // Act
+        ProductResponseDTO asCreated = productService.findByPublicIdAsOf(created.publicId(), afterCreation);
+        ProductResponseDTO asUpdated = productService.findByPublicIdAsOf(created.publicId(), afterUpdate);
+        ProductResponseDTO asAdjusted = productService.findByPublicIdAsOf(created.publicId(), afterAdjustment);
+        List<ProductHistoryEventDTO> history = productService.findHistory(created.publicId(), PageRequest.of(0, 10)).getContent();
+
+        // Assert
+        assertThat(asCreated.price()).isEqualByComparingTo("10.00");
+        assertThat(asCreated.description()).isEqualTo("First");
+        assertThat(asUpdated.price()).isEqualByComparingTo("12.50");
+        assertThat(asUpdated.description()).isNull();
+        assertThat(asAdjusted.quantity()).isEqualTo(3);
+        assertThat(asAdjusted.price()).isEqualByComparingTo("12.50");
+        assertThat(history).extracting(ProductHistoryEventDTO::type).containsExactly(
+                ProductChangedEvent.ChangeType.DELETED,
+                ProductChangedEvent.ChangeType.UPDATED,
+                ProductChangedEvent.ChangeType.UPDATED,
+                ProductChangedEvent.ChangeType.CREATED);
+        assertThatThrownBy(() -> productService.findByPublicIdAsOf(created.publicId(), beforeCreation))
+                .isInstanceOf(ResourceNotFoundException.class);
+        assertThatThrownBy(() -> productService.findByPublicIdAsOf(created.publicId(), Instant.now()))
+                .isInstanceOf(ResourceNotFoundException.class);
+    }
+}
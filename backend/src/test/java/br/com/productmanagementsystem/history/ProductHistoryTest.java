@@ -0,0 +1,118 @@
+package br.com.productmanagementsystem.history;
+
+import br.com.productmanagementsystem.dto.ProductHistoryEventDTO;
+import br.com.productmanagementsystem.dto.ProductResponseDTO;
+import br.com.productmanagementsystem.entity.ProductHistoryEvent;
+import br.com.productmanagementsystem.entity.ProductHistorySnapshot;
+import br.com.productmanagementsystem.event.ProductChangedEvent;
+import br.com.productmanagementsystem.repository.ProductHistoryEventRepository;
+import br.com.productmanagementsystem.repository.ProductHistorySnapshotRepository;
+import br.com.productmanagementsystem.util.TestConstants;
+import org.junit.jupiter.api.Test;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageImpl;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Sort;
+
+import java.math.BigDecimal;
+import java.time.Instant;
+import java.util.List;
+import java.util.Optional;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.entry;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+public class ProductHistoryTest {
+
+    private static final String PUBLIC_ID = TestConstants.DEFAULT_PUBLIC_ID;
+    private static final Instant AS_OF = Instant.parse("2025-01-01T12:00:00Z");
+
+    private final ProductHistoryEventRepository eventRepository = mock(ProductHistoryEventRepository.class);
+    private final ProductHistorySnapshotRepository snapshotRepository = mock(ProductHistorySnapshotRepository.class);
+    private final ProductHistory productHistory = new ProductHistory(eventRepository, snapshotRepository);
+
+    @Test
+    public void givenSnapshotAndLaterEvents_whenFindingStateAt_thenShouldReplayEventsOnTopOfSnapshot() {
+        // Arrange
+        ProductHistoryEvent priceChange = event(51L, ProductChangedEvent.ChangeType.UPDATED, "price", null, new BigDecimal("999.99"), null, null);
+        ProductHistoryEvent descriptionRemoval = event(52L, ProductChangedEvent.ChangeType.UPDATED, "description,quantity", null, null, null, 3);
+        when(eventRepository.findFirstByProductPublicIdAndOccurredAtLessThanEqualOrderByOccurredAtDescRevisionDesc(PUBLIC_ID, AS_OF))
+                .thenReturn(Optional.of(descriptionRemoval));
+        when(snapshotRepository.findFirstByProductPublicIdAndRevisionLessThanEqualOrderByRevisionDesc(PUBLIC_ID, 52L))
+                .thenReturn(Optional.of(new ProductHistorySnapshot(1L, PUBLIC_ID, 50L, TestConstants.SMARTPHONE_NAME,
+                        TestConstants.SMARTPHONE_PRICE, TestConstants.SMARTPHONE_DESCRIPTION, 10, AS_OF)));
+        when(eventRepository.findByProductPublicIdAndRevisionGreaterThanAndRevisionLessThanEqualOrderByRevisionAsc(PUBLIC_ID, 50L, 52L))
+                .thenReturn(List.of(priceChange, descriptionRemoval));
+
+        // Act
+        Optional<ProductResponseDTO> state = productHistory.findStateAt(PUBLIC_ID, AS_OF);
+
+        // Assert
+        assertThat(state).contains(new ProductResponseDTO(PUBLIC_ID, TestConstants.SMARTPHONE_NAME,
+                new BigDecimal("999.99"), null, 3));
+    }
+
+    @Test
+    public void givenNoSnapshot_whenFindingStateAt_thenShouldReplayFromFirstRevision() {
+        // Arrange
+        ProductHistoryEvent created = event(1L, ProductChangedEvent.ChangeType.CREATED, "name,price,description,quantity",
+                TestConstants.NOTEBOOK_NAME, TestConstants.NOTEBOOK_PRICE, TestConstants.NOTEBOOK_DESCRIPTION, 20);
+        when(eventRepository.findFirstByProductPublicIdAndOccurredAtLessThanEqualOrderByOccurredAtDescRevisionDesc(PUBLIC_ID, AS_OF))
+                .thenReturn(Optional.of(created));
+        when(snapshotRepository.findFirstByProductPublicIdAndRevisionLessThanEqualOrderByRevisionDesc(PUBLIC_ID, 1L))
+                .thenReturn(Optional.empty());
+        when(eventRepository.findByProductPublicIdAndRevisionGreaterThanAndRevisionLessThanEqualOrderByRevisionAsc(PUBLIC_ID, 0L, 1L))
+                .thenReturn(List.of(created));
+
+        // Act
+        Optional<ProductResponseDTO> state = productHistory.findStateAt(PUBLIC_ID, AS_OF);
+
+        // Assert
+        assertThat(state).get().extracting(ProductResponseDTO::name).isEqualTo(TestConstants.NOTEBOOK_NAME);
+    }
+
+    @Test
+    public void givenProductDeletedBeforeTime_whenFindingStateAt_thenShouldReturnEmpty() {
+        // Arrange
+        when(eventRepository.findFirstByProductPublicIdAndOccurredAtLessThanEqualOrderByOccurredAtDescRevisionDesc(PUBLIC_ID, AS_OF))
+                .thenReturn(Optional.of(event(7L, ProductChangedEvent.ChangeType.DELETED, "", null, null, null, null)));
+
+        // Act & Assert
+        assertThat(productHistory.findStateAt(PUBLIC_ID, AS_OF)).isEmpty();
+    }
+
+    @Test
+    public void givenProductCreatedAfterTime_whenFindingStateAt_thenShouldReturnEmpty() {
+        // Arrange
+        when(eventRepository.findFirstByProductPublicIdAndOccurredAtLessThanEqualOrderByOccurredAtDescRevisionDesc(PUBLIC_ID, AS_OF))
+                .thenReturn(Optional.empty());
+
+        // Act & Assert
+        assertThat(productHistory.findStateAt(PUBLIC_ID, AS_OF)).isEmpty();
+    }
+
+    @Test
+    public void givenRecordedWrites_whenFindingEvents_thenShouldReturnChangedPropertiesIgnoringRequestedSort() {
+        // Arrange
+        ProductHistoryEvent update = event(2L, ProductChangedEvent.ChangeType.UPDATED, "description,quantity", null, null, null, 3);
+        when(eventRepository.findByProductPublicIdOrderByRevisionDesc(PUBLIC_ID, PageRequest.of(0, 20)))
+                .thenReturn(new PageImpl<>(List.of(update), PageRequest.of(0, 20), 1));
+
+        // Act
+        Page<ProductHistoryEventDTO> events = productHistory.findEvents(PUBLIC_ID, PageRequest.of(0, 20, Sort.by("name")));
+
+        // Assert
+        assertThat(events.getContent()).singleElement().satisfies(event -> {
+            assertThat(event.revision()).isEqualTo(2L);
+            assertThat(event.changes()).containsExactly(entry("description", null), entry("quantity", 3));
+        });
+    }
+
+    private static ProductHistoryEvent event(long revision, ProductChangedEvent.ChangeType type, String changedFields,
+                                             String name, BigDecimal price, String description, Integer quantity) {
+        return new ProductHistoryEvent(revision, PUBLIC_ID, revision, type, changedFields, name, price, description,
+                quantity, AS_OF);
+    }
+}
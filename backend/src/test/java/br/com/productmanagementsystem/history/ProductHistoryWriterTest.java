@@ -0,0 +1,137 @@
+package br.com.productmanagementsystem.history;
+
+import br.com.productmanagementsystem.entity.ProductHistoryEvent;
+import br.com.productmanagementsystem.entity.ProductHistorySnapshot;
+import br.com.productmanagementsystem.event.ProductChangedEvent;
+import br.com.productmanagementsystem.event.ProductSnapshot;
+import br.com.productmanagementsystem.repository.ProductHistoryEventRepository;
+import br.com.productmanagementsystem.repository.ProductHistorySnapshotRepository;
+import br.com.productmanagementsystem.util.TestConstants;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+
+import java.math.BigDecimal;
+import java.time.Instant;
+import java.util.Optional;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+public class ProductHistoryWriterTest {
+
+    private static final int SNAPSHOT_INTERVAL = 4;
+
+    private final ProductHistoryEventRepository eventRepository = mock(ProductHistoryEventRepository.class);
+    private final ProductHistorySnapshotRepository snapshotRepository = mock(ProductHistorySnapshotRepository.class);
+    private final ProductHistoryWriter historyWriter = new ProductHistoryWriter(eventRepository, snapshotRepository, SNAPSHOT_INTERVAL);
+
+    @Test
+    public void givenCreatedProduct_whenAppending_thenShouldRecordWholeStateAsFirstRevision() {
+        // Arrange
+        ProductSnapshot created = ProductSnapshot.from(TestConstants.createDefaultProduct());
+        when(eventRepository.findFirstByProductPublicIdOrderByRevisionDesc(TestConstants.DEFAULT_PUBLIC_ID))
+                .thenReturn(Optional.empty());
+
+        // Act
+        historyWriter.append(ProductChangedEvent.created(created));
+
+        // Assert
+        ProductHistoryEvent event = captureSavedEvent();
+        assertThat(event.getRevision()).isEqualTo(1L);
+        assertThat(event.getType()).isEqualTo(ProductChangedEvent.ChangeType.CREATED);
+        assertThat(event.getChangedFields()).isEqualTo("name,price,description,quantity");
+        assertThat(event.getName()).isEqualTo(TestConstants.SMARTPHONE_NAME);
+        assertThat(event.getQuantity()).isEqualTo(TestConstants.SMARTPHONE_QUANTITY);
+    }
+
+    @Test
+    public void givenUpdatedProduct_whenAppending_thenShouldRecordOnlyChangedProperties() {
+        // Arrange
+        ProductSnapshot before = ProductSnapshot.from(TestConstants.createDefaultProduct());
+        ProductSnapshot after = new ProductSnapshot(before.id(), before.publicId(), before.name(),
+                before.price().setScale(4), null, 7, null);
+        when(eventRepository.findFirstByProductPublicIdOrderByRevisionDesc(TestConstants.DEFAULT_PUBLIC_ID))
+                .thenReturn(Optional.of(historyEvent(1L)));
+
+        // Act
+        historyWriter.append(ProductChangedEvent.updated(before, after));
+
+        // Assert
+        ProductHistoryEvent event = captureSavedEvent();
+        assertThat(event.getRevision()).isEqualTo(2L);
+        assertThat(event.getChangedFields()).isEqualTo("description,quantity");
+        assertThat(event.getName()).isNull();
+        assertThat(event.getPrice()).isNull();
+        assertThat(event.getDescription()).isNull();
+        assertThat(event.getQuantity()).isEqualTo(7);
+        verify(snapshotRepository, never()).save(any());
+    }
+
+    @Test
+    public void givenUpdateChangingNothing_whenAppending_thenShouldNotRecordEvent() {
+        // Arrange
+        ProductSnapshot unchanged = ProductSnapshot.from(TestConstants.createDefaultProduct());
+        when(eventRepository.findFirstByProductPublicIdOrderByRevisionDesc(TestConstants.DEFAULT_PUBLIC_ID))
+                .thenReturn(Optional.of(historyEvent(1L)));
+
+        // Act
+        historyWriter.append(ProductChangedEvent.updated(unchanged, unchanged));
+
+        // Assert
+        verify(eventRepository, never()).save(any());
+    }
+
+    @Test
+    public void givenRevisionAtSnapshotInterval_whenAppending_thenShouldStoreWholeState() {
+        // Arrange
+        ProductSnapshot before = ProductSnapshot.from(TestConstants.createDefaultProduct());
+        ProductSnapshot after = new ProductSnapshot(before.id(), before.publicId(), before.name(),
+                new BigDecimal("999.99"), before.description(), before.quantity(), null);
+        when(eventRepository.findFirstByProductPublicIdOrderByRevisionDesc(TestConstants.DEFAULT_PUBLIC_ID))
+                .thenReturn(Optional.of(historyEvent(SNAPSHOT_INTERVAL - 1L)));
+
+        // Act
+        historyWriter.append(ProductChangedEvent.updated(before, after));
+
+        // Assert
+        ArgumentCaptor<ProductHistorySnapshot> captor = ArgumentCaptor.forClass(ProductHistorySnapshot.class);
+        verify(snapshotRepository).save(captor.capture());
+        assertThat(captor.getValue().getRevision()).isEqualTo(SNAPSHOT_INTERVAL);
+        assertThat(captor.getValue().getPrice()).isEqualByComparingTo("999.99");
+        assertThat(captor.getValue().getName()).isEqualTo(TestConstants.SMARTPHONE_NAME);
+        assertThat(captor.getValue().getOccurredAt()).isEqualTo(captureSavedEvent().getOccurredAt());
+    }
+
+    @Test
+    public void givenDeletedProduct_whenAppending_thenShouldRecordDeletionWithoutProperties() {
+        // Arrange
+        ProductSnapshot removed = ProductSnapshot.from(TestConstants.createDefaultProduct());
+        when(eventRepository.findFirstByProductPublicIdOrderByRevisionDesc(TestConstants.DEFAULT_PUBLIC_ID))
+                .thenReturn(Optional.of(historyEvent(SNAPSHOT_INTERVAL - 1L)));
+
+        // Act
+        historyWriter.append(ProductChangedEvent.deleted(removed));
+
+        // Assert
+        ProductHistoryEvent event = captureSavedEvent();
+        assertThat(event.getType()).isEqualTo(ProductChangedEvent.ChangeType.DELETED);
+        assertThat(event.getChangedFields()).isEmpty();
+        verify(snapshotRepository, never()).save(any());
+    }
+
+    private ProductHistoryEvent captureSavedEvent() {
+        ArgumentCaptor<ProductHistoryEvent> captor = ArgumentCaptor.forClass(ProductHistoryEvent.class);
+        verify(eventRepository).save(captor.capture());
+        return captor.getValue();
+    }
+
+    private static ProductHistoryEvent historyEvent(long revision) {
+        return new ProductHistoryEvent(revision, TestConstants.DEFAULT_PUBLIC_ID, revision,
+                ProductChangedEvent.ChangeType.UPDATED, "quantity", null, null, null, 1,
+                Instant.parse("2025-01-01T12:00:00Z"));
+    }
+}
@@ -0,0 +1,163 @@
+package br.com.productmanagementsystem.idempotency;
+
+import org.junit.jupiter.api.Test;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.ZoneId;
+import java.time.ZoneOffset;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+public class IdempotencyStoreTest {
+
+    private static final String FINGERPRINT = "fingerprint";
+
+    @Test
+    public void givenNewKey_whenReserving_thenShouldBecomeOwner() {
+        // Arrange
+        IdempotencyStore store = new IdempotencyStore(10, Duration.ofMinutes(1), Clock.systemUTC());
+
+        // Act
+        IdempotencyStore.Reservation first = store.reserve("key", FINGERPRINT);
+        IdempotencyStore.Reservation second = store.reserve("key", FINGERPRINT);
+
+        // Assert
+        assertThat(first.isOwner()).isTrue();
+        assertThat(second.isOwner()).isFalse();
+        assertThat(second.matches(FINGERPRINT)).isTrue();
+        assertThat(second.matches("other")).isFalse();
+    }
+
+    @Test
+    public void givenInFlightOriginal_whenDuplicateWaits_thenShouldReceiveStoredResponse() throws Exception {
+        // Arrange
+        IdempotencyStore store = new IdempotencyStore(10, Duration.ofMinutes(1), Clock.systemUTC());
+        IdempotencyStore.Reservation owner = store.reserve("key", FINGERPRINT);
+        IdempotencyStore.Reservation duplicate = store.reserve("key", FINGERPRINT);
+        IdempotentResponse response = new IdempotentResponse(201, Map.of("Content-Type", "application/json"), "{}".getBytes());
+
+        // Act
+        CompletableFuture<Optional<IdempotentResponse>> waiting = CompletableFuture.supplyAsync(() -> {
+            try {
+                return duplicate.awaitOutcome(Duration.ofSeconds(5));
+            } catch (Exception ex) {
+                throw new IllegalStateException(ex);
+            }
+        });
+        store.complete(owner, response);
+
+        // Assert
+        Optional<IdempotentResponse> outcome = waiting.get(5, TimeUnit.SECONDS);
+        assertThat(outcome).isPresent();
+        assertThat(outcome.get().status()).isEqualTo(201);
+        assertThat(outcome.get().body()).isEqualTo("{}".getBytes());
+    }
+
+    @Test
+    public void givenAbandonedOriginal_whenReservingAgain_thenShouldBecomeOwner() throws Exception {
+        // Arrange
+        IdempotencyStore store = new IdempotencyStore(10, Duration.ofMinutes(1), Clock.systemUTC());
+        IdempotencyStore.Reservation owner = store.reserve("key", FINGERPRINT);
+        IdempotencyStore.Reservation duplicate = store.reserve("key", FINGERPRINT);
+
+        // Act
+        store.abandon(owner);
+
+        // Assert
+        assertThat(duplicate.awaitOutcome(Duration.ofSeconds(1))).isEmpty();
+        assertThat(store.reserve("key", FINGERPRINT).isOwner()).isTrue();
+    }
+
+    @Test
+    public void givenCompletedEntryPastTtl_whenReserving_thenShouldBecomeOwnerAgain() {
+        // Arrange
+        MutableClock clock = new MutableClock();
+        IdempotencyStore store = new IdempotencyStore(10, Duration.ofMinutes(1), clock);
+        IdempotencyStore.Reservation owner = store.reserve("key", FINGERPRINT);
+        store.complete(owner, new IdempotentResponse(201, Map.of(), new byte[0]));
+
+        // Act
+        clock.advance(Duration.ofMinutes(2));
+        IdempotencyStore.Reservation afterTtl = store.reserve("key", FINGERPRINT);
+
+        // Assert
+        assertThat(afterTtl.isOwner()).isTrue();
+    }
+
+    @Test
+    public void givenMoreCompletedEntriesThanCapacity_whenReserving_thenShouldEvictOldest() {
+        // Arrange
+        IdempotencyStore store = new IdempotencyStore(2, Duration.ofMinutes(1), Clock.systemUTC());
+
+        // Act
+        for (int i = 0; i < 5; i++) {
+            IdempotencyStore.Reservation reservation = store.reserve("key-" + i, FINGERPRINT);
+            store.complete(reservation, new IdempotentResponse(201, Map.of(), new byte[0]));
+        }
+
+        // Assert
+        assertThat(store.size()).isLessThanOrEqualTo(2);
+        assertThat(store.reserve("key-0", FINGERPRINT).isOwner()).isTrue();
+    }
+
+    @Test
+    public void givenMoreInFlightEntriesThanCapacity_whenReserving_thenShouldStayWithinCapacity() {
+        // Arrange
+        IdempotencyStore store = new IdempotencyStore(2, Duration.ofMinutes(1), Clock.systemUTC());
+
+        // Act
+        for (int i = 0; i < 5; i++) {
+            store.reserve("key-" + i, FINGERPRINT);
+        }
+
+        // Assert
+        assertThat(store.size()).isEqualTo(2);
+        assertThat(store.queued()).isEqualTo(2);
+    }
+
+    @Test
+    public void givenKeyReservedAgainAndAgain_whenReserving_thenShouldNotGrowTheQueue() {
+        // Arrange
+        IdempotencyStore store = new IdempotencyStore(3, Duration.ofMinutes(1), Clock.systemUTC());
+        store.complete(store.reserve("long-lived", FINGERPRINT), new IdempotentResponse(201, Map.of(), new byte[0]));
+
+        // Act
+        for (int i = 0; i < 100; i++) {
+            store.abandon(store.reserve("retried", FINGERPRINT));
+        }
+
+        // Assert
+        assertThat(store.queued()).isLessThanOrEqualTo(2 * 3 + 1);
+        assertThat(store.reserve("long-lived", FINGERPRINT).isOwner()).isFalse();
+    }
+
+    private static final class MutableClock extends Clock {
+
+        private Instant now = Instant.parse("2025-01-01T00:00:00Z");
+
+        void advance(Duration duration) {
+            now = now.plus(duration);
+        }
+
+        @Override
+        public ZoneId getZone() {
+            return ZoneOffset.UTC;
+        }
+
+        @Override
+        public Clock withZone(ZoneId zone) {
+            return this;
+        }
+
+        @Override
+        public Instant instant() {
+            return now;
+        }
+    }
+}
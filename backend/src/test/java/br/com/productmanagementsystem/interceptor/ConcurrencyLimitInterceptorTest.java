@@ -0,0 +1,71 @@
+package br.com.productmanagementsystem.interceptor;
+
+import br.com.productmanagementsystem.exception.ConcurrencyLimitExceededException;
+import br.com.productmanagementsystem.limit.AdaptiveConcurrencyLimiter;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+public class ConcurrencyLimitInterceptorTest {
+
+    private AdaptiveConcurrencyLimiter readLimiter;
+    private AdaptiveConcurrencyLimiter writeLimiter;
+    private ConcurrencyLimitInterceptor interceptor;
+
+    @BeforeEach
+    void setUp() {
+        this.readLimiter = new AdaptiveConcurrencyLimiter("reads", 1, 1, 5, 1000, 0.5);
+        this.writeLimiter = new AdaptiveConcurrencyLimiter("writes", 1, 1, 5, 1000, 0.5);
+        this.interceptor = new ConcurrencyLimitInterceptor(readLimiter, writeLimiter, 2);
+    }
+
+    @Test
+    public void givenSaturatedReadLimit_whenWriteArrives_thenShouldStillBeAccepted() {
+        // Arrange
+        MockHttpServletRequest read = new MockHttpServletRequest("GET", "/api/v1/products");
+        MockHttpServletRequest write = new MockHttpServletRequest("POST", "/api/v1/products");
+        interceptor.preHandle(read, new MockHttpServletResponse(), new Object());
+
+        // Act
+        boolean accepted = interceptor.preHandle(write, new MockHttpServletResponse(), new Object());
+
+        // Assert
+        assertThat(accepted).isTrue();
+        assertThat(readLimiter.getInFlight()).isEqualTo(1);
+        assertThat(writeLimiter.getInFlight()).isEqualTo(1);
+    }
+
+    @Test
+    public void givenSaturatedReadLimit_whenAnotherReadArrives_thenShouldThrowWithRetryAfter() {
+        // Arrange
+        interceptor.preHandle(new MockHttpServletRequest("GET", "/api/v1/products"), new MockHttpServletResponse(), new Object());
+
+        // Act & Assert
+        assertThatThrownBy(() -> interceptor.preHandle(
+                new MockHttpServletRequest("GET", "/api/v1/products"), new MockHttpServletResponse(), new Object()))
+                .isInstanceOf(ConcurrencyLimitExceededException.class)
+                .satisfies(ex -> {
+                    ConcurrencyLimitExceededException limitEx = (ConcurrencyLimitExceededException) ex;
+                    assertThat(limitEx.getLimiterName()).isEqualTo("reads");
+                    assertThat(limitEx.getRetryAfterSeconds()).isEqualTo(2);
+                });
+    }
+
+    @Test
+    public void givenCompletedRequest_whenAfterCompletion_thenShouldReleasePermit() throws Exception {
+        // Arrange
+        MockHttpServletRequest request = new MockHttpServletRequest("GET", "/api/v1/products");
+        MockHttpServletResponse response = new MockHttpServletResponse();
+        interceptor.preHandle(request, response, new Object());
+
+        // Act
+        interceptor.afterCompletion(request, response, new Object(), null);
+
+        // Assert
+        assertThat(readLimiter.getInFlight()).isZero();
+    }
+}
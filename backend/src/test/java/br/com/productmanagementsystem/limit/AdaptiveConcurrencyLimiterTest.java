@@ -0,0 +1,96 @@
+package br.com.productmanagementsystem.limit;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.Optional;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+public class AdaptiveConcurrencyLimiterTest {
+
+    @Test
+    public void givenLimitReached_whenAcquiring_thenShouldRejectImmediately() {
+        // Arrange
+        AdaptiveConcurrencyLimiter limiter = new AdaptiveConcurrencyLimiter("reads", 2, 1, 10, 1000, 0.5);
+
+        // Act
+        Optional<AdaptiveConcurrencyLimiter.Permit> first = limiter.tryAcquire();
+        Optional<AdaptiveConcurrencyLimiter.Permit> second = limiter.tryAcquire();
+        Optional<AdaptiveConcurrencyLimiter.Permit> third = limiter.tryAcquire();
+
+        // Assert
+        assertThat(first).isPresent();
+        assertThat(second).isPresent();
+        assertThat(third).isEmpty();
+        assertThat(limiter.getInFlight()).isEqualTo(2);
+        assertThat(limiter.getRejectedCount()).isEqualTo(1);
+    }
+
+    @Test
+    public void givenFastSamplesAtFullUtilization_whenReleasing_thenShouldIncreaseLimit() {
+        // Arrange
+        AdaptiveConcurrencyLimiter limiter = new AdaptiveConcurrencyLimiter("reads", 2, 1, 10, 1000, 0.5);
+        AdaptiveConcurrencyLimiter.Permit first = limiter.tryAcquire().orElseThrow();
+        AdaptiveConcurrencyLimiter.Permit second = limiter.tryAcquire().orElseThrow();
+
+        // Act
+        first.release(false);
+        second.release(false);
+
+        // Assert
+        assertThat(limiter.getLimit()).isGreaterThan(2);
+        assertThat(limiter.getInFlight()).isZero();
+    }
+
+    @Test
+    public void givenDroppedSample_whenReleasing_thenShouldDecreaseLimitMultiplicatively() {
+        // Arrange
+        AdaptiveConcurrencyLimiter limiter = new AdaptiveConcurrencyLimiter("writes", 8, 1, 10, 1000, 0.5);
+        AdaptiveConcurrencyLimiter.Permit permit = limiter.tryAcquire().orElseThrow();
+
+        // Act
+        permit.release(true);
+
+        // Assert
+        assertThat(limiter.getLimit()).isEqualTo(4);
+        assertThat(limiter.getDroppedCount()).isEqualTo(1);
+    }
+
+    @Test
+    public void givenRepeatedDrops_whenReleasing_thenShouldNotGoBelowMinimum() {
+        // Arrange
+        AdaptiveConcurrencyLimiter limiter = new AdaptiveConcurrencyLimiter("writes", 8, 3, 10, 1000, 0.5);
+
+        // Act
+        for (int i = 0; i < 10; i++) {
+            limiter.tryAcquire().orElseThrow().release(true);
+        }
+
+        // Assert
+        assertThat(limiter.getLimit()).isEqualTo(3);
+    }
+
+    @Test
+    public void givenPermitReleasedTwice_whenReleasing_thenShouldCountOnlyOnce() {
+        // Arrange
+        AdaptiveConcurrencyLimiter limiter = new AdaptiveConcurrencyLimiter("reads", 4, 1, 10, 1000, 0.5);
+        AdaptiveConcurrencyLimiter.Permit permit = limiter.tryAcquire().orElseThrow();
+        limiter.tryAcquire().orElseThrow();
+
+        // Act
+        permit.release(false);
+        permit.release(false);
+
+        // Assert
+        assertThat(limiter.getInFlight()).isEqualTo(1);
+    }
+
+    @Test
+    public void givenInvalidLimits_whenCreating_thenShouldThrowIllegalArgumentException() {
+        assertThatThrownBy(() -> new AdaptiveConcurrencyLimiter("reads", 0, 1, 10, 1000, 0.5))
+                .isInstanceOf(IllegalArgumentException.class);
+        assertThatThrownBy(() -> new AdaptiveConcurrencyLimiter("reads", 5, 1, 10, 1000, 1.5))
+                .isInstanceOf(IllegalArgumentException.class);
+    }
+}
@@ -0,0 +1,167 @@
+package br.com.productmanagementsystem.limit;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.stream.IntStream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+public class TokenBucketRateLimiterTest {
+
+    private static final long START = TimeUnit.SECONDS.toNanos(1);
+
+    private final AtomicLong clock = new AtomicLong(START);
+
+    @Test
+    public void givenFullBucket_whenBurstIsExhausted_thenShouldRejectWithRetryAfter() {
+        // Arrange
+        TokenBucketRateLimiter limiter = new TokenBucketRateLimiter("reads", 10, 3, 100, clock::get);
+
+        // Act
+        TokenBucketRateLimiter.Decision first = limiter.tryAcquire("client-a");
+        TokenBucketRateLimiter.Decision second = limiter.tryAcquire("client-a");
+        TokenBucketRateLimiter.Decision third = limiter.tryAcquire("client-a");
+        TokenBucketRateLimiter.Decision fourth = limiter.tryAcquire("client-a");
+
+        // Assert
+        assertThat(first.allowed()).isTrue();
+        assertThat(first.remainingTokens()).isEqualTo(2);
+        assertThat(second.remainingTokens()).isEqualTo(1);
+        assertThat(third.allowed()).isTrue();
+        assertThat(third.remainingTokens()).isZero();
+        assertThat(fourth.allowed()).isFalse();
+        assertThat(fourth.retryAfterNanos()).isEqualTo(TimeUnit.MILLISECONDS.toNanos(100));
+        assertThat(fourth.retryAfterSeconds()).isEqualTo(1);
+        assertThat(limiter.getRejectedCount()).isEqualTo(1);
+    }
+
+    @Test
+    public void givenExhaustedBucket_whenTimePasses_thenShouldRefillAtConfiguredRate() {
+        // Arrange
+        TokenBucketRateLimiter limiter = new TokenBucketRateLimiter("writes", 10, 1, 100, clock::get);
+        limiter.tryAcquire("client-a");
+
+        // Act
+        boolean beforeRefill = limiter.tryAcquire("client-a").allowed();
+        clock.addAndGet(TimeUnit.MILLISECONDS.toNanos(100));
+        boolean afterRefill = limiter.tryAcquire("client-a").allowed();
+
+        // Assert
+        assertThat(beforeRefill).isFalse();
+        assertThat(afterRefill).isTrue();
+    }
+
+    @Test
+    public void givenDistinctClients_whenAcquiring_thenShouldKeepIndependentBuckets() {
+        // Arrange
+        TokenBucketRateLimiter limiter = new TokenBucketRateLimiter("writes", 1, 1, 100, clock::get);
+        limiter.tryAcquire("client-a");
+
+        // Act
+        boolean clientA = limiter.tryAcquire("client-a").allowed();
+        boolean clientB = limiter.tryAcquire("client-b").allowed();
+
+        // Assert
+        assertThat(clientA).isFalse();
+        assertThat(clientB).isTrue();
+        assertThat(limiter.getTrackedClients()).isEqualTo(2);
+    }
+
+    @Test
+    public void givenFullTableOfIdleClients_whenSweeping_thenShouldEvictRefilledBuckets() {
+        // Arrange
+        TokenBucketRateLimiter limiter = new TokenBucketRateLimiter("reads", 10, 2, 2, clock::get);
+        limiter.tryAcquire("client-a");
+        limiter.tryAcquire("client-b");
+        clock.addAndGet(TimeUnit.SECONDS.toNanos(1));
+
+        // Act
+        limiter.evictIdleBuckets();
+        TokenBucketRateLimiter.Decision decision = limiter.tryAcquire("client-c");
+
+        // Assert
+        assertThat(decision.allowed()).isTrue();
+        assertThat(limiter.getTrackedClients()).isEqualTo(1);
+    }
+
+    @Test
+    public void givenFullTableOfActiveClients_whenNewClientsArrive_thenShouldNotTrackThem() {
+        // Arrange
+        TokenBucketRateLimiter limiter = new TokenBucketRateLimiter("reads", 1, 1, 1, clock::get);
+        limiter.tryAcquire("client-a");
+
+        // Act
+        boolean clientB = limiter.tryAcquire("client-b").allowed();
+        boolean clientBAgain = limiter.tryAcquire("client-b").allowed();
+
+        // Assert
+        assertThat(clientB).isTrue();
+        assertThat(clientBAgain).isFalse();
+        assertThat(limiter.getTrackedClients()).isEqualTo(1);
+    }
+
+    @Test
+    public void givenNoisyOverflowClient_whenOtherNewClientsArrive_thenShouldNotThrottleThem() {
+        // Arrange
+        TokenBucketRateLimiter limiter = new TokenBucketRateLimiter("reads", 1, 1, 1, clock::get);
+        limiter.tryAcquire("client-a");
+        limiter.tryAcquire("noisy-client");
+        List<String> newClients = IntStream.range(0, 100)
+                .mapToObj(i -> "client-" + i)
+                .filter(client -> TokenBucketRateLimiter.overflowSlot(client) != TokenBucketRateLimiter.overflowSlot("noisy-client"))
+                .toList();
+
+        // Act
+        boolean noisyClient = limiter.tryAcquire("noisy-client").allowed();
+        long allowedNewClients = newClients.stream().filter(client -> limiter.tryAcquire(client).allowed()).count();
+
+        // Assert
+        assertThat(noisyClient).isFalse();
+        assertThat(newClients).isNotEmpty();
+        assertThat(allowedNewClients).isGreaterThan(newClients.size() / 2);
+    }
+
+    @Test
+    public void givenConcurrentRequestsFromSameClient_whenAcquiring_thenShouldNeverExceedBurst() throws Exception {
+        // Arrange
+        TokenBucketRateLimiter limiter = new TokenBucketRateLimiter("reads", 1, 100, 100, clock::get);
+        AtomicInteger allowed = new AtomicInteger();
+        CountDownLatch start = new CountDownLatch(1);
+        ExecutorService executor = Executors.newFixedThreadPool(8);
+
+        // Act
+        for (int thread = 0; thread < 8; thread++) {
+            executor.submit(() -> {
+                start.await();
+                for (int i = 0; i < 1000; i++) {
+                    if (limiter.tryAcquire("client-a").allowed()) {
+                        allowed.incrementAndGet();
+                    }
+                }
+                return null;
+            });
+        }
+        start.countDown();
+        executor.shutdown();
+        assertThat(executor.awaitTermination(10, TimeUnit.SECONDS)).isTrue();
+
+        // Assert
+        assertThat(allowed.get()).isEqualTo(100);
+        assertThat(limiter.getAllowedCount() + limiter.getRejectedCount()).isEqualTo(8000);
+    }
+
+    @Test
+    public void givenInvalidConfiguration_whenCreating_thenShouldThrowIllegalArgumentException() {
+        // Act & Assert
+        assertThatThrownBy(() -> new TokenBucketRateLimiter("reads", 0, 1, 100))
+                .isInstanceOf(IllegalArgumentException.class);
+    }
+}
@@ -0,0 +1,100 @@
+package br.com.productmanagementsystem.mapper;
+
+import br.com.productmanagementsystem.dto.ProductRequestDTO;
+import br.com.productmanagementsystem.util.TestConstants;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.math.BigDecimal;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+public class JsonMergePatcherTest {
+
+    private ObjectMapper objectMapper;
+    private JsonMergePatcher jsonMergePatcher;
+
+    @BeforeEach
+    void setUp() {
+        this.objectMapper = new ObjectMapper();
+        this.jsonMergePatcher = new JsonMergePatcher(objectMapper);
+    }
+
+    @Test
+    public void givenPatchWithSingleField_whenApplying_thenShouldChangeOnlyThatField() throws Exception {
+        // Arrange
+        ProductRequestDTO current = TestConstants.createDefaultProductRequestDTO();
+        JsonNode patch = objectMapper.readTree("{\"quantity\": 7}");
+
+        // Act
+        ProductRequestDTO merged = jsonMergePatcher.apply(current, patch, ProductRequestDTO.class);
+
+        // Assert
+        assertThat(merged.quantity()).isEqualTo(7);
+        assertThat(merged.name()).isEqualTo(TestConstants.SMARTPHONE_NAME);
+        assertThat(merged.price()).isEqualByComparingTo(TestConstants.SMARTPHONE_PRICE);
+        assertThat(merged.description()).isEqualTo(TestConstants.SMARTPHONE_DESCRIPTION);
+    }
+
+    @Test
+    public void givenPatchWithNullField_whenApplying_thenShouldRemoveThatField() throws Exception {
+        // Arrange
+        ProductRequestDTO current = TestConstants.createDefaultProductRequestDTO();
+        JsonNode patch = objectMapper.readTree("{\"description\": null, \"price\": 10.50}");
+
+        // Act
+        ProductRequestDTO merged = jsonMergePatcher.apply(current, patch, ProductRequestDTO.class);
+
+        // Assert
+        assertThat(merged.description()).isNull();
+        assertThat(merged.price()).isEqualByComparingTo(new BigDecimal("10.50"));
+        assertThat(merged.quantity()).isEqualTo(TestConstants.SMARTPHONE_QUANTITY);
+    }
+
+    @Test
+    public void givenChangeOfAnotherField_whenCheckingOverlap_thenShouldNotOverlap() throws Exception {
+        // Arrange
+        ProductRequestDTO before = TestConstants.createDefaultProductRequestDTO();
+        ProductRequestDTO after = new ProductRequestDTO(before.name(), new BigDecimal("999.00"), before.description(), before.quantity());
+        JsonNode patch = objectMapper.readTree("{\"quantity\": 7, \"description\": null}");
+
+        // Act & Assert
+        assertThat(jsonMergePatcher.overlaps(patch, before, after)).isFalse();
+    }
+
+    @Test
+    public void givenChangeOfAPatchedField_whenCheckingOverlap_thenShouldOverlap() throws Exception {
+        // Arrange
+        ProductRequestDTO before = TestConstants.createDefaultProductRequestDTO();
+        ProductRequestDTO after = new ProductRequestDTO(before.name(), before.price(), null, before.quantity());
+        JsonNode patch = objectMapper.readTree("{\"quantity\": 7, \"description\": \"New\"}");
+
+        // Act & Assert
+        assertThat(jsonMergePatcher.overlaps(patch, before, after)).isTrue();
+    }
+
+    @Test
+    public void givenNonObjectPatch_whenApplying_thenShouldThrowIllegalArgumentException() throws Exception {
+        // Arrange
+        ProductRequestDTO current = TestConstants.createDefaultProductRequestDTO();
+        JsonNode patch = objectMapper.readTree("[1, 2, 3]");
+
+        // Act & Assert
+        assertThatThrownBy(() -> jsonMergePatcher.apply(current, patch, ProductRequestDTO.class))
+                .isInstanceOf(IllegalArgumentException.class);
+    }
+
+    @Test
+    public void givenPatchWithWrongType_whenApplying_thenShouldThrowIllegalArgumentException() throws Exception {
+        // Arrange
+        ProductRequestDTO current = TestConstants.createDefaultProductRequestDTO();
+        JsonNode patch = objectMapper.readTree("{\"quantity\": \"many\"}");
+
+        // Act & Assert
+        assertThatThrownBy(() -> jsonMergePatcher.apply(current, patch, ProductRequestDTO.class))
+                .isInstanceOf(IllegalArgumentException.class);
+    }
+}
@@ -8,6 +8,8 @@ import br.com.productmanagementsystem.util.TestConstants;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 
+import java.math.BigDecimal;
+
 import static org.assertj.core.api.Assertions.assertThat;
 import static org.assertj.core.api.Assertions.assertThatThrownBy;
 import static org.mockito.Mockito.mock;
@@ -139,4 +141,37 @@ public class ProductMapperTest {
                 .isInstanceOf(IllegalArgumentException.class)
                 .hasMessage("ProductRequestDTO cannot be null");
     }
-}
\ No newline at end of file
+
+    @Test
+    public void givenRequestDTOWithSomeChanges_whenApplyingChanges_thenShouldUpdateOnlyChangedAttributes() {
+        // Arrange
+        Product product = TestConstants.createDefaultProduct();
+        ProductRequestDTO requestDTO = new ProductRequestDTO(
+                TestConstants.SMARTPHONE_NAME,
+                new BigDecimal("1299.990"),
+                TestConstants.SMARTPHONE_DESCRIPTION,
+                TestConstants.UPDATED_QUANTITY
+        );
+
+        // Act
+        this.productMapper.applyChanges(product, requestDTO);
+
+        // Assert
+        assertThat(product.getQuantity()).isEqualTo(TestConstants.UPDATED_QUANTITY);
+        assertThat(product.getPrice()).isSameAs(TestConstants.SMARTPHONE_PRICE);
+        assertThat(product.getName()).isEqualTo(TestConstants.SMARTPHONE_NAME);
+        assertThat(product.getDescription()).isEqualTo(TestConstants.SMARTPHONE_DESCRIPTION);
+    }
+
+    @Test
+    public void givenProduct_whenConvertingToRequestDTO_thenShouldReturnMappedDTO() {
+        // Arrange
+        Product product = TestConstants.createDefaultProduct();
+
+        // Act
+        ProductRequestDTO requestDTO = this.productMapper.toRequestDTO(product);
+
+        // Assert
+        assertThat(requestDTO).isEqualTo(TestConstants.createDefaultProductRequestDTO());
+    }
+}
@@ -0,0 +1,173 @@
+package br.com.productmanagementsystem.readmodel;
+
+import br.com.productmanagementsystem.dto.ProductStatsResponseDTO;
+import br.com.productmanagementsystem.entity.Product;
+import br.com.productmanagementsystem.event.ProductChangedEvent;
+import br.com.productmanagementsystem.event.ProductSnapshot;
+import br.com.productmanagementsystem.repository.ProductRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.data.domain.Sort;
+
+import java.math.BigDecimal;
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.ZoneId;
+import java.time.ZoneOffset;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+public class InventoryStatisticsTest {
+
+    private ProductRepository productRepository;
+    private InventoryStatistics inventoryStatistics;
+    private Product phone;
+    private Product cable;
+    private Product charger;
+    private MutableClock clock;
+
+    @BeforeEach
+    void setUp() {
+        phone = new Product(1L, "550e8400-e29b-41d4-a716-446655440001", "Phone", new BigDecimal("1000.00"), null, 20);
+        cable = new Product(2L, "550e8400-e29b-41d4-a716-446655440002", "Cable", new BigDecimal("10.50"), null, 4);
+        charger = new Product(3L, "550e8400-e29b-41d4-a716-446655440003", "Charger", new BigDecimal("99.90"), null, 0);
+
+        productRepository = mock(ProductRepository.class);
+        when(productRepository.findAll(any(Sort.class))).thenReturn(List.of(phone, cable, charger));
+
+        clock = new MutableClock(Instant.parse("2025-01-01T00:00:00Z"));
+        inventoryStatistics = new InventoryStatistics(productRepository, 10);
+        inventoryStatistics.setTombstoneRetention(Duration.ofMinutes(1));
+        inventoryStatistics.setClock(clock);
+        inventoryStatistics.load();
+    }
+
+    @Test
+    public void givenLoadedCatalog_whenGettingStats_thenShouldAggregateEveryProduct() {
+        // Act
+        ProductStatsResponseDTO stats = inventoryStatistics.current();
+
+        // Assert
+        assertThat(stats).isEqualTo(new ProductStatsResponseDTO(3, 24, new BigDecimal("20042.00"), 1, 1, 10));
+    }
+
+    @Test
+    public void givenCommittedChanges_whenGettingStats_thenShouldApplyDeltas() {
+        // Arrange
+        ProductSnapshot before = ProductSnapshot.from(phone);
+        phone.setQuantity(5);
+        Product adapter = new Product(4L, "550e8400-e29b-41d4-a716-446655440004", "Adapter", new BigDecimal("5.00"), null, 0);
+
+        // Act
+        inventoryStatistics.onProductChanged(ProductChangedEvent.updated(before, ProductSnapshot.from(phone)));
+        inventoryStatistics.onProductChanged(ProductChangedEvent.created(ProductSnapshot.from(adapter)));
+        inventoryStatistics.onProductChanged(ProductChangedEvent.deleted(ProductSnapshot.from(cable)));
+
+        // Assert
+        assertThat(inventoryStatistics.current())
+                .isEqualTo(new ProductStatsResponseDTO(3, 5, new BigDecimal("5000.00"), 2, 1, 10));
+    }
+
+    @Test
+    public void givenReplayedChange_whenGettingStats_thenShouldNotCountItTwice() {
+        // Arrange
+        ProductSnapshot before = ProductSnapshot.from(cable);
+        cable.setQuantity(0);
+        ProductChangedEvent event = ProductChangedEvent.updated(before, ProductSnapshot.from(cable));
+
+        // Act
+        inventoryStatistics.onProductChanged(event);
+        inventoryStatistics.onProductChanged(event);
+
+        // Assert
+        assertThat(inventoryStatistics.current())
+                .isEqualTo(new ProductStatsResponseDTO(3, 20, new BigDecimal("20000.00"), 2, 0, 10));
+    }
+
+    @Test
+    public void givenChangeMissedByTheAggregates_whenReconciling_thenShouldRepairDrift() {
+        // Arrange
+        charger.setQuantity(3);
+
+        // Act
+        inventoryStatistics.reconcile();
+
+        // Assert
+        assertThat(inventoryStatistics.current())
+                .isEqualTo(new ProductStatsResponseDTO(3, 27, new BigDecimal("20341.70"), 0, 2, 10));
+        assertThat(inventoryStatistics.getDriftRepairs()).isEqualTo(1);
+    }
+
+    @Test
+    public void givenAggregatesInSync_whenReconciling_thenShouldNotReportDrift() {
+        // Act
+        inventoryStatistics.reconcile();
+
+        // Assert
+        assertThat(inventoryStatistics.getDriftRepairs()).isZero();
+    }
+
+    @Test
+    public void givenLateChangeOfDeletedProduct_whenWithinRetention_thenShouldNotBringItBack() {
+        // Arrange
+        ProductSnapshot deleted = ProductSnapshot.from(cable);
+        inventoryStatistics.onProductChanged(ProductChangedEvent.deleted(deleted));
+        clock.advance(Duration.ofSeconds(30));
+
+        // Act
+        inventoryStatistics.onProductChanged(ProductChangedEvent.updated(deleted, deleted));
+
+        // Assert
+        assertThat(inventoryStatistics.current())
+                .isEqualTo(new ProductStatsResponseDTO(2, 20, new BigDecimal("20000.00"), 1, 0, 10));
+    }
+
+    @Test
+    public void givenDeletesOlderThanRetention_whenApplyingChanges_thenShouldForgetTheirTombstones() {
+        // Arrange
+        inventoryStatistics.onProductChanged(ProductChangedEvent.deleted(ProductSnapshot.from(cable)));
+        clock.advance(Duration.ofSeconds(45));
+        inventoryStatistics.onProductChanged(ProductChangedEvent.deleted(ProductSnapshot.from(charger)));
+        clock.advance(Duration.ofSeconds(30));
+        ProductSnapshot before = ProductSnapshot.from(phone);
+        phone.setQuantity(19);
+
+        // Act
+        inventoryStatistics.onProductChanged(ProductChangedEvent.updated(before, ProductSnapshot.from(phone)));
+
+        // Assert
+        assertThat(inventoryStatistics.getTrackedVersions()).isEqualTo(2);
+    }
+
+    private static final class MutableClock extends Clock {
+        private Instant instant;
+
+        private MutableClock(Instant instant) {
+            this.instant = instant;
+        }
+
+        private void advance(Duration duration) {
+            instant = instant.plus(duration);
+        }
+
+        @Override
+        public ZoneOffset getZone() {
+            return ZoneOffset.UTC;
+        }
+
+        @Override
+        public Clock withZone(ZoneId zone) {
+            return this;
+        }
+
+        @Override
+        public Instant instant() {
+            return instant;
+        }
+    }
+}
@@ -0,0 +1,260 @@
+package br.com.productmanagementsystem.readmodel;
+
+import br.com.productmanagementsystem.dto.ProductFacetsResponseDTO;
+import br.com.productmanagementsystem.dto.ProductQueryDTO;
+import br.com.productmanagementsystem.dto.ProductResponseDTO;
+import br.com.productmanagementsystem.entity.Product;
+import br.com.productmanagementsystem.event.ProductChangedEvent;
+import br.com.productmanagementsystem.event.ProductSnapshot;
+import br.com.productmanagementsystem.repository.ProductRepository;
+import br.com.productmanagementsystem.search.FuzzyNameIndex;
+import br.com.productmanagementsystem.specification.ProductField;
+import br.com.productmanagementsystem.specification.ProductProjection;
+import br.com.productmanagementsystem.specification.ProductSpecification;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.autoconfigure.orm.jpa.TestEntityManager;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Sort;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.EnumSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.Set;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Checks that the read model returns exactly what the JPA path returns
+ * for every combination of filters, sorts and pages
+ */
+@DataJpaTest
+public class ProductReadModelEquivalenceTest {
+
+    private static final String[] NAME_PARTS = {
+            "Samsung", "iPhone", "Café", "NOTEBOOK", "mouse", "Teclado", "monitor_4k", "50% off", "Ação", "phone"
+    };
+
+    private static final List<ProductQueryDTO> QUERIES = List.of(
+            new ProductQueryDTO(null, null, null, null, null, null, null),
+            new ProductQueryDTO("sam", null, null, null, null, null, null),
+            new ProductQueryDTO("CAFÉ", null, null, null, null, null, null),
+            new ProductQueryDTO("  phone  ", null, null, null, null, null, null),
+            new ProductQueryDTO("r_4", null, null, null, null, null, null),
+            new ProductQueryDTO("50%", null, null, null, null, null, null),
+            new ProductQueryDTO("ação", null, null, null, null, false, null),
+            new ProductQueryDTO(null, new BigDecimal("2.005"), new BigDecimal("7.499"), null, null, null, null),
+            new ProductQueryDTO(null, new BigDecimal("2.50"), null, null, null, null, null),
+            new ProductQueryDTO(null, null, new BigDecimal("5.00"), 3, null, null, null),
+            new ProductQueryDTO(null, null, null, 5, 10, null, null),
+            new ProductQueryDTO(null, null, null, null, 0, true, null),
+            new ProductQueryDTO(null, null, null, null, null, false, null),
+            new ProductQueryDTO("o", new BigDecimal("1.00"), new BigDecimal("9.00"), 0, 15, false, null)
+    );
+
+    private static final List<Sort> SORTS = List.of(
+            Sort.by("id"),
+            Sort.by(Sort.Direction.DESC, "id"),
+            Sort.by("price"),
+            Sort.by(Sort.Direction.DESC, "price").and(Sort.by("name")),
+            Sort.by(Sort.Direction.DESC, "name"),
+            Sort.by("quantity"),
+            Sort.by("description"),
+            Sort.by(Sort.Direction.DESC, "description"),
+            Sort.by("publicId")
+    );
+
+    @Autowired
+    private TestEntityManager entityManager;
+
+    @Autowired
+    private ProductRepository productRepository;
+
+    private ProductReadModel productReadModel;
+
+    @BeforeEach
+    public void setUp() {
+        entityManager.getEntityManager().createQuery("DELETE FROM Product").executeUpdate();
+        entityManager.flush();
+        entityManager.clear();
+
+        Random random = new Random(42);
+        for (int i = 0; i < 300; i++) {
+            // Names are unique, so the suffix keeps repeated combinations of parts apart
+            String name = NAME_PARTS[random.nextInt(NAME_PARTS.length)] + " " + NAME_PARTS[random.nextInt(NAME_PARTS.length)] + " " + i;
+            BigDecimal price = BigDecimal.valueOf(100 + random.nextInt(40) * 25L, 2);
+            String description = random.nextInt(5) == 0 ? null : "Descrição " + random.nextInt(30);
+            Product product = new Product(null, new UUID(random.nextLong(), random.nextLong()).toString(),
+                    name, price, description, random.nextInt(20));
+            entityManager.persist(product);
+        }
+        entityManager.flush();
+        entityManager.clear();
+
+        productReadModel = new ProductReadModel(productRepository, true, false);
+        productReadModel.load();
+    }
+
+    @Test
+    public void givenLoadedReadModel_whenQuerying_thenShouldMatchJpaResults() {
+        assertEquivalentForAllQueries();
+    }
+
+    @Test
+    public void givenVectorScanKernel_whenQuerying_thenShouldMatchJpaResults() {
+        // Arrange
+        productReadModel = new ProductReadModel(productRepository, true, true);
+        productReadModel.load();
+
+        // Act & Assert
+        assertEquivalentForAllQueries();
+    }
+
+    @Test
+    public void givenChangesAppliedThroughEvents_whenQuerying_thenShouldMatchJpaResults() {
+        // Arrange
+        List<Product> products = productRepository.findAll(Sort.by("id"));
+        List<ProductChangedEvent> events = new ArrayList<>();
+
+        for (int i = 0; i < products.size(); i += 3) {
+            Product product = products.get(i);
+            ProductSnapshot before = ProductSnapshot.from(product);
+            product.setPrice(product.getPrice().add(new BigDecimal("0.10")));
+            product.setQuantity(product.getQuantity() == 0 ? 7 : 0);
+            product.setDescription(i % 2 == 0 ? null : "Atualizado");
+            productRepository.saveAndFlush(product);
+            events.add(ProductChangedEvent.updated(before, ProductSnapshot.from(product)));
+        }
+        for (int i = 1; i < products.size(); i += 4) {
+            productRepository.delete(products.get(i));
+            events.add(ProductChangedEvent.deleted(ProductSnapshot.from(products.get(i))));
+        }
+        Product created = productRepository.save(new Product(null, UUID.randomUUID().toString(),
+                "Samsung Café", new BigDecimal("3.00"), null, 4));
+        events.add(ProductChangedEvent.created(ProductSnapshot.from(created)));
+        productRepository.flush();
+
+        // Act
+        events.forEach(productReadModel::onProductChanged);
+
+        // Assert
+        assertEquivalentForAllQueries();
+    }
+
+    @Test
+    public void givenChangesDeliveredOutOfOrder_whenQuerying_thenShouldKeepTheLatestVersion() {
+        // Arrange
+        Product product = productRepository.findAll(Sort.by("id")).getFirst();
+        ProductSnapshot original = ProductSnapshot.from(product);
+        product.setQuantity(product.getQuantity() + 1);
+        ProductSnapshot first = ProductSnapshot.from(productRepository.saveAndFlush(product));
+        product.setQuantity(product.getQuantity() + 1);
+        ProductSnapshot second = ProductSnapshot.from(productRepository.saveAndFlush(product));
+        Product deleted = productRepository.findAll(Sort.by("id")).getLast();
+        ProductSnapshot beforeDelete = ProductSnapshot.from(deleted);
+        productRepository.delete(deleted);
+        productRepository.flush();
+
+        // Act
+        productReadModel.onProductChanged(ProductChangedEvent.updated(first, second));
+        productReadModel.onProductChanged(ProductChangedEvent.updated(original, first));
+        productReadModel.onProductChanged(ProductChangedEvent.deleted(beforeDelete));
+        productReadModel.onProductChanged(ProductChangedEvent.updated(beforeDelete, beforeDelete));
+
+        // Assert
+        assertEquivalentForAllQueries();
+    }
+
+    @Test
+    public void givenSparseFieldset_whenQuerying_thenShouldMatchJpaProjection() {
+        // Arrange
+        EnumSet<ProductField> fields = EnumSet.of(ProductField.NAME, ProductField.PRICE);
+        Pageable pageable = PageRequest.of(1, 20, Sort.by("price"));
+        ProductQueryDTO query = QUERIES.get(8);
+
+        // Act
+        Page<Map<String, Object>> expected = productRepository.findAllProjected(
+                ProductSpecification.buildSpecification(query), ProductProjection.of(fields), ProductSpecification.withIdTiebreak(pageable));
+        Page<Map<String, Object>> actual = productReadModel.findAll(query, fields, pageable);
+
+        // Assert
+        assertThat(actual.getTotalElements()).isEqualTo(expected.getTotalElements());
+        assertThat(actual.getContent()).containsExactlyElementsOf(expected.getContent());
+    }
+
+    private void assertEquivalentForAllQueries() {
+        for (ProductQueryDTO query : QUERIES) {
+            for (Sort sort : SORTS) {
+                for (Pageable pageable : List.of(PageRequest.of(0, 7, sort), PageRequest.of(3, 7, sort), PageRequest.of(0, 500, sort))) {
+                    assertThat(productReadModel.canServe(query, pageable)).isTrue();
+
+                    Page<ProductResponseDTO> expected = productRepository
+                            .findAll(ProductSpecification.buildSpecification(query), ProductSpecification.withIdTiebreak(pageable))
+                            .map(ProductReadModelEquivalenceTest::toResponse);
+                    Page<ProductResponseDTO> actual = productReadModel.findAll(query, pageable);
+
+                    assertThat(actual.getTotalElements())
+                            .as("total for %s sorted by %s", query, sort)
+                            .isEqualTo(expected.getTotalElements());
+                    assertThat(actual.getContent())
+                            .as("page %d for %s sorted by %s", pageable.getPageNumber(), query, sort)
+                            .containsExactlyElementsOf(expected.getContent());
+                }
+            }
+        }
+    }
+
+    private static ProductResponseDTO toResponse(Product product) {
+        return new ProductResponseDTO(
+                product.getPublicId(),
+                product.getName(),
+                product.getPrice(),
+                product.getDescription(),
+                product.getQuantity()
+        );
+    }
+
+    @Test
+    public void givenLoadedReadModel_whenComputingFacets_thenShouldMatchSingleAggregateQuery() {
+        for (ProductQueryDTO query : QUERIES) {
+            // Act
+            ProductFacetsResponseDTO expected = productRepository.findFacets(ProductSpecification.buildSpecification(query));
+            ProductFacetsResponseDTO actual = productReadModel.facets(query);
+
+            // Assert
+            assertThat(actual).as("facets for %s", query).isEqualTo(expected);
+        }
+    }
+
+    @Test
+    public void givenFuzzyNameMatches_whenQuerying_thenShouldMatchJpaResults() {
+        // Arrange
+        FuzzyNameIndex fuzzyNameIndex = new FuzzyNameIndex(productRepository);
+        fuzzyNameIndex.load();
+        ProductQueryDTO query = new ProductQueryDTO("Smasung", null, new BigDecimal("8.00"), null, null, false, true);
+        Set<Long> nameMatches = fuzzyNameIndex.match(query.name());
+        Pageable pageable = PageRequest.of(0, 50, Sort.by("price"));
+
+        // Act
+        Page<ProductResponseDTO> expected = productRepository
+                .findAll(ProductSpecification.buildSpecification(query, nameMatches), ProductSpecification.withIdTiebreak(pageable))
+                .map(ProductReadModelEquivalenceTest::toResponse);
+        Page<ProductResponseDTO> actual = productReadModel.findAll(query, pageable, nameMatches);
+
+        // Assert
+        assertThat(productReadModel.canServe(query, pageable)).isTrue();
+        assertThat(nameMatches).isNotEmpty();
+        assertThat(actual.getTotalElements()).isEqualTo(expected.getTotalElements());
+        assertThat(actual.getContent()).containsExactlyElementsOf(expected.getContent());
+        assertThat(productReadModel.facets(query, nameMatches))
+                .isEqualTo(productRepository.findFacets(ProductSpecification.buildSpecification(query, nameMatches)));
+    }
+}
@@ -0,0 +1,83 @@
+package br.com.productmanagementsystem.readmodel;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.Arrays;
+import java.util.Random;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.junit.jupiter.api.Assumptions.assumeTrue;
+
+public class ScanKernelTest {
+
+    private static final int[] ROW_COUNTS = {0, 1, 7, 63, 64, 65, 130, 1000, 10_007};
+
+    @Test
+    public void givenVectorRequestedWithModuleAvailable_whenSelecting_thenShouldReturnVectorKernel() {
+        // Arrange
+        assumeTrue(ModuleLayer.boot().findModule(ScanKernel.VECTOR_MODULE).isPresent());
+
+        // Act
+        ScanKernel kernel = ScanKernel.select(true);
+
+        // Assert
+        assertThat(kernel).isInstanceOf(VectorScanKernel.class);
+    }
+
+    @Test
+    public void givenVectorNotRequested_whenSelecting_thenShouldReturnScalarKernel() {
+        // Act
+        ScanKernel kernel = ScanKernel.select(false);
+
+        // Assert
+        assertThat(kernel).isInstanceOf(ScalarScanKernel.class);
+    }
+
+    @Test
+    public void givenRandomColumns_whenScanning_thenVectorAndScalarKernelsShouldProduceSameBitmaps() {
+        // Arrange
+        ScanKernel scalar = new ScalarScanKernel();
+        ScanKernel vector = ScanKernel.select(true);
+        Random random = new Random(7);
+
+        for (int rows : ROW_COUNTS) {
+            // Arrays are longer than the row count to check that trailing values are ignored
+            long[] prices = random.longs(rows + 9, 0, 1_000).toArray();
+            int[] quantities = random.ints(rows + 9, 0, 100).toArray();
+            long[] expected = fullSelection(rows);
+            long[] actual = fullSelection(rows);
+
+            // Act
+            scalar.retainBetween(prices, rows, 200, 600, expected);
+            scalar.retainBetween(quantities, rows, 1, 50, expected);
+            vector.retainBetween(prices, rows, 200, 600, actual);
+            vector.retainBetween(quantities, rows, 1, 50, actual);
+
+            // Assert
+            assertThat(actual).as("selection for %d rows", rows).containsExactly(expected);
+        }
+    }
+
+    @Test
+    public void givenPartialSelection_whenScanning_thenShouldOnlyClearBits() {
+        // Arrange
+        long[] prices = {100, 200, 300, 400};
+        long[] selection = {0b1011L};
+
+        // Act
+        new ScalarScanKernel().retainBetween(prices, 4, 150, 350, selection);
+
+        // Assert
+        assertThat(selection[0]).isEqualTo(0b0010L);
+        assertThat(ScanKernel.cardinality(selection)).isEqualTo(1);
+    }
+
+    private static long[] fullSelection(int rows) {
+        long[] selection = new long[ProductColumns.bitmapWords(rows)];
+        Arrays.fill(selection, -1L);
+        if (rows % 64 != 0) {
+            selection[selection.length - 1] = (1L << (rows % 64)) - 1;
+        }
+        return selection;
+    }
+}
@@ -0,0 +1,82 @@
+package br.com.productmanagementsystem.readmodel;
+
+import br.com.productmanagementsystem.event.ProductSnapshot;
+import org.junit.jupiter.api.Test;
+import org.springframework.data.domain.Sort;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+public class SortedIndexTest {
+
+    @Test
+    public void givenRandomChanges_whenWalkingIndexes_thenShouldMatchFullSort() {
+        // Arrange
+        Random random = new Random(11);
+        ProductColumns columns = new ProductColumns();
+
+        for (int round = 0; round < 10; round++) {
+            for (int i = 0; i < 2_000; i++) {
+                long id = 1 + random.nextInt(2_500);
+                // Every third round mostly deletes, which triggers compaction
+                boolean delete = round % 3 == 2 ? random.nextInt(4) != 0 : random.nextInt(4) == 0;
+                if (delete) {
+                    columns.delete(id);
+                } else {
+                    columns.upsert(new ProductSnapshot(id, UUID.randomUUID().toString(), "Product " + random.nextInt(40),
+                            BigDecimal.valueOf(random.nextInt(60), 2), null, random.nextInt(10), null));
+                }
+            }
+
+            long[] selection = columns.liveBitmap();
+            for (int word = 0; word < selection.length; word++) {
+                selection[word] &= random.nextLong();
+            }
+
+            for (String property : ProductColumns.INDEXED_PROPERTIES) {
+                for (Sort.Direction direction : Sort.Direction.values()) {
+                    Sort sort = Sort.by(direction, property);
+                    List<Integer> sorted = sortedSelection(columns, selection, sort);
+                    int limit = random.nextInt(sorted.size() + 2);
+
+                    // Act
+                    int[] walked = columns.sortedIndex(sort).walk(selection, limit, direction.isAscending());
+
+                    // Assert
+                    assertThat(walked)
+                            .as("%s %s limit %d", property, direction, limit)
+                            .containsExactly(sorted.stream().limit(limit).mapToInt(Integer::intValue).toArray());
+                }
+            }
+        }
+    }
+
+    @Test
+    public void givenSortOnSeveralOrNonIndexedProperties_whenLookingUpIndex_thenShouldReturnNull() {
+        // Arrange
+        ProductColumns columns = new ProductColumns();
+
+        // Act & Assert
+        assertThat(columns.sortedIndex(Sort.by("price"))).isNotNull();
+        assertThat(columns.sortedIndex(Sort.by("description"))).isNull();
+        assertThat(columns.sortedIndex(Sort.by("price", "name"))).isNull();
+        assertThat(columns.sortedIndex(Sort.by(Sort.Order.asc("name").ignoreCase()))).isNull();
+        assertThat(columns.sortedIndex(Sort.unsorted())).isNull();
+    }
+
+    private static List<Integer> sortedSelection(ProductColumns columns, long[] selection, Sort sort) {
+        List<Integer> rows = new ArrayList<>();
+        for (int row = 0; row < columns.size(); row++) {
+            if ((selection[row >>> 6] & (1L << row)) != 0) {
+                rows.add(row);
+            }
+        }
+        rows.sort(RowComparators.of(columns, sort)::compare);
+        return rows;
+    }
+}
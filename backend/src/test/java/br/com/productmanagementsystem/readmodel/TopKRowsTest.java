@@ -0,0 +1,54 @@
+package br.com.productmanagementsystem.readmodel;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.Arrays;
+import java.util.Random;
+import java.util.stream.IntStream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+public class TopKRowsTest {
+
+    @Test
+    public void givenRandomSelections_whenSelectingTopK_thenShouldMatchPrefixOfFullSort() {
+        // Arrange
+        Random random = new Random(7);
+
+        for (int round = 0; round < 200; round++) {
+            int rows = 1 + random.nextInt(500);
+            int[] values = IntStream.range(0, rows).map(row -> random.nextInt(20)).toArray();
+            long[] selection = new long[ProductColumns.bitmapWords(rows)];
+            for (int row = 0; row < rows; row++) {
+                if (random.nextInt(3) != 0) {
+                    selection[row >>> 6] |= 1L << row;
+                }
+            }
+            RowComparators.RowComparator comparator = (left, right) -> {
+                int result = Integer.compare(values[left], values[right]);
+                return result != 0 ? result : Integer.compare(left, right);
+            };
+            int k = random.nextInt(rows + 1);
+
+            int[] sorted = IntStream.range(0, rows)
+                    .filter(row -> (selection[row >>> 6] & (1L << row)) != 0)
+                    .boxed()
+                    .sorted(comparator::compare)
+                    .mapToInt(Integer::intValue)
+                    .toArray();
+
+            // Act
+            int[] topK = TopKRows.select(selection, k, comparator);
+
+            // Assert
+            assertThat(topK).containsExactly(Arrays.copyOf(sorted, Math.min(k, sorted.length)));
+        }
+    }
+
+    @Test
+    public void givenEmptySelection_whenSelectingTopK_thenShouldReturnNoRows() {
+        // Act & Assert
+        assertThat(TopKRows.select(new long[2], 10, Integer::compare)).isEmpty();
+        assertThat(TopKRows.select(new long[]{-1L}, 0, Integer::compare)).isEmpty();
+    }
+}
@@ -0,0 +1,79 @@
+package br.com.productmanagementsystem.replica;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import javax.sql.DataSource;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+public class ReadWriteRoutingDataSourceTest {
+
+    private final ReplicaLagMonitor lagMonitor = mock(ReplicaLagMonitor.class);
+    private final ReadWriteRoutingDataSource routingDataSource =
+            new ReadWriteRoutingDataSource(mock(DataSource.class), mock(DataSource.class), lagMonitor);
+
+    @AfterEach
+    public void tearDown() {
+        ReplicaReads.clear();
+        TransactionSynchronizationManager.setCurrentTransactionReadOnly(false);
+    }
+
+    @Test
+    public void givenReadOnlyTransactionInRequest_whenReplicaCaughtUp_thenShouldRouteToReplica() {
+        // Arrange
+        ReplicaReads.allow(Long.MIN_VALUE);
+        TransactionSynchronizationManager.setCurrentTransactionReadOnly(true);
+        when(lagMonitor.canServe(Long.MIN_VALUE)).thenReturn(true);
+
+        // Act
+        Object route = routingDataSource.determineCurrentLookupKey();
+
+        // Assert
+        assertThat(route).isEqualTo(ReadWriteRoutingDataSource.Route.REPLICA);
+    }
+
+    @Test
+    public void givenReadOnlyTransactionInRequest_whenReplicaBehind_thenShouldRouteToPrimary() {
+        // Arrange
+        ReplicaReads.allow(1000L);
+        TransactionSynchronizationManager.setCurrentTransactionReadOnly(true);
+        when(lagMonitor.canServe(1000L)).thenReturn(false);
+
+        // Act
+        Object route = routingDataSource.determineCurrentLookupKey();
+
+        // Assert
+        assertThat(route).isEqualTo(ReadWriteRoutingDataSource.Route.PRIMARY);
+    }
+
+    @Test
+    public void givenReadWriteTransaction_whenRouting_thenShouldRouteToPrimary() {
+        // Arrange
+        ReplicaReads.allow(Long.MIN_VALUE);
+        when(lagMonitor.canServe(anyLong())).thenReturn(true);
+
+        // Act
+        Object route = routingDataSource.determineCurrentLookupKey();
+
+        // Assert
+        assertThat(route).isEqualTo(ReadWriteRoutingDataSource.Route.PRIMARY);
+    }
+
+    @Test
+    public void givenReadOnlyTransactionOutsideRequest_whenRouting_thenShouldRouteToPrimary() {
+        // Arrange
+        TransactionSynchronizationManager.setCurrentTransactionReadOnly(true);
+        when(lagMonitor.canServe(anyLong())).thenReturn(true);
+
+        // Act
+        Object route = routingDataSource.determineCurrentLookupKey();
+
+        // Assert
+        assertThat(route).isEqualTo(ReadWriteRoutingDataSource.Route.PRIMARY);
+    }
+}
@@ -0,0 +1,136 @@
+package br.com.productmanagementsystem.replica;
+
+import br.com.productmanagementsystem.dto.ProductRequestDTO;
+import br.com.productmanagementsystem.dto.ProductResponseDTO;
+import br.com.productmanagementsystem.filter.ReadYourWritesFilter;
+import br.com.productmanagementsystem.repository.ProductRepository;
+import br.com.productmanagementsystem.service.ProductService;
+import jakarta.servlet.http.Cookie;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.web.servlet.MockMvc;
+
+import javax.sql.DataSource;
+import java.math.BigDecimal;
+import java.sql.Timestamp;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.patch;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+/**
+ * Checks read routing against a second in-memory database standing in for the replica. The
+ * replica is brought up to date by copying the primary, and the heartbeat is driven by hand.
+ */
+@SpringBootTest(properties = {
+        "app.datasource.replica.enabled=true",
+        "app.datasource.replica.url=jdbc:h2:mem:replica-test;DB_CLOSE_DELAY=-1",
+        "app.datasource.replica.max-lag=PT5S",
+        "app.datasource.replica.heartbeat-interval=PT1H",
+        "app.rate-limit.enabled=false"
+})
+@AutoConfigureMockMvc
+public class ReadWriteRoutingIntegrationTest {
+
+    private static final String NAME = "Replica Product";
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private ProductService productService;
+
+    @Autowired
+    private ProductRepository productRepository;
+
+    @Autowired
+    private ReplicaLagMonitor lagMonitor;
+
+    @Autowired
+    @Qualifier("primaryDataSource")
+    private DataSource primaryDataSource;
+
+    @Autowired
+    @Qualifier("replicaDataSource")
+    private DataSource replicaDataSource;
+
+    private ProductResponseDTO product;
+
+    @BeforeEach
+    public void setUp() {
+        product = productService.save(new ProductRequestDTO(NAME, new BigDecimal("10.00"), null, 5));
+        lagMonitor.beat();
+        replicate();
+        lagMonitor.refresh();
+        productService.update(product.publicId(), new ProductRequestDTO(NAME, new BigDecimal("20.00"), null, 5), null);
+    }
+
+    @AfterEach
+    public void tearDown() {
+        productRepository.findAll().stream()
+                .filter(existing -> existing.getName().equals(NAME))
+                .forEach(existing -> productService.delete(existing.getPublicId(), null));
+    }
+
+    @Test
+    public void givenReplicaWithinMaxLag_whenReading_thenShouldServeFromReplica() throws Exception {
+        // Act & Assert
+        mockMvc.perform(get("/api/v1/products/{publicId}", product.publicId()).param("fields", "price"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.price").value(10.00));
+    }
+
+    @Test
+    public void givenReplicaBeyondMaxLag_whenReading_thenShouldFallBackToPrimary() throws Exception {
+        // Arrange
+        new JdbcTemplate(replicaDataSource).update("UPDATE replication_heartbeat SET beat_at = ?",
+                Timestamp.from(Instant.now().minus(Duration.ofMinutes(1))));
+        lagMonitor.refresh();
+
+        // Act & Assert
+        mockMvc.perform(get("/api/v1/products/{publicId}", product.publicId()).param("fields", "price"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.price").value(20.00));
+        assertThat(lagMonitor.getLagMillis()).isGreaterThanOrEqualTo(Duration.ofMinutes(1).toMillis());
+    }
+
+    @Test
+    public void givenOwnWrite_whenReadingWithCookie_thenShouldReadItFromPrimary() throws Exception {
+        // Arrange
+        Cookie readAfter = mockMvc.perform(patch("/api/v1/products/{publicId}", product.publicId())
+                        .contentType("application/merge-patch+json")
+                        .content("{\"quantity\":7}"))
+                .andExpect(status().isOk())
+                .andReturn().getResponse().getCookie(ReadYourWritesFilter.READ_AFTER_COOKIE);
+
+        // Act & Assert
+        assertThat(readAfter).isNotNull();
+        mockMvc.perform(get("/api/v1/products/{publicId}", product.publicId())
+                        .param("fields", "price,quantity")
+                        .cookie(readAfter))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.price").value(20.00))
+                .andExpect(jsonPath("$.quantity").value(7));
+        mockMvc.perform(get("/api/v1/products/{publicId}", product.publicId()).param("fields", "quantity"))
+                .andExpect(jsonPath("$.quantity").value(5));
+    }
+
+    // Copies the primary to the replica, like a replica that caught up at this point
+    private void replicate() {
+        List<String> script = new JdbcTemplate(primaryDataSource).queryForList("SCRIPT", String.class);
+        JdbcTemplate replica = new JdbcTemplate(replicaDataSource);
+        replica.execute("DROP ALL OBJECTS");
+        script.forEach(replica::execute);
+    }
+}
@@ -1,20 +1,27 @@
 package br.com.productmanagementsystem.repository;
 
+import br.com.productmanagementsystem.dto.ProductFacetsResponseDTO;
 import br.com.productmanagementsystem.entity.Product;
+import br.com.productmanagementsystem.specification.ProductField;
+import br.com.productmanagementsystem.specification.ProductProjection;
 import br.com.productmanagementsystem.util.TestConstants;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
 import org.springframework.boot.test.autoconfigure.orm.jpa.TestEntityManager;
+import org.springframework.data.domain.Limit;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Sort;
 import org.springframework.data.jpa.domain.Specification;
 import org.springframework.dao.DataIntegrityViolationException;
 
 import java.math.BigDecimal;
+import java.util.EnumSet;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
 
 import static org.assertj.core.api.Assertions.assertThat;
@@ -442,4 +449,292 @@ public class ProductRepositoryTest {
         product.setQuantity(TestConstants.SMARTPHONE_QUANTITY);
         return product;
     }
-}
\ No newline at end of file
+
+    @Test
+    public void givenProducts_whenFindingAllProjected_thenShouldReturnOnlySelectedFields() {
+        // Arrange
+        Product smartphone = TestConstants.createDefaultProduct();
+        smartphone.setPublicId("550e8400-e29b-41d4-a716-446655440001");
+        smartphone.setId(null);
+
+        Product notebook = TestConstants.createNotebookProduct();
+        notebook.setPublicId("550e8400-e29b-41d4-a716-446655440002");
+        notebook.setId(null);
+
+        entityManager.persistAndFlush(smartphone);
+        entityManager.persistAndFlush(notebook);
+        entityManager.clear();
+
+        Pageable pageable = PageRequest.of(0, 10, Sort.by("price"));
+        ProductProjection projection = ProductProjection.of(EnumSet.of(ProductField.NAME, ProductField.PRICE));
+        Specification<Product> spec = (root, query, criteriaBuilder) -> null;
+
+        // Act
+        Page<Map<String, Object>> result = productRepository.findAllProjected(spec, projection, pageable);
+
+        // Assert
+        assertThat(result.getTotalElements()).isEqualTo(2);
+        assertThat(result.getContent()).hasSize(2);
+        assertThat(result.getContent().getFirst()).containsOnlyKeys("name", "price");
+        assertThat(result.getContent().getFirst().get("name")).isEqualTo(TestConstants.SMARTPHONE_NAME);
+        assertThat(result.getContent().get(1).get("name")).isEqualTo(TestConstants.NOTEBOOK_NAME);
+    }
+
+    @Test
+    public void givenProductWithPublicId_whenFindingProjectedByPublicId_thenShouldReturnOnlySelectedFields() {
+        // Arrange
+        Product product = TestConstants.createDefaultProduct();
+        product.setId(null);
+        entityManager.persistAndFlush(product);
+        entityManager.clear();
+
+        ProductProjection projection = ProductProjection.of(EnumSet.of(ProductField.PUBLIC_ID, ProductField.QUANTITY));
+
+        // Act
+        Optional<Map<String, Object>> result = productRepository.findProjectedByPublicId(TestConstants.DEFAULT_PUBLIC_ID, projection);
+
+        // Assert
+        assertThat(result).isPresent();
+        assertThat(result.get()).containsOnlyKeys("publicId", "quantity");
+        assertThat(result.get().get("publicId")).isEqualTo(TestConstants.DEFAULT_PUBLIC_ID);
+        assertThat(result.get().get("quantity")).isEqualTo(TestConstants.SMARTPHONE_QUANTITY);
+    }
+
+    @Test
+    public void givenProductsWithDifferentPricesAndQuantities_whenFindingFacets_thenShouldCountEveryFacetInOneQuery() {
+        // Arrange
+        Product smartphone = TestConstants.createDefaultProduct();
+        smartphone.setId(null);
+        Product notebook = TestConstants.createNotebookProduct();
+        notebook.setId(null);
+        notebook.setPublicId("550e8400-e29b-41d4-a716-446655440002");
+        Product mouse = TestConstants.createDefaultProduct();
+        mouse.setId(null);
+        mouse.setPublicId("550e8400-e29b-41d4-a716-446655440003");
+        mouse.setName(TestConstants.MOUSE_NAME);
+        mouse.setPrice(TestConstants.MOUSE_PRICE);
+        mouse.setQuantity(0);
+
+        entityManager.persistAndFlush(smartphone);
+        entityManager.persistAndFlush(notebook);
+        entityManager.persistAndFlush(mouse);
+        entityManager.clear();
+
+        // Act
+        ProductFacetsResponseDTO facets = productRepository.findFacets((root, query, criteriaBuilder) -> null);
+
+        // Assert
+        assertThat(facets.total()).isEqualTo(3);
+        assertThat(facets.stockStatus().inStock()).isEqualTo(2);
+        assertThat(facets.stockStatus().outOfStock()).isEqualTo(1);
+        assertThat(facets.priceBuckets()).extracting(ProductFacetsResponseDTO.PriceBucket::count)
+                .containsExactly(0L, 0L, 1L, 0L, 2L, 0L);
+        assertThat(facets.quantityBands()).extracting(ProductFacetsResponseDTO.QuantityBand::count)
+                .containsExactly(1L, 0L, 2L, 0L, 0L);
+        assertThat(facets.priceBuckets().getLast().to()).isNull();
+    }
+
+    @Test
+    public void givenNoMatchingProducts_whenFindingFacets_thenShouldReturnZeroCounts() {
+        // Act
+        ProductFacetsResponseDTO facets = productRepository.findFacets((root, query, criteriaBuilder) -> null);
+
+        // Assert
+        assertThat(facets.total()).isZero();
+        assertThat(facets.priceBuckets()).allMatch(bucket -> bucket.count() == 0);
+        assertThat(facets.quantityBands()).allMatch(band -> band.count() == 0);
+    }
+
+    @Test
+    public void givenDeltaWithinRange_whenAdjustingQuantity_thenShouldUpdateInPlace() {
+        // Arrange
+        Product smartphone = TestConstants.createDefaultProduct();
+        smartphone.setId(null);
+        entityManager.persistAndFlush(smartphone);
+        entityManager.clear();
+
+        // Act
+        int updated = productRepository.adjustQuantity(TestConstants.DEFAULT_PUBLIC_ID, -5);
+
+        // Assert
+        assertThat(updated).isEqualTo(1);
+        assertThat(productRepository.findByPublicId(TestConstants.DEFAULT_PUBLIC_ID))
+                .get().extracting(Product::getQuantity).isEqualTo(TestConstants.SMARTPHONE_QUANTITY - 5);
+    }
+
+    @Test
+    public void givenDeltaLeavingNegativeStock_whenAdjustingQuantity_thenShouldNotUpdate() {
+        // Arrange
+        Product smartphone = TestConstants.createDefaultProduct();
+        smartphone.setId(null);
+        entityManager.persistAndFlush(smartphone);
+        entityManager.clear();
+
+        // Act
+        int updated = productRepository.adjustQuantity(TestConstants.DEFAULT_PUBLIC_ID, -(TestConstants.SMARTPHONE_QUANTITY + 1));
+
+        // Assert
+        assertThat(updated).isZero();
+        assertThat(productRepository.findByPublicId(TestConstants.DEFAULT_PUBLIC_ID))
+                .get().extracting(Product::getQuantity).isEqualTo(TestConstants.SMARTPHONE_QUANTITY);
+    }
+
+    @Test
+    public void givenLowValueProduct_whenAdjustingQuantityAboveHundred_thenShouldNotUpdate() {
+        // Arrange
+        Product cable = new Product(null, TestConstants.DEFAULT_PUBLIC_ID, "USB Cable", new BigDecimal("5.00"), null, 90);
+        entityManager.persistAndFlush(cable);
+        entityManager.clear();
+
+        // Act
+        int rejected = productRepository.adjustQuantity(TestConstants.DEFAULT_PUBLIC_ID, 11);
+        int accepted = productRepository.adjustQuantity(TestConstants.DEFAULT_PUBLIC_ID, 10);
+
+        // Assert
+        assertThat(rejected).isZero();
+        assertThat(accepted).isEqualTo(1);
+        assertThat(productRepository.findByPublicId(TestConstants.DEFAULT_PUBLIC_ID))
+                .get().extracting(Product::getQuantity).isEqualTo(100);
+    }
+
+    @Test
+    public void givenHighValueProduct_whenAdjustingQuantityAboveTen_thenShouldNotUpdate() {
+        // Arrange
+        Product watch = new Product(null, TestConstants.DEFAULT_PUBLIC_ID, "Luxury Watch", new BigDecimal("25000.00"), null, 8);
+        entityManager.persistAndFlush(watch);
+        entityManager.clear();
+
+        // Act
+        int updated = productRepository.adjustQuantity(TestConstants.DEFAULT_PUBLIC_ID, 3);
+
+        // Assert
+        assertThat(updated).isZero();
+        assertThat(productRepository.findByPublicId(TestConstants.DEFAULT_PUBLIC_ID))
+                .get().extracting(Product::getQuantity).isEqualTo(8);
+    }
+
+    @Test
+    public void givenNonExistentProduct_whenAdjustingQuantity_thenShouldUpdateNothing() {
+        // Act
+        int updated = productRepository.adjustQuantity(TestConstants.NON_EXISTENT_PUBLIC_ID, 1);
+
+        // Assert
+        assertThat(updated).isZero();
+    }
+
+    @Test
+    public void givenReservedUnits_whenReservingMoreThanAvailable_thenShouldNotUpdate() {
+        // Arrange
+        Product smartphone = TestConstants.createDefaultProduct();
+        smartphone.setId(null);
+        Long id = entityManager.persistAndFlush(smartphone).getId();
+        entityManager.clear();
+
+        // Act
+        int accepted = productRepository.reserve(id, TestConstants.SMARTPHONE_QUANTITY - 2);
+        int rejected = productRepository.reserve(id, 3);
+
+        // Assert
+        assertThat(accepted).isEqualTo(1);
+        assertThat(rejected).isZero();
+        assertThat(productRepository.findById(id))
+                .get().extracting(Product::getReserved).isEqualTo(TestConstants.SMARTPHONE_QUANTITY - 2);
+    }
+
+    @Test
+    public void givenReservedUnits_whenAdjustingQuantityBelowThem_thenShouldNotUpdate() {
+        // Arrange
+        Product smartphone = TestConstants.createDefaultProduct();
+        smartphone.setId(null);
+        Long id = entityManager.persistAndFlush(smartphone).getId();
+        entityManager.clear();
+        productRepository.reserve(id, 10);
+
+        // Act
+        int updated = productRepository.adjustQuantity(TestConstants.DEFAULT_PUBLIC_ID, -(TestConstants.SMARTPHONE_QUANTITY - 9));
+
+        // Assert
+        assertThat(updated).isZero();
+    }
+
+    @Test
+    public void givenReservedUnits_whenConfirmingAndReleasing_thenShouldSettleQuantityAndReserved() {
+        // Arrange
+        Product smartphone = TestConstants.createDefaultProduct();
+        smartphone.setId(null);
+        Long id = entityManager.persistAndFlush(smartphone).getId();
+        entityManager.clear();
+        productRepository.reserve(id, 5);
+
+        // Act
+        productRepository.confirmReserved(id, 3);
+        productRepository.releaseReserved(id, 2);
+
+        // Assert
+        assertThat(productRepository.findById(id)).get().satisfies(product -> {
+            assertThat(product.getQuantity()).isEqualTo(TestConstants.SMARTPHONE_QUANTITY - 3);
+            assertThat(product.getReserved()).isZero();
+        });
+    }
+
+    @Test
+    public void givenStockAdjustment_whenAdjustingQuantity_thenShouldIncrementVersion() {
+        // Arrange
+        Product smartphone = TestConstants.createDefaultProduct();
+        smartphone.setId(null);
+        Long initialVersion = entityManager.persistAndFlush(smartphone).getVersion();
+        entityManager.clear();
+
+        // Act
+        productRepository.adjustQuantity(TestConstants.DEFAULT_PUBLIC_ID, -1);
+
+        // Assert
+        assertThat(productRepository.findByPublicId(TestConstants.DEFAULT_PUBLIC_ID))
+                .get().extracting(Product::getVersion).isEqualTo(initialVersion + 1);
+    }
+
+    @Test
+    public void givenNameDifferingOnlyInCaseAndSpacing_whenSaving_thenShouldThrowDataIntegrityViolationException() {
+        // Arrange
+        entityManager.persistAndFlush(createProductWithName("Smartphone Samsung Galaxy"));
+        entityManager.clear();
+
+        Product duplicate = createProductWithName("  SMARTPHONE samsung galaxy ");
+
+        // Act & Assert
+        assertThatThrownBy(() -> {
+            productRepository.save(duplicate);
+            entityManager.flush(); // Force database constraint check
+        }).isInstanceOf(DataIntegrityViolationException.class);
+    }
+
+    @Test
+    public void givenChangeSequences_whenFindingChangesInRange_thenShouldReturnThemInSequenceOrder() {
+        // Arrange
+        Product smartphone = TestConstants.createDefaultProduct();
+        smartphone.setId(null);
+        Product notebook = TestConstants.createNotebookProduct();
+        notebook.setId(null);
+        notebook.setPublicId(TestConstants.ALTERNATIVE_PUBLIC_ID);
+        Product mouse = createProductWithName(TestConstants.MOUSE_NAME);
+        Long smartphoneId = entityManager.persistAndFlush(smartphone).getId();
+        Long notebookId = entityManager.persistAndFlush(notebook).getId();
+        Long initialVersion = entityManager.persistAndFlush(mouse).getVersion();
+        entityManager.clear();
+
+        productRepository.updateChangeSeq(smartphoneId, 9L);
+        productRepository.updateChangeSeq(notebookId, 7L);
+        entityManager.clear();
+
+        // Act
+        List<Product> changes = productRepository.findByChangeSeqGreaterThanAndChangeSeqLessThanEqualOrderByChangeSeqAsc(
+                0L, 9L, Limit.of(10));
+
+        // Assert
+        assertThat(changes).extracting(Product::getName)
+                .containsExactly(TestConstants.NOTEBOOK_NAME, TestConstants.SMARTPHONE_NAME);
+        assertThat(changes).extracting(Product::getVersion).containsOnly(initialVersion);
+        assertThat(productRepository.findByChangeSeqGreaterThanAndChangeSeqLessThanEqualOrderByChangeSeqAsc(
+                7L, 8L, Limit.of(10))).isEmpty();
+    }
+}
@@ -0,0 +1,96 @@
+package br.com.productmanagementsystem.search;
+
+import br.com.productmanagementsystem.entity.Product;
+import br.com.productmanagementsystem.event.ProductChangedEvent;
+import br.com.productmanagementsystem.event.ProductSnapshot;
+import br.com.productmanagementsystem.repository.ProductRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.data.domain.Limit;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Sort;
+
+import java.math.BigDecimal;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+public class FullTextIndexTest {
+
+    private ProductRepository productRepository;
+    private FullTextIndex fullTextIndex;
+    private Product galaxy;
+    private Product iphone;
+    private Product cover;
+
+    @BeforeEach
+    void setUp() {
+        galaxy = new Product(1L, "550e8400-e29b-41d4-a716-446655440001", "Samsung Galaxy S24", new BigDecimal("899.99"), "Smartphone Android", 62);
+        iphone = new Product(2L, "550e8400-e29b-41d4-a716-446655440002", "iPhone 15 Pro", new BigDecimal("1299.99"), "Smartphone da Apple", 45);
+        cover = new Product(3L, "550e8400-e29b-41d4-a716-446655440003", "Capa Galaxy S24", new BigDecimal("49.99"), "Capa para smartphone Samsung", 10);
+
+        productRepository = mock(ProductRepository.class);
+        when(productRepository.findAll(any(Sort.class))).thenReturn(List.of(galaxy, iphone, cover));
+
+        fullTextIndex = new FullTextIndex(productRepository, 2, 1_000_000);
+        fullTextIndex.load();
+    }
+
+    @Test
+    public void givenQuery_whenSearching_thenShouldReturnPublicIdsByRelevance() {
+        // Act
+        Page<String> result = fullTextIndex.search("samsung galaxy", PageRequest.of(0, 10));
+
+        // Assert
+        assertThat(result.getContent()).containsExactly(galaxy.getPublicId(), cover.getPublicId());
+        assertThat(result.getTotalElements()).isEqualTo(2);
+    }
+
+    @Test
+    public void givenSecondPage_whenSearching_thenShouldSliceRankedResults() {
+        // Act
+        Page<String> result = fullTextIndex.search("smartphone", PageRequest.of(1, 2));
+
+        // Assert
+        assertThat(result.getContent()).hasSize(1);
+        assertThat(result.getTotalElements()).isEqualTo(3);
+    }
+
+    @Test
+    public void givenCommittedChanges_whenSearching_thenShouldReflectThemImmediately() {
+        // Arrange
+        ProductSnapshot before = ProductSnapshot.from(iphone);
+        iphone.setDescription("Smartphone com chip A17");
+
+        // Act
+        fullTextIndex.onProductChanged(ProductChangedEvent.updated(before, ProductSnapshot.from(iphone)));
+        fullTextIndex.onProductChanged(ProductChangedEvent.deleted(ProductSnapshot.from(cover)));
+
+        // Assert
+        assertThat(fullTextIndex.search("apple", PageRequest.of(0, 10))).isEmpty();
+        assertThat(fullTextIndex.search("a17", PageRequest.of(0, 10))).containsExactly(iphone.getPublicId());
+        assertThat(fullTextIndex.search("capa", PageRequest.of(0, 10))).isEmpty();
+    }
+
+    @Test
+    public void givenReindex_whenRunning_thenShouldReadTableInKeysetBatches() {
+        // Arrange
+        Product tablet = new Product(4L, "550e8400-e29b-41d4-a716-446655440004", "Galaxy Tab S9", new BigDecimal("699.99"), null, 5);
+        when(productRepository.findByIdGreaterThanOrderByIdAsc(Long.MIN_VALUE, Limit.of(2))).thenReturn(List.of(galaxy, iphone));
+        when(productRepository.findByIdGreaterThanOrderByIdAsc(2L, Limit.of(2))).thenReturn(List.of(cover, tablet));
+        when(productRepository.findByIdGreaterThanOrderByIdAsc(4L, Limit.of(2))).thenReturn(List.of());
+
+        // Act
+        fullTextIndex.reindex();
+
+        // Assert
+        verify(productRepository).findByIdGreaterThanOrderByIdAsc(4L, Limit.of(2));
+        assertThat(fullTextIndex.getDocuments()).isEqualTo(4);
+        assertThat(fullTextIndex.search("tab", PageRequest.of(0, 10))).containsExactly(tablet.getPublicId());
+    }
+}
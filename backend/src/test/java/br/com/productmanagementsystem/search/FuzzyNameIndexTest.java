@@ -0,0 +1,94 @@
+package br.com.productmanagementsystem.search;
+
+import br.com.productmanagementsystem.entity.Product;
+import br.com.productmanagementsystem.event.ProductChangedEvent;
+import br.com.productmanagementsystem.event.ProductSnapshot;
+import br.com.productmanagementsystem.repository.ProductRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.data.domain.Sort;
+
+import java.math.BigDecimal;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+public class FuzzyNameIndexTest {
+
+    private FuzzyNameIndex fuzzyNameIndex;
+    private Product galaxy;
+
+    @BeforeEach
+    void setUp() {
+        galaxy = new Product(1L, "550e8400-e29b-41d4-a716-446655440001", "Samsung Galaxy S24", new BigDecimal("899.99"), null, 62);
+        Product iphone = new Product(2L, "550e8400-e29b-41d4-a716-446655440002", "iPhone 15 Pro", new BigDecimal("1299.99"), null, 45);
+        Product tablet = new Product(3L, "550e8400-e29b-41d4-a716-446655440003", "Samsung Galaxy Tab", new BigDecimal("499.99"), null, 0);
+
+        ProductRepository productRepository = mock(ProductRepository.class);
+        when(productRepository.findAll(any(Sort.class))).thenReturn(List.of(galaxy, iphone, tablet));
+
+        fuzzyNameIndex = new FuzzyNameIndex(productRepository);
+        fuzzyNameIndex.load();
+    }
+
+    @Test
+    public void givenMisspelledWords_whenMatching_thenShouldFindProducts() {
+        // Act & Assert
+        assertThat(fuzzyNameIndex.match("Samsnug")).containsExactlyInAnyOrder(1L, 3L);
+        assertThat(fuzzyNameIndex.match("iphnoe")).containsExactly(2L);
+        assertThat(fuzzyNameIndex.match("samsung galxy tav")).containsExactly(3L);
+    }
+
+    @Test
+    public void givenWordMatchingNoProduct_whenMatching_thenShouldReturnEmpty() {
+        // Act & Assert
+        assertThat(fuzzyNameIndex.match("samsung pixel")).isEmpty();
+        assertThat(fuzzyNameIndex.match("!!!")).isEmpty();
+    }
+
+    @Test
+    public void givenShortWord_whenMatching_thenShouldRequireExactWord() {
+        // Act & Assert
+        assertThat(fuzzyNameIndex.match("15")).containsExactly(2L);
+        assertThat(fuzzyNameIndex.match("16")).isEmpty();
+    }
+
+    @Test
+    public void givenRenamedProduct_whenMatching_thenShouldOnlyMatchNewName() {
+        // Arrange
+        ProductSnapshot before = ProductSnapshot.from(galaxy);
+        galaxy.setName("Samsung Note");
+
+        // Act
+        fuzzyNameIndex.onProductChanged(ProductChangedEvent.updated(before, ProductSnapshot.from(galaxy)));
+
+        // Assert
+        assertThat(fuzzyNameIndex.match("galaxy")).containsExactly(3L);
+        assertThat(fuzzyNameIndex.match("nite")).containsExactly(1L);
+        assertThat(fuzzyNameIndex.getTerms()).isEqualTo(7);
+    }
+
+    @Test
+    public void givenDeletedProduct_whenMatching_thenShouldDropItsTerms() {
+        // Arrange
+        Product iphone = new Product(2L, "550e8400-e29b-41d4-a716-446655440002", "iPhone 15 Pro", new BigDecimal("1299.99"), null, 45);
+
+        // Act
+        fuzzyNameIndex.onProductChanged(ProductChangedEvent.deleted(ProductSnapshot.from(iphone)));
+
+        // Assert
+        assertThat(fuzzyNameIndex.match("iphone")).isEmpty();
+        assertThat(fuzzyNameIndex.getTerms()).isEqualTo(4);
+    }
+
+    @Test
+    public void givenWordLengths_whenComputingMaxEdits_thenShouldGrowWithLength() {
+        // Act & Assert
+        assertThat(FuzzyNameIndex.maxEdits("tv")).isZero();
+        assertThat(FuzzyNameIndex.maxEdits("galxy")).isEqualTo(1);
+        assertThat(FuzzyNameIndex.maxEdits("samsnug")).isEqualTo(2);
+    }
+}
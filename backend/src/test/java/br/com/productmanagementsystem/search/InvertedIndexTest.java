@@ -0,0 +1,65 @@
+package br.com.productmanagementsystem.search;
+
+import br.com.productmanagementsystem.event.ProductSnapshot;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.math.BigDecimal;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+public class InvertedIndexTest {
+
+    private InvertedIndex invertedIndex;
+
+    @BeforeEach
+    void setUp() {
+        invertedIndex = new InvertedIndex();
+        invertedIndex.add(snapshot(1L, "Samsung Galaxy S24", "Smartphone Android com câmera tripla"));
+        invertedIndex.add(snapshot(2L, "Capa para Galaxy", "Capa de silicone compatível com Samsung Galaxy S24"));
+        invertedIndex.add(snapshot(3L, "Café Especial", "Café torrado em grãos"));
+        invertedIndex.add(snapshot(4L, "Cabo USB-C", null));
+    }
+
+    @Test
+    public void givenTermInNameAndDescription_whenSearching_thenShouldRankNameMatchFirst() {
+        // Act & Assert
+        assertThat(invertedIndex.search("samsung")).extracting(InvertedIndex.Hit::id).containsExactly(1L, 2L);
+    }
+
+    @Test
+    public void givenSeveralTerms_whenSearching_thenShouldRankProductsMatchingMoreTermsFirst() {
+        // Act & Assert
+        assertThat(invertedIndex.search("galaxy android")).extracting(InvertedIndex.Hit::id).containsExactly(1L, 2L);
+        assertThat(invertedIndex.search("capa usb")).extracting(InvertedIndex.Hit::id).containsExactlyInAnyOrder(2L, 4L);
+    }
+
+    @Test
+    public void givenUnaccentedQuery_whenSearching_thenShouldMatchAccentedText() {
+        // Act & Assert
+        assertThat(invertedIndex.search("CAFE")).extracting(InvertedIndex.Hit::publicId).containsExactly("public-3");
+        assertThat(invertedIndex.search("camera")).extracting(InvertedIndex.Hit::id).containsExactly(1L);
+    }
+
+    @Test
+    public void givenRemovedProduct_whenSearching_thenShouldNotReturnIt() {
+        // Act
+        invertedIndex.remove(1L);
+
+        // Assert
+        assertThat(invertedIndex.search("samsung")).extracting(InvertedIndex.Hit::id).containsExactly(2L);
+        assertThat(invertedIndex.search("android")).isEmpty();
+        assertThat(invertedIndex.documents()).isEqualTo(3);
+    }
+
+    @Test
+    public void givenTermMatchingNothing_whenSearching_thenShouldReturnEmpty() {
+        // Act & Assert
+        assertThat(invertedIndex.search("notebook")).isEmpty();
+        assertThat(invertedIndex.search("---")).isEmpty();
+    }
+
+    private static ProductSnapshot snapshot(long id, String name, String description) {
+        return new ProductSnapshot(id, "public-" + id, name, new BigDecimal("10.00"), description, 1, null);
+    }
+}
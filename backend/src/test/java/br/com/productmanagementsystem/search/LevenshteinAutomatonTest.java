@@ -0,0 +1,93 @@
+package br.com.productmanagementsystem.search;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.Random;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+public class LevenshteinAutomatonTest {
+
+    @Test
+    public void givenWordsWithinDistance_whenMatching_thenShouldAccept() {
+        // Arrange
+        LevenshteinAutomaton automaton = new LevenshteinAutomaton("samsung", 2);
+
+        // Act & Assert
+        assertThat(automaton.accepts("samsung")).isTrue();
+        assertThat(automaton.accepts("samsnug")).isTrue();
+        assertThat(automaton.accepts("samsun")).isTrue();
+        assertThat(automaton.accepts("sammsung")).isTrue();
+        assertThat(automaton.accepts("smsng")).isTrue();
+    }
+
+    @Test
+    public void givenWordsBeyondDistance_whenMatching_thenShouldReject() {
+        // Arrange
+        LevenshteinAutomaton automaton = new LevenshteinAutomaton("galaxy", 1);
+
+        // Act & Assert
+        assertThat(automaton.accepts("galxy")).isTrue();
+        assertThat(automaton.accepts("glxy")).isFalse();
+        assertThat(automaton.accepts("galaxy s24")).isFalse();
+    }
+
+    @Test
+    public void givenRandomWords_whenMatching_thenShouldAgreeWithEditDistance() {
+        // Arrange
+        Random random = new Random(42);
+
+        for (int i = 0; i < 2_000; i++) {
+            String term = randomWord(random);
+            String input = randomWord(random);
+            int maxDistance = random.nextInt(3);
+            LevenshteinAutomaton automaton = new LevenshteinAutomaton(term, maxDistance);
+
+            // Act
+            boolean accepted = automaton.accepts(input);
+
+            // Assert
+            assertThat(accepted)
+                    .as("%s vs %s within %d", term, input, maxDistance)
+                    .isEqualTo(editDistance(term, input) <= maxDistance);
+        }
+    }
+
+    @Test
+    public void givenRepeatedInputs_whenMatching_thenShouldReuseStates() {
+        // Arrange
+        LevenshteinAutomaton automaton = new LevenshteinAutomaton("iphone", 2);
+        automaton.accepts("iphnoe");
+        int states = automaton.stateCount();
+
+        // Act
+        automaton.accepts("iphnoe");
+
+        // Assert
+        assertThat(automaton.stateCount()).isEqualTo(states);
+    }
+
+    private static String randomWord(Random random) {
+        StringBuilder word = new StringBuilder();
+        int length = random.nextInt(8);
+        for (int i = 0; i < length; i++) {
+            word.append((char) ('a' + random.nextInt(4)));
+        }
+        return word.toString();
+    }
+
+    private static int editDistance(String left, String right) {
+        int[][] distances = new int[left.length() + 1][right.length() + 1];
+        for (int i = 0; i <= left.length(); i++) {
+            for (int j = 0; j <= right.length(); j++) {
+                if (i == 0 || j == 0) {
+                    distances[i][j] = i + j;
+                } else {
+                    int substitution = distances[i - 1][j - 1] + (left.charAt(i - 1) == right.charAt(j - 1) ? 0 : 1);
+                    distances[i][j] = Math.min(substitution, Math.min(distances[i - 1][j], distances[i][j - 1]) + 1);
+                }
+            }
+        }
+        return distances[left.length()][right.length()];
+    }
+}
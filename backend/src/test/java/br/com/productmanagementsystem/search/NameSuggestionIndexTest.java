@@ -0,0 +1,97 @@
+package br.com.productmanagementsystem.search;
+
+import br.com.productmanagementsystem.dto.ProductSuggestionDTO;
+import br.com.productmanagementsystem.entity.Product;
+import br.com.productmanagementsystem.event.ProductChangedEvent;
+import br.com.productmanagementsystem.event.ProductSnapshot;
+import br.com.productmanagementsystem.repository.ProductRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.data.domain.Sort;
+
+import java.math.BigDecimal;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+public class NameSuggestionIndexTest {
+
+    private static final String GALAXY_ID = "550e8400-e29b-41d4-a716-446655440001";
+    private static final String IPHONE_ID = "550e8400-e29b-41d4-a716-446655440002";
+
+    private NameSuggestionIndex nameSuggestionIndex;
+    private Product galaxy;
+
+    @BeforeEach
+    void setUp() {
+        galaxy = new Product(1L, GALAXY_ID, "Samsung Galaxy S24", new BigDecimal("899.99"), null, 62);
+        Product iphone = new Product(2L, IPHONE_ID, "iPhone 15 Pro", new BigDecimal("1299.99"), null, 45);
+
+        ProductRepository productRepository = mock(ProductRepository.class);
+        when(productRepository.findAll(any(Sort.class))).thenReturn(List.of(galaxy, iphone));
+
+        nameSuggestionIndex = new NameSuggestionIndex(productRepository, 10);
+        nameSuggestionIndex.load();
+    }
+
+    @Test
+    public void givenPrefixOfAnyWord_whenSuggesting_thenShouldMatchCaseInsensitively() {
+        // Act
+        List<ProductSuggestionDTO> byFirstWord = nameSuggestionIndex.suggest("SAM", 10);
+        List<ProductSuggestionDTO> byMiddleWord = nameSuggestionIndex.suggest("gal", 10);
+
+        // Assert
+        assertThat(byFirstWord).containsExactly(new ProductSuggestionDTO(GALAXY_ID, "Samsung Galaxy S24", 62));
+        assertThat(byMiddleWord).containsExactlyElementsOf(byFirstWord);
+    }
+
+    @Test
+    public void givenRenamedProduct_whenSuggesting_thenShouldOnlyMatchNewName() {
+        // Arrange
+        ProductSnapshot before = ProductSnapshot.from(galaxy);
+        galaxy.setName("Samsung Note");
+
+        // Act
+        nameSuggestionIndex.onProductChanged(ProductChangedEvent.updated(before, ProductSnapshot.from(galaxy)));
+
+        // Assert
+        assertThat(nameSuggestionIndex.suggest("gal", 10)).isEmpty();
+        assertThat(nameSuggestionIndex.suggest("note", 10)).extracting(ProductSuggestionDTO::publicId).containsExactly(GALAXY_ID);
+    }
+
+    @Test
+    public void givenRestockedProduct_whenSuggesting_thenShouldRankByNewQuantity() {
+        // Arrange
+        Product iphoneMini = new Product(3L, "550e8400-e29b-41d4-a716-446655440003", "iPhone 13 mini", new BigDecimal("599.99"), null, 10);
+        nameSuggestionIndex.onProductChanged(ProductChangedEvent.created(ProductSnapshot.from(iphoneMini)));
+        ProductSnapshot before = ProductSnapshot.from(iphoneMini);
+        iphoneMini.setQuantity(500);
+
+        // Act
+        nameSuggestionIndex.onProductChanged(ProductChangedEvent.updated(before, ProductSnapshot.from(iphoneMini)));
+
+        // Assert
+        assertThat(nameSuggestionIndex.suggest("iph", 10)).extracting(ProductSuggestionDTO::name)
+                .containsExactly("iPhone 13 mini", "iPhone 15 Pro");
+    }
+
+    @Test
+    public void givenDeletedProduct_whenSuggesting_thenShouldNotReturnIt() {
+        // Act
+        nameSuggestionIndex.onProductChanged(ProductChangedEvent.deleted(ProductSnapshot.from(galaxy)));
+
+        // Assert
+        assertThat(nameSuggestionIndex.suggest("sam", 10)).isEmpty();
+        assertThat(nameSuggestionIndex.getIndexedProducts()).isEqualTo(1);
+    }
+
+    @Test
+    public void givenName_whenBuildingKeys_thenShouldCreateOneKeyPerWord() {
+        // Act & Assert
+        assertThat(NameSuggestionIndex.keysOf("Samsung  Galaxy S24"))
+                .containsExactly("samsung  galaxy s24", "galaxy s24", "s24");
+    }
+}
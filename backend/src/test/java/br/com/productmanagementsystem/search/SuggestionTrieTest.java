@@ -0,0 +1,77 @@
+package br.com.productmanagementsystem.search;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+public class SuggestionTrieTest {
+
+    private static final SuggestionTrie.Suggestion GALAXY =
+            new SuggestionTrie.Suggestion(1L, "p-1", "Samsung Galaxy", 50);
+    private static final SuggestionTrie.Suggestion GALAXY_TAB =
+            new SuggestionTrie.Suggestion(2L, "p-2", "Samsung Galaxy Tab", 80);
+    private static final SuggestionTrie.Suggestion SAMSONITE =
+            new SuggestionTrie.Suggestion(3L, "p-3", "Samsonite", 10);
+
+    private SuggestionTrie trie;
+
+    @BeforeEach
+    void setUp() {
+        trie = new SuggestionTrie(2);
+        trie.insert("samsung galaxy", GALAXY);
+        trie.insert("samsung galaxy tab", GALAXY_TAB);
+        trie.insert("samsonite", SAMSONITE);
+    }
+
+    @Test
+    public void givenPrefixEndingInsideCompressedEdge_whenSearching_thenShouldReturnSubtreeRankedByQuantity() {
+        // Act
+        List<SuggestionTrie.Suggestion> result = trie.search("sams", 10);
+
+        // Assert
+        assertThat(result).containsExactly(GALAXY_TAB, GALAXY);
+    }
+
+    @Test
+    public void givenLimitBelowTopK_whenSearching_thenShouldTruncate() {
+        // Act
+        List<SuggestionTrie.Suggestion> result = trie.search("samsung", 1);
+
+        // Assert
+        assertThat(result).containsExactly(GALAXY_TAB);
+    }
+
+    @Test
+    public void givenUnknownPrefix_whenSearching_thenShouldReturnEmptyList() {
+        // Act & Assert
+        assertThat(trie.search("samx", 10)).isEmpty();
+        assertThat(trie.search("samsung galaxy tablet", 10)).isEmpty();
+    }
+
+    @Test
+    public void givenRemovedKey_whenSearching_thenShouldPromoteNextBestSuggestion() {
+        // Act
+        trie.remove("samsung galaxy tab", GALAXY_TAB.id());
+
+        // Assert
+        assertThat(trie.search("sams", 10)).containsExactly(GALAXY, SAMSONITE);
+        assertThat(trie.search("samsung galaxy t", 10)).isEmpty();
+    }
+
+    @Test
+    public void givenProductReachableThroughSeveralKeys_whenSearching_thenShouldReturnItOnce() {
+        // Arrange
+        SuggestionTrie.Suggestion galGal = new SuggestionTrie.Suggestion(4L, "p-4", "Gal Galaxy", 99);
+        trie.insert("gal galaxy", galGal);
+        trie.insert("galaxy", galGal);
+
+        // Act
+        List<SuggestionTrie.Suggestion> result = trie.search("gal", 10);
+
+        // Assert
+        assertThat(result).containsExactly(galGal);
+    }
+}
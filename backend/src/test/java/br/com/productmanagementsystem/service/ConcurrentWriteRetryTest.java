@@ -0,0 +1,111 @@
+package br.com.productmanagementsystem.service;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.orm.ObjectOptimisticLockingFailureException;
+
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReference;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+public class ConcurrentWriteRetryTest {
+
+    @Test
+    public void givenWriteLosingOneRace_whenRetryEnabled_thenShouldReturnResultOfSecondAttempt() {
+        // Arrange
+        ConcurrentWriteRetry retry = new ConcurrentWriteRetry(3);
+        AtomicInteger attempts = new AtomicInteger();
+
+        // Act
+        String result = retry.execute(() -> {
+            if (attempts.incrementAndGet() == 1) {
+                throw new ObjectOptimisticLockingFailureException("Product", 1L);
+            }
+            return "written";
+        });
+
+        // Assert
+        assertThat(result).isEqualTo("written");
+        assertThat(attempts).hasValue(2);
+        assertThat(retry.getRetries()).isEqualTo(1);
+    }
+
+    @Test
+    public void givenWriteAlwaysLosingRace_whenAttemptsRunOut_thenShouldRethrowConflict() {
+        // Arrange
+        ConcurrentWriteRetry retry = new ConcurrentWriteRetry(3);
+        AtomicInteger attempts = new AtomicInteger();
+
+        // Act & Assert
+        assertThatThrownBy(() -> retry.execute(() -> {
+            attempts.incrementAndGet();
+            throw new ObjectOptimisticLockingFailureException("Product", 1L);
+        })).isInstanceOf(ObjectOptimisticLockingFailureException.class);
+        assertThat(attempts).hasValue(3);
+    }
+
+    @Test
+    public void givenSingleAttempt_whenWriteLosesRace_thenShouldNotRetry() {
+        // Arrange
+        ConcurrentWriteRetry retry = new ConcurrentWriteRetry(1);
+        AtomicInteger attempts = new AtomicInteger();
+
+        // Act & Assert
+        assertThatThrownBy(() -> retry.execute(() -> {
+            attempts.incrementAndGet();
+            throw new ObjectOptimisticLockingFailureException("Product", 1L);
+        })).isInstanceOf(ObjectOptimisticLockingFailureException.class);
+        assertThat(attempts).hasValue(1);
+    }
+
+    @Test
+    public void givenOtherFailure_whenExecuting_thenShouldNotRetry() {
+        // Arrange
+        ConcurrentWriteRetry retry = new ConcurrentWriteRetry(3);
+        AtomicInteger attempts = new AtomicInteger();
+
+        // Act & Assert
+        assertThatThrownBy(() -> retry.execute(() -> {
+            attempts.incrementAndGet();
+            throw new IllegalStateException("boom");
+        })).isInstanceOf(IllegalStateException.class);
+        assertThat(attempts).hasValue(1);
+    }
+
+    @Test
+    public void givenRetryCallback_whenWriteLosesRace_thenShouldRetryWithTheConflict() {
+        // Arrange
+        ConcurrentWriteRetry retry = new ConcurrentWriteRetry(3);
+        ObjectOptimisticLockingFailureException conflict = new ObjectOptimisticLockingFailureException("Product", 1L);
+        AtomicReference<Object> retriedWith = new AtomicReference<>();
+
+        // Act
+        String result = retry.execute(() -> {
+            throw conflict;
+        }, lost -> {
+            retriedWith.set(lost);
+            return "written";
+        });
+
+        // Assert
+        assertThat(result).isEqualTo("written");
+        assertThat(retriedWith).hasValue(conflict);
+    }
+
+    @Test
+    public void givenRetryRethrowingTheConflict_whenExecuting_thenShouldNotRetryAgain() {
+        // Arrange
+        ConcurrentWriteRetry retry = new ConcurrentWriteRetry(5);
+        AtomicInteger retries = new AtomicInteger();
+
+        // Act & Assert
+        assertThatThrownBy(() -> retry.execute(() -> {
+            throw new ObjectOptimisticLockingFailureException("Product", 1L);
+        }, lost -> {
+            retries.incrementAndGet();
+            throw lost;
+        })).isInstanceOf(ObjectOptimisticLockingFailureException.class);
+        assertThat(retries).hasValue(1);
+    }
+}
@@ -0,0 +1,75 @@
+package br.com.productmanagementsystem.service;
+
+import br.com.productmanagementsystem.config.CacheConfig;
+import br.com.productmanagementsystem.dto.ProductRequestDTO;
+import br.com.productmanagementsystem.dto.ProductResponseDTO;
+import br.com.productmanagementsystem.entity.Product;
+import br.com.productmanagementsystem.mapper.ProductMapper;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
+import org.springframework.test.context.bean.override.mockito.MockitoSpyBean;
+
+import java.math.BigDecimal;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.doAnswer;
+
+/**
+ * Goes through the real service proxies, where the cache and transaction interceptors are stacked
+ */
+@SpringBootTest
+public class ProductCacheIntegrationTest {
+
+    private static final String STALE_READER = "stale-reader";
+
+    @Autowired
+    private ProductService productService;
+
+    @Autowired
+    private CacheManager cacheManager;
+
+    @MockitoSpyBean
+    private ProductMapper productMapper;
+
+    @Test
+    public void givenReadOfARowDeletedBeforeItCompletes_whenCachingTheLookup_thenShouldNotBringTheProductBack() throws Exception {
+        // Arrange
+        String publicId = productService.save(
+                new ProductRequestDTO("Stale Cache Read Product", new BigDecimal("19.90"), null, 3)).publicId();
+        Cache cache = cacheManager.getCache(CacheConfig.PRODUCTS_CACHE);
+        cache.evict(publicId);
+        CountDownLatch loaded = new CountDownLatch(1);
+        CountDownLatch deleted = new CountDownLatch(1);
+        doAnswer(invocation -> {
+            Object response = invocation.callRealMethod();
+            if (Thread.currentThread().getName().equals(STALE_READER)) {
+                // The row was read, the response is built from it; the delete commits in between
+                loaded.countDown();
+                assertThat(deleted.await(30, TimeUnit.SECONDS)).isTrue();
+            }
+            return response;
+        }).when(productMapper).toResponseDTO(any(Product.class));
+        ExecutorService executor = Executors.newSingleThreadExecutor(runnable -> new Thread(runnable, STALE_READER));
+
+        // Act
+        Future<ProductResponseDTO> read = executor.submit(() -> productService.findByPublicId(publicId));
+        assertThat(loaded.await(30, TimeUnit.SECONDS)).isTrue();
+        productService.delete(publicId, null);
+        deleted.countDown();
+        ProductResponseDTO staleProduct = read.get(30, TimeUnit.SECONDS);
+        executor.shutdown();
+
+        // Assert
+        assertThat(staleProduct.publicId()).isEqualTo(publicId);
+        assertThat(cache.get(publicId)).isNull();
+    }
+}
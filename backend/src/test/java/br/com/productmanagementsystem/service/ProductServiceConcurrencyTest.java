@@ -0,0 +1,87 @@
+package br.com.productmanagementsystem.service;
+
+import br.com.productmanagementsystem.dto.ProductRequestDTO;
+import br.com.productmanagementsystem.dto.ProductResponseDTO;
+import br.com.productmanagementsystem.entity.Product;
+import br.com.productmanagementsystem.exception.ProductAlreadyExistsException;
+import br.com.productmanagementsystem.repository.ProductRepository;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Races real transactions against the unique constraint on the normalized product name
+ */
+@SpringBootTest
+public class ProductServiceConcurrencyTest {
+
+    private static final int THREADS = 16;
+    private static final String NAME = "Concurrent Create Product";
+
+    @Autowired
+    private ProductService productService;
+
+    @Autowired
+    private ProductRepository productRepository;
+
+    @AfterEach
+    public void tearDown() {
+        productRepository.findAll().stream()
+                .filter(product -> product.getName().trim().equalsIgnoreCase(NAME))
+                .forEach(product -> productService.delete(product.getPublicId(), null));
+    }
+
+    @Test
+    public void givenConcurrentCreatesOfTheSameName_whenSaving_thenShouldHaveExactlyOneWinner() throws Exception {
+        // Arrange
+        ExecutorService executor = Executors.newFixedThreadPool(THREADS);
+        CountDownLatch start = new CountDownLatch(1);
+        List<Future<ProductResponseDTO>> attempts = new ArrayList<>();
+        for (int i = 0; i < THREADS; i++) {
+            // Same name in different cases, all normalized to the same value
+            String name = i % 2 == 0 ? NAME : NAME.toUpperCase(Locale.ROOT);
+            ProductRequestDTO requestDTO = new ProductRequestDTO(name, new BigDecimal("99.90"), null, 5);
+            attempts.add(executor.submit(() -> {
+                start.await();
+                return productService.save(requestDTO);
+            }));
+        }
+
+        // Act
+        start.countDown();
+        int created = 0;
+        int rejected = 0;
+        for (Future<ProductResponseDTO> attempt : attempts) {
+            try {
+                attempt.get(30, TimeUnit.SECONDS);
+                created++;
+            } catch (ExecutionException ex) {
+                assertThat(ex.getCause()).isInstanceOf(ProductAlreadyExistsException.class);
+                rejected++;
+            }
+        }
+        executor.shutdown();
+
+        // Assert
+        assertThat(created).isEqualTo(1);
+        assertThat(rejected).isEqualTo(THREADS - 1);
+        assertThat(productRepository.findAll())
+                .map(Product::getName)
+                .filteredOn(name -> name.equalsIgnoreCase(NAME))
+                .hasSize(1);
+    }
+}
@@ -1,31 +1,84 @@
 package br.com.productmanagementsystem.service;
 
+import br.com.productmanagementsystem.changes.ProductChangeFeed;
+import br.com.productmanagementsystem.config.CacheConfig;
+import br.com.productmanagementsystem.dto.ProductChangesResponseDTO;
+import br.com.productmanagementsystem.dto.ProductFacetsResponseDTO;
+import br.com.productmanagementsystem.dto.ProductLookupResponseDTO;
 import br.com.productmanagementsystem.dto.ProductQueryDTO;
 import br.com.productmanagementsystem.dto.ProductRequestDTO;
 import br.com.productmanagementsystem.dto.ProductResponseDTO;
+import br.com.productmanagementsystem.dto.StockReservationRequestDTO;
 import br.com.productmanagementsystem.entity.Product;
+import br.com.productmanagementsystem.entity.ProductTombstone;
+import br.com.productmanagementsystem.event.ProductChangedEvent;
+import br.com.productmanagementsystem.exception.ChangesUnavailableException;
+import br.com.productmanagementsystem.exception.InvalidSyncTokenException;
+import br.com.productmanagementsystem.exception.MergePatchConflictException;
+import br.com.productmanagementsystem.exception.PreconditionFailedException;
+import br.com.productmanagementsystem.exception.ProductAlreadyExistsException;
+import br.com.productmanagementsystem.exception.QuantityBelowReservedException;
 import br.com.productmanagementsystem.exception.ResourceNotFoundException;
+import br.com.productmanagementsystem.exception.StockAdjustmentRejectedException;
+import br.com.productmanagementsystem.history.ProductHistory;
+import br.com.productmanagementsystem.mapper.JsonMergePatcher;
 import br.com.productmanagementsystem.mapper.ProductMapper;
+import br.com.productmanagementsystem.readmodel.InventoryStatistics;
+import br.com.productmanagementsystem.readmodel.ProductReadModel;
 import br.com.productmanagementsystem.repository.ProductRepository;
+import br.com.productmanagementsystem.repository.ProductTombstoneRepository;
+import br.com.productmanagementsystem.search.FullTextIndex;
+import br.com.productmanagementsystem.search.FuzzyNameIndex;
+import br.com.productmanagementsystem.search.NameSuggestionIndex;
+import br.com.productmanagementsystem.shard.ProductShards;
+import br.com.productmanagementsystem.specification.ProductSpecification;
+import br.com.productmanagementsystem.stock.HotStockCounters;
+import br.com.productmanagementsystem.stock.StockReservations;
 import br.com.productmanagementsystem.util.TestConstants;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import jakarta.validation.ConstraintViolation;
+import jakarta.validation.ConstraintViolationException;
+import jakarta.validation.Validator;
 import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.InjectMocks;
+import org.mockito.ArgumentCaptor;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.data.domain.Limit;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.PageImpl;
 import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Sort;
 import org.springframework.data.jpa.domain.Specification;
+import org.springframework.orm.ObjectOptimisticLockingFailureException;
 
+import java.math.BigDecimal;
+import java.time.Duration;
+import java.time.Instant;
 import java.util.List;
 import java.util.Optional;
+import java.util.Set;
 
 import static org.assertj.core.api.Assertions.assertThat;
 import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.AdditionalAnswers.returnsFirstArg;
 import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.anyMap;
+import static org.mockito.ArgumentMatchers.anyString;
 import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.lenient;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
 import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 
@@ -41,9 +94,64 @@ public class ProductServiceTest {
     @Mock
     private MessageService messageService;
 
+    @Mock
+    private CacheManager cacheManager;
+
+    @Mock
+    private Cache cache;
+
+    @Mock
+    private JsonMergePatcher jsonMergePatcher;
+
+    @Mock
+    private Validator validator;
+
+    @Mock
+    private ProductReadModel productReadModel;
+
+    @Mock
+    private ApplicationEventPublisher eventPublisher;
+
+    @Mock
+    private NameSuggestionIndex nameSuggestionIndex;
+
+    @Mock
+    private FuzzyNameIndex fuzzyNameIndex;
+
+    @Mock
+    private FullTextIndex fullTextIndex;
+
+    @Mock
+    private InventoryStatistics inventoryStatistics;
+
+    @Mock
+    private HotStockCounters hotStockCounters;
+
+    @Mock
+    private StockReservations stockReservations;
+
+    @Mock
+    private ProductTombstoneRepository tombstoneRepository;
+
+    @Mock
+    private ProductChangeFeed productChangeFeed;
+
+    @Mock
+    private ProductHistory productHistory;
+
+    @Mock
+    private ProductShards productShards;
+
     @InjectMocks
     private ProductService productService;
 
+    @BeforeEach
+    public void setUp() {
+        // No product is hot unless a test says otherwise
+        lenient().when(hotStockCounters.overlay(any(ProductResponseDTO.class))).thenAnswer(returnsFirstArg());
+        lenient().when(hotStockCounters.overlay(anyMap())).thenAnswer(returnsFirstArg());
+    }
+
     @Test
     public void givenPageable_whenFindingAll_thenShouldReturnPageOfProductResponseDTO() {
         // Arrange
@@ -59,11 +167,11 @@ public class ProductServiceTest {
         Pageable pageable = PageRequest.of(0, 10);
         Page<Product> productPage = new PageImpl<>(List.of(product), pageable, 1);
         
-        when(productRepository.findAll(any(Specification.class), eq(pageable))).thenReturn(productPage);
+        when(productRepository.findAll(any(Specification.class), eq(ProductSpecification.withIdTiebreak(pageable)))).thenReturn(productPage);
         when(productMapper.toResponseDTO(product)).thenReturn(responseDTO);
 
         // Act
-        Page<ProductResponseDTO> result = productService.findAll(new ProductQueryDTO(null, null, null, null, null, null), pageable);
+        Page<ProductResponseDTO> result = productService.findAll(new ProductQueryDTO(null, null, null, null, null, null, null), pageable);
 
         // Assert
         assertThat(result).isNotNull();
@@ -111,10 +219,51 @@ public class ProductServiceTest {
                 .hasMessage(errorMessage);
     }
 
+    @Test
+    public void givenRecordedHistory_whenFindingByPublicIdAsOf_thenShouldReturnHistoricalState() {
+        // Arrange
+        Instant asOf = Instant.parse("2025-01-01T12:00:00Z");
+        ProductResponseDTO historical = TestConstants.createDefaultProductResponseDTO();
+        when(productHistory.findStateAt(TestConstants.DEFAULT_PUBLIC_ID, asOf)).thenReturn(Optional.of(historical));
+
+        // Act
+        ProductResponseDTO result = productService.findByPublicIdAsOf(TestConstants.DEFAULT_PUBLIC_ID, asOf);
+
+        // Assert
+        assertThat(result).isEqualTo(historical);
+        verify(productRepository, never()).findByPublicId(any());
+    }
+
+    @Test
+    public void givenProductNotExistingAtTime_whenFindingByPublicIdAsOf_thenShouldThrowResourceNotFoundException() {
+        // Arrange
+        Instant asOf = Instant.parse("2025-01-01T12:00:00Z");
+        String errorMessage = "Product not found with publicId: " + TestConstants.DEFAULT_PUBLIC_ID + " at " + asOf;
+        when(productHistory.findStateAt(TestConstants.DEFAULT_PUBLIC_ID, asOf)).thenReturn(Optional.empty());
+        when(messageService.getMessage("resource.not.found.by.public.id.as.of", TestConstants.DEFAULT_PUBLIC_ID, asOf))
+                .thenReturn(errorMessage);
+
+        // Act & Assert
+        assertThatThrownBy(() -> productService.findByPublicIdAsOf(TestConstants.DEFAULT_PUBLIC_ID, asOf))
+                .isInstanceOf(ResourceNotFoundException.class)
+                .hasMessage(errorMessage);
+    }
+
+    @Test
+    public void givenProductWithoutHistory_whenFindingHistory_thenShouldThrowResourceNotFoundException() {
+        // Arrange
+        Pageable pageable = PageRequest.of(0, 20);
+        when(productHistory.findEvents(TestConstants.NON_EXISTENT_PUBLIC_ID, pageable)).thenReturn(Page.empty(pageable));
+
+        // Act & Assert
+        assertThatThrownBy(() -> productService.findHistory(TestConstants.NON_EXISTENT_PUBLIC_ID, pageable))
+                .isInstanceOf(ResourceNotFoundException.class);
+    }
+
     @Test
     public void givenProductQueryDTOAndPageable_whenFindingAll_thenShouldReturnFilteredPageOfProductResponseDTO() {
         // Arrange
-        ProductQueryDTO queryParams = new ProductQueryDTO("Samsung", null, null, null, null, true);
+        ProductQueryDTO queryParams = new ProductQueryDTO("Samsung", null, null, null, null, true, null);
         Product product = TestConstants.createDefaultProduct();
         ProductResponseDTO responseDTO = new ProductResponseDTO(
                 TestConstants.DEFAULT_PUBLIC_ID,
@@ -127,7 +276,7 @@ public class ProductServiceTest {
         Pageable pageable = PageRequest.of(0, 10);
         Page<Product> productPage = new PageImpl<>(List.of(product), pageable, 1);
         
-        when(productRepository.findAll(any(Specification.class), eq(pageable))).thenReturn(productPage);
+        when(productRepository.findAll(any(Specification.class), eq(ProductSpecification.withIdTiebreak(pageable)))).thenReturn(productPage);
         when(productMapper.toResponseDTO(product)).thenReturn(responseDTO);
 
         // Act
@@ -177,11 +326,11 @@ public class ProductServiceTest {
         );
 
         when(productRepository.findByPublicId(publicId)).thenReturn(Optional.of(existingProduct));
-        when(productRepository.save(existingProduct)).thenReturn(updatedProduct);
+        when(productRepository.saveAndFlush(existingProduct)).thenReturn(updatedProduct);
         when(productMapper.toResponseDTO(updatedProduct)).thenReturn(responseDTO);
 
         // Act
-        ProductResponseDTO result = productService.update(publicId, requestDTO);
+        ProductResponseDTO result = productService.update(publicId, requestDTO, null);
 
         // Assert
         assertThat(result).isNotNull();
@@ -199,7 +348,7 @@ public class ProductServiceTest {
         when(messageService.getMessage("resource.not.found.by.public.id", invalidPublicId)).thenReturn(errorMessage);
 
         // Act & Assert
-        assertThatThrownBy(() -> productService.update(invalidPublicId, requestDTO))
+        assertThatThrownBy(() -> productService.update(invalidPublicId, requestDTO, null))
                 .isInstanceOf(ResourceNotFoundException.class)
                 .hasMessage(errorMessage);
     }
@@ -213,9 +362,689 @@ public class ProductServiceTest {
         when(productRepository.findByPublicId(publicId)).thenReturn(Optional.of(existingProduct));
 
         // Act
-        productService.delete(publicId);
+        productService.delete(publicId, null);
 
         // Assert
         verify(productRepository).delete(existingProduct);
     }
-}
\ No newline at end of file
+
+    @Test
+    public void givenCachedAndUncachedPublicIds_whenFindingAllByPublicIds_thenShouldQueryOnlyMissesAndPreserveOrder() {
+        // Arrange
+        Product notebook = TestConstants.createNotebookProduct();
+        ProductResponseDTO smartphoneDTO = TestConstants.createDefaultProductResponseDTO();
+        ProductResponseDTO notebookDTO = new ProductResponseDTO(
+                TestConstants.ALTERNATIVE_PUBLIC_ID,
+                TestConstants.NOTEBOOK_NAME,
+                TestConstants.NOTEBOOK_PRICE,
+                TestConstants.NOTEBOOK_DESCRIPTION,
+                TestConstants.NOTEBOOK_QUANTITY
+        );
+        List<String> requested = List.of(
+                TestConstants.ALTERNATIVE_PUBLIC_ID,
+                TestConstants.NON_EXISTENT_PUBLIC_ID,
+                TestConstants.DEFAULT_PUBLIC_ID
+        );
+
+        when(cacheManager.getCache(CacheConfig.PRODUCTS_CACHE)).thenReturn(cache);
+        when(cache.get(anyString(), eq(ProductResponseDTO.class))).thenReturn(null);
+        when(cache.get(TestConstants.DEFAULT_PUBLIC_ID, ProductResponseDTO.class)).thenReturn(smartphoneDTO);
+        when(productRepository.findByPublicIdIn(List.of(TestConstants.ALTERNATIVE_PUBLIC_ID, TestConstants.NON_EXISTENT_PUBLIC_ID)))
+                .thenReturn(List.of(notebook));
+        when(productMapper.toResponseDTO(notebook)).thenReturn(notebookDTO);
+
+        // Act
+        ProductLookupResponseDTO result = productService.findAllByPublicIds(requested);
+
+        // Assert
+        assertThat(result.products()).containsExactly(notebookDTO, smartphoneDTO);
+        assertThat(result.missingPublicIds()).containsExactly(TestConstants.NON_EXISTENT_PUBLIC_ID);
+        verify(cache).put(TestConstants.ALTERNATIVE_PUBLIC_ID, notebookDTO);
+    }
+
+    @Test
+    public void givenMergePatchBreakingBusinessRules_whenPatching_thenShouldThrowConstraintViolationAndNotSave() throws Exception {
+        // Arrange
+        String publicId = TestConstants.DEFAULT_PUBLIC_ID;
+        Product existingProduct = TestConstants.createDefaultProduct();
+        ProductRequestDTO currentState = TestConstants.createDefaultProductRequestDTO();
+        ProductRequestDTO mergedState = new ProductRequestDTO(
+                TestConstants.SMARTPHONE_NAME, new BigDecimal("5.00"), TestConstants.SMARTPHONE_DESCRIPTION, 500);
+        JsonNode mergePatch = new ObjectMapper().readTree("{\"price\": 5.00, \"quantity\": 500}");
+        ConstraintViolation<ProductRequestDTO> violation = mock(ConstraintViolation.class);
+
+        when(productRepository.findByPublicId(publicId)).thenReturn(Optional.of(existingProduct));
+        when(productMapper.toRequestDTO(existingProduct)).thenReturn(currentState);
+        when(jsonMergePatcher.apply(currentState, mergePatch, ProductRequestDTO.class)).thenReturn(mergedState);
+        when(validator.validate(mergedState)).thenReturn(Set.of(violation));
+
+        // Act & Assert
+        assertThatThrownBy(() -> productService.patch(publicId, mergePatch, null))
+                .isInstanceOf(ConstraintViolationException.class);
+        verify(productRepository, never()).saveAndFlush(any(Product.class));
+    }
+
+    @Test
+    public void givenValidMergePatch_whenPatching_thenShouldApplyOnlyChangesAndSave() throws Exception {
+        // Arrange
+        String publicId = TestConstants.DEFAULT_PUBLIC_ID;
+        Product existingProduct = TestConstants.createDefaultProduct();
+        ProductRequestDTO currentState = TestConstants.createDefaultProductRequestDTO();
+        ProductRequestDTO mergedState = new ProductRequestDTO(
+                TestConstants.SMARTPHONE_NAME, TestConstants.SMARTPHONE_PRICE, TestConstants.SMARTPHONE_DESCRIPTION, 7);
+        JsonNode mergePatch = new ObjectMapper().readTree("{\"quantity\": 7}");
+        ProductResponseDTO responseDTO = new ProductResponseDTO(
+                publicId, TestConstants.SMARTPHONE_NAME, TestConstants.SMARTPHONE_PRICE, TestConstants.SMARTPHONE_DESCRIPTION, 7);
+
+        when(productRepository.findByPublicId(publicId)).thenReturn(Optional.of(existingProduct));
+        when(productMapper.toRequestDTO(existingProduct)).thenReturn(currentState);
+        when(jsonMergePatcher.apply(currentState, mergePatch, ProductRequestDTO.class)).thenReturn(mergedState);
+        when(validator.validate(mergedState)).thenReturn(Set.of());
+        when(productRepository.saveAndFlush(existingProduct)).thenReturn(existingProduct);
+        when(productMapper.toResponseDTO(existingProduct)).thenReturn(responseDTO);
+
+        // Act
+        ProductResponseDTO result = productService.patch(publicId, mergePatch, null);
+
+        // Assert
+        assertThat(result).isEqualTo(responseDTO);
+        verify(productMapper).applyChanges(existingProduct, mergedState);
+    }
+
+    @Test
+    public void givenConcurrentWriteOfAPatchedField_whenPatchingAfterConflict_thenShouldRethrowConflictAndNotSave() throws Exception {
+        // Arrange
+        String publicId = TestConstants.DEFAULT_PUBLIC_ID;
+        Product existingProduct = TestConstants.createDefaultProduct();
+        ProductRequestDTO lostBase = TestConstants.createDefaultProductRequestDTO();
+        ProductRequestDTO currentState = new ProductRequestDTO(
+                TestConstants.SMARTPHONE_NAME, TestConstants.SMARTPHONE_PRICE, TestConstants.SMARTPHONE_DESCRIPTION, 9);
+        JsonNode mergePatch = new ObjectMapper().readTree("{\"quantity\": 7}");
+        MergePatchConflictException conflict = new MergePatchConflictException(publicId, lostBase,
+                new ObjectOptimisticLockingFailureException("Product", TestConstants.DEFAULT_ID));
+
+        when(productRepository.findByPublicId(publicId)).thenReturn(Optional.of(existingProduct));
+        when(productMapper.toRequestDTO(existingProduct)).thenReturn(currentState);
+        when(jsonMergePatcher.overlaps(mergePatch, lostBase, currentState)).thenReturn(true);
+
+        // Act & Assert
+        assertThatThrownBy(() -> productService.patchAfterConflict(publicId, mergePatch, conflict))
+                .isSameAs(conflict);
+        verify(productRepository, never()).saveAndFlush(any());
+    }
+
+    @Test
+    public void givenConcurrentWriteOfOtherFields_whenPatchingAfterConflict_thenShouldPatchTheNewRow() throws Exception {
+        // Arrange
+        String publicId = TestConstants.DEFAULT_PUBLIC_ID;
+        Product existingProduct = TestConstants.createDefaultProduct();
+        ProductRequestDTO lostBase = TestConstants.createDefaultProductRequestDTO();
+        ProductRequestDTO currentState = new ProductRequestDTO(
+                TestConstants.SMARTPHONE_NAME, new BigDecimal("999.00"), TestConstants.SMARTPHONE_DESCRIPTION, TestConstants.SMARTPHONE_QUANTITY);
+        ProductRequestDTO mergedState = new ProductRequestDTO(
+                TestConstants.SMARTPHONE_NAME, new BigDecimal("999.00"), TestConstants.SMARTPHONE_DESCRIPTION, 51);
+        JsonNode mergePatch = new ObjectMapper().readTree("{\"quantity\": 51}");
+        MergePatchConflictException conflict = new MergePatchConflictException(publicId, lostBase,
+                new ObjectOptimisticLockingFailureException("Product", TestConstants.DEFAULT_ID));
+
+        when(productRepository.findByPublicId(publicId)).thenReturn(Optional.of(existingProduct));
+        when(productMapper.toRequestDTO(existingProduct)).thenReturn(currentState);
+        when(jsonMergePatcher.overlaps(mergePatch, lostBase, currentState)).thenReturn(false);
+        when(jsonMergePatcher.apply(currentState, mergePatch, ProductRequestDTO.class)).thenReturn(mergedState);
+        when(validator.validate(mergedState)).thenReturn(Set.of());
+        when(productRepository.saveAndFlush(existingProduct)).thenReturn(existingProduct);
+
+        // Act
+        productService.patchAfterConflict(publicId, mergePatch, conflict);
+
+        // Assert
+        verify(productMapper).applyChanges(existingProduct, mergedState);
+    }
+
+    @Test
+    public void givenReadModelCanServeQuery_whenFindingAll_thenShouldNotQueryRepository() {
+        // Arrange
+        ProductQueryDTO queryParams = new ProductQueryDTO("Samsung", null, null, null, null, true, null);
+        Pageable pageable = PageRequest.of(0, 10);
+        Page<ProductResponseDTO> readModelPage = new PageImpl<>(
+                List.of(TestConstants.createDefaultProductResponseDTO()), pageable, 1);
+
+        when(productReadModel.canServe(queryParams, pageable)).thenReturn(true);
+        when(productReadModel.findAll(queryParams, pageable, null)).thenReturn(readModelPage);
+
+        // Act
+        Page<ProductResponseDTO> result = productService.findAll(queryParams, pageable);
+
+        // Assert
+        assertThat(result.getContent()).isEqualTo(readModelPage.getContent());
+        assertThat(result.getTotalElements()).isEqualTo(readModelPage.getTotalElements());
+        assertThat(result.getTotalPages()).isEqualTo(readModelPage.getTotalPages());
+        verify(productRepository, never()).findAll(any(Specification.class), any(Pageable.class));
+    }
+
+    @Test
+    public void givenValidProductRequestDTO_whenSaving_thenShouldPublishCreatedEvent() {
+        // Arrange
+        ProductRequestDTO requestDTO = TestConstants.createDefaultProductRequestDTO();
+        Product newProduct = TestConstants.createDefaultProduct();
+        Product savedProduct = TestConstants.createDefaultProduct();
+
+        when(productMapper.toEntity(requestDTO)).thenReturn(newProduct);
+        when(productRepository.save(newProduct)).thenReturn(savedProduct);
+        when(productMapper.toResponseDTO(savedProduct)).thenReturn(TestConstants.createDefaultProductResponseDTO());
+
+        // Act
+        productService.save(requestDTO);
+
+        // Assert
+        ArgumentCaptor<ProductChangedEvent> captor = ArgumentCaptor.forClass(ProductChangedEvent.class);
+        verify(eventPublisher).publishEvent(captor.capture());
+        assertThat(captor.getValue().type()).isEqualTo(ProductChangedEvent.ChangeType.CREATED);
+        assertThat(captor.getValue().after().publicId()).isEqualTo(savedProduct.getPublicId());
+    }
+
+    @Test
+    public void givenReadModelUnavailable_whenFindingFacets_thenShouldAggregateInRepository() {
+        // Arrange
+        ProductQueryDTO queryParams = new ProductQueryDTO(null, null, null, null, null, false, null);
+        ProductFacetsResponseDTO facets = new ProductFacetsResponseDTO(
+                1, List.of(), new ProductFacetsResponseDTO.StockStatus(1, 0), List.of());
+
+        when(productReadModel.canServe(eq(queryParams), any(Pageable.class))).thenReturn(false);
+        when(productRepository.findFacets(any(Specification.class))).thenReturn(facets);
+
+        // Act
+        ProductFacetsResponseDTO result = productService.findFacets(queryParams);
+
+        // Assert
+        assertThat(result).isSameAs(facets);
+        verify(productReadModel, never()).facets(any(ProductQueryDTO.class));
+    }
+
+    @Test
+    public void givenFuzzyNameQuery_whenFindingAll_thenShouldFilterByMatchedProductIds() {
+        // Arrange
+        ProductQueryDTO queryParams = new ProductQueryDTO("Samsnug", null, null, null, null, true, true);
+        Pageable pageable = PageRequest.of(0, 10);
+        Page<ProductResponseDTO> readModelPage = new PageImpl<>(
+                List.of(TestConstants.createDefaultProductResponseDTO()), pageable, 1);
+
+        when(fuzzyNameIndex.match("Samsnug")).thenReturn(Set.of(1L));
+        when(productReadModel.canServe(queryParams, pageable)).thenReturn(true);
+        when(productReadModel.findAll(queryParams, pageable, Set.of(1L))).thenReturn(readModelPage);
+
+        // Act
+        Page<ProductResponseDTO> result = productService.findAll(queryParams, pageable);
+
+        // Assert
+        assertThat(result.getContent()).isEqualTo(readModelPage.getContent());
+        assertThat(result.getTotalElements()).isEqualTo(readModelPage.getTotalElements());
+        assertThat(result.getTotalPages()).isEqualTo(readModelPage.getTotalPages());
+    }
+
+    @Test
+    public void givenNonFuzzyNameQuery_whenFindingAll_thenShouldNotUseFuzzyIndex() {
+        // Arrange
+        ProductQueryDTO queryParams = new ProductQueryDTO("Samsung", null, null, null, null, true, false);
+        Pageable pageable = PageRequest.of(0, 10);
+
+        when(productRepository.findAll(any(Specification.class), eq(ProductSpecification.withIdTiebreak(pageable)))).thenReturn(Page.empty(pageable));
+
+        // Act
+        productService.findAll(queryParams, pageable);
+
+        // Assert
+        verify(fuzzyNameIndex, never()).match(any());
+    }
+
+    @Test
+    public void givenRankedPublicIds_whenSearching_thenShouldHydrateInRelevanceOrder() {
+        // Arrange
+        Pageable pageable = PageRequest.of(0, 2);
+        Product first = new Product(2L, "550e8400-e29b-41d4-a716-446655440002", "iPhone 15 Pro", new BigDecimal("1299.99"), null, 45);
+        Product second = new Product(1L, "550e8400-e29b-41d4-a716-446655440001", "Samsung Galaxy S24", new BigDecimal("899.99"), null, 62);
+        ProductResponseDTO firstDTO = new ProductResponseDTO(first.getPublicId(), first.getName(), first.getPrice(), null, first.getQuantity());
+        ProductResponseDTO secondDTO = new ProductResponseDTO(second.getPublicId(), second.getName(), second.getPrice(), null, second.getQuantity());
+
+        when(fullTextIndex.search("smartphone", pageable))
+                .thenReturn(new PageImpl<>(List.of(first.getPublicId(), second.getPublicId()), pageable, 5));
+        when(productRepository.findByPublicIdIn(List.of(first.getPublicId(), second.getPublicId())))
+                .thenReturn(List.of(second, first));
+        when(productMapper.toResponseDTO(first)).thenReturn(firstDTO);
+        when(productMapper.toResponseDTO(second)).thenReturn(secondDTO);
+
+        // Act
+        Page<ProductResponseDTO> result = productService.search("smartphone", pageable);
+
+        // Assert
+        assertThat(result.getContent()).containsExactly(firstDTO, secondDTO);
+        assertThat(result.getTotalElements()).isEqualTo(5);
+    }
+
+    @Test
+    public void givenAcceptedAdjustment_whenAdjustingStock_thenShouldPublishUpdatedEventWithPreviousQuantity() {
+        // Arrange
+        String publicId = TestConstants.DEFAULT_PUBLIC_ID;
+        Product adjustedProduct = TestConstants.createDefaultProduct();
+        ProductResponseDTO responseDTO = TestConstants.createDefaultProductResponseDTO();
+
+        when(productRepository.adjustQuantity(publicId, 5)).thenReturn(1);
+        when(productRepository.findByPublicId(publicId)).thenReturn(Optional.of(adjustedProduct));
+        when(productMapper.toResponseDTO(adjustedProduct)).thenReturn(responseDTO);
+
+        // Act
+        ProductResponseDTO result = productService.adjustStock(publicId, 5);
+
+        // Assert
+        assertThat(result).isEqualTo(responseDTO);
+        ArgumentCaptor<ProductChangedEvent> captor = ArgumentCaptor.forClass(ProductChangedEvent.class);
+        verify(eventPublisher).publishEvent(captor.capture());
+        assertThat(captor.getValue().type()).isEqualTo(ProductChangedEvent.ChangeType.UPDATED);
+        assertThat(captor.getValue().before().quantity()).isEqualTo(TestConstants.SMARTPHONE_QUANTITY - 5);
+        assertThat(captor.getValue().after().quantity()).isEqualTo(TestConstants.SMARTPHONE_QUANTITY);
+        verify(productRepository, never()).save(any(Product.class));
+    }
+
+    @Test
+    public void givenRejectedAdjustment_whenAdjustingStock_thenShouldThrowStockAdjustmentRejectedException() {
+        // Arrange
+        String publicId = TestConstants.DEFAULT_PUBLIC_ID;
+        Product existingProduct = TestConstants.createDefaultProduct();
+
+        when(productRepository.adjustQuantity(publicId, -51)).thenReturn(0);
+        when(productRepository.findByPublicId(publicId)).thenReturn(Optional.of(existingProduct));
+
+        // Act & Assert
+        assertThatThrownBy(() -> productService.adjustStock(publicId, -51))
+                .isInstanceOf(StockAdjustmentRejectedException.class)
+                .hasFieldOrPropertyWithValue("currentQuantity", TestConstants.SMARTPHONE_QUANTITY);
+        verify(eventPublisher, never()).publishEvent(any());
+    }
+
+    @Test
+    public void givenNonExistentProduct_whenAdjustingStock_thenShouldThrowResourceNotFoundException() {
+        // Arrange
+        String publicId = TestConstants.NON_EXISTENT_PUBLIC_ID;
+
+        when(productRepository.adjustQuantity(publicId, 1)).thenReturn(0);
+        when(productRepository.findByPublicId(publicId)).thenReturn(Optional.empty());
+        when(messageService.getMessage("resource.not.found.by.public.id", publicId))
+                .thenReturn("Product not found with publicId: " + publicId);
+
+        // Act & Assert
+        assertThatThrownBy(() -> productService.adjustStock(publicId, 1))
+                .isInstanceOf(ResourceNotFoundException.class);
+    }
+
+    @Test
+    public void givenHotProduct_whenAdjustingStock_thenShouldAdjustInMemoryWithoutTouchingTheRow() {
+        // Arrange
+        String publicId = TestConstants.DEFAULT_PUBLIC_ID;
+        ProductResponseDTO adjusted = new ProductResponseDTO(publicId, TestConstants.SMARTPHONE_NAME,
+                TestConstants.SMARTPHONE_PRICE, TestConstants.SMARTPHONE_DESCRIPTION, TestConstants.SMARTPHONE_QUANTITY - 1);
+
+        when(hotStockCounters.adjust(publicId, -1)).thenReturn(Optional.of(adjusted));
+
+        // Act
+        ProductResponseDTO result = productService.adjustStock(publicId, -1);
+
+        // Assert
+        assertThat(result).isEqualTo(adjusted);
+        verify(productRepository, never()).adjustQuantity(anyString(), anyInt());
+        verify(eventPublisher, never()).publishEvent(any());
+    }
+
+    @Test
+    public void givenHotProduct_whenFindingByPublicId_thenShouldReturnInMemoryQuantity() {
+        // Arrange
+        String publicId = TestConstants.DEFAULT_PUBLIC_ID;
+        Product product = TestConstants.createDefaultProduct();
+        ProductResponseDTO stored = TestConstants.createDefaultProductResponseDTO();
+        ProductResponseDTO inMemory = new ProductResponseDTO(publicId, TestConstants.SMARTPHONE_NAME,
+                TestConstants.SMARTPHONE_PRICE, TestConstants.SMARTPHONE_DESCRIPTION, 7);
+
+        when(productRepository.findByPublicId(publicId)).thenReturn(Optional.of(product));
+        when(productMapper.toResponseDTO(product)).thenReturn(stored);
+        when(hotStockCounters.overlay(stored)).thenReturn(inMemory);
+
+        // Act
+        ProductResponseDTO result = productService.findByPublicId(publicId);
+
+        // Assert
+        assertThat(result.quantity()).isEqualTo(7);
+    }
+
+    @Test
+    public void givenHotProduct_whenFindingAllByQuantity_thenShouldFilterOnTheRowAndShowInMemoryQuantity() {
+        // Arrange
+        Product product = TestConstants.createDefaultProduct();
+        ProductResponseDTO stored = TestConstants.createDefaultProductResponseDTO();
+        ProductResponseDTO inMemory = new ProductResponseDTO(TestConstants.DEFAULT_PUBLIC_ID, TestConstants.SMARTPHONE_NAME,
+                TestConstants.SMARTPHONE_PRICE, TestConstants.SMARTPHONE_DESCRIPTION, 7);
+        ProductQueryDTO queryParams = new ProductQueryDTO(null, null, null, TestConstants.SMARTPHONE_QUANTITY, null, null, null);
+        Pageable pageable = PageRequest.of(0, 10, Sort.by("quantity"));
+
+        when(productRepository.findAll(any(Specification.class), eq(ProductSpecification.withIdTiebreak(pageable))))
+                .thenReturn(new PageImpl<>(List.of(product), pageable, 1));
+        when(productMapper.toResponseDTO(product)).thenReturn(stored);
+        when(hotStockCounters.overlay(stored)).thenReturn(inMemory);
+
+        // Act
+        Page<ProductResponseDTO> result = productService.findAll(queryParams, pageable);
+
+        // Assert
+        assertThat(result.getContent()).containsExactly(inMemory);
+        verify(hotStockCounters, never()).quantity(anyString());
+    }
+
+    @Test
+    public void givenProductUpdate_whenUpdating_thenShouldSuspendHotStockFirst() {
+        // Arrange
+        String publicId = TestConstants.DEFAULT_PUBLIC_ID;
+        ProductRequestDTO requestDTO = TestConstants.createDefaultProductRequestDTO();
+
+        when(productRepository.findByPublicId(publicId)).thenReturn(Optional.empty());
+        when(messageService.getMessage("resource.not.found.by.public.id", publicId))
+                .thenReturn("Product not found with publicId: " + publicId);
+
+        // Act & Assert
+        assertThatThrownBy(() -> productService.update(publicId, requestDTO, null))
+                .isInstanceOf(ResourceNotFoundException.class);
+        verify(hotStockCounters).suspend(publicId);
+    }
+
+    @Test
+    public void givenReservationWithTtl_whenReserving_thenShouldPassTtlAsDuration() {
+        // Arrange
+        String publicId = TestConstants.DEFAULT_PUBLIC_ID;
+
+        // Act
+        productService.reserve(publicId, new StockReservationRequestDTO(3, 30));
+
+        // Assert
+        verify(stockReservations).reserve(publicId, 3, Duration.ofSeconds(30));
+    }
+
+    @Test
+    public void givenReservationWithoutTtl_whenReserving_thenShouldLeaveDefaultTtlToReservations() {
+        // Arrange
+        String publicId = TestConstants.DEFAULT_PUBLIC_ID;
+
+        // Act
+        productService.reserve(publicId, new StockReservationRequestDTO(3, null));
+
+        // Assert
+        verify(stockReservations).reserve(publicId, 3, null);
+    }
+
+    @Test
+    public void givenPendingReservation_whenConfirming_thenShouldReturnDecrementedProduct() {
+        // Arrange
+        String publicId = TestConstants.DEFAULT_PUBLIC_ID;
+        String reservationId = TestConstants.ALTERNATIVE_PUBLIC_ID;
+        Product confirmedProduct = TestConstants.createDefaultProduct();
+        ProductResponseDTO responseDTO = TestConstants.createDefaultProductResponseDTO();
+
+        when(stockReservations.confirm(publicId, reservationId)).thenReturn(confirmedProduct);
+        when(productMapper.toResponseDTO(confirmedProduct)).thenReturn(responseDTO);
+
+        // Act
+        ProductResponseDTO result = productService.confirmReservation(publicId, reservationId);
+
+        // Assert
+        assertThat(result).isEqualTo(responseDTO);
+    }
+
+    @Test
+    public void givenStaleIfMatchVersion_whenUpdating_thenShouldThrowPreconditionFailedAndNotSave() {
+        // Arrange
+        String publicId = TestConstants.DEFAULT_PUBLIC_ID;
+        Product existingProduct = TestConstants.createDefaultProduct();
+        existingProduct.setVersion(4L);
+
+        when(productRepository.findByPublicId(publicId)).thenReturn(Optional.of(existingProduct));
+
+        // Act & Assert
+        assertThatThrownBy(() -> productService.update(publicId, TestConstants.createUpdatedProductRequestDTO(), 3L))
+                .isInstanceOf(PreconditionFailedException.class)
+                .hasFieldOrPropertyWithValue("currentVersion", 4L);
+        verify(productRepository, never()).saveAndFlush(any(Product.class));
+        verify(eventPublisher, never()).publishEvent(any());
+    }
+
+    @Test
+    public void givenCurrentIfMatchVersion_whenUpdating_thenShouldSave() {
+        // Arrange
+        String publicId = TestConstants.DEFAULT_PUBLIC_ID;
+        ProductRequestDTO requestDTO = TestConstants.createUpdatedProductRequestDTO();
+        Product existingProduct = TestConstants.createDefaultProduct();
+        existingProduct.setVersion(4L);
+
+        when(productRepository.findByPublicId(publicId)).thenReturn(Optional.of(existingProduct));
+        when(productRepository.saveAndFlush(existingProduct)).thenReturn(existingProduct);
+
+        // Act
+        productService.update(publicId, requestDTO, 4L);
+
+        // Assert
+        verify(productMapper).updateEntityFromDTO(existingProduct, requestDTO);
+        verify(productRepository).saveAndFlush(existingProduct);
+    }
+
+    @Test
+    public void givenIfMatchVersionForMissingProduct_whenDeleting_thenShouldThrowPreconditionFailed() {
+        // Arrange
+        String publicId = TestConstants.NON_EXISTENT_PUBLIC_ID;
+
+        when(productRepository.findByPublicId(publicId)).thenReturn(Optional.empty());
+
+        // Act & Assert
+        assertThatThrownBy(() -> productService.delete(publicId, 1L))
+                .isInstanceOf(PreconditionFailedException.class);
+        verify(productRepository, never()).delete(any(Product.class));
+    }
+
+    @Test
+    public void givenWildcardIfMatchForMissingProduct_whenUpdating_thenShouldThrowPreconditionFailed() {
+        // Arrange
+        String publicId = TestConstants.NON_EXISTENT_PUBLIC_ID;
+
+        when(productRepository.findByPublicId(publicId)).thenReturn(Optional.empty());
+
+        // Act & Assert
+        assertThatThrownBy(() -> productService.update(publicId, TestConstants.createUpdatedProductRequestDTO(),
+                ProductService.ANY_VERSION))
+                .isInstanceOf(PreconditionFailedException.class)
+                .hasFieldOrPropertyWithValue("currentVersion", null);
+        verify(productRepository, never()).saveAndFlush(any(Product.class));
+    }
+
+    @Test
+    public void givenWildcardIfMatchForExistingProduct_whenUpdating_thenShouldSaveAtAnyVersion() {
+        // Arrange
+        String publicId = TestConstants.DEFAULT_PUBLIC_ID;
+        ProductRequestDTO requestDTO = TestConstants.createUpdatedProductRequestDTO();
+        Product existingProduct = TestConstants.createDefaultProduct();
+        existingProduct.setVersion(7L);
+
+        when(productRepository.findByPublicId(publicId)).thenReturn(Optional.of(existingProduct));
+        when(productRepository.saveAndFlush(existingProduct)).thenReturn(existingProduct);
+
+        // Act
+        productService.update(publicId, requestDTO, ProductService.ANY_VERSION);
+
+        // Assert
+        verify(productRepository).saveAndFlush(existingProduct);
+    }
+
+    @Test
+    public void givenNameTakenCaseInsensitively_whenSaving_thenShouldThrowProductAlreadyExistsException() {
+        // Arrange
+        ProductRequestDTO requestDTO = TestConstants.createDefaultProductRequestDTO();
+        Product newProduct = TestConstants.createDefaultProduct();
+
+        when(productMapper.toEntity(requestDTO)).thenReturn(newProduct);
+        when(productRepository.save(newProduct)).thenThrow(uniqueViolation("PUBLIC.UK_PRODUCTS_NORMALIZED_NAME_INDEX_B"));
+
+        // Act & Assert
+        assertThatThrownBy(() -> productService.save(requestDTO))
+                .isInstanceOf(ProductAlreadyExistsException.class)
+                .hasFieldOrPropertyWithValue("productName", TestConstants.SMARTPHONE_NAME);
+        verify(eventPublisher, never()).publishEvent(any());
+    }
+
+    @Test
+    public void givenOtherConstraintViolation_whenSaving_thenShouldRethrowIt() {
+        // Arrange
+        ProductRequestDTO requestDTO = TestConstants.createDefaultProductRequestDTO();
+        Product newProduct = TestConstants.createDefaultProduct();
+
+        when(productMapper.toEntity(requestDTO)).thenReturn(newProduct);
+        when(productRepository.save(newProduct)).thenThrow(uniqueViolation("PUBLIC.UK_PRODUCTS_PUBLIC_ID"));
+
+        // Act & Assert
+        assertThatThrownBy(() -> productService.save(requestDTO))
+                .isInstanceOf(DataIntegrityViolationException.class);
+    }
+
+    @Test
+    public void givenNameOfAnotherProduct_whenUpdating_thenShouldThrowProductAlreadyExistsException() {
+        // Arrange
+        String publicId = TestConstants.DEFAULT_PUBLIC_ID;
+        ProductRequestDTO requestDTO = TestConstants.createUpdatedProductRequestDTO();
+        Product existingProduct = TestConstants.createDefaultProduct();
+
+        when(productRepository.findByPublicId(publicId)).thenReturn(Optional.of(existingProduct));
+        doAnswer(invocation -> {
+            existingProduct.setName(TestConstants.UPDATED_NAME);
+            return null;
+        }).when(productMapper).updateEntityFromDTO(existingProduct, requestDTO);
+        when(productRepository.saveAndFlush(existingProduct)).thenThrow(uniqueViolation("UK_PRODUCTS_NORMALIZED_NAME"));
+
+        // Act & Assert
+        assertThatThrownBy(() -> productService.update(publicId, requestDTO, null))
+                .isInstanceOf(ProductAlreadyExistsException.class)
+                .hasFieldOrPropertyWithValue("productName", TestConstants.UPDATED_NAME);
+    }
+
+    @Test
+    public void givenQuantityBelowReservedUnits_whenUpdating_thenShouldThrowQuantityBelowReservedException() {
+        // Arrange
+        String publicId = TestConstants.DEFAULT_PUBLIC_ID;
+        ProductRequestDTO requestDTO = TestConstants.createUpdatedProductRequestDTO();
+        Product existingProduct = TestConstants.createDefaultProduct();
+
+        when(productRepository.findByPublicId(publicId)).thenReturn(Optional.of(existingProduct));
+        doAnswer(invocation -> {
+            existingProduct.setQuantity(5);
+            return null;
+        }).when(productMapper).updateEntityFromDTO(existingProduct, requestDTO);
+        when(productRepository.saveAndFlush(existingProduct)).thenReturn(existingProduct);
+        when(productRepository.findReservedById(TestConstants.DEFAULT_ID)).thenReturn(8);
+
+        // Act & Assert
+        assertThatThrownBy(() -> productService.update(publicId, requestDTO, null))
+                .isInstanceOf(QuantityBelowReservedException.class)
+                .hasFieldOrPropertyWithValue("quantity", 5)
+                .hasFieldOrPropertyWithValue("reserved", 8);
+        verify(eventPublisher, never()).publishEvent(any());
+    }
+
+    @Test
+    public void givenNoSyncToken_whenFindingChanges_thenShouldReturnOnlyNewToken() {
+        // Arrange
+        when(productChangeFeed.committedPosition()).thenReturn(42L);
+
+        // Act
+        ProductChangesResponseDTO changes = productService.findChanges(null, 500);
+
+        // Assert
+        assertThat(changes.changed()).isEmpty();
+        assertThat(changes.deleted()).isEmpty();
+        assertThat(changes.nextToken()).isEqualTo("42");
+        assertThat(changes.hasMore()).isFalse();
+        verify(productRepository, never())
+                .findByChangeSeqGreaterThanAndChangeSeqLessThanEqualOrderByChangeSeqAsc(any(), any(), any());
+    }
+
+    @Test
+    public void givenChangesAndDeletions_whenFindingChanges_thenShouldMergeThemByChangeSequence() {
+        // Arrange
+        Product updated = TestConstants.createDefaultProduct();
+        updated.setChangeSeq(11L);
+        Product created = TestConstants.createNotebookProduct();
+        created.setChangeSeq(13L);
+        ProductTombstone tombstone = new ProductTombstone(TestConstants.NON_EXISTENT_PUBLIC_ID, 12L, Instant.parse("2025-01-01T12:00:00Z"));
+        ProductResponseDTO updatedDTO = TestConstants.createDefaultProductResponseDTO();
+        ProductResponseDTO createdDTO = TestConstants.createMinimalProductResponseDTO();
+
+        when(productChangeFeed.committedPosition()).thenReturn(13L);
+        when(productRepository.findByChangeSeqGreaterThanAndChangeSeqLessThanEqualOrderByChangeSeqAsc(10L, 13L, Limit.of(501)))
+                .thenReturn(List.of(updated, created));
+        when(tombstoneRepository.findByChangeSeqGreaterThanAndChangeSeqLessThanEqualOrderByChangeSeqAsc(10L, 13L, Limit.of(501)))
+                .thenReturn(List.of(tombstone));
+        when(productMapper.toResponseDTO(updated)).thenReturn(updatedDTO);
+        when(productMapper.toResponseDTO(created)).thenReturn(createdDTO);
+
+        // Act
+        ProductChangesResponseDTO changes = productService.findChanges(10L, 500);
+
+        // Assert
+        assertThat(changes.changed()).containsExactly(updatedDTO, createdDTO);
+        assertThat(changes.deleted()).singleElement()
+                .hasFieldOrPropertyWithValue("publicId", TestConstants.NON_EXISTENT_PUBLIC_ID);
+        assertThat(changes.nextToken()).isEqualTo("13");
+        assertThat(changes.hasMore()).isFalse();
+    }
+
+    @Test
+    public void givenMoreChangesThanLimit_whenFindingChanges_thenShouldReturnTokenOfLastChangeReturned() {
+        // Arrange
+        Product first = TestConstants.createDefaultProduct();
+        first.setChangeSeq(11L);
+        ProductTombstone tombstone = new ProductTombstone(TestConstants.NON_EXISTENT_PUBLIC_ID, 12L, Instant.parse("2025-01-01T12:00:00Z"));
+
+        when(productChangeFeed.committedPosition()).thenReturn(20L);
+        when(productRepository.findByChangeSeqGreaterThanAndChangeSeqLessThanEqualOrderByChangeSeqAsc(10L, 20L, Limit.of(2)))
+                .thenReturn(List.of(first));
+        when(tombstoneRepository.findByChangeSeqGreaterThanAndChangeSeqLessThanEqualOrderByChangeSeqAsc(10L, 20L, Limit.of(2)))
+                .thenReturn(List.of(tombstone));
+        when(productMapper.toResponseDTO(first)).thenReturn(TestConstants.createDefaultProductResponseDTO());
+
+        // Act
+        ProductChangesResponseDTO changes = productService.findChanges(10L, 1);
+
+        // Assert
+        assertThat(changes.changed()).hasSize(1);
+        assertThat(changes.deleted()).isEmpty();
+        assertThat(changes.nextToken()).isEqualTo("11");
+        assertThat(changes.hasMore()).isTrue();
+    }
+
+    @Test
+    public void givenSyncTokenAheadOfCommittedChanges_whenFindingChanges_thenShouldThrowInvalidSyncTokenException() {
+        // Arrange
+        when(productChangeFeed.committedPosition()).thenReturn(5L);
+
+        // Act & Assert
+        assertThatThrownBy(() -> productService.findChanges(99L, 500))
+                .isInstanceOf(InvalidSyncTokenException.class)
+                .hasFieldOrPropertyWithValue("token", 99L);
+    }
+
+    @Test
+    public void givenShardedCatalog_whenFindingChanges_thenShouldThrowChangesUnavailableException() {
+        // Arrange
+        when(productShards.isSharded()).thenReturn(true);
+
+        // Act & Assert
+        assertThatThrownBy(() -> productService.findChanges(10L, 500))
+                .isInstanceOf(ChangesUnavailableException.class);
+        verify(productChangeFeed, never()).committedPosition();
+    }
+
+    private static DataIntegrityViolationException uniqueViolation(String constraintName) {
+        return new DataIntegrityViolationException("could not execute statement",
+                new org.hibernate.exception.ConstraintViolationException("Unique index or primary key violation", null, constraintName));
+    }
+}
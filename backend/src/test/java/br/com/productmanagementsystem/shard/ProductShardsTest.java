@@ -0,0 +1,70 @@
+package br.com.productmanagementsystem.shard;
+
+import org.junit.jupiter.api.Test;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+public class ProductShardsTest {
+
+    private final ProductShards productShards = new ProductShards(4, null, null, null, Clock.systemUTC(), Duration.ofMinutes(1));
+
+    @Test
+    public void givenPublicIds_whenPlacing_thenShouldSpreadThemOverEveryShard() {
+        // Act
+        Map<Integer, Long> placed = IntStream.range(0, 4000)
+                .mapToObj(i -> UUID.randomUUID().toString())
+                .collect(Collectors.groupingBy(productShards::shardOf, Collectors.counting()));
+
+        // Assert
+        assertThat(placed).containsOnlyKeys(0, 1, 2, 3);
+        assertThat(placed.values()).allSatisfy(count -> assertThat(count).isBetween(800L, 1200L));
+    }
+
+    @Test
+    public void givenPublicId_whenPlacing_thenShouldAlwaysPickTheSameShard() {
+        // Act & Assert
+        assertThat(productShards.shardOf("550e8400-e29b-41d4-a716-446655440000"))
+                .isEqualTo(new ProductShards(4, null, null, null, Clock.systemUTC(), Duration.ofMinutes(1))
+                        .shardOf("550e8400-e29b-41d4-a716-446655440000"));
+    }
+
+    @Test
+    public void givenShard_whenRunningWork_thenShouldBindItOnlyForTheWork() {
+        // Act
+        Integer bound = productShards.onShard(2, ProductShards::current);
+
+        // Assert
+        assertThat(bound).isEqualTo(2);
+        assertThat(ProductShards.current()).isNull();
+        assertThat(productShards.onEveryShard(ProductShards::current)).containsExactly(0, 1, 2, 3);
+    }
+
+    @Test
+    public void givenNoTransaction_whenRouting_thenShouldThrowIllegalStateException() {
+        // Act & Assert
+        assertThatThrownBy(() -> productShards.route("550e8400-e29b-41d4-a716-446655440000"))
+                .isInstanceOf(IllegalStateException.class);
+    }
+
+    @Test
+    public void givenUnsharded_whenScatteringAndRouting_thenShouldRunOnTheCallingThreadOnly() {
+        // Act
+        List<String> results = ProductShards.UNSHARDED.scatter(shard -> Thread.currentThread().getName());
+        ProductShards.UNSHARDED.route("550e8400-e29b-41d4-a716-446655440000");
+
+        // Assert
+        assertThat(ProductShards.UNSHARDED.isSharded()).isFalse();
+        assertThat(results).containsExactly(Thread.currentThread().getName());
+        assertThat(ProductShards.UNSHARDED.onEveryShard(ProductShards::current)).hasSize(1);
+        assertThat(ProductShards.UNSHARDED.shardOf("any")).isZero();
+    }
+}
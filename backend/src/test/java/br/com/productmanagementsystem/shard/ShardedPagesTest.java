@@ -0,0 +1,135 @@
+package br.com.productmanagementsystem.shard;
+
+import br.com.productmanagementsystem.entity.Product;
+import br.com.productmanagementsystem.exception.PageTooDeepException;
+import org.junit.jupiter.api.Test;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageImpl;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Sort;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Random;
+import java.util.stream.IntStream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+public class ShardedPagesTest {
+
+    @Test
+    public void givenPage_whenRequestingFromShards_thenShouldAskForEverythingUpToItsEndWithIdTiebreak() {
+        // Act
+        Pageable perShard = ShardedPages.perShard(PageRequest.of(2, 10, Sort.by(Sort.Direction.DESC, "price")));
+
+        // Assert
+        assertThat(perShard.getPageNumber()).isZero();
+        assertThat(perShard.getPageSize()).isEqualTo(30);
+        assertThat(perShard.getSort()).isEqualTo(Sort.by(Sort.Direction.DESC, "price").and(Sort.by("id")));
+    }
+
+    @Test
+    public void givenPageStartingPastTheMaxOffset_whenRequestingFromShards_thenShouldThrowPageTooDeepException() {
+        // Arrange
+        Pageable deepPage = PageRequest.of(Integer.MAX_VALUE, 2000);
+
+        // Act & Assert
+        assertThatThrownBy(() -> ShardedPages.perShard(deepPage))
+                .isInstanceOf(PageTooDeepException.class)
+                .hasFieldOrPropertyWithValue("maxOffset", ShardedPages.MAX_OFFSET);
+    }
+
+    @Test
+    public void givenSortedRuns_whenMerging_thenShouldSkipOffsetAndKeepLimit() {
+        // Arrange
+        List<List<Integer>> runs = List.of(List.of(1, 4, 7), List.of(2, 5, 8), List.of(), List.of(3, 6, 9));
+
+        // Act
+        List<Integer> merged = ShardedPages.merge(runs, Comparator.naturalOrder(), 2, 4);
+
+        // Assert
+        assertThat(merged).containsExactly(3, 4, 5, 6);
+    }
+
+    @Test
+    public void givenEqualElements_whenMerging_thenShouldKeepTheOrderOfTheirRuns() {
+        // Arrange
+        List<List<String>> runs = List.of(List.of("b1", "c1"), List.of("a2", "b2"));
+
+        // Act
+        List<String> merged = ShardedPages.merge(runs, Comparator.comparing((String value) -> value.charAt(0)), 0, 10);
+
+        // Assert
+        assertThat(merged).containsExactly("a2", "b1", "b2", "c1");
+    }
+
+    @Test
+    public void givenShardPages_whenMerging_thenShouldMatchPagingTheWholeSortedList() {
+        // Arrange
+        Random random = new Random(42);
+        List<Product> all = IntStream.rangeClosed(1, 60)
+                .mapToObj(id -> product(id, "Product " + random.nextInt(20), BigDecimal.valueOf(random.nextInt(10))))
+                .toList();
+        Sort sort = Sort.by(Sort.Order.desc("price"), Sort.Order.asc("name").ignoreCase());
+        Pageable pageable = PageRequest.of(3, 7, sort);
+        Comparator<Product> comparator = ShardedPages.comparator(sort);
+
+        List<Page<Product>> shardPages = new ArrayList<>();
+        for (int shard = 0; shard < 3; shard++) {
+            int current = shard;
+            List<Product> onShard = all.stream().filter(product -> product.getId() % 3 == current).sorted(comparator).toList();
+            Pageable perShard = ShardedPages.perShard(pageable);
+            shardPages.add(new PageImpl<>(onShard.stream().limit(perShard.getPageSize()).toList(), perShard, onShard.size()));
+        }
+
+        // Act
+        Page<Product> page = ShardedPages.merge(shardPages, comparator, pageable);
+
+        // Assert
+        assertThat(page.getContent()).containsExactlyElementsOf(all.stream().sorted(comparator).skip(21).limit(7).toList());
+        assertThat(page.getTotalElements()).isEqualTo(60);
+        assertThat(page.getNumber()).isEqualTo(3);
+    }
+
+    @Test
+    public void givenNullValues_whenComparing_thenShouldSortThemLowLikeTheDatabase() {
+        // Arrange
+        Product withDescription = product(1, "A", BigDecimal.ONE);
+        withDescription.setDescription("text");
+        Product withoutDescription = product(2, "B", BigDecimal.ONE);
+
+        // Act
+        List<Product> ascending = List.of(withDescription, withoutDescription).stream()
+                .sorted(ShardedPages.comparator(Sort.by("description")))
+                .toList();
+        List<Product> descending = List.of(withoutDescription, withDescription).stream()
+                .sorted(ShardedPages.comparator(Sort.by(Sort.Direction.DESC, "description")))
+                .toList();
+
+        // Assert
+        assertThat(ascending).containsExactly(withoutDescription, withDescription);
+        assertThat(descending).containsExactly(withDescription, withoutDescription);
+    }
+
+    @Test
+    public void givenUnknownProperty_whenBuildingComparator_thenShouldThrowIllegalArgumentException() {
+        // Act & Assert
+        assertThatThrownBy(() -> ShardedPages.comparator(Sort.by("version")))
+                .isInstanceOf(IllegalArgumentException.class)
+                .hasMessageContaining("version");
+    }
+
+    private static Product product(long id, String name, BigDecimal price) {
+        Product product = new Product();
+        product.setId(id);
+        product.setPublicId("product-" + id);
+        product.setName(name);
+        product.setPrice(price);
+        product.setQuantity(1);
+        return product;
+    }
+}
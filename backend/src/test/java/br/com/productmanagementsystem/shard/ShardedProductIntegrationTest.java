@@ -0,0 +1,155 @@
+package br.com.productmanagementsystem.shard;
+
+import br.com.productmanagementsystem.dto.ProductFacetsResponseDTO;
+import br.com.productmanagementsystem.dto.ProductQueryDTO;
+import br.com.productmanagementsystem.dto.ProductRequestDTO;
+import br.com.productmanagementsystem.dto.ProductResponseDTO;
+import br.com.productmanagementsystem.entity.Product;
+import br.com.productmanagementsystem.exception.ProductAlreadyExistsException;
+import br.com.productmanagementsystem.exception.ResourceNotFoundException;
+import br.com.productmanagementsystem.repository.ProductRepository;
+import br.com.productmanagementsystem.service.ProductService;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Sort;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+/**
+ * Checks sharded storage against three in-memory databases: the home shard of
+ * {@code spring.datasource} and two more from {@code app.sharding.urls}.
+ */
+@SpringBootTest(properties = {
+        "spring.datasource.url=jdbc:h2:mem:shard0-test;DB_CLOSE_DELAY=-1",
+        "spring.sql.init.mode=never",
+        "app.sharding.enabled=true",
+        "app.sharding.urls=jdbc:h2:mem:shard1-test;DB_CLOSE_DELAY=-1,jdbc:h2:mem:shard2-test;DB_CLOSE_DELAY=-1",
+        "app.rate-limit.enabled=false"
+})
+public class ShardedProductIntegrationTest {
+
+    private static final ProductQueryDTO ALL = new ProductQueryDTO(null, null, null, null, null, null, null);
+    private static final int PRODUCTS = 30;
+
+    @Autowired
+    private ProductService productService;
+
+    @Autowired
+    private ProductRepository productRepository;
+
+    @Autowired
+    private ProductShards productShards;
+
+    private final List<ProductResponseDTO> products = new ArrayList<>();
+
+    @BeforeEach
+    public void setUp() {
+        for (int i = 0; i < PRODUCTS; i++) {
+            products.add(productService.save(new ProductRequestDTO("Sharded Product " + i,
+                    BigDecimal.valueOf(i % 7 + 1), i % 3 == 0 ? null : "Description " + i, i)));
+        }
+    }
+
+    @AfterEach
+    public void tearDown() {
+        productService.findAll(ALL, PageRequest.of(0, 1000)).forEach(product -> productService.delete(product.publicId(), null));
+        products.clear();
+    }
+
+    @Test
+    public void givenProducts_whenSaving_thenShouldStoreEachOnTheShardOfItsPublicId() {
+        // Act & Assert
+        assertThat(productShards.count()).isEqualTo(3);
+        for (ProductResponseDTO product : products) {
+            int shard = productShards.shardOf(product.publicId());
+            for (int other = 0; other < productShards.count(); other++) {
+                boolean stored = productShards.onShard(other, () -> productRepository.findByPublicId(product.publicId())).isPresent();
+                assertThat(stored).isEqualTo(other == shard);
+            }
+        }
+        assertThat(products.stream().map(product -> productShards.shardOf(product.publicId())).distinct()).hasSize(3);
+    }
+
+    @Test
+    public void givenProductOnAnyShard_whenReadingAndUpdating_thenShouldReachIt() {
+        // Arrange
+        ProductResponseDTO product = products.get(7);
+
+        // Act
+        ProductResponseDTO updated = productService.update(product.publicId(),
+                new ProductRequestDTO(product.name(), new BigDecimal("99.90"), null, 1), null);
+
+        // Assert
+        assertThat(productService.findByPublicId(product.publicId())).isEqualTo(updated);
+        assertThat(updated.price()).isEqualByComparingTo("99.90");
+    }
+
+    @Test
+    public void givenSortedPage_whenListing_thenShouldMatchPagingTheWholeSortedList() {
+        // Arrange
+        Sort sort = Sort.by(Sort.Order.desc("description"), Sort.Order.asc("price"));
+        Comparator<Product> comparator = ShardedPages.comparator(sort);
+        List<String> expected = productShards.onEveryShard(productRepository::findAll).stream()
+                .flatMap(List::stream)
+                .sorted(comparator)
+                .map(Product::getPublicId)
+                .skip(8)
+                .limit(4)
+                .toList();
+
+        // Act
+        Page<ProductResponseDTO> page = productService.findAll(ALL, PageRequest.of(2, 4, sort));
+
+        // Assert
+        assertThat(page.getContent()).extracting(ProductResponseDTO::publicId).containsExactlyElementsOf(expected);
+        assertThat(page.getTotalElements()).isEqualTo(PRODUCTS);
+    }
+
+    @Test
+    public void givenFilter_whenCountingFacets_thenShouldAddUpEveryShard() {
+        // Act
+        ProductFacetsResponseDTO facets = productService.findFacets(
+                new ProductQueryDTO(null, null, null, 10, null, null, null));
+
+        // Assert
+        assertThat(facets.total()).isEqualTo(PRODUCTS - 10);
+    }
+
+    @Test
+    public void givenNameOfProductOnAnotherShard_whenSaving_thenShouldThrowProductAlreadyExistsException() {
+        // Act & Assert
+        assertThatThrownBy(() -> productService.save(new ProductRequestDTO(" SHARDED product 3", BigDecimal.ONE, null, 1)))
+                .isInstanceOf(ProductAlreadyExistsException.class);
+        assertThatThrownBy(() -> productService.update(products.get(4).publicId(),
+                new ProductRequestDTO("Sharded Product 5", BigDecimal.ONE, null, 1), null))
+                .isInstanceOf(ProductAlreadyExistsException.class);
+    }
+
+    @Test
+    public void givenRenamedAndDeletedProducts_whenSavingTheirNames_thenShouldSucceed() {
+        // Arrange
+        productService.update(products.get(1).publicId(), new ProductRequestDTO("Renamed Product", BigDecimal.ONE, null, 1), null);
+        productService.delete(products.get(2).publicId(), null);
+
+        // Act
+        ProductResponseDTO renamedAway = productService.save(new ProductRequestDTO("Sharded Product 1", BigDecimal.ONE, null, 1));
+        ProductResponseDTO deleted = productService.save(new ProductRequestDTO("Sharded Product 2", BigDecimal.ONE, null, 1));
+
+        // Assert
+        assertThat(productService.findByPublicId(renamedAway.publicId()).name()).isEqualTo("Sharded Product 1");
+        assertThat(productService.findByPublicId(deleted.publicId()).name()).isEqualTo("Sharded Product 2");
+        assertThatThrownBy(() -> productService.findByPublicId(products.get(2).publicId()))
+                .isInstanceOf(ResourceNotFoundException.class);
+    }
+}
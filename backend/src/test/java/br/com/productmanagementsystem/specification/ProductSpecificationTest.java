@@ -2,6 +2,7 @@ package br.com.productmanagementsystem.specification;
 
 import br.com.productmanagementsystem.dto.ProductQueryDTO;
 import br.com.productmanagementsystem.entity.Product;
+import br.com.productmanagementsystem.exception.InvalidSortPropertyException;
 import br.com.productmanagementsystem.repository.ProductRepository;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
@@ -12,13 +13,17 @@ import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Sort;
 import org.springframework.data.jpa.domain.Specification;
 
 import java.math.BigDecimal;
 import java.util.Arrays;
+import java.util.List;
 import java.util.stream.Stream;
 
 import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatCode;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
 
 @DataJpaTest
 public class ProductSpecificationTest {
@@ -51,7 +56,7 @@ public class ProductSpecificationTest {
             Boolean includeOutOfStock,
             int expectedResults) {
         // Given
-        ProductQueryDTO queryDTO = new ProductQueryDTO(name, minPrice, maxPrice, minQuantity, maxQuantity, includeOutOfStock);
+        ProductQueryDTO queryDTO = new ProductQueryDTO(name, minPrice, maxPrice, minQuantity, maxQuantity, includeOutOfStock, null);
 
         // When
         Specification<Product> specification = ProductSpecification.buildSpecification(queryDTO);
@@ -72,4 +77,37 @@ public class ProductSpecificationTest {
                 Arguments.of(null, null, null, null, 10, Boolean.TRUE, 3)
         );
     }
-}
\ No newline at end of file
+
+    @Test
+    public void givenResolvedNameMatches_whenBuildingSpecification_thenShouldFilterByIdsInsteadOfName() {
+        // Given
+        Product springBook = productRepository.findAll().stream()
+                .filter(product -> product.getName().equals("Spring Boot Book"))
+                .findFirst()
+                .orElseThrow();
+        ProductQueryDTO queryDTO = new ProductQueryDTO("Sprnig", null, null, null, null, Boolean.TRUE, Boolean.TRUE);
+
+        // When
+        Page<Product> matched = productRepository.findAll(
+                ProductSpecification.buildSpecification(queryDTO, List.of(springBook.getId())), PageRequest.of(0, 10));
+        Page<Product> none = productRepository.findAll(
+                ProductSpecification.buildSpecification(queryDTO, List.of()), PageRequest.of(0, 10));
+
+        // Then
+        assertThat(matched.getContent()).extracting(Product::getName).containsExactly("Spring Boot Book");
+        assertThat(none.getContent()).isEmpty();
+    }
+
+    @Test
+    public void givenSortOnUnknownProperty_whenValidatingSort_thenShouldThrowInvalidSortPropertyException() {
+        // Given
+        Sort sort = Sort.by("price").and(Sort.by("createdAt"));
+
+        // When & Then
+        assertThatThrownBy(() -> ProductSpecification.validateSort(sort))
+                .isInstanceOf(InvalidSortPropertyException.class)
+                .extracting("property")
+                .isEqualTo("createdAt");
+        assertThatCode(() -> ProductSpecification.validateSort(Sort.by("name", "quantity"))).doesNotThrowAnyException();
+    }
+}
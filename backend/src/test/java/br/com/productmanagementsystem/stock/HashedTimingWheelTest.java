@@ -0,0 +1,84 @@
+package br.com.productmanagementsystem.stock;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+public class HashedTimingWheelTest {
+
+    @Test
+    public void givenScheduledItem_whenAdvancingBeforeItsDeadline_thenShouldNotExpireIt() {
+        // Arrange
+        HashedTimingWheel<String> wheel = new HashedTimingWheel<>(100, 8, 0);
+        wheel.schedule("reservation", 450);
+
+        // Act
+        List<String> early = wheel.advance(449);
+        List<String> due = wheel.advance(500);
+
+        // Assert
+        assertThat(early).isEmpty();
+        assertThat(due).containsExactly("reservation");
+        assertThat(wheel.size()).isZero();
+    }
+
+    @Test
+    public void givenDeadlineSeveralRevolutionsAway_whenAdvancing_thenShouldWaitForTheRemainingRounds() {
+        // Arrange
+        HashedTimingWheel<String> wheel = new HashedTimingWheel<>(10, 4, 0);
+        wheel.schedule("late", 125);
+
+        // Act
+        List<String> afterOneRevolution = wheel.advance(45);
+        List<String> beforeDeadline = wheel.advance(124);
+        List<String> afterDeadline = wheel.advance(130);
+
+        // Assert
+        assertThat(afterOneRevolution).isEmpty();
+        assertThat(beforeDeadline).isEmpty();
+        assertThat(afterDeadline).containsExactly("late");
+    }
+
+    @Test
+    public void givenPastDeadline_whenAdvancing_thenShouldExpireImmediately() {
+        // Arrange
+        HashedTimingWheel<String> wheel = new HashedTimingWheel<>(100, 8, 1_000);
+        wheel.advance(1_500);
+        wheel.schedule("restored", 900);
+
+        // Act
+        List<String> expired = wheel.advance(1_600);
+
+        // Assert
+        assertThat(expired).containsExactly("restored");
+    }
+
+    @Test
+    public void givenRandomDeadlines_whenAdvancingTickByTick_thenShouldExpireEachWithinOneTickAfterItsDeadline() {
+        // Arrange
+        long tick = 10;
+        HashedTimingWheel<Long> wheel = new HashedTimingWheel<>(tick, 16, 0);
+        Random random = new Random(3);
+        List<Long> deadlines = new ArrayList<>();
+        for (int i = 0; i < 10_000; i++) {
+            long deadline = 1 + random.nextInt(5_000);
+            deadlines.add(deadline);
+            wheel.schedule(deadline, deadline);
+        }
+
+        // Act & Assert
+        int expiredCount = 0;
+        for (long now = 0; now <= 5_000 + tick; now += tick) {
+            for (long deadline : wheel.advance(now)) {
+                assertThat(deadline).isLessThanOrEqualTo(now);
+                assertThat(now - deadline).isLessThan(tick);
+                expiredCount++;
+            }
+        }
+        assertThat(expiredCount).isEqualTo(deadlines.size());
+    }
+}
@@ -0,0 +1,160 @@
+package br.com.productmanagementsystem.stock;
+
+import br.com.productmanagementsystem.entity.Product;
+import br.com.productmanagementsystem.entity.StockJournalCheckpoint;
+import br.com.productmanagementsystem.repository.ProductRepository;
+import br.com.productmanagementsystem.repository.StockJournalCheckpointRepository;
+import br.com.productmanagementsystem.util.TestConstants;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.cache.CacheManager;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.nio.file.Path;
+import java.util.List;
+import java.util.Optional;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.argThat;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+public class HotStockCountersTest {
+
+    private static final String PUBLIC_ID = TestConstants.DEFAULT_PUBLIC_ID;
+
+    @TempDir
+    private Path directory;
+
+    private final ProductRepository productRepository = mock(ProductRepository.class);
+    private final StockJournalCheckpointRepository checkpointRepository = mock(StockJournalCheckpointRepository.class);
+    private HotStockCounters hotStockCounters;
+
+    @AfterEach
+    public void tearDown() {
+        if (hotStockCounters != null) {
+            hotStockCounters.stop();
+        }
+    }
+
+    @Test
+    public void givenSegmentsLeftByACrash_whenStarting_thenShouldApplyTheirDeltasAndCheckpoint() {
+        // Arrange
+        StockJournal crashed = new StockJournal(directory, 1024, 0);
+        crashed.append(TestConstants.DEFAULT_ID, -4, () -> true);
+        crashed.append(TestConstants.DEFAULT_ID, -1, () -> true);
+        crashed.append(TestConstants.ALTERNATIVE_ID, 2, () -> true);
+        crashed.close();
+        hotStockCounters = hotStockCounters();
+
+        // Act
+        hotStockCounters.start();
+
+        // Assert
+        verify(productRepository).addQuantity(TestConstants.DEFAULT_ID, -5);
+        verify(productRepository).addQuantity(TestConstants.ALTERNATIVE_ID, 2);
+        verify(checkpointRepository).save(argThat(checkpoint -> checkpoint.getLastAppliedSegment() == 1L));
+    }
+
+    @Test
+    public void givenSegmentAppliedBeforeTheCrashDeletedIt_whenStarting_thenShouldNotApplyItAgain() {
+        // Arrange
+        StockJournal crashed = new StockJournal(directory, 1024, 0);
+        crashed.append(TestConstants.DEFAULT_ID, -4, () -> true);
+        crashed.close();
+        when(checkpointRepository.findById(StockJournalCheckpoint.SINGLETON_ID))
+                .thenReturn(Optional.of(new StockJournalCheckpoint(StockJournalCheckpoint.SINGLETON_ID, 1L)));
+        hotStockCounters = hotStockCounters();
+
+        // Act
+        hotStockCounters.start();
+
+        // Assert
+        verify(productRepository, never()).addQuantity(anyLong(), anyInt());
+    }
+
+    @Test
+    public void givenHotProduct_whenAdjustingAndDemoting_thenShouldFlushTheNetDeltaToTheRow() {
+        // Arrange
+        Product product = TestConstants.createDefaultProduct();
+        when(productRepository.findByPublicId(PUBLIC_ID)).thenReturn(Optional.of(product));
+        hotStockCounters = hotStockCounters();
+        hotStockCounters.start();
+        hotStockCounters.promote(PUBLIC_ID);
+
+        // Act
+        hotStockCounters.adjust(PUBLIC_ID, -3);
+        hotStockCounters.adjust(PUBLIC_ID, 1);
+        int inMemory = hotStockCounters.quantity(PUBLIC_ID).orElseThrow();
+        boolean wasHot = hotStockCounters.demote(PUBLIC_ID);
+
+        // Assert
+        assertThat(inMemory).isEqualTo(TestConstants.SMARTPHONE_QUANTITY - 2);
+        assertThat(wasHot).isTrue();
+        assertThat(hotStockCounters.isHot(PUBLIC_ID)).isFalse();
+        assertThat(hotStockCounters.adjust(PUBLIC_ID, -1)).isEmpty();
+        verify(productRepository).addQuantity(TestConstants.DEFAULT_ID, -2);
+    }
+
+    @Test
+    public void givenSuspendedProduct_whenTransactionRollsBack_thenShouldPromoteItAgain() {
+        // Arrange
+        Product product = TestConstants.createDefaultProduct();
+        when(productRepository.findByPublicId(PUBLIC_ID)).thenReturn(Optional.of(product));
+        hotStockCounters = hotStockCounters();
+        hotStockCounters.start();
+        hotStockCounters.promote(PUBLIC_ID);
+
+        // Act
+        boolean hotWhileSuspended = complete(TransactionSynchronization.STATUS_ROLLED_BACK);
+
+        // Assert
+        assertThat(hotWhileSuspended).isFalse();
+        assertThat(hotStockCounters.isHot(PUBLIC_ID)).isTrue();
+    }
+
+    @Test
+    public void givenSuspendedProduct_whenTransactionDeletesIt_thenShouldNotPromoteItAgain() {
+        // Arrange
+        Product product = TestConstants.createDefaultProduct();
+        when(productRepository.findByPublicId(PUBLIC_ID)).thenReturn(Optional.of(product), Optional.empty());
+        hotStockCounters = hotStockCounters();
+        hotStockCounters.start();
+        hotStockCounters.promote(PUBLIC_ID);
+
+        // Act
+        complete(TransactionSynchronization.STATUS_COMMITTED);
+
+        // Assert
+        assertThat(hotStockCounters.isHot(PUBLIC_ID)).isFalse();
+    }
+
+    // Suspends the product in a transaction that completes with the given status
+    private boolean complete(int status) {
+        List<TransactionSynchronization> synchronizations;
+        boolean hot;
+        TransactionSynchronizationManager.initSynchronization();
+        try {
+            hotStockCounters.suspend(PUBLIC_ID);
+            hot = hotStockCounters.isHot(PUBLIC_ID);
+            synchronizations = TransactionSynchronizationManager.getSynchronizations();
+        } finally {
+            TransactionSynchronizationManager.clearSynchronization();
+        }
+        synchronizations.forEach(synchronization -> synchronization.afterCompletion(status));
+        return hot;
+    }
+
+    private HotStockCounters hotStockCounters() {
+        return new HotStockCounters(productRepository, checkpointRepository, mock(ApplicationEventPublisher.class),
+                mock(CacheManager.class), mock(PlatformTransactionManager.class), true, List.of(), directory, 1024, 2);
+    }
+}
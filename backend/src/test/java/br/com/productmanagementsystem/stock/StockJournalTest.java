@@ -0,0 +1,103 @@
+package br.com.productmanagementsystem.stock;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.nio.file.Path;
+import java.util.List;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+public class StockJournalTest {
+
+    @TempDir
+    private Path directory;
+
+    @Test
+    public void givenAppendedChanges_whenDraining_thenShouldCoalesceDeltasPerProduct() {
+        // Arrange
+        StockJournal journal = new StockJournal(directory, 1024, 0);
+        journal.append(1L, -2, () -> true);
+        journal.append(1L, -3, () -> true);
+        journal.append(2L, 7, () -> true);
+
+        // Act
+        List<StockJournal.Segment> segments = journal.drain();
+
+        // Assert
+        assertThat(segments).hasSize(1);
+        assertThat(segments.getFirst().deltas()).isEqualTo(Map.of(1L, -5L, 2L, 7L));
+        journal.close();
+    }
+
+    @Test
+    public void givenRejectedChange_whenAppending_thenShouldNotJournalItsDelta() {
+        // Arrange
+        StockJournal journal = new StockJournal(directory, 1024, 0);
+
+        // Act
+        boolean changed = journal.append(1L, -2, () -> false);
+
+        // Assert
+        assertThat(changed).isFalse();
+        assertThat(journal.drain().getFirst().deltas()).isEmpty();
+        journal.close();
+    }
+
+    @Test
+    public void givenFullSegment_whenAppending_thenShouldContinueInANewSegment() {
+        // Arrange
+        StockJournal journal = new StockJournal(directory, 2, 0);
+
+        // Act
+        for (int i = 0; i < 5; i++) {
+            journal.append(1L, 1, () -> true);
+        }
+        List<StockJournal.Segment> segments = journal.drain();
+
+        // Assert
+        assertThat(segments).hasSize(3);
+        assertThat(segments.stream().mapToLong(segment -> segment.deltas().getOrDefault(1L, 0L)).sum()).isEqualTo(5);
+        journal.close();
+    }
+
+    @Test
+    public void givenSegmentsLeftByACrash_whenReopening_thenShouldRecoverTheirDeltas() {
+        // Arrange
+        StockJournal crashed = new StockJournal(directory, 1024, 0);
+        crashed.append(1L, -4, () -> true);
+        crashed.append(3L, 2, () -> true);
+        // The process dies without draining
+
+        // Act
+        StockJournal recovered = new StockJournal(directory, 1024, 0);
+        List<StockJournal.Segment> segments = recovered.drain();
+
+        // Assert
+        assertThat(segments).hasSize(1);
+        assertThat(segments.getFirst().deltas()).isEqualTo(Map.of(1L, -4L, 3L, 2L));
+        crashed.close();
+        recovered.close();
+    }
+
+    @Test
+    public void givenReleasedSegment_whenReopening_thenShouldNotRecoverItAgain() {
+        // Arrange
+        StockJournal journal = new StockJournal(directory, 1024, 0);
+        journal.append(1L, -1, () -> true);
+        List<StockJournal.Segment> applied = journal.drain();
+        applied.forEach(journal::release);
+        journal.close();
+
+        // Act
+        StockJournal reopened = new StockJournal(directory, 1024, applied.getLast().sequence);
+        reopened.append(1L, -1, () -> true);
+        List<StockJournal.Segment> segments = reopened.drain();
+
+        // Assert
+        assertThat(segments).hasSize(1);
+        assertThat(segments.getFirst().sequence).isGreaterThan(applied.getLast().sequence);
+        reopened.close();
+    }
+}
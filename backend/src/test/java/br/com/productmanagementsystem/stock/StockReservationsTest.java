@@ -0,0 +1,171 @@
+package br.com.productmanagementsystem.stock;
+
+import br.com.productmanagementsystem.dto.StockReservationResponseDTO;
+import br.com.productmanagementsystem.entity.Product;
+import br.com.productmanagementsystem.entity.StockReservation;
+import br.com.productmanagementsystem.exception.InsufficientStockException;
+import br.com.productmanagementsystem.exception.ResourceNotFoundException;
+import br.com.productmanagementsystem.repository.ProductRepository;
+import br.com.productmanagementsystem.repository.StockReservationRepository;
+import br.com.productmanagementsystem.service.MessageService;
+import br.com.productmanagementsystem.shard.ProductShards;
+import br.com.productmanagementsystem.util.TestConstants;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.ZoneOffset;
+import java.util.List;
+import java.util.Optional;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+public class StockReservationsTest {
+
+    private static final Instant NOW = Instant.parse("2025-01-01T12:00:00Z");
+    private static final String RESERVATION_ID = "9b2f4c1e-8a7d-4e3b-9c6a-1d2e3f4a5b6c";
+
+    private final ProductRepository productRepository = mock(ProductRepository.class);
+    private final StockReservationRepository reservationRepository = mock(StockReservationRepository.class);
+    private final MessageService messageService = mock(MessageService.class);
+    private MutableClock clock;
+    private StockReservations stockReservations;
+
+    @BeforeEach
+    public void setUp() {
+        clock = new MutableClock(NOW);
+        stockReservations = new StockReservations(productRepository, reservationRepository,
+                mock(HotStockCounters.class), messageService, mock(ApplicationEventPublisher.class), ProductShards.UNSHARDED,
+                new TransactionTemplate(mock(PlatformTransactionManager.class)), clock,
+                Duration.ofMinutes(10), Duration.ofSeconds(1), 64);
+    }
+
+    @Test
+    public void givenEnoughAvailableStock_whenReserving_thenShouldPersistReservationWithDefaultTtl() {
+        // Arrange
+        Product product = TestConstants.createDefaultProduct();
+        when(productRepository.findByPublicId(TestConstants.DEFAULT_PUBLIC_ID)).thenReturn(Optional.of(product));
+        when(productRepository.reserve(product.getId(), 2)).thenReturn(1);
+        when(reservationRepository.save(any(StockReservation.class))).thenAnswer(invocation -> {
+            StockReservation reservation = invocation.getArgument(0);
+            reservation.setId(10L);
+            reservation.setPublicId(RESERVATION_ID);
+            return reservation;
+        });
+
+        // Act
+        StockReservationResponseDTO result = stockReservations.reserve(TestConstants.DEFAULT_PUBLIC_ID, 2, null);
+
+        // Assert
+        assertThat(result.reservationId()).isEqualTo(RESERVATION_ID);
+        assertThat(result.expiresAt()).isEqualTo(NOW.plus(Duration.ofMinutes(10)));
+        assertThat(stockReservations.getScheduledExpiries()).isEqualTo(1);
+    }
+
+    @Test
+    public void givenNotEnoughAvailableStock_whenReserving_thenShouldThrowInsufficientStockException() {
+        // Arrange
+        Product product = TestConstants.createDefaultProduct();
+        product.setReserved(48);
+        when(productRepository.findByPublicId(TestConstants.DEFAULT_PUBLIC_ID)).thenReturn(Optional.of(product));
+        when(productRepository.reserve(product.getId(), 5)).thenReturn(0);
+
+        // Act & Assert
+        assertThatThrownBy(() -> stockReservations.reserve(TestConstants.DEFAULT_PUBLIC_ID, 5, null))
+                .isInstanceOf(InsufficientStockException.class)
+                .hasFieldOrPropertyWithValue("available", 2);
+        verify(reservationRepository, never()).save(any());
+    }
+
+    @Test
+    public void givenReservationPastItsDeadline_whenTicking_thenShouldReleaseItsUnits() {
+        // Arrange
+        StockReservation reservation = new StockReservation(
+                10L, RESERVATION_ID, 1L, TestConstants.DEFAULT_PUBLIC_ID, 3, NOW.plusSeconds(30));
+        when(reservationRepository.findAll()).thenReturn(List.of(reservation));
+        when(reservationRepository.findAllById(List.of(10L))).thenReturn(List.of(reservation));
+        when(reservationRepository.deleteReservation(10L)).thenReturn(1);
+        stockReservations.start();
+
+        // Act
+        clock.advance(Duration.ofSeconds(29));
+        stockReservations.expire();
+        verify(productRepository, never()).releaseReserved(anyLong(), anyInt());
+        clock.advance(Duration.ofSeconds(2));
+        stockReservations.expire();
+
+        // Assert
+        verify(productRepository).releaseReserved(1L, 3);
+        assertThat(stockReservations.getScheduledExpiries()).isZero();
+    }
+
+    @Test
+    public void givenConfirmedReservation_whenItsDeadlinePasses_thenShouldNotReleaseItsUnits() {
+        // Arrange
+        StockReservation reservation = new StockReservation(
+                10L, RESERVATION_ID, 1L, TestConstants.DEFAULT_PUBLIC_ID, 3, NOW.plusSeconds(30));
+        when(reservationRepository.findAll()).thenReturn(List.of(reservation));
+        when(reservationRepository.findAllById(List.of(10L))).thenReturn(List.of());
+        stockReservations.start();
+
+        // Act
+        clock.advance(Duration.ofMinutes(1));
+        stockReservations.expire();
+
+        // Assert
+        verify(productRepository, never()).releaseReserved(anyLong(), anyInt());
+    }
+
+    @Test
+    public void givenExpiredReservation_whenReleasing_thenShouldThrowResourceNotFoundException() {
+        // Arrange
+        StockReservation reservation = new StockReservation(
+                10L, RESERVATION_ID, 1L, TestConstants.DEFAULT_PUBLIC_ID, 3, NOW.minusSeconds(1));
+        when(reservationRepository.findByPublicId(RESERVATION_ID)).thenReturn(Optional.of(reservation));
+
+        // Act & Assert
+        assertThatThrownBy(() -> stockReservations.release(TestConstants.DEFAULT_PUBLIC_ID, RESERVATION_ID))
+                .isInstanceOf(ResourceNotFoundException.class);
+        verify(reservationRepository, never()).deleteReservation(anyLong());
+    }
+
+    private static final class MutableClock extends Clock {
+        private Instant instant;
+
+        private MutableClock(Instant instant) {
+            this.instant = instant;
+        }
+
+        private void advance(Duration duration) {
+            instant = instant.plus(duration);
+        }
+
+        @Override
+        public ZoneOffset getZone() {
+            return ZoneOffset.UTC;
+        }
+
+        @Override
+        public Clock withZone(java.time.ZoneId zone) {
+            return this;
+        }
+
+        @Override
+        public Instant instant() {
+            return instant;
+        }
+    }
+}
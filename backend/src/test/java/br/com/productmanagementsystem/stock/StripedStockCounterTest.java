@@ -0,0 +1,91 @@
+package br.com.productmanagementsystem.stock;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+public class StripedStockCounterTest {
+
+    @Test
+    public void givenStockSpreadAcrossStripes_whenDecrementingMoreThanAnyStripeHolds_thenShouldRebalance() {
+        // Arrange
+        StripedStockCounter counter = new StripedStockCounter(10, 999999, 4);
+
+        // Act
+        boolean taken = counter.tryAdjust(-9);
+
+        // Assert
+        assertThat(taken).isTrue();
+        assertThat(counter.total()).isEqualTo(1);
+    }
+
+    @Test
+    public void givenDecrementAboveTotal_whenAdjusting_thenShouldRejectAndKeepStock() {
+        // Arrange
+        StripedStockCounter counter = new StripedStockCounter(5, 999999, 4);
+
+        // Act
+        boolean taken = counter.tryAdjust(-6);
+
+        // Assert
+        assertThat(taken).isFalse();
+        assertThat(counter.total()).isEqualTo(5);
+    }
+
+    @Test
+    public void givenIncrementAboveMaximum_whenAdjusting_thenShouldReject() {
+        // Arrange
+        StripedStockCounter counter = new StripedStockCounter(95, 100, 4);
+
+        // Act
+        boolean rejected = counter.tryAdjust(6);
+        boolean accepted = counter.tryAdjust(5);
+
+        // Assert
+        assertThat(rejected).isFalse();
+        assertThat(accepted).isTrue();
+        assertThat(counter.total()).isEqualTo(100);
+    }
+
+    @Test
+    public void givenConcurrentDecrements_whenStockRunsOut_thenShouldSellExactlyTheStock() throws Exception {
+        // Arrange
+        int stock = 10_000;
+        int threads = 16;
+        StripedStockCounter counter = new StripedStockCounter(stock, 999999, 8);
+        AtomicInteger sold = new AtomicInteger();
+        CountDownLatch start = new CountDownLatch(1);
+        ExecutorService executor = Executors.newFixedThreadPool(threads);
+
+        // Act
+        List<Future<?>> workers = new ArrayList<>();
+        for (int i = 0; i < threads; i++) {
+            workers.add(executor.submit(() -> {
+                start.await();
+                for (int attempt = 0; attempt < 2 * stock / threads; attempt++) {
+                    if (counter.tryAdjust(-1)) {
+                        sold.incrementAndGet();
+                    }
+                }
+                return null;
+            }));
+        }
+        start.countDown();
+        for (Future<?> worker : workers) {
+            worker.get();
+        }
+        executor.shutdown();
+
+        // Assert
+        assertThat(sold.get()).isEqualTo(stock);
+        assertThat(counter.total()).isZero();
+    }
+}
@@ -170,12 +170,13 @@ public final class TestConstants {
                 MAX_PRICE_FILTER,
                 MIN_QUANTITY_FILTER,
                 MAX_QUANTITY_FILTER,
-                false
+                false,
+                null
         );
     }
 
     public static ProductQueryDTO createEmptyProductQueryDTO() {
-        return new ProductQueryDTO(null, null, null, null, null, null);
+        return new ProductQueryDTO(null, null, null, null, null, null, null);
     }
 
     // Private Product Builder - for internal use only
@@ -85,6 +85,7 @@ export class ProductListComponent implements OnInit, OnDestroy {
   ngOnInit(): void {
     this.loadProducts(0, this.pageSize);
     this.setupSearchSubscription();
+    this.setupChangesSubscription();
   }
 
   private setupSearchSubscription(): void {
@@ -96,6 +97,16 @@ export class ProductListComponent implements OnInit, OnDestroy {
       });
   }
 
+  /**
+   * Reloads the current page when products change, instead of polling
+   */
+  private setupChangesSubscription(): void {
+    this.productService
+      .getProductChanges()
+      .pipe(debounceTime(500), takeUntil(this.destroy$))
+      .subscribe(() => this.loadProducts(this.currentPage, this.pageSize));
+  }
+
   ngOnDestroy(): void {
     this.destroy$.next();
     this.destroy$.complete();
@@ -6,6 +6,7 @@ import {
   ProductResponse,
   ProductRequest,
   ProductPagedResponse,
+  ProductChangeEvent,
   ProductQueryParams,
   API_ENDPOINTS,
 } from '../types';
@@ -76,4 +77,23 @@ export class ProductService {
       `${environment.apiUrl}${API_ENDPOINTS.PRODUCT_BY_ID(publicId)}`,
     );
   }
+
+  /**
+   * Product changes pushed by the backend, in the order they were committed.
+   * The browser reconnects on its own and resumes after the last change received;
+   * null means the missed changes are gone and everything must be reloaded.
+   */
+  getProductChanges(): Observable<ProductChangeEvent | null> {
+    return new Observable<ProductChangeEvent | null>((subscriber) => {
+      const eventSource = new EventSource(
+        `${environment.apiUrl}${API_ENDPOINTS.PRODUCT_CHANGES_STREAM}`,
+      );
+      eventSource.addEventListener('change', (event) => {
+        subscriber.next(JSON.parse((event as MessageEvent<string>).data));
+      });
+      eventSource.addEventListener('reset', () => subscriber.next(null));
+
+      return () => eventSource.close();
+    });
+  }
 }
@@ -45,6 +45,17 @@ export interface PagedResponse<T> {
  */
 export type ProductPagedResponse = PagedResponse<ProductResponse>;
 
+/**
+ * Product change pushed by the change stream
+ * Based on backend ProductChangeEventDTO
+ */
+export interface ProductChangeEvent {
+  type: 'CREATED' | 'UPDATED' | 'DELETED';
+  publicId: string;
+  product: ProductResponse; // State after the change, or as it was when deleted
+  occurredAt: string; // ISO-8601 instant
+}
+
 /**
  * Query parameters for product filtering
  * Based on backend ProductQueryDTO
@@ -175,6 +186,7 @@ export type HttpMethod = 'GET' | 'POST' | 'PUT' | 'DELETE' | 'PATCH';
 export const API_ENDPOINTS = {
   PRODUCTS: '/products',
   PRODUCT_BY_ID: (publicId: string) => `/products/${publicId}`,
+  PRODUCT_CHANGES_STREAM: '/products/changes/stream',
 } as const;
 
 /**
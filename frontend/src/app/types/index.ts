@@ -7,6 +7,7 @@ export type {
   ProductResponse,
   ProductRequest,
   ProductPagedResponse,
+  ProductChangeEvent,
   ProductQueryParams,
   ValidationError,
   ProblemDetail,